@@ -0,0 +1,41 @@
+package io.akikr.app.order.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the parsing of the {@code from}/{@code to} date filters, as done inline by {@link
+ * OrderSpecifications} (and likewise by the store and tenant specifications) for every search with a
+ * date range. {@link #parse()} mirrors the specification expression, and {@link
+ * #parseWithoutOffset()} isolates {@link LocalDateTime#parse} from the UTC offset round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SpecificationDateParseBenchmark {
+
+    private final String fromDate = "2025-01-15T10:30:00";
+
+    @Benchmark
+    public LocalDateTime parse() {
+        return LocalDateTime.parse(fromDate).atOffset(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    @Benchmark
+    public LocalDateTime parseWithoutOffset() {
+        return LocalDateTime.parse(fromDate);
+    }
+}
@@ -0,0 +1,94 @@
+package io.akikr.app.order.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.order.model.response.OrderSearchResponse;
+import io.akikr.app.order.repository.OrderSearchRow;
+import io.akikr.app.shared.PagedResponse;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks the order search response path: mapping the search rows of a page to {@link
+ * OrderSearchResponse}s, and serializing the {@link PagedResponse} to JSON with an {@code
+ * ObjectMapper} configured like the application's one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderSearchResponseBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private OrderSearchRow row;
+    private List<OrderSearchRow> rows;
+    private PagedResponse<OrderSearchResponse> page;
+    private ObjectWriter pageWriter;
+
+    @Setup
+    public void setUp() {
+        var tenantId = UUID.randomUUID();
+        var storeId = UUID.randomUUID();
+        rows = IntStream.range(0, pageSize)
+                .mapToObj(i -> new OrderSearchRow(
+                        UUID.randomUUID(),
+                        tenantId,
+                        storeId,
+                        "gid://shopify/Order/" + (5_000_000 + i),
+                        "#" + (1000 + i),
+                        Order.OrderStatus.CREATED,
+                        Order.FinancialStatus.PAID,
+                        Order.FulfillmentStatus.UNFULFILLED,
+                        "customer" + i + "@example.com",
+                        new BigDecimal("129.99"),
+                        "USD",
+                        LocalDateTime.of(2025, 1, 15, 10, 30).plusMinutes(i),
+                        LocalDateTime.of(2025, 1, 16, 8, 0).plusMinutes(i),
+                        LocalDateTime.of(2025, 1, 16, 8, 5).plusMinutes(i)))
+                .toList();
+        row = rows.get(0);
+        page = new PagedResponse<>(mapPage(), 0, pageSize, null, null, true, null);
+        var objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        pageWriter = objectMapper.writerFor(new TypeReference<PagedResponse<OrderSearchResponse>>() {});
+    }
+
+    @Benchmark
+    public OrderSearchResponse toOrderSearchResponse() {
+        return OrderQueryServiceImpl.toOrderSearchResponse(row);
+    }
+
+    @Benchmark
+    public List<OrderSearchResponse> mapPage() {
+        return rows.stream().map(OrderQueryServiceImpl::toOrderSearchResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,76 @@
+package io.akikr.app.shared;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Benchmarks the response path of {@link AppLoggingFilter}: a request it passes through, and the
+ * body capture of a logged request with the {@link ContentTeeResponseWrapper} against the {@link
+ * ContentCachingResponseWrapper} it replaced, which buffers the whole body and copies it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AppLoggingFilterBenchmark {
+
+    private static final int MAX_BODY_LENGTH = 10_000;
+
+    @Param({"1024", "65536"})
+    private int bodyLength;
+
+    private byte[] body;
+    private AppLoggingFilter disabledFilter;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() {
+        body = new byte[bodyLength];
+        disabledFilter = new AppLoggingFilter(
+                new AppLoggingProperties(false, true, true, MAX_BODY_LENGTH, List.of("/**"), List.of(), 1.0, null));
+        filterChain = (request, response) -> response.getOutputStream().write(body);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse passThrough() throws IOException, ServletException {
+        var response = new MockHttpServletResponse();
+        disabledFilter.doFilter(new MockHttpServletRequest("GET", "/app/orders"), response, filterChain);
+        return response;
+    }
+
+    @Benchmark
+    public byte[] teeResponse() throws IOException, ServletException {
+        var response = new ContentTeeResponseWrapper(new MockHttpServletResponse(), MAX_BODY_LENGTH);
+        filterChain.doFilter(new MockHttpServletRequest("GET", "/app/orders"), response);
+        response.flushWriter();
+        return response.getCapturedContent();
+    }
+
+    @Benchmark
+    public byte[] cachingResponse() throws IOException, ServletException {
+        var response = new ContentCachingResponseWrapper(new MockHttpServletResponse());
+        filterChain.doFilter(new MockHttpServletRequest("GET", "/app/orders"), response);
+        var content = response.getContentAsByteArray();
+        response.copyBodyToResponse();
+        return content;
+    }
+}
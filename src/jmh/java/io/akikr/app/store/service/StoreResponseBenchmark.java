@@ -0,0 +1,88 @@
+package io.akikr.app.store.service;
+
+import io.akikr.app.store.entity.Store;
+import io.akikr.app.store.model.response.StoreCreateResponse;
+import io.akikr.app.store.model.response.StorePatchResponse;
+import io.akikr.app.store.model.response.StoreResponse;
+import io.akikr.app.store.model.response.StoreSearchResponse;
+import io.akikr.app.store.model.response.StoreUpdateResponse;
+import io.akikr.app.store.repository.StoreSearchRow;
+import io.akikr.app.tenant.entity.Tenant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the {@link StoreServiceImpl} mappers of a store (or store search row) to a response. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StoreResponseBenchmark {
+
+    private Store store;
+    private StoreSearchRow storeSearchRow;
+
+    @Setup
+    public void setUp() {
+        var createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        var updatedAt = LocalDateTime.of(2025, 1, 16, 8, 0);
+        store = Store.builder()
+                .storeId(UUID.randomUUID())
+                .tenant(Tenant.builder().tenantId(UUID.randomUUID()).build())
+                .storeCode("acme-us")
+                .storeName("Acme US")
+                .platform(Store.Platform.SHOPIFY)
+                .domain("acme-us.myshopify.com")
+                .status(Store.Status.ACTIVE)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+        storeSearchRow = new StoreSearchRow(
+                store.getStoreId(),
+                store.getTenant().getTenantId(),
+                store.getStoreCode(),
+                store.getStoreName(),
+                store.getPlatform(),
+                store.getDomain(),
+                store.getStatus(),
+                createdAt,
+                updatedAt);
+    }
+
+    @Benchmark
+    public StoreCreateResponse toStoreCreateResponse() {
+        return StoreServiceImpl.toStoreCreateResponse(store);
+    }
+
+    @Benchmark
+    public StoreResponse toStoreResponse() {
+        return StoreServiceImpl.toStoreResponse(store);
+    }
+
+    @Benchmark
+    public StoreUpdateResponse toStoreUpdateResponse() {
+        return StoreServiceImpl.toStoreUpdateResponse(store);
+    }
+
+    @Benchmark
+    public StorePatchResponse toStorePatchResponse() {
+        return StoreServiceImpl.toStorePatchResponse(store);
+    }
+
+    @Benchmark
+    public StoreSearchResponse toStoreSearchResponse() {
+        return StoreServiceImpl.toStoreSearchResponse(storeSearchRow);
+    }
+}
@@ -0,0 +1,108 @@
+package io.akikr.app.tracking.service;
+
+import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.entity.TrackingEvent;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the hashing of tracking events, done once per ingested event: the {@link
+ * TrackingEventHashGenerator} against the previous implementation, which looked up a new {@link
+ * MessageDigest} per call and hex-encoded with {@link Integer#toHexString(int)}. The {@code
+ * legacyHashEvent} baseline builds the payload {@link String} of the canonical fields that the
+ * previous implementation needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class TrackingEventHashBenchmark {
+
+    @Param({"128", "2048"})
+    private int payloadLength;
+
+    private final TrackingEventHashGenerator trackingEventHashGenerator = new TrackingEventHashGenerator();
+    private String payload;
+    private TrackingEvent event;
+
+    @Setup
+    public void setUp() {
+        var scan = "{\"carrier\":\"UPS\",\"trackingNumber\":\"1Z999AA10123456784\",\"status\":\"IN_TRANSIT\"}";
+        payload = scan.repeat(payloadLength / scan.length() + 1).substring(0, payloadLength);
+        var tracking = new Tracking();
+        tracking.setTrackingId(UUID.randomUUID());
+        event = TrackingEvent.builder()
+                .tracking(tracking)
+                .eventTime(LocalDateTime.of(2025, 1, 15, 10, 30))
+                .eventCode("IN_TRANSIT")
+                .eventCity("Louisville")
+                .eventState("KY")
+                .eventCountry("US")
+                .eventZip("40209")
+                .source(TrackingEvent.Source.CARRIER)
+                .build();
+    }
+
+    @Benchmark
+    public String hashPayload() {
+        return trackingEventHashGenerator.hash(payload);
+    }
+
+    @Benchmark
+    public String legacyHashPayload() throws NoSuchAlgorithmException {
+        return legacyGenerateEventHash(payload);
+    }
+
+    @Benchmark
+    public String hashEvent() {
+        return trackingEventHashGenerator.hash(event);
+    }
+
+    @Benchmark
+    public String legacyHashEvent() throws NoSuchAlgorithmException {
+        return legacyGenerateEventHash(String.join(
+                "|",
+                event.getTracking().getTrackingId().toString(),
+                event.getEventTime().toString(),
+                event.getEventCode(),
+                event.getSource().name(),
+                event.getEventCity(),
+                event.getEventState(),
+                event.getEventCountry(),
+                event.getEventZip()));
+    }
+
+    /** The previous {@code TrackingEventServiceImpl.generateEventHash}, kept as the baseline. */
+    private static String legacyGenerateEventHash(String payload) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(payload.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package io.akikr.app.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.akikr.app.MySqlTestContainer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * The end-to-end load test: seeds a synthetic data set into the Testcontainers MySQL, drives the
+ * workload against the application over HTTP, and fails when the results regress past the
+ * baseline in {@value #BASELINE_FILE}.
+ *
+ * <p>Run with {@code ./mvnw -Pload-test verify}; see {@link LoadTestSettings} for the settings. The
+ * results are written to {@value #RESULT_FILE}. Run with {@code -Dloadtest.record-baseline=true}
+ * to record them as the new baseline instead; baselines are only comparable on the same hardware.
+ * Without a baseline the test fails, so that a run never passes without being compared.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "spring.jpa.show-sql=false",
+            "logging.level.io.akikr.app=WARN",
+            "logging.level.io.akikr.app.loadtest=INFO"
+        })
+class LoadTest extends MySqlTestContainer {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+    private static final String BASELINE_FILE = "src/load-test/baseline.json";
+    private static final String RESULT_FILE = "target/load-test/result.json";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private JdbcConnectionDetails jdbcConnectionDetails;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should serve the workload without regressing past the baseline")
+    void testWorkload_WithinBaseline() throws Exception {
+        var settings = LoadTestSettings.fromSystemProperties();
+        var seededData = new SyntheticDataGenerator(
+                        jdbcConnectionDetails.getJdbcUrl(),
+                        jdbcConnectionDetails.getUsername(),
+                        jdbcConnectionDetails.getPassword(),
+                        settings)
+                .seed();
+
+        var report = new WorkloadDriver(
+                        URI.create("http://localhost:" + port + contextPath), seededData, settings, objectMapper)
+                .run();
+
+        log.info("Load-test results:\n{}", report.summary());
+        report.write(Path.of(RESULT_FILE));
+        var baseline = Path.of(BASELINE_FILE);
+        if (settings.recordBaseline()) {
+            report.write(baseline);
+            log.info("Recorded the results as the new baseline:[{}]", baseline);
+            return;
+        }
+        assertTrue(
+                Files.exists(baseline),
+                "No baseline [" + baseline + "] to compare with, record one with -Dloadtest.record-baseline=true");
+        var regressions = report.regressionsAgainst(
+                LoadTestReport.read(baseline), settings.latencyTolerance(), settings.throughputTolerance());
+        assertTrue(regressions.isEmpty(), "Regressed past the baseline: " + regressions);
+    }
+}
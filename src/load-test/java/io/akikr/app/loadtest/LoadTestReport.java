@@ -0,0 +1,107 @@
+package io.akikr.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The results of a load-test run, per workload operation, as written to (and compared against) a
+ * baseline file.
+ *
+ * @param targetRps The target rate of the run, in requests per second.
+ * @param durationSeconds The measured duration of the run.
+ * @param operations The results per operation, by {@link WorkloadOperation#id()}.
+ */
+record LoadTestReport(int targetRps, double durationSeconds, Map<String, OperationResult> operations) {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double ERROR_RATE_TOLERANCE = 0.01;
+
+    /**
+     * The results of one operation.
+     *
+     * @param requests The number of requests sent (or dropped) during the measured duration.
+     * @param errors The number of failed (non-2xx, timed out or dropped) requests.
+     * @param throughput The rate of successful requests, per second.
+     * @param p50Ms The median latency of the successful requests, in milliseconds.
+     * @param p99Ms The 99th percentile latency, in milliseconds.
+     * @param p999Ms The 99.9th percentile latency, in milliseconds.
+     */
+    record OperationResult(long requests, long errors, double throughput, double p50Ms, double p99Ms, double p999Ms) {
+
+        double errorRate() {
+            return requests == 0 ? 0.0 : (double) errors / requests;
+        }
+    }
+
+    static LoadTestReport read(Path path) throws IOException {
+        return objectMapper.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.writeValue(path.toFile(), this);
+    }
+
+    /**
+     * Compares this run with a baseline run, operation by operation.
+     *
+     * @param baseline The baseline run.
+     * @param latencyTolerance The tolerated relative increase of the p99 latency.
+     * @param throughputTolerance The tolerated relative decrease of the throughput.
+     * @return A description of each regression, empty if there is none.
+     */
+    List<String> regressionsAgainst(LoadTestReport baseline, double latencyTolerance, double throughputTolerance) {
+        var regressions = new ArrayList<String>();
+        if (targetRps != baseline.targetRps()) {
+            regressions.add("the baseline was recorded at [" + baseline.targetRps() + "] rps, this run targeted ["
+                    + targetRps + "] rps");
+            return regressions;
+        }
+        baseline.operations().forEach((operation, expected) -> {
+            var actual = operations.get(operation);
+            if (Objects.isNull(actual)) {
+                regressions.add(operation + ": missing from this run");
+                return;
+            }
+            if (actual.p99Ms() > expected.p99Ms() * (1 + latencyTolerance)) {
+                regressions.add(String.format(
+                        "%s: p99 %.1fms over the baseline %.1fms", operation, actual.p99Ms(), expected.p99Ms()));
+            }
+            if (actual.throughput() < expected.throughput() * (1 - throughputTolerance)) {
+                regressions.add(String.format(
+                        "%s: throughput %.1f/s under the baseline %.1f/s",
+                        operation, actual.throughput(), expected.throughput()));
+            }
+            if (actual.errorRate() > expected.errorRate() + ERROR_RATE_TOLERANCE) {
+                regressions.add(String.format(
+                        "%s: error rate %.2f%% over the baseline %.2f%%",
+                        operation, actual.errorRate() * 100, expected.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+
+    /** A table of the results, for the test output. */
+    String summary() {
+        var summary = new StringBuilder(String.format(
+                "%-20s %10s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms"));
+        operations.forEach((operation, result) -> summary.append(String.format(
+                "%-20s %10d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                operation,
+                result.requests(),
+                result.errors(),
+                result.throughput(),
+                result.p50Ms(),
+                result.p99Ms(),
+                result.p999Ms())));
+        return summary.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package io.akikr.app.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The settings of a load-test run, read from the {@code loadtest.*} system properties (e.g. {@code
+ * ./mvnw -Pload-test verify -Dloadtest.orders=5000000 -Dloadtest.rps=500}).
+ *
+ * @param tenants The number of tenants to seed.
+ * @param storesPerTenant The number of stores seeded per tenant.
+ * @param orders The total number of orders to seed, spread over the tenants with a Zipf skew.
+ * @param skew The Zipf exponent of the tenant and store distributions (of both the seeded data and
+ *     the workload).
+ * @param seed The seed of the random data, so that runs are reproducible.
+ * @param seedThreads The number of tenants seeded concurrently.
+ * @param rps The target rate of the workload, in requests per second.
+ * @param warmup The duration of the warm-up, whose requests are not reported.
+ * @param duration The duration of the measured workload.
+ * @param maxInFlight The maximum number of requests in flight; a request beyond it is not sent and
+ *     counted as an error, so that an overloaded application shows up as errors instead of an
+ *     ever-growing backlog.
+ * @param mix The relative weights of the workload operations.
+ * @param latencyTolerance The tolerated relative increase of the p99 latency over the baseline.
+ * @param throughputTolerance The tolerated relative decrease of the throughput below the baseline.
+ * @param recordBaseline Flag to write the results as the new baseline instead of comparing them.
+ */
+record LoadTestSettings(
+        int tenants,
+        int storesPerTenant,
+        int orders,
+        double skew,
+        long seed,
+        int seedThreads,
+        int rps,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        Map<WorkloadOperation, Integer> mix,
+        double latencyTolerance,
+        double throughputTolerance,
+        boolean recordBaseline) {
+
+    private static final String PREFIX = "loadtest.";
+
+    static LoadTestSettings fromSystemProperties() {
+        var mix = new LinkedHashMap<WorkloadOperation, Integer>();
+        for (var operation : WorkloadOperation.values()) {
+            mix.put(operation, intProperty("mix." + operation.id(), operation.defaultWeight()));
+        }
+        return new LoadTestSettings(
+                intProperty("tenants", 50),
+                intProperty("stores-per-tenant", 4),
+                intProperty("orders", 1_000_000),
+                Double.parseDouble(property("skew", "1.1")),
+                Long.parseLong(property("seed", "42")),
+                intProperty("seed-threads", 4),
+                intProperty("rps", 200),
+                Duration.parse(property("warmup", "PT15S")),
+                Duration.parse(property("duration", "PT60S")),
+                intProperty("max-in-flight", 1000),
+                mix,
+                Double.parseDouble(property("latency-tolerance", "0.25")),
+                Double.parseDouble(property("throughput-tolerance", "0.10")),
+                Boolean.parseBoolean(property("record-baseline", "false")));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(property(name, String.valueOf(defaultValue)));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,22 @@
+package io.akikr.app.loadtest;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The identifiers of the data seeded by {@link SyntheticDataGenerator}, which the {@link
+ * WorkloadDriver} targets.
+ *
+ * @param tenants The seeded tenants, from the largest (rank 0) to the smallest.
+ */
+record SeededData(List<SeededTenant> tenants) {
+
+    /**
+     * A seeded tenant.
+     *
+     * @param tenantId The tenant id.
+     * @param storeIds The tenant's stores, from the busiest to the quietest.
+     * @param orderIds A uniform sample of the tenant's orders.
+     */
+    record SeededTenant(UUID tenantId, List<UUID> storeIds, List<UUID> orderIds) {}
+}
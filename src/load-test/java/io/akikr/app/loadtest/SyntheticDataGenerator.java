@@ -0,0 +1,301 @@
+package io.akikr.app.loadtest;
+
+import io.akikr.app.shared.TimeOrderedUuidGenerator;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seeds a synthetic multi-tenant data set straight through JDBC batches: tenants, their stores, and
+ * the orders, fulfillments, tracking rows and tracking events below them.
+ *
+ * <p>The data is skewed like a real workload: the orders are spread over the tenants, and over the
+ * stores of a tenant, with a {@link ZipfDistribution}; most orders are fulfilled, some in several
+ * shipments; and delivered shipments carry more tracking events than those still in transit. The
+ * data is generated from {@link LoadTestSettings#seed()}, so that two runs seed the same shape.
+ *
+ * <p>Each tenant is seeded on its own connection, in transactions of {@value #CHUNK_SIZE} orders
+ * with their children, and {@link LoadTestSettings#seedThreads()} tenants are seeded concurrently.
+ */
+class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    private static final int CHUNK_SIZE = 1000;
+    private static final int ORDER_SAMPLE_SIZE = 1000;
+    private static final int ORDER_HISTORY_DAYS = 180;
+    private static final String[] CARRIERS = {"UPS", "FEDEX", "USPS", "DHL"};
+    private static final String[] CURRENCIES = {"USD", "USD", "USD", "EUR", "GBP"};
+    private static final String[] EVENT_CODES = {"LABEL_CREATED", "PICKED_UP", "IN_TRANSIT", "OUT_FOR_DELIVERY"};
+
+    private static final String INSERT_TENANT =
+            "INSERT INTO tenant (tenant_id, tenant_name, external_id, status) VALUES (?, ?, ?, 'ACTIVE')";
+    private static final String INSERT_STORE = "INSERT INTO store (store_id, tenant_id, store_code, store_name,"
+            + " domain, platform, timezone, currency, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE')";
+    private static final String INSERT_ORDER = "INSERT INTO orders (order_id, tenant_id, store_id, external_order_id,"
+            + " external_order_number, order_status, financial_status, fulfillment_status, customer_email,"
+            + " order_total_amount, currency, order_created_at, order_updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FULFILLMENT = "INSERT INTO fulfillments (fulfillment_id, tenant_id, order_id,"
+            + " external_fulfillment_id, fulfillment_status, carrier, service_level, shipped_at, delivered_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRACKING = "INSERT INTO tracking (tracking_id, tenant_id, fulfillment_id,"
+            + " tracking_number, carrier, tracking_status, is_primary, last_event_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRACKING_EVENT = "INSERT INTO tracking_events (tracking_event_id, tenant_id,"
+            + " tracking_id, event_time, event_code, event_description, event_city, event_country, source,"
+            + " event_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'CARRIER', ?)";
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final LoadTestSettings settings;
+    private final String runId;
+    private final LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+    private final AtomicLong seededRows = new AtomicLong();
+
+    SyntheticDataGenerator(String jdbcUrl, String username, String password, LoadTestSettings settings) {
+        // Let the driver rewrite each batch into multi-row inserts
+        this.jdbcUrl = jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        this.username = username;
+        this.password = password;
+        this.settings = settings;
+        // Keeps the unique names apart when the container (and its data) is reused across runs
+        this.runId = Long.toString(System.currentTimeMillis(), 36);
+    }
+
+    SeededData seed() throws InterruptedException {
+        var startNanos = System.nanoTime();
+        var tenantDistribution = new ZipfDistribution(settings.tenants(), settings.skew());
+        var executor = Executors.newFixedThreadPool(settings.seedThreads());
+        try {
+            var futures = new ArrayList<Future<SeededData.SeededTenant>>();
+            for (int rank = 0; rank < settings.tenants(); rank++) {
+                var tenantRank = rank;
+                var orderCount = (int) Math.round(settings.orders() * tenantDistribution.probability(rank));
+                futures.add(executor.submit(() -> seedTenant(tenantRank, orderCount)));
+            }
+            var tenants = new ArrayList<SeededData.SeededTenant>();
+            for (var future : futures) {
+                tenants.add(future.get());
+            }
+            log.info(
+                    "Seeded [{}] tenants with [{}] rows in [{}]s",
+                    tenants.size(),
+                    seededRows.get(),
+                    (System.nanoTime() - startNanos) / 1_000_000_000L);
+            return new SeededData(List.copyOf(tenants));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to seed the load-test data", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SeededData.SeededTenant seedTenant(int rank, int orderCount) throws SQLException {
+        var random = new Random(settings.seed() + rank);
+        var tenantId = TimeOrderedUuidGenerator.generate();
+        try (var connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+            connection.setAutoCommit(false);
+            try (var insertTenant = connection.prepareStatement(INSERT_TENANT)) {
+                insertTenant.setBytes(1, toBytes(tenantId));
+                insertTenant.setString(2, "load-test-" + runId + "-" + rank);
+                insertTenant.setString(3, "lt-" + runId + "-" + rank);
+                insertTenant.executeUpdate();
+            }
+            var storeIds = seedStores(connection, tenantId, rank, random);
+            connection.commit();
+            var orderIds = seedOrders(connection, tenantId, storeIds, orderCount, random);
+            log.debug("Seeded tenant:[{}] of rank:[{}] with [{}] orders", tenantId, rank, orderCount);
+            return new SeededData.SeededTenant(tenantId, storeIds, orderIds);
+        }
+    }
+
+    private List<UUID> seedStores(Connection connection, UUID tenantId, int rank, Random random) throws SQLException {
+        var storeIds = new ArrayList<UUID>();
+        try (var insertStore = connection.prepareStatement(INSERT_STORE)) {
+            for (int index = 0; index < settings.storesPerTenant(); index++) {
+                var storeId = TimeOrderedUuidGenerator.generate();
+                var storeCode = "store-" + rank + "-" + index;
+                insertStore.setBytes(1, toBytes(storeId));
+                insertStore.setBytes(2, toBytes(tenantId));
+                insertStore.setString(3, storeCode);
+                insertStore.setString(4, "Load Test Store " + rank + "-" + index);
+                insertStore.setString(5, storeCode + ".example.com");
+                insertStore.setString(6, random.nextInt(4) == 0 ? "CUSTOM" : "SHOPIFY");
+                insertStore.setString(7, "UTC");
+                insertStore.setString(8, CURRENCIES[random.nextInt(CURRENCIES.length)]);
+                insertStore.addBatch();
+                storeIds.add(storeId);
+            }
+            seededRows.addAndGet(insertStore.executeBatch().length + 1L);
+        }
+        return storeIds;
+    }
+
+    private List<UUID> seedOrders(
+            Connection connection, UUID tenantId, List<UUID> storeIds, int orderCount, Random random)
+            throws SQLException {
+        var storeDistribution = new ZipfDistribution(storeIds.size(), settings.skew());
+        var orderSample = new ArrayList<UUID>();
+        var tenantIdBytes = toBytes(tenantId);
+        try (var insertOrder = connection.prepareStatement(INSERT_ORDER);
+                var insertFulfillment = connection.prepareStatement(INSERT_FULFILLMENT);
+                var insertTracking = connection.prepareStatement(INSERT_TRACKING);
+                var insertTrackingEvent = connection.prepareStatement(INSERT_TRACKING_EVENT)) {
+            for (int index = 0; index < orderCount; index++) {
+                var orderId = TimeOrderedUuidGenerator.generate();
+                var createdAt = now.minusMinutes(random.nextInt(ORDER_HISTORY_DAYS * 24 * 60));
+                var fulfillmentStatus = fulfillmentStatus(random);
+                insertOrder.setBytes(1, toBytes(orderId));
+                insertOrder.setBytes(2, tenantIdBytes);
+                insertOrder.setBytes(3, toBytes(storeIds.get(storeDistribution.sample(random))));
+                insertOrder.setString(4, "ext-" + runId + "-" + orderId);
+                insertOrder.setString(5, "#" + (1000 + index));
+                insertOrder.setString(6, "CANCELLED".equals(fulfillmentStatus) ? "CANCELLED" : "CREATED");
+                insertOrder.setString(7, random.nextInt(10) == 0 ? "PENDING" : "PAID");
+                insertOrder.setString(8, fulfillmentStatus);
+                insertOrder.setString(9, "customer" + random.nextInt(1_000_000) + "@example.com");
+                insertOrder.setBigDecimal(10, BigDecimal.valueOf(500 + random.nextInt(50_000), 2));
+                insertOrder.setString(11, CURRENCIES[random.nextInt(CURRENCIES.length)]);
+                insertOrder.setObject(12, createdAt);
+                insertOrder.setObject(13, createdAt.plusHours(random.nextInt(72)));
+                insertOrder.addBatch();
+                seedFulfillments(
+                        insertFulfillment,
+                        insertTracking,
+                        insertTrackingEvent,
+                        tenantIdBytes,
+                        orderId,
+                        fulfillmentStatus,
+                        createdAt,
+                        random);
+                sampleOrder(orderSample, orderId, index, random);
+                if ((index + 1) % CHUNK_SIZE == 0 || index + 1 == orderCount) {
+                    // Parents first, so that the foreign keys of the children hold
+                    for (var insert : List.of(insertOrder, insertFulfillment, insertTracking, insertTrackingEvent)) {
+                        seededRows.addAndGet(insert.executeBatch().length);
+                    }
+                    connection.commit();
+                }
+            }
+        }
+        return List.copyOf(orderSample);
+    }
+
+    private void seedFulfillments(
+            PreparedStatement insertFulfillment,
+            PreparedStatement insertTracking,
+            PreparedStatement insertTrackingEvent,
+            byte[] tenantIdBytes,
+            UUID orderId,
+            String orderFulfillmentStatus,
+            LocalDateTime orderCreatedAt,
+            Random random)
+            throws SQLException {
+        var fulfillmentCount =
+                switch (orderFulfillmentStatus) {
+                    case "FULFILLED" -> random.nextInt(10) == 0 ? 2 : 1;
+                    case "PARTIAL" -> 1;
+                    default -> 0;
+                };
+        for (int index = 0; index < fulfillmentCount; index++) {
+            var fulfillmentId = TimeOrderedUuidGenerator.generate();
+            var carrier = CARRIERS[random.nextInt(CARRIERS.length)];
+            var shippedAt = orderCreatedAt.plusHours(12 + random.nextInt(48));
+            var delivered = shippedAt.plusDays(3).isBefore(now) && random.nextInt(10) != 0;
+            var deliveredAt = delivered ? shippedAt.plusHours(24 + random.nextInt(96)) : null;
+            insertFulfillment.setBytes(1, toBytes(fulfillmentId));
+            insertFulfillment.setBytes(2, tenantIdBytes);
+            insertFulfillment.setBytes(3, toBytes(orderId));
+            insertFulfillment.setString(4, "ful-" + fulfillmentId);
+            insertFulfillment.setString(5, delivered ? "DELIVERED" : "SHIPPED");
+            insertFulfillment.setString(6, carrier);
+            insertFulfillment.setString(7, random.nextInt(5) == 0 ? "EXPRESS" : "GROUND");
+            insertFulfillment.setObject(8, shippedAt);
+            insertFulfillment.setObject(9, deliveredAt);
+            insertFulfillment.addBatch();
+
+            // Delivered shipments went through every scan, the ones in transit through some
+            var eventCount = delivered ? EVENT_CODES.length + 1 : 1 + random.nextInt(EVENT_CODES.length);
+            var lastEventAt = delivered ? deliveredAt : shippedAt.plusHours(6L * (eventCount - 1));
+            var trackingId = TimeOrderedUuidGenerator.generate();
+            insertTracking.setBytes(1, toBytes(trackingId));
+            insertTracking.setBytes(2, tenantIdBytes);
+            insertTracking.setBytes(3, toBytes(fulfillmentId));
+            insertTracking.setString(4, carrier + hex(fulfillmentId));
+            insertTracking.setString(5, carrier);
+            insertTracking.setString(6, delivered ? "DELIVERED" : "IN_TRANSIT");
+            insertTracking.setBoolean(7, true);
+            insertTracking.setObject(8, lastEventAt);
+            insertTracking.addBatch();
+
+            for (int event = 0; event < eventCount; event++) {
+                var eventId = TimeOrderedUuidGenerator.generate();
+                var eventCode = event < EVENT_CODES.length ? EVENT_CODES[event] : "DELIVERED";
+                insertTrackingEvent.setBytes(1, toBytes(eventId));
+                insertTrackingEvent.setBytes(2, tenantIdBytes);
+                insertTrackingEvent.setBytes(3, toBytes(trackingId));
+                insertTrackingEvent.setObject(
+                        4, event < EVENT_CODES.length ? shippedAt.plusHours(6L * event) : deliveredAt);
+                insertTrackingEvent.setString(5, eventCode);
+                insertTrackingEvent.setString(
+                        6, "Shipment " + eventCode.toLowerCase().replace('_', ' '));
+                insertTrackingEvent.setString(7, "City " + random.nextInt(500));
+                insertTrackingEvent.setString(8, "US");
+                insertTrackingEvent.setString(9, hex(eventId) + hex(trackingId));
+                insertTrackingEvent.addBatch();
+            }
+        }
+    }
+
+    private static String fulfillmentStatus(Random random) {
+        var draw = random.nextInt(100);
+        if (draw < 55) {
+            return "FULFILLED";
+        } else if (draw < 65) {
+            return "PARTIAL";
+        } else if (draw < 95) {
+            return "UNFULFILLED";
+        }
+        return "CANCELLED";
+    }
+
+    /** Keeps a uniform sample of the orders (reservoir sampling). */
+    private static void sampleOrder(List<UUID> orderSample, UUID orderId, int index, Random random) {
+        if (orderSample.size() < ORDER_SAMPLE_SIZE) {
+            orderSample.add(orderId);
+        } else {
+            var slot = random.nextInt(index + 1);
+            if (slot < ORDER_SAMPLE_SIZE) {
+                orderSample.set(slot, orderId);
+            }
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static String hex(UUID uuid) {
+        return uuid.toString().replace("-", "");
+    }
+}
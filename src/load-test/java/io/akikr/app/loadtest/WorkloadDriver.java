@@ -0,0 +1,270 @@
+package io.akikr.app.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.akikr.app.fulfillment.model.FulfillmentCreateStatus;
+import io.akikr.app.fulfillment.model.request.FulfillmentCreateRequest;
+import io.akikr.app.order.model.FinancialStatus;
+import io.akikr.app.order.model.FulfillmentStatus;
+import io.akikr.app.order.model.OrderStatus;
+import io.akikr.app.order.model.request.OrderUpsertRequest;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Drives a mix of {@link WorkloadOperation}s against the application at a target rate, and reports
+ * their latency and throughput.
+ *
+ * <p>The driver is open-loop: requests are started on a fixed schedule whatever the response
+ * times, and each latency is measured from the request's scheduled start, so that a stalled
+ * application shows up in the percentiles instead of silently lowering the request rate
+ * (coordinated omission). Each request runs on its own thread, a virtual thread when the JVM
+ * supports them (Java 21+) and a pooled platform thread otherwise. Latencies are recorded into
+ * HdrHistograms.
+ *
+ * <p>The tenants and stores of the requests follow the same Zipf skew as the seeded data.
+ */
+class WorkloadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadDriver.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final URI baseUri;
+    private final SeededData seededData;
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper;
+    private final ZipfDistribution tenantDistribution;
+    private final ZipfDistribution storeDistribution;
+    private final WorkloadOperation[] operationSchedule;
+    private final Map<WorkloadOperation, Recorder> latencies = new EnumMap<>(WorkloadOperation.class);
+    private final Map<WorkloadOperation, LongAdder> requests = new EnumMap<>(WorkloadOperation.class);
+    private final Map<WorkloadOperation, LongAdder> errors = new EnumMap<>(WorkloadOperation.class);
+
+    WorkloadDriver(URI baseUri, SeededData seededData, LoadTestSettings settings, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.seededData = seededData;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.tenantDistribution = new ZipfDistribution(seededData.tenants().size(), settings.skew());
+        this.storeDistribution = new ZipfDistribution(settings.storesPerTenant(), settings.skew());
+        this.operationSchedule = settings.mix().entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(WorkloadOperation[]::new);
+        for (var operation : WorkloadOperation.values()) {
+            latencies.put(operation, new Recorder(3));
+            requests.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        var executor = newRequestExecutor();
+        var httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        var inFlight = new Semaphore(settings.maxInFlight());
+        try {
+            log.info("Warming up for [{}] at [{}] rps", settings.warmup(), settings.rps());
+            drive(httpClient, executor, inFlight, settings.warmup());
+            awaitInFlight(inFlight);
+            reset();
+            log.info("Measuring for [{}] at [{}] rps", settings.duration(), settings.rps());
+            var startNanos = System.nanoTime();
+            drive(httpClient, executor, inFlight, settings.duration());
+            var durationSeconds = (System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+            // Let the requests in flight complete, so that the slowest ones are reported too
+            awaitInFlight(inFlight);
+            return report(durationSeconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void drive(HttpClient httpClient, ExecutorService executor, Semaphore inFlight, Duration phase) {
+        var random = new Random(settings.seed());
+        var intervalNanos = (long) (NANOS_PER_SECOND / settings.rps());
+        var phaseNanos = phase.toNanos();
+        var startNanos = System.nanoTime();
+        for (long index = 0; index * intervalNanos < phaseNanos; index++) {
+            var scheduledNanos = startNanos + index * intervalNanos;
+            var waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            var operation = operationSchedule[random.nextInt(operationSchedule.length)];
+            requests.get(operation).increment();
+            if (!inFlight.tryAcquire()) {
+                errors.get(operation).increment();
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    send(httpClient, operation, scheduledNanos);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void send(HttpClient httpClient, WorkloadOperation operation, long scheduledNanos) {
+        try {
+            var response = httpClient.send(toRequest(operation), HttpResponse.BodyHandlers.discarding());
+            var latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledNanos);
+            if (response.statusCode() / 100 == 2) {
+                latencies.get(operation).recordValue(latencyMicros);
+            } else {
+                errors.get(operation).increment();
+            }
+        } catch (IOException e) {
+            log.debug("Request of operation:[{}] failed, due to: {}", operation.id(), e.getMessage());
+            errors.get(operation).increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.get(operation).increment();
+        }
+    }
+
+    private HttpRequest toRequest(WorkloadOperation operation) throws JsonProcessingException {
+        var random = ThreadLocalRandom.current();
+        var tenant = seededData.tenants().get(tenantDistribution.sample(random));
+        var storeId = tenant.storeIds().get(storeDistribution.sample(random));
+        return switch (operation) {
+            case CREATE_ORDER -> post("/orders", toOrderUpsertRequest(tenant.tenantId(), storeId, random));
+            case SEARCH_ORDERS -> get("/orders?orgId=" + tenant.tenantId()
+                    + (random.nextBoolean() ? "&websiteId=" + storeId : "")
+                    + "&size=50&withTotal=false");
+            case LIST_STORES -> get("/organizations/" + tenant.tenantId() + "/websites?size=50");
+            case CREATE_FULFILLMENT -> {
+                // The smallest tenants may have no orders, fall back to the largest one
+                var orderIds = tenant.orderIds().isEmpty()
+                        ? seededData.tenants().get(0).orderIds()
+                        : tenant.orderIds();
+                var orderId = orderIds.get(random.nextInt(orderIds.size()));
+                yield post("/orders/" + orderId + "/fulfillments", toFulfillmentCreateRequest(random));
+            }
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body) throws JsonProcessingException {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private static OrderUpsertRequest toOrderUpsertRequest(UUID tenantId, UUID storeId, Random random) {
+        var createdAt = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        return new OrderUpsertRequest(
+                tenantId.toString(),
+                storeId.toString(),
+                "lt-" + UUID.randomUUID(),
+                "#" + random.nextInt(1_000_000),
+                OrderStatus.CREATED,
+                FinancialStatus.PAID,
+                FulfillmentStatus.UNFULFILLED,
+                "customer" + random.nextInt(1_000_000) + "@example.com",
+                BigDecimal.valueOf(500 + random.nextInt(50_000), 2),
+                "USD",
+                createdAt,
+                createdAt);
+    }
+
+    private static FulfillmentCreateRequest toFulfillmentCreateRequest(Random random) {
+        var shippedAt = LocalDateTime.now(ZoneOffset.UTC)
+                .truncatedTo(ChronoUnit.SECONDS)
+                .minusDays(3);
+        return new FulfillmentCreateRequest(
+                "lt-" + UUID.randomUUID(),
+                FulfillmentCreateStatus.DELIVERED,
+                "UPS",
+                "GROUND",
+                shippedAt,
+                shippedAt.plusHours(24 + random.nextInt(48)));
+    }
+
+    private void awaitInFlight(Semaphore inFlight) throws InterruptedException {
+        if (inFlight.tryAcquire(settings.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            inFlight.release(settings.maxInFlight());
+        }
+    }
+
+    private void reset() {
+        latencies.values().forEach(Recorder::reset);
+        requests.values().forEach(LongAdder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    private LoadTestReport report(double durationSeconds) {
+        var operations = new LinkedHashMap<String, LoadTestReport.OperationResult>();
+        for (var operation : WorkloadOperation.values()) {
+            Histogram histogram = latencies.get(operation).getIntervalHistogram();
+            operations.put(
+                    operation.id(),
+                    new LoadTestReport.OperationResult(
+                            requests.get(operation).sum(),
+                            errors.get(operation).sum(),
+                            histogram.getTotalCount() / durationSeconds,
+                            toMillis(histogram.getValueAtPercentile(50)),
+                            toMillis(histogram.getValueAtPercentile(99)),
+                            toMillis(histogram.getValueAtPercentile(99.9))));
+        }
+        return new LoadTestReport(settings.rps(), durationSeconds, operations);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * A virtual-thread-per-task executor when the JVM supports them; the application targets Java
+     * 17, so it is looked up reflectively, falling back to a cached pool of platform threads.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.info("Virtual threads are not available, driving the workload with platform threads");
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.akikr.app.loadtest;
+
+/** The operations of the load-test workload, with their default share of the requests. */
+enum WorkloadOperation {
+    CREATE_ORDER("create-order", 30),
+    SEARCH_ORDERS("search-orders", 40),
+    LIST_STORES("list-stores", 20),
+    CREATE_FULFILLMENT("create-fulfillment", 10);
+
+    private final String id;
+    private final int defaultWeight;
+
+    WorkloadOperation(String id, int defaultWeight) {
+        this.id = id;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /** The name of the operation in the settings and in the report. */
+    String id() {
+        return id;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,42 @@
+package io.akikr.app.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A Zipf distribution over the ranks {@code 0..n-1}: rank {@code k} has a weight proportional to
+ * {@code 1 / (k + 1)^exponent}, so a few ranks (the large tenants, the busy stores) get most of
+ * the samples, as in a real multi-tenant workload.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulativeProbabilities;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one rank, got:[" + n + "]");
+        }
+        cumulativeProbabilities = new double[n];
+        var total = 0.0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulativeProbabilities[rank] /= total;
+        }
+    }
+
+    /** The probability of the given rank. */
+    double probability(int rank) {
+        return rank == 0
+                ? cumulativeProbabilities[0]
+                : cumulativeProbabilities[rank] - cumulativeProbabilities[rank - 1];
+    }
+
+    /** Draws a rank. */
+    int sample(Random random) {
+        var index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeProbabilities.length - 1);
+    }
+}
@@ -1,6 +1,13 @@
 package io.akikr.app;
 
+import io.akikr.app.shared.AppCacheProperties;
+import io.akikr.app.shared.AppIdempotencyProperties;
+import io.akikr.app.shared.AppIngestProperties;
 import io.akikr.app.shared.AppLoggingProperties;
+import io.akikr.app.shared.AppMetricsProperties;
+import io.akikr.app.shared.AppReplicaProperties;
+import io.akikr.app.shared.AppShardingProperties;
+import io.akikr.app.shared.AppSqlProperties;
 import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +20,17 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
  * application context.
  */
 @SpringBootApplication
-@EnableConfigurationProperties(value = {AppLoggingProperties.class})
+@EnableConfigurationProperties(
+        value = {
+            AppLoggingProperties.class,
+            AppIngestProperties.class,
+            AppCacheProperties.class,
+            AppIdempotencyProperties.class,
+            AppShardingProperties.class,
+            AppReplicaProperties.class,
+            AppMetricsProperties.class,
+            AppSqlProperties.class
+        })
 public class FenixCommerceApp {
 
     private static final Logger log = LoggerFactory.getLogger(FenixCommerceApp.class);
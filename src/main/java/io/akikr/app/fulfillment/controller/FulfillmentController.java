@@ -10,6 +10,7 @@ import io.akikr.app.fulfillment.model.response.FulfillmentResponse;
 import io.akikr.app.fulfillment.model.response.FulfillmentSearchResponse;
 import io.akikr.app.fulfillment.model.response.FulfillmentUpdateResponse;
 import io.akikr.app.fulfillment.service.FulfillmentCommandService;
+import io.akikr.app.fulfillment.service.FulfillmentQueryService;
 import io.akikr.app.shared.PagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,9 +32,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class FulfillmentController {
 
     private final FulfillmentCommandService fulfillmentCommandService;
+    private final FulfillmentQueryService fulfillmentQueryService;
 
-    public FulfillmentController(FulfillmentCommandService fulfillmentCommandService) {
+    public FulfillmentController(
+            FulfillmentCommandService fulfillmentCommandService, FulfillmentQueryService fulfillmentQueryService) {
         this.fulfillmentCommandService = fulfillmentCommandService;
+        this.fulfillmentQueryService = fulfillmentQueryService;
     }
 
     @Operation(summary = "Create fulfillment for an order")
@@ -43,7 +47,7 @@ public class FulfillmentController {
         return fulfillmentCommandService.createFulfillment(orderId, request);
     }
 
-    @Operation(summary = "List/search fulfillments for an order (date range + pagination)")
+    @Operation(summary = "List/search fulfillments for an order (date range + page or cursor pagination)")
     @GetMapping
     public ResponseEntity<PagedResponse<FulfillmentSearchResponse>> listFulfillments(
             @PathVariable String orderId,
@@ -51,11 +55,13 @@ public class FulfillmentController {
             @RequestParam(name = "to", required = false) String toDate,
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal,
             @RequestParam(name = "sort", defaultValue = "updatedAt,desc") String sort,
+            @RequestParam(name = "cursor", required = false) String cursor,
             @RequestParam(name = "status", required = false) FulfillmentCreateStatus status,
             @RequestParam(name = "carrier", required = false) String carrier) {
-        // TODO: Implement service layer
-        return ResponseEntity.ok().build();
+        return fulfillmentQueryService.searchFulfillments(
+                orderId, status, carrier, fromDate, toDate, page, size, withTotal, sort, cursor);
     }
 
     @Operation(summary = "Search fulfillment by external fulfillment id")
@@ -64,17 +70,17 @@ public class FulfillmentController {
             @PathVariable String orderId,
             @RequestParam(name = "externalFulfillmentId") String externalFulfillmentId,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "50") int size) {
-        // TODO: Implement service layer
-        return ResponseEntity.ok().build();
+            @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal) {
+        return fulfillmentQueryService.searchFulfillmentsByExternal(
+                orderId, externalFulfillmentId, page, size, withTotal);
     }
 
     @Operation(summary = "Get fulfillment by id")
     @GetMapping("/{fulfillmentId}")
     public ResponseEntity<FulfillmentResponse> getFulfillmentById(
             @PathVariable String orderId, @PathVariable String fulfillmentId) {
-        // TODO: Implement service layer
-        return ResponseEntity.ok().build();
+        return fulfillmentQueryService.getFulfillmentById(orderId, fulfillmentId);
     }
 
     @Operation(summary = "Update fulfillment (full replace)")
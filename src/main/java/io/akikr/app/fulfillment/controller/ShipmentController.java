@@ -0,0 +1,30 @@
+package io.akikr.app.fulfillment.controller;
+
+import io.akikr.app.fulfillment.model.request.ShipmentBatchRequest;
+import io.akikr.app.fulfillment.model.response.ShipmentBatchResponse;
+import io.akikr.app.fulfillment.service.ShipmentCommandService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Fulfillments")
+@RestController
+@RequestMapping("/shipments")
+public class ShipmentController {
+
+    private final ShipmentCommandService shipmentCommandService;
+
+    public ShipmentController(ShipmentCommandService shipmentCommandService) {
+        this.shipmentCommandService = shipmentCommandService;
+    }
+
+    @Operation(summary = "Create a batch of fulfillments with their trackings and initial tracking events")
+    @PostMapping("/batch")
+    public ResponseEntity<ShipmentBatchResponse> createShipments(@RequestBody ShipmentBatchRequest request) {
+        return shipmentCommandService.createShipments(request);
+    }
+}
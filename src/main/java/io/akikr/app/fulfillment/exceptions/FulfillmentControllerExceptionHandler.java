@@ -3,6 +3,7 @@ package io.akikr.app.fulfillment.exceptions;
 import static io.akikr.app.shared.AppUtils.buildErrorResponseResponseEntity;
 
 import io.akikr.app.fulfillment.controller.FulfillmentController;
+import io.akikr.app.fulfillment.controller.ShipmentController;
 import io.akikr.app.shared.ErrorResponse;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -15,7 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-@RestControllerAdvice(assignableTypes = FulfillmentController.class)
+@RestControllerAdvice(assignableTypes = {FulfillmentController.class, ShipmentController.class})
 public class FulfillmentControllerExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(FulfillmentControllerExceptionHandler.class);
@@ -0,0 +1,6 @@
+package io.akikr.app.fulfillment.model;
+
+public enum ShipmentBatchItemStatus {
+    CREATED,
+    FAILED
+}
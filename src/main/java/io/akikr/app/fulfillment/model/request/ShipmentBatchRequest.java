@@ -0,0 +1,7 @@
+package io.akikr.app.fulfillment.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record ShipmentBatchRequest(
+        @JsonProperty("orgId") String orgId, @JsonProperty("shipments") List<ShipmentRequest> shipments) {}
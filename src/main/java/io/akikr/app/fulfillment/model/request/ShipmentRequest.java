@@ -0,0 +1,34 @@
+package io.akikr.app.fulfillment.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.akikr.app.fulfillment.model.FulfillmentCreateStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ShipmentRequest(
+        @NotNull(message = "orderId cannot be NULL")
+                @NotBlank(message = "orderId cannot be Blank")
+                @JsonProperty("orderId")
+                String orderId,
+        @NotNull(message = "externalFulfillmentId cannot be NULL")
+                @NotBlank(message = "externalFulfillmentId cannot be Blank")
+                @Size(max = 128, message = "externalFulfillmentId cannot be longer than 128 characters")
+                @JsonProperty("externalFulfillmentId")
+                String externalFulfillmentId,
+        @NotNull(
+                        message =
+                                "status cannot be null. Possible values: CREATED, SHIPPED, DELIVERED, CANCELLED, FAILED, UNKNOWN")
+                @JsonProperty("status")
+                FulfillmentCreateStatus status,
+        @Size(max = 64, message = "carrier cannot be longer than 64 characters") @JsonProperty("carrier")
+                String carrier,
+        @Size(max = 64, message = "serviceLevel cannot be longer than 64 characters") @JsonProperty("serviceLevel")
+                String serviceLevel,
+        @JsonProperty("shippedAt") LocalDateTime shippedAt,
+        @JsonProperty("deliveredAt") LocalDateTime deliveredAt,
+        @JsonProperty("tracking")
+                List<@NotNull(message = "tracking cannot contain NULL") @Valid ShipmentTrackingRequest> tracking) {}
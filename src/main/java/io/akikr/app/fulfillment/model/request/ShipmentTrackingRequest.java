@@ -0,0 +1,24 @@
+package io.akikr.app.fulfillment.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.akikr.app.tracking.model.TrackingStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record ShipmentTrackingRequest(
+        @NotNull(message = "trackingNumber cannot be NULL")
+                @NotBlank(message = "trackingNumber cannot be Blank")
+                @Size(max = 128, message = "trackingNumber cannot be longer than 128 characters")
+                @JsonProperty("trackingNumber")
+                String trackingNumber,
+        @Size(max = 64, message = "carrier cannot be longer than 64 characters") @JsonProperty("carrier")
+                String carrier,
+        @Size(max = 1024, message = "trackingUrl cannot be longer than 1024 characters") @JsonProperty("trackingUrl")
+                String trackingUrl,
+        @JsonProperty("status") TrackingStatus status,
+        @JsonProperty("isPrimary") boolean isPrimary,
+        @JsonProperty("events")
+                List<@NotNull(message = "events cannot contain NULL") @Valid ShipmentEventRequest> events) {}
@@ -0,0 +1,14 @@
+package io.akikr.app.fulfillment.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.akikr.app.fulfillment.model.ShipmentBatchItemStatus;
+import java.util.List;
+
+public record ShipmentBatchItemResponse(
+        @JsonProperty("index") int index,
+        @JsonProperty("orderId") String orderId,
+        @JsonProperty("externalFulfillmentId") String externalFulfillmentId,
+        @JsonProperty("result") ShipmentBatchItemStatus result,
+        @JsonProperty("fulfillmentId") String fulfillmentId,
+        @JsonProperty("trackingIds") List<String> trackingIds,
+        @JsonProperty("error") String error) {}
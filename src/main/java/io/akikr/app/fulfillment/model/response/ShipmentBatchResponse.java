@@ -0,0 +1,10 @@
+package io.akikr.app.fulfillment.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record ShipmentBatchResponse(
+        @JsonProperty("total") int total,
+        @JsonProperty("succeeded") int succeeded,
+        @JsonProperty("failed") int failed,
+        @JsonProperty("results") List<ShipmentBatchItemResponse> results) {}
@@ -1,7 +1,22 @@
 package io.akikr.app.fulfillment.processor;
 
 import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.repository.FulfillmentExternalIdRow;
 import io.akikr.app.fulfillment.repository.FulfillmentRepository;
+import io.akikr.app.fulfillment.repository.FulfillmentSearchRow;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,4 +33,106 @@ public class FulfillmentProcessor {
     public Fulfillment createFulfillmentOrder(Fulfillment fulfillment) {
         return fulfillmentRepository.save(fulfillment);
     }
+
+    /**
+     * Creates a chunk of fulfillments, with the trackings they cascade to, in a single transaction
+     * (and JDBC batch). The rows are flushed before {@code afterFlush} runs, so it can write rows
+     * referencing them within the same transaction, e.g. with plain JDBC.
+     *
+     * @param fulfillments The new fulfillments.
+     * @param afterFlush Writes the rows depending on the saved fulfillments; an exception thrown by
+     *     it rolls the whole chunk back.
+     * @return The saved fulfillments.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<Fulfillment> createFulfillments(
+            List<Fulfillment> fulfillments, Consumer<List<Fulfillment>> afterFlush) {
+        var savedFulfillments = fulfillmentRepository.saveAllAndFlush(fulfillments);
+        afterFlush.accept(savedFulfillments);
+        return savedFulfillments;
+    }
+
+    /**
+     * Finds which of the given external fulfillment ids are already used by a tenant's orders, with
+     * one query.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param orderIds The UUIDs of the orders.
+     * @param externalFulfillmentIds The external fulfillment ids.
+     * @return The (order id, external fulfillment id) pairs already used.
+     */
+    @Transactional(readOnly = true)
+    public Set<FulfillmentExternalIdRow> findExistingExternalIds(
+            UUID tenantId, Collection<UUID> orderIds, Collection<String> externalFulfillmentIds) {
+        return Set.copyOf(fulfillmentRepository.findExternalIdRows(tenantId, orderIds, externalFulfillmentIds));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Fulfillment> findExistingFulfillment(UUID fulfillmentId, UUID orderId) {
+        return fulfillmentRepository.findByFulfillmentIdAndOrder_OrderId(fulfillmentId, orderId);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FulfillmentSearchRow> findSearchRows(
+            Specification<Fulfillment> fulfillmentSpecification, PageRequest pageable) {
+        return fulfillmentRepository.findSearchRows(fulfillmentSpecification, pageable);
+    }
+
+    /**
+     * Same as {@link #findSearchRows(Specification, PageRequest)}, but without the {@code COUNT(*)}
+     * query: one extra row is fetched to tell whether a next slice exists.
+     */
+    @Transactional(readOnly = true)
+    public Slice<FulfillmentSearchRow> findSearchRowSlice(
+            Specification<Fulfillment> fulfillmentSpecification, PageRequest pageable) {
+        return fulfillmentRepository.findSearchRowSlice(fulfillmentSpecification, pageable);
+    }
+
+    /**
+     * Finds the first fulfillments matching a specification, without counting the total matches.
+     *
+     * @param fulfillmentSpecification The search {@link Specification}.
+     * @param sort The sort order.
+     * @param limit The maximum number of fulfillments to return.
+     * @return Up to {@code limit} fulfillments in sort order.
+     */
+    @Transactional(readOnly = true)
+    public List<FulfillmentSearchRow> findSearchRows(
+            Specification<Fulfillment> fulfillmentSpecification, Sort sort, int limit) {
+        return fulfillmentRepository.findSearchRows(fulfillmentSpecification, sort, limit);
+    }
+
+    /**
+     * Applies a roll-up to a chunk of fulfillments of one tenant, loaded with their trackings, in a
+     * single transaction, and writes the status of the fulfillments it changed with a conditional
+     * update, so that a fulfillment changed concurrently (e.g. cancelled) since it was read is not
+     * overwritten.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param fulfillmentIds The UUIDs of the fulfillments.
+     * @param rollUp Updates a fulfillment in place from its trackings, returning {@code true} if it
+     *     changed.
+     * @return The changed fulfillments that were updated.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<Fulfillment> rollUpFulfillments(
+            UUID tenantId, Collection<UUID> fulfillmentIds, Predicate<Fulfillment> rollUp) {
+        var rolledUpFulfillments = new ArrayList<Fulfillment>();
+        for (var fulfillment : fulfillmentRepository.findWithTrackingByIds(tenantId, fulfillmentIds)) {
+            var previousStatus = fulfillment.getFulfillmentStatus();
+            if (rollUp.test(fulfillment)
+                    && fulfillmentRepository.updateRolledUpStatus(
+                                    tenantId,
+                                    fulfillment.getFulfillmentId(),
+                                    previousStatus,
+                                    fulfillment.getFulfillmentStatus(),
+                                    fulfillment.getShippedAt(),
+                                    fulfillment.getDeliveredAt(),
+                                    fulfillment.getUpdatedAt())
+                            > 0) {
+                rolledUpFulfillments.add(fulfillment);
+            }
+        }
+        return rolledUpFulfillments;
+    }
 }
@@ -0,0 +1,7 @@
+package io.akikr.app.fulfillment.repository;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import java.util.UUID;
+
+/** The external id of a {@link Fulfillment}, unique per order. */
+public record FulfillmentExternalIdRow(UUID orderId, String externalFulfillmentId) {}
@@ -1,9 +1,94 @@
 package io.akikr.app.fulfillment.repository;
 
 import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.entity.Fulfillment.FulfillmentStatus;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface FulfillmentRepository extends JpaRepository<Fulfillment, UUID> {}
+public interface FulfillmentRepository
+        extends JpaRepository<Fulfillment, UUID>, JpaSpecificationExecutor<Fulfillment>, FulfillmentSearchRepository {
+
+    /**
+     * Finds a {@link Fulfillment} by id, provided it belongs to the given order.
+     *
+     * @param fulfillmentId The UUID of the fulfillment.
+     * @param orderId The UUID of the order.
+     * @return An {@link Optional} containing the found {@link Fulfillment} if it exists, otherwise an
+     *     empty {@link Optional}.
+     */
+    Optional<Fulfillment> findByFulfillmentIdAndOrder_OrderId(UUID fulfillmentId, UUID orderId);
+
+    /**
+     * Finds a tenant's {@link Fulfillment}s by id together with their trackings, with one query. The
+     * fulfillments are loaded read-only: changing them is never written back, see {@link
+     * #updateRolledUpStatus}.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param fulfillmentIds The UUIDs of the fulfillments.
+     * @return The {@link Fulfillment}s found, with their {@code tracking} initialized.
+     */
+    @Query("select distinct f from Fulfillment f left join fetch f.tracking"
+            + " where f.tenant.tenantId = :tenantId and f.fulfillmentId in :fulfillmentIds")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Fulfillment> findWithTrackingByIds(
+            @Param("tenantId") UUID tenantId, @Param("fulfillmentIds") Collection<UUID> fulfillmentIds);
+
+    /**
+     * Writes the rolled-up status of a fulfillment, provided its status is still the one it was
+     * rolled up from. Only the roll-up columns are written, and a shipment or delivery time already
+     * set is kept.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param fulfillmentId The UUID of the fulfillment.
+     * @param previousStatus The status the fulfillment was rolled up from.
+     * @param fulfillmentStatus The rolled-up status.
+     * @param shippedAt The rolled-up shipment time.
+     * @param deliveredAt The rolled-up delivery time.
+     * @param updatedAt The time of the roll-up.
+     * @return {@code 1} if the fulfillment was updated, {@code 0} if its status changed since it was
+     *     read.
+     */
+    @Modifying
+    @Query("update Fulfillment f set f.fulfillmentStatus = :fulfillmentStatus,"
+            + " f.shippedAt = coalesce(f.shippedAt, :shippedAt), f.deliveredAt = coalesce(f.deliveredAt, :deliveredAt),"
+            + " f.updatedAt = :updatedAt where f.tenant.tenantId = :tenantId and f.fulfillmentId = :fulfillmentId"
+            + " and f.fulfillmentStatus = :previousStatus")
+    int updateRolledUpStatus(
+            @Param("tenantId") UUID tenantId,
+            @Param("fulfillmentId") UUID fulfillmentId,
+            @Param("previousStatus") FulfillmentStatus previousStatus,
+            @Param("fulfillmentStatus") FulfillmentStatus fulfillmentStatus,
+            @Param("shippedAt") LocalDateTime shippedAt,
+            @Param("deliveredAt") LocalDateTime deliveredAt,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Finds the external ids already used by a tenant's fulfillments of the given orders, narrowed
+     * to the given external ids, with one query.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param orderIds The UUIDs of the orders.
+     * @param externalFulfillmentIds The external fulfillment ids.
+     * @return The (order id, external fulfillment id) pairs found.
+     */
+    @Query("select new io.akikr.app.fulfillment.repository.FulfillmentExternalIdRow(f.order.orderId,"
+            + " f.externalFulfillmentId) from Fulfillment f where f.tenant.tenantId = :tenantId"
+            + " and f.order.orderId in :orderIds and f.externalFulfillmentId in :externalFulfillmentIds")
+    List<FulfillmentExternalIdRow> findExternalIdRows(
+            @Param("tenantId") UUID tenantId,
+            @Param("orderIds") Collection<UUID> orderIds,
+            @Param("externalFulfillmentIds") Collection<String> externalFulfillmentIds);
+}
@@ -0,0 +1,25 @@
+package io.akikr.app.fulfillment.repository;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Fulfillment searches that read {@link FulfillmentSearchRow} projections instead of {@link
+ * Fulfillment} entities, so that neither {@code raw_payload_json} nor the eagerly fetched tenant
+ * are loaded.
+ */
+public interface FulfillmentSearchRepository {
+
+    Page<FulfillmentSearchRow> findSearchRows(Specification<Fulfillment> fulfillmentSpecification, Pageable pageable);
+
+    Slice<FulfillmentSearchRow> findSearchRowSlice(
+            Specification<Fulfillment> fulfillmentSpecification, Pageable pageable);
+
+    List<FulfillmentSearchRow> findSearchRows(
+            Specification<Fulfillment> fulfillmentSpecification, Sort sort, int limit);
+}
@@ -0,0 +1,52 @@
+package io.akikr.app.fulfillment.repository;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.shared.SpecificationProjection;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+class FulfillmentSearchRepositoryImpl implements FulfillmentSearchRepository {
+
+    private final SpecificationProjection<Fulfillment, FulfillmentSearchRow> fulfillmentSearchProjection;
+
+    FulfillmentSearchRepositoryImpl(EntityManager entityManager) {
+        this.fulfillmentSearchProjection = new SpecificationProjection<>(
+                entityManager,
+                Fulfillment.class,
+                FulfillmentSearchRow.class,
+                root -> List.of(
+                        root.get("fulfillmentId"),
+                        root.get("order").get("orderId"),
+                        root.get("externalFulfillmentId"),
+                        root.get("fulfillmentStatus"),
+                        root.get("carrier"),
+                        root.get("serviceLevel"),
+                        root.get("shippedAt"),
+                        root.get("deliveredAt"),
+                        root.get("createdAt"),
+                        root.get("updatedAt")));
+    }
+
+    @Override
+    public Page<FulfillmentSearchRow> findSearchRows(
+            Specification<Fulfillment> fulfillmentSpecification, Pageable pageable) {
+        return fulfillmentSearchProjection.findPage(fulfillmentSpecification, pageable);
+    }
+
+    @Override
+    public Slice<FulfillmentSearchRow> findSearchRowSlice(
+            Specification<Fulfillment> fulfillmentSpecification, Pageable pageable) {
+        return fulfillmentSearchProjection.findSlice(fulfillmentSpecification, pageable);
+    }
+
+    @Override
+    public List<FulfillmentSearchRow> findSearchRows(
+            Specification<Fulfillment> fulfillmentSpecification, Sort sort, int limit) {
+        return fulfillmentSearchProjection.findAll(fulfillmentSpecification, sort, 0, limit);
+    }
+}
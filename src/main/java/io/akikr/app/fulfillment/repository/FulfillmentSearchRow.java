@@ -0,0 +1,18 @@
+package io.akikr.app.fulfillment.repository;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** The columns of a {@link Fulfillment} read by the fulfillment search endpoints. */
+public record FulfillmentSearchRow(
+        UUID fulfillmentId,
+        UUID orderId,
+        String externalFulfillmentId,
+        Fulfillment.FulfillmentStatus fulfillmentStatus,
+        String carrier,
+        String serviceLevel,
+        LocalDateTime shippedAt,
+        LocalDateTime deliveredAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {}
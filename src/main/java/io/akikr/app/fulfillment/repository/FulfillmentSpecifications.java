@@ -0,0 +1,105 @@
+package io.akikr.app.fulfillment.repository;
+
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.entity.Fulfillment.FulfillmentStatus;
+import io.akikr.app.shared.KeysetCursor;
+import jakarta.persistence.criteria.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class FulfillmentSpecifications {
+
+    /**
+     * Restricts a fulfillment search to the fulfillments of an order matching the filters.
+     *
+     * <p>The date range applies to {@code updatedAt}, the column the search is sorted and paginated
+     * by, so that the range and the keyset seek are both resolved on {@code
+     * idx_fulfillments_tenant_updated}. Either bound may be left out.
+     */
+    public static Specification<Fulfillment> withSearchFilters(
+            UUID tenantId,
+            UUID orderId,
+            @Nullable FulfillmentStatus fulfillmentStatus,
+            @Nullable String carrier,
+            @Nullable String fromDate,
+            @Nullable String toDate) {
+        return (root, query, criteriaBuilder) -> {
+            var predicate = criteriaBuilder.and(
+                    criteriaBuilder.equal(root.get("tenant").get("tenantId"), tenantId),
+                    criteriaBuilder.equal(root.get("order").get("orderId"), orderId));
+            if (nonNull(fulfillmentStatus)) {
+                predicate = criteriaBuilder.and(
+                        predicate, criteriaBuilder.equal(root.get("fulfillmentStatus"), fulfillmentStatus));
+            }
+            if (isNotBlank(carrier)) {
+                predicate = criteriaBuilder.and(predicate, criteriaBuilder.equal(root.get("carrier"), carrier));
+            }
+            if (isNotBlank(fromDate)) {
+                var from =
+                        LocalDateTime.parse(fromDate).atOffset(ZoneOffset.UTC).toLocalDateTime();
+                predicate = criteriaBuilder.and(
+                        predicate, criteriaBuilder.greaterThanOrEqualTo(root.get("updatedAt"), from));
+            }
+            if (isNotBlank(toDate)) {
+                var to = LocalDateTime.parse(toDate).atOffset(ZoneOffset.UTC).toLocalDateTime();
+                predicate =
+                        criteriaBuilder.and(predicate, criteriaBuilder.lessThanOrEqualTo(root.get("updatedAt"), to));
+            }
+            return predicate;
+        };
+    }
+
+    /**
+     * Restricts a fulfillment search to the fulfillment of an order with an external fulfillment ID,
+     * an equality lookup on the {@code uk_fulfillment_external} unique key.
+     */
+    public static Specification<Fulfillment> withExternalFulfillmentId(
+            UUID tenantId, UUID orderId, String externalFulfillmentId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.equal(root.get("tenant").get("tenantId"), tenantId),
+                criteriaBuilder.equal(root.get("order").get("orderId"), orderId),
+                criteriaBuilder.equal(root.get("externalFulfillmentId"), externalFulfillmentId));
+    }
+
+    /**
+     * Restricts a fulfillment search to the rows after a keyset cursor, in {@code (updatedAt,
+     * fulfillmentId)} order.
+     *
+     * <p>As for orders, the row-value comparison is expanded to {@code updated < :t OR (updated = :t
+     * AND id < :id)} (or {@code >} when ascending), a range on {@code
+     * idx_fulfillments_tenant_updated}, which ends with the primary key implicitly.
+     *
+     * @param cursor The cursor of the last fulfillment returned, or {@code null} for the first page.
+     * @param direction The sort direction of the search.
+     * @return The keyset {@link Specification}.
+     */
+    public static Specification<Fulfillment> withUpdatedAtKeyset(
+            @Nullable KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            if (Objects.isNull(cursor)) {
+                return criteriaBuilder.conjunction();
+            }
+            Path<LocalDateTime> updatedAt = root.get("updatedAt");
+            Path<UUID> fulfillmentId = root.get("fulfillmentId");
+            return direction.isDescending()
+                    ? criteriaBuilder.or(
+                            criteriaBuilder.lessThan(updatedAt, cursor.timestamp()),
+                            criteriaBuilder.and(
+                                    criteriaBuilder.equal(updatedAt, cursor.timestamp()),
+                                    criteriaBuilder.lessThan(fulfillmentId, cursor.id())))
+                    : criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(updatedAt, cursor.timestamp()),
+                            criteriaBuilder.and(
+                                    criteriaBuilder.equal(updatedAt, cursor.timestamp()),
+                                    criteriaBuilder.greaterThan(fulfillmentId, cursor.id())));
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package io.akikr.app.fulfillment.service;
+
+import io.akikr.app.fulfillment.exceptions.FulfillmentException;
+import io.akikr.app.fulfillment.model.FulfillmentCreateStatus;
+import io.akikr.app.fulfillment.model.response.FulfillmentResponse;
+import io.akikr.app.fulfillment.model.response.FulfillmentSearchResponse;
+import io.akikr.app.shared.PagedResponse;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.ResponseEntity;
+
+public interface FulfillmentQueryService {
+
+    ResponseEntity<PagedResponse<FulfillmentSearchResponse>> searchFulfillments(
+            String orderId,
+            @Nullable FulfillmentCreateStatus status,
+            @Nullable String carrier,
+            @Nullable String fromDate,
+            @Nullable String toDate,
+            int page,
+            int size,
+            boolean withTotal,
+            String sort,
+            @Nullable String cursor)
+            throws FulfillmentException;
+
+    ResponseEntity<PagedResponse<FulfillmentSearchResponse>> searchFulfillmentsByExternal(
+            String orderId, String externalFulfillmentId, int page, int size, boolean withTotal)
+            throws FulfillmentException;
+
+    ResponseEntity<FulfillmentResponse> getFulfillmentById(String orderId, String fulfillmentId)
+            throws FulfillmentException;
+}
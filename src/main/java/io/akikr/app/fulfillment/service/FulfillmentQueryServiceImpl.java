@@ -0,0 +1,305 @@
+package io.akikr.app.fulfillment.service;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.entity.Fulfillment.FulfillmentStatus;
+import io.akikr.app.fulfillment.exceptions.FulfillmentException;
+import io.akikr.app.fulfillment.model.FulfillmentCreateStatus;
+import io.akikr.app.fulfillment.model.response.FulfillmentResponse;
+import io.akikr.app.fulfillment.model.response.FulfillmentSearchResponse;
+import io.akikr.app.fulfillment.processor.FulfillmentProcessor;
+import io.akikr.app.fulfillment.repository.FulfillmentSearchRow;
+import io.akikr.app.fulfillment.repository.FulfillmentSpecifications;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.KeysetCursor;
+import io.akikr.app.shared.PagedResponse;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+public class FulfillmentQueryServiceImpl implements FulfillmentQueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(FulfillmentQueryServiceImpl.class);
+
+    private final OrderProcessor orderProcessor;
+    private final FulfillmentProcessor fulfillmentProcessor;
+
+    public FulfillmentQueryServiceImpl(OrderProcessor orderProcessor, FulfillmentProcessor fulfillmentProcessor) {
+        this.orderProcessor = orderProcessor;
+        this.fulfillmentProcessor = fulfillmentProcessor;
+    }
+
+    @Override
+    public ResponseEntity<PagedResponse<FulfillmentSearchResponse>> searchFulfillments(
+            String orderId,
+            @Nullable FulfillmentCreateStatus status,
+            @Nullable String carrier,
+            @Nullable String fromDate,
+            @Nullable String toDate,
+            int page,
+            int size,
+            boolean withTotal,
+            String sort,
+            @Nullable String cursor)
+            throws FulfillmentException {
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Searching for fulfillments by orderId:[{}], status:[{}], carrier:[{}] for fromDate:[{}], toDate:[{}], page:[{}], size:[{}], sortBy:[{}], cursor:[{}]",
+                    orderId,
+                    status,
+                    carrier,
+                    fromDate,
+                    toDate,
+                    page,
+                    size,
+                    sort,
+                    cursor);
+        }
+        var path = "/orders/" + orderId + "/fulfillments";
+        try {
+            var sortBy = convertToFulfillmentSort(sort);
+            var existingOrderId = UUID.fromString(orderId);
+            var tenantId = findOrderTenantId(existingOrderId);
+            var fulfillmentSpecification = FulfillmentSpecifications.withSearchFilters(
+                    tenantId,
+                    existingOrderId,
+                    Objects.isNull(status) ? null : FulfillmentStatus.valueOf(status.name()),
+                    carrier,
+                    fromDate,
+                    toDate);
+            if (Objects.nonNull(cursor)) {
+                var response = searchFulfillmentsByKeyset(fulfillmentSpecification, sortBy, size, cursor);
+                if (log.isDebugEnabled()) {
+                    log.debug(
+                            "Fulfillment keyset search completed successfully for orderId:[{}] with hasNext:[{}]",
+                            orderId,
+                            response.hasNextPage());
+                }
+                return ResponseEntity.status(HttpStatus.OK).body(response);
+            }
+            var response =
+                    searchFulfillmentPage(fulfillmentSpecification, PageRequest.of(page, size, sortBy), withTotal);
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Fulfillment search completed successfully for orderId:[{}] with numberOfElements:[{}], hasNext:[{}]",
+                        orderId,
+                        response.data().size(),
+                        response.hasNextPage());
+            }
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (NoSuchElementException e) {
+            log.error("Error searching for fulfillments by orderId:[{}], due to: {}", orderId, e.getMessage());
+            throw new FulfillmentException(HttpStatus.NOT_FOUND.value(), e, "Order not found", path);
+        } catch (IllegalArgumentException | UnsupportedOperationException e) {
+            log.error(
+                    "Invalid fulfillment search parameters for orderId:[{}], page:[{}], size:[{}], sortBy:[{}], cursor:[{}], due to: {}",
+                    orderId,
+                    page,
+                    size,
+                    sort,
+                    cursor,
+                    e.getMessage(),
+                    e);
+            throw new FulfillmentException(
+                    HttpStatus.BAD_REQUEST.value(), e, "Invalid parameters for searching fulfillments", path);
+        } catch (RuntimeException e) {
+            log.error(
+                    "Error searching for fulfillments by orderId:[{}], status:[{}], carrier:[{}] for fromDate:[{}], toDate:[{}], page:[{}], size:[{}], sortBy:[{}], cursor:[{}], due to: {}",
+                    orderId,
+                    status,
+                    carrier,
+                    fromDate,
+                    toDate,
+                    page,
+                    size,
+                    sort,
+                    cursor,
+                    e.getMessage(),
+                    e);
+            throw new FulfillmentException(
+                    HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    e,
+                    "An error occurred while searching for fulfillments",
+                    path);
+        }
+    }
+
+    @Override
+    public ResponseEntity<PagedResponse<FulfillmentSearchResponse>> searchFulfillmentsByExternal(
+            String orderId, String externalFulfillmentId, int page, int size, boolean withTotal)
+            throws FulfillmentException {
+        log.debug(
+                "Searching for fulfillments by orderId:[{}] and externalFulfillmentId:[{}]",
+                orderId,
+                externalFulfillmentId);
+        var path = "/orders/" + orderId + "/fulfillments/search";
+        try {
+            var existingOrderId = UUID.fromString(orderId);
+            var tenantId = findOrderTenantId(existingOrderId);
+            var fulfillmentSpecification = FulfillmentSpecifications.withExternalFulfillmentId(
+                    tenantId, existingOrderId, externalFulfillmentId);
+            var response = searchFulfillmentPage(
+                    fulfillmentSpecification,
+                    PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "updatedAt")),
+                    withTotal);
+            return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (NoSuchElementException e) {
+            log.error("Error searching for fulfillments by orderId:[{}], due to: {}", orderId, e.getMessage());
+            throw new FulfillmentException(HttpStatus.NOT_FOUND.value(), e, "Order not found", path);
+        } catch (IllegalArgumentException e) {
+            log.error(
+                    "Invalid fulfillment search parameters for orderId:[{}], page:[{}], size:[{}], due to: {}",
+                    orderId,
+                    page,
+                    size,
+                    e.getMessage(),
+                    e);
+            throw new FulfillmentException(
+                    HttpStatus.BAD_REQUEST.value(), e, "Invalid parameters for searching fulfillments", path);
+        } catch (RuntimeException e) {
+            log.error(
+                    "Error searching for fulfillments by orderId:[{}] and externalFulfillmentId:[{}], due to: {}",
+                    orderId,
+                    externalFulfillmentId,
+                    e.getMessage(),
+                    e);
+            throw new FulfillmentException(
+                    HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    e,
+                    "An error occurred while searching for fulfillments",
+                    path);
+        }
+    }
+
+    @Override
+    public ResponseEntity<FulfillmentResponse> getFulfillmentById(String orderId, String fulfillmentId)
+            throws FulfillmentException {
+        log.debug("Fetching fulfillment for orderId:[{}] and fulfillmentId:[{}]", orderId, fulfillmentId);
+        var path = "/orders/" + orderId + "/fulfillments/" + fulfillmentId;
+        try {
+            // A single lookup on the primary key: the order check is part of the same query
+            var fulfillment = fulfillmentProcessor
+                    .findExistingFulfillment(UUID.fromString(fulfillmentId), UUID.fromString(orderId))
+                    .orElseThrow(() -> new NoSuchElementException(
+                            "No Fulfillment found with fulfillmentId: " + fulfillmentId + " for orderId: " + orderId));
+            return ResponseEntity.status(HttpStatus.OK).body(toFulfillmentResponse(fulfillment));
+        } catch (NoSuchElementException e) {
+            log.error("Error fetching fulfillment for fulfillmentId:[{}], due to: {}", fulfillmentId, e.getMessage());
+            throw new FulfillmentException(HttpStatus.NOT_FOUND.value(), e, "Fulfillment not found", path);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching fulfillment for fulfillmentId:[{}], due to: {}", fulfillmentId, e.getMessage());
+            throw new FulfillmentException(
+                    HttpStatus.BAD_REQUEST.value(), e, "Invalid parameters for fetching fulfillment", path);
+        }
+    }
+
+    /**
+     * Checks the order exists with a single-column lookup on its primary key, rather than loading
+     * the {@code Order}, and returns its tenant to scope the fulfillment queries with.
+     */
+    private UUID findOrderTenantId(UUID orderId) {
+        var tenantId = orderProcessor
+                .findTenantIdByOrderId(orderId)
+                .orElseThrow(() -> new NoSuchElementException("No Order found with orderId: " + orderId));
+        log.debug("Found order with id:[{}] for tenantId:[{}]", orderId, tenantId);
+        return tenantId;
+    }
+
+    private PagedResponse<FulfillmentSearchResponse> searchFulfillmentPage(
+            Specification<Fulfillment> fulfillmentSpecification, PageRequest pageable, boolean withTotal) {
+        Slice<FulfillmentSearchRow> fulfillmentSlice = withTotal
+                ? fulfillmentProcessor.findSearchRows(fulfillmentSpecification, pageable)
+                : fulfillmentProcessor.findSearchRowSlice(fulfillmentSpecification, pageable);
+        var searchResponseList = fulfillmentSlice.getContent().stream()
+                .map(FulfillmentQueryServiceImpl::toFulfillmentSearchResponse)
+                .toList();
+        return PagedResponse.of(fulfillmentSlice, searchResponseList);
+    }
+
+    private PagedResponse<FulfillmentSearchResponse> searchFulfillmentsByKeyset(
+            Specification<Fulfillment> fulfillmentSpecification, Sort sortBy, int size, String cursor) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        var sortOrder = sortBy.getOrderFor("updatedAt");
+        if (Objects.isNull(sortOrder)) {
+            throw new IllegalArgumentException("Cursor pagination only supports sorting by updatedAt");
+        }
+        var direction = sortOrder.getDirection();
+        var keysetCursor = hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        var fulfillments = fulfillmentProcessor.findSearchRows(
+                fulfillmentSpecification.and(FulfillmentSpecifications.withUpdatedAtKeyset(keysetCursor, direction)),
+                Sort.by(direction, "updatedAt", "fulfillmentId"),
+                size + 1);
+        var hasNext = fulfillments.size() > size;
+        var pageFulfillments = hasNext ? fulfillments.subList(0, size) : fulfillments;
+        String nextCursor = null;
+        if (hasNext) {
+            var lastFulfillment = pageFulfillments.get(size - 1);
+            nextCursor = new KeysetCursor(lastFulfillment.updatedAt(), lastFulfillment.fulfillmentId()).encode();
+        }
+        var searchResponseList = pageFulfillments.stream()
+                .map(FulfillmentQueryServiceImpl::toFulfillmentSearchResponse)
+                .toList();
+        return new PagedResponse<>(searchResponseList, 0, size, null, null, hasNext, nextCursor);
+    }
+
+    private @NonNull Sort convertToFulfillmentSort(String sortStr) {
+        // Split "updatedAt,desc" into ["updatedAt", "desc"]
+        String[] parts = sortStr.split(",");
+        var property =
+                switch (parts[0]) {
+                    case "updatedAt" -> "updatedAt";
+                    case "createdAt" -> "createdAt";
+                    default -> throw new UnsupportedOperationException("Unsupported sortBy value:[" + parts[0] + "]");
+                };
+        // Default to ascending if no direction is provided or if invalid
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length > 1 && parts[1].equalsIgnoreCase("desc")) {
+            direction = Sort.Direction.DESC;
+        }
+        return Sort.by(direction, property);
+    }
+
+    static FulfillmentSearchResponse toFulfillmentSearchResponse(FulfillmentSearchRow fulfillment) {
+        return new FulfillmentSearchResponse(
+                fulfillment.fulfillmentId().toString(),
+                fulfillment.orderId().toString(),
+                fulfillment.externalFulfillmentId(),
+                FulfillmentCreateStatus.valueOf(fulfillment.fulfillmentStatus().name()),
+                fulfillment.carrier(),
+                fulfillment.serviceLevel(),
+                fulfillment.shippedAt(),
+                fulfillment.deliveredAt(),
+                fulfillment.createdAt(),
+                fulfillment.updatedAt());
+    }
+
+    static FulfillmentResponse toFulfillmentResponse(Fulfillment fulfillment) {
+        return new FulfillmentResponse(
+                fulfillment.getFulfillmentId().toString(),
+                fulfillment.getOrder().getOrderId().toString(),
+                fulfillment.getExternalFulfillmentId(),
+                FulfillmentCreateStatus.valueOf(
+                        fulfillment.getFulfillmentStatus().name()),
+                fulfillment.getCarrier(),
+                fulfillment.getServiceLevel(),
+                fulfillment.getShippedAt(),
+                fulfillment.getDeliveredAt(),
+                fulfillment.getCreatedAt(),
+                fulfillment.getUpdatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package io.akikr.app.fulfillment.service;
+
+import io.akikr.app.fulfillment.exceptions.FulfillmentException;
+import io.akikr.app.fulfillment.model.request.ShipmentBatchRequest;
+import io.akikr.app.fulfillment.model.response.ShipmentBatchResponse;
+import org.springframework.http.ResponseEntity;
+
+public interface ShipmentCommandService {
+
+    ResponseEntity<ShipmentBatchResponse> createShipments(ShipmentBatchRequest shipmentBatchRequest)
+            throws FulfillmentException;
+}
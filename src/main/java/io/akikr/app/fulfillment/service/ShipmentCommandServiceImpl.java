@@ -0,0 +1,361 @@
+package io.akikr.app.fulfillment.service;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.entity.Fulfillment.FulfillmentStatus;
+import io.akikr.app.fulfillment.exceptions.FulfillmentException;
+import io.akikr.app.fulfillment.model.ShipmentBatchItemStatus;
+import io.akikr.app.fulfillment.model.request.ShipmentBatchRequest;
+import io.akikr.app.fulfillment.model.request.ShipmentEventRequest;
+import io.akikr.app.fulfillment.model.request.ShipmentRequest;
+import io.akikr.app.fulfillment.model.request.ShipmentTrackingRequest;
+import io.akikr.app.fulfillment.model.response.ShipmentBatchItemResponse;
+import io.akikr.app.fulfillment.model.response.ShipmentBatchResponse;
+import io.akikr.app.fulfillment.processor.FulfillmentProcessor;
+import io.akikr.app.fulfillment.repository.FulfillmentExternalIdRow;
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.shared.TenantShardContext;
+import io.akikr.app.tenant.entity.Tenant;
+import io.akikr.app.tenant.processor.TenantProcessor;
+import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.model.TrackingStatus;
+import io.akikr.app.tracking.model.request.TrackingEventRequest;
+import io.akikr.app.tracking.processor.TrackingProcessor;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import io.akikr.app.tracking.service.TrackingEventService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ShipmentCommandServiceImpl implements ShipmentCommandService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShipmentCommandServiceImpl.class);
+    private static final String BATCH_PATH = "/shipments/batch";
+
+    private final TenantProcessor tenantProcessor;
+    private final OrderProcessor orderProcessor;
+    private final FulfillmentProcessor fulfillmentProcessor;
+    private final TrackingProcessor trackingProcessor;
+    private final TrackingEventService trackingEventService;
+    private final Validator validator;
+    private final AppIngestProperties appIngestProperties;
+
+    public ShipmentCommandServiceImpl(
+            TenantProcessor tenantProcessor,
+            OrderProcessor orderProcessor,
+            FulfillmentProcessor fulfillmentProcessor,
+            TrackingProcessor trackingProcessor,
+            TrackingEventService trackingEventService,
+            Validator validator,
+            AppIngestProperties appIngestProperties) {
+        this.tenantProcessor = tenantProcessor;
+        this.orderProcessor = orderProcessor;
+        this.fulfillmentProcessor = fulfillmentProcessor;
+        this.trackingProcessor = trackingProcessor;
+        this.trackingEventService = trackingEventService;
+        this.validator = validator;
+        this.appIngestProperties = appIngestProperties;
+    }
+
+    /**
+     * Creates a batch of shipments of one tenant, i.e. a fulfillment of an order together with its
+     * trackings and their initial tracking events, for any number of orders.
+     *
+     * <p>The orders, the external fulfillment ids and the tracking numbers of the whole batch are
+     * checked with one query each, so a shipment that could only fail on a unique key is rejected
+     * up front instead of rolling back its chunk. The remaining shipments are written in chunks of
+     * {@link AppIngestProperties#shipmentFlushSize()}: the fulfillments and the trackings they
+     * cascade to are inserted with JDBC batching, and the events with one {@code INSERT IGNORE}, all
+     * in a single transaction per chunk. A failed chunk only fails its own shipments. The stored
+     * events are then handed to the tracking event deduplication and status roll-up.
+     */
+    @Override
+    public ResponseEntity<ShipmentBatchResponse> createShipments(ShipmentBatchRequest shipmentBatchRequest)
+            throws FulfillmentException {
+        var shipments = Objects.isNull(shipmentBatchRequest) ? null : shipmentBatchRequest.shipments();
+        var batchSize = Objects.isNull(shipments) ? 0 : shipments.size();
+        log.debug("Creating shipment batch of [{}] shipments", batchSize);
+        if (batchSize == 0 || batchSize > appIngestProperties.shipmentMaxBatchSize()) {
+            var error = new IllegalArgumentException("Shipment batch size must be between 1 and "
+                    + appIngestProperties.shipmentMaxBatchSize()
+                    + " but was "
+                    + batchSize);
+            log.error("Error Creating shipment batch, due to: {}", error.getMessage());
+            throw new FulfillmentException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    error,
+                    "An errorDetails occurred while Creating shipments",
+                    BATCH_PATH);
+        }
+        try {
+            return TenantShardContext.call(shipmentBatchRequest.orgId(), () -> {
+                var tenantId = UUID.fromString(shipmentBatchRequest.orgId());
+                var tenant = tenantProcessor
+                        .findCachedByTenantId(tenantId)
+                        .orElseThrow(() -> new FulfillmentException(
+                                HttpStatus.NOT_FOUND.value(),
+                                new RuntimeException("No Tenant found with tenantId: " + tenantId),
+                                "An errorDetails occurred while Creating shipments",
+                                BATCH_PATH));
+                var response = createTenantShipments(tenant, shipments);
+                if (log.isDebugEnabled()) {
+                    log.debug(
+                            "Shipment batch created for tenantId:[{}] with succeeded:[{}] and failed:[{}] shipments",
+                            tenantId,
+                            response.succeeded(),
+                            response.failed());
+                }
+                return ResponseEntity.status(HttpStatus.OK).body(response);
+            });
+        } catch (NullPointerException | IllegalArgumentException e) {
+            log.error(
+                    "Error Creating shipment batch for orgId:[{}], due to: {}",
+                    shipmentBatchRequest.orgId(),
+                    e.getMessage(),
+                    e);
+            throw new FulfillmentException(
+                    HttpStatus.BAD_REQUEST.value(), e, "An errorDetails occurred while Creating shipments", BATCH_PATH);
+        }
+    }
+
+    private ShipmentBatchResponse createTenantShipments(Tenant tenant, List<ShipmentRequest> shipments) {
+        var tenantId = tenant.getTenantId();
+        var results = new ArrayList<ShipmentBatchItemResponse>(shipments.size());
+        var validIndices = new ArrayList<Integer>(shipments.size());
+        var orderIds = new LinkedHashSet<UUID>();
+        var externalFulfillmentIds = new LinkedHashSet<String>();
+        var trackingNumbers = new LinkedHashSet<String>();
+        for (int index = 0; index < shipments.size(); index++) {
+            var shipment = shipments.get(index);
+            var violations = validateShipment(shipment);
+            if (Objects.nonNull(violations)) {
+                results.add(failed(index, shipment, violations));
+                continue;
+            }
+            validIndices.add(index);
+            orderIds.add(UUID.fromString(shipment.orderId()));
+            externalFulfillmentIds.add(shipment.externalFulfillmentId());
+            trackingsOf(shipment).forEach(tracking -> trackingNumbers.add(tracking.trackingNumber()));
+        }
+
+        var orders =
+                orderIds.isEmpty() ? Map.<UUID, Order>of() : orderProcessor.findOrderReferences(tenantId, orderIds);
+        var usedExternalIds = orders.isEmpty()
+                ? new HashSet<FulfillmentExternalIdRow>()
+                : new HashSet<>(fulfillmentProcessor.findExistingExternalIds(
+                        tenantId, orders.keySet(), externalFulfillmentIds));
+        var usedTrackingNumbers = trackingNumbers.isEmpty()
+                ? new HashSet<String>()
+                : new HashSet<>(trackingProcessor
+                        .findTrackingIdsByNumber(tenantId, trackingNumbers)
+                        .keySet());
+        var pendingShipments = new ArrayList<PendingShipment>(validIndices.size());
+        for (var index : validIndices) {
+            var shipment = shipments.get(index);
+            var orderId = UUID.fromString(shipment.orderId());
+            var order = orders.get(orderId);
+            if (Objects.isNull(order)) {
+                results.add(failed(index, shipment, "No Order found with orderId: " + orderId));
+                continue;
+            }
+            // Every conflict is checked before anything is reserved, so a rejected shipment never
+            // reserves the external id or tracking numbers a later shipment of the batch may use
+            var externalId = new FulfillmentExternalIdRow(orderId, shipment.externalFulfillmentId());
+            if (usedExternalIds.contains(externalId)) {
+                results.add(failed(
+                        index,
+                        shipment,
+                        "Fulfillment already exists with externalFulfillmentId: " + shipment.externalFulfillmentId()));
+                continue;
+            }
+            var shipmentTrackingNumbers = new HashSet<String>();
+            var usedTrackingNumber = trackingsOf(shipment).stream()
+                    .map(ShipmentTrackingRequest::trackingNumber)
+                    .filter(trackingNumber -> usedTrackingNumbers.contains(trackingNumber)
+                            || !shipmentTrackingNumbers.add(trackingNumber))
+                    .findFirst();
+            if (usedTrackingNumber.isPresent()) {
+                results.add(failed(
+                        index, shipment, "Tracking already exists with trackingNumber: " + usedTrackingNumber.get()));
+                continue;
+            }
+            usedExternalIds.add(externalId);
+            usedTrackingNumbers.addAll(shipmentTrackingNumbers);
+            pendingShipments.add(new PendingShipment(index, shipment, toFulfillment(shipment, tenant, order)));
+        }
+
+        var flushSize = appIngestProperties.shipmentFlushSize();
+        for (int from = 0; from < pendingShipments.size(); from += flushSize) {
+            var chunk = pendingShipments.subList(from, Math.min(from + flushSize, pendingShipments.size()));
+            var trackingEvents = new ArrayList<TrackingEventRow>();
+            try {
+                fulfillmentProcessor.createFulfillments(
+                        chunk.stream().map(PendingShipment::fulfillment).toList(), savedFulfillments -> {
+                            chunk.forEach(
+                                    pendingShipment -> trackingEvents.addAll(toTrackingEventRows(pendingShipment)));
+                            if (!trackingEvents.isEmpty()) {
+                                trackingProcessor.insertEvents(tenantId, trackingEvents);
+                            }
+                        });
+                chunk.forEach(pendingShipment -> results.add(created(pendingShipment)));
+                if (!trackingEvents.isEmpty()) {
+                    trackingEventService.recordStoredEvents(tenantId, trackingEvents);
+                }
+            } catch (RuntimeException e) {
+                log.error(
+                        "Error Creating [{}] shipments for tenantId:[{}], due to: {}",
+                        chunk.size(),
+                        tenantId,
+                        e.getMessage(),
+                        e);
+                var message = Objects.requireNonNullElse(e.getCause(), e).getMessage();
+                chunk.forEach(pendingShipment ->
+                        results.add(failed(pendingShipment.index(), pendingShipment.shipment(), message)));
+            }
+        }
+        results.sort(Comparator.comparingInt(ShipmentBatchItemResponse::index));
+        var succeeded = (int) results.stream()
+                .filter(result -> ShipmentBatchItemStatus.CREATED.equals(result.result()))
+                .count();
+        return new ShipmentBatchResponse(shipments.size(), succeeded, shipments.size() - succeeded, results);
+    }
+
+    private static Fulfillment toFulfillment(ShipmentRequest shipment, Tenant tenant, Order order) {
+        var fulfillment = Fulfillment.builder()
+                .tenant(tenant)
+                .order(order)
+                .externalFulfillmentId(shipment.externalFulfillmentId())
+                .fulfillmentStatus(FulfillmentStatus.valueOf(shipment.status().name()))
+                .carrier(shipment.carrier())
+                .serviceLevel(shipment.serviceLevel())
+                .shippedAt(shipment.shippedAt())
+                .deliveredAt(shipment.deliveredAt())
+                .build();
+        fulfillment.setTracking(trackingsOf(shipment).stream()
+                .map(tracking -> Tracking.builder()
+                        .tenant(tenant)
+                        .fulfillment(fulfillment)
+                        .trackingNumber(tracking.trackingNumber())
+                        .trackingUrl(tracking.trackingUrl())
+                        .carrier(Objects.requireNonNullElse(tracking.carrier(), shipment.carrier()))
+                        .trackingStatus(Tracking.TrackingStatus.valueOf(
+                                Objects.requireNonNullElse(tracking.status(), TrackingStatus.LABEL_CREATED)
+                                        .name()))
+                        .isPrimary(tracking.isPrimary())
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new)));
+        return fulfillment;
+    }
+
+    /** Maps the initial events of a saved shipment's trackings, whose ids are now assigned. */
+    private List<TrackingEventRow> toTrackingEventRows(PendingShipment pendingShipment) {
+        var trackingRequests = trackingsOf(pendingShipment.shipment());
+        var trackings = pendingShipment.fulfillment().getTracking();
+        var trackingEvents = new ArrayList<TrackingEventRow>();
+        for (int position = 0; position < trackingRequests.size(); position++) {
+            var trackingRequest = trackingRequests.get(position);
+            var trackingId = trackings.get(position).getTrackingId();
+            for (var event : eventsOf(trackingRequest)) {
+                trackingEvents.add(trackingEventService.toTrackingEventRow(
+                        trackingId, toTrackingEventRequest(trackingRequest.trackingNumber(), event)));
+            }
+        }
+        return trackingEvents;
+    }
+
+    private static TrackingEventRequest toTrackingEventRequest(String trackingNumber, ShipmentEventRequest event) {
+        return new TrackingEventRequest(
+                trackingNumber,
+                event.eventTime(),
+                event.eventCode(),
+                event.eventDescription(),
+                event.eventCity(),
+                event.eventState(),
+                event.eventCountry(),
+                event.eventZip(),
+                event.source());
+    }
+
+    private @Nullable String validateShipment(@Nullable ShipmentRequest shipment) {
+        if (Objects.isNull(shipment)) {
+            return "Shipment request cannot be NULL";
+        }
+        var violations = validator.validate(shipment);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            UUID.fromString(shipment.orderId());
+        } catch (IllegalArgumentException e) {
+            return "orderId is not a valid UUID: " + shipment.orderId();
+        }
+        if (Objects.nonNull(shipment.shippedAt())
+                && Objects.nonNull(shipment.deliveredAt())
+                && shipment.deliveredAt().isBefore(shipment.shippedAt())) {
+            // chk_ship_delivery_order would otherwise fail the whole chunk
+            return "deliveredAt cannot be before shippedAt";
+        }
+        var trackingNumbers = new HashSet<String>();
+        for (var tracking : trackingsOf(shipment)) {
+            if (!trackingNumbers.add(tracking.trackingNumber())) {
+                return "Duplicate trackingNumber: " + tracking.trackingNumber();
+            }
+        }
+        return null;
+    }
+
+    private static List<ShipmentTrackingRequest> trackingsOf(ShipmentRequest shipment) {
+        return Objects.requireNonNullElse(shipment.tracking(), List.of());
+    }
+
+    private static List<ShipmentEventRequest> eventsOf(ShipmentTrackingRequest tracking) {
+        return Objects.requireNonNullElse(tracking.events(), List.of());
+    }
+
+    private static ShipmentBatchItemResponse created(PendingShipment pendingShipment) {
+        var fulfillment = pendingShipment.fulfillment();
+        return new ShipmentBatchItemResponse(
+                pendingShipment.index(),
+                pendingShipment.shipment().orderId(),
+                fulfillment.getExternalFulfillmentId(),
+                ShipmentBatchItemStatus.CREATED,
+                fulfillment.getFulfillmentId().toString(),
+                fulfillment.getTracking().stream()
+                        .map(tracking -> tracking.getTrackingId().toString())
+                        .toList(),
+                null);
+    }
+
+    private static ShipmentBatchItemResponse failed(int index, @Nullable ShipmentRequest shipment, String error) {
+        return new ShipmentBatchItemResponse(
+                index,
+                Objects.isNull(shipment) ? null : shipment.orderId(),
+                Objects.isNull(shipment) ? null : shipment.externalFulfillmentId(),
+                ShipmentBatchItemStatus.FAILED,
+                null,
+                null,
+                error);
+    }
+
+    /** A shipment that passed the checks, with the fulfillment (and trackings) to insert for it. */
+    private record PendingShipment(int index, ShipmentRequest shipment, Fulfillment fulfillment) {}
+}
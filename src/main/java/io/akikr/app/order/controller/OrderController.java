@@ -6,6 +6,8 @@ import io.akikr.app.order.model.OrderStatus;
 import io.akikr.app.order.model.request.OrderPatchRequest;
 import io.akikr.app.order.model.request.OrderUpdateRequest;
 import io.akikr.app.order.model.request.OrderUpsertRequest;
+import io.akikr.app.order.model.response.OrderBatchUpsertResponse;
+import io.akikr.app.order.model.response.OrderIngestTicketResponse;
 import io.akikr.app.order.model.response.OrderPatchResponse;
 import io.akikr.app.order.model.response.OrderResponse;
 import io.akikr.app.order.model.response.OrderSearchResponse;
@@ -16,6 +18,9 @@ import io.akikr.app.order.service.OrderQueryService;
 import io.akikr.app.shared.PagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Orders")
 @RestController
@@ -47,7 +53,31 @@ public class OrderController {
         return orderCommandService.upsertOrder(request);
     }
 
-    @Operation(summary = "Search orders (date range + pagination)")
+    @Operation(summary = "Accept an order for asynchronous upsert, returning a ticket")
+    @PostMapping(params = "mode=async")
+    public ResponseEntity<OrderIngestTicketResponse> createOrderAsync(@RequestBody OrderUpsertRequest request) {
+        return orderCommandService.enqueueOrder(request);
+    }
+
+    @Operation(summary = "Get the status of an asynchronous order upsert")
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<OrderIngestTicketResponse> getOrderTicket(@PathVariable String ticketId) {
+        return orderCommandService.getOrderTicket(ticketId);
+    }
+
+    @Operation(summary = "Create (or upsert) orders in bulk")
+    @PostMapping("/batch")
+    public ResponseEntity<OrderBatchUpsertResponse> createOrders(@RequestBody List<OrderUpsertRequest> requests) {
+        return orderCommandService.upsertOrders(requests);
+    }
+
+    @Operation(summary = "Create (or upsert) orders from a newline-delimited JSON stream")
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createOrdersFromStream(InputStream inputStream) {
+        return orderCommandService.upsertOrderStream(inputStream);
+    }
+
+    @Operation(summary = "Search orders (date range + page or cursor pagination)")
     @GetMapping
     public ResponseEntity<PagedResponse<OrderSearchResponse>> searchOrders(
             @RequestParam(name = "orgId") String orgId,
@@ -59,9 +89,38 @@ public class OrderController {
             @RequestParam(name = "fulfillmentStatus", required = false) FulfillmentStatus fulfillmentStatus,
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "50") int size,
-            @RequestParam(name = "sort", defaultValue = "updatedAt,desc") String sort) {
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "sort", defaultValue = "updatedAt,desc") String sort,
+            @RequestParam(name = "cursor", required = false) String cursor) {
         return orderQueryService.searchOrders(
-                orgId, websiteId, orderStatus, financialStatus, fulfillmentStatus, fromDate, toDate, page, size, sort);
+                orgId,
+                websiteId,
+                orderStatus,
+                financialStatus,
+                fulfillmentStatus,
+                fromDate,
+                toDate,
+                page,
+                size,
+                withTotal,
+                sort,
+                cursor);
+    }
+
+    @Operation(summary = "Export all matching orders as a CSV or newline-delimited JSON stream")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(name = "orgId") String orgId,
+            @RequestParam(name = "websiteId", required = false) String websiteId,
+            @RequestParam(name = "from", required = false) String fromDate,
+            @RequestParam(name = "to", required = false) String toDate,
+            @RequestParam(name = "status", required = false) OrderStatus orderStatus,
+            @RequestParam(name = "financialStatus", required = false) FinancialStatus financialStatus,
+            @RequestParam(name = "fulfillmentStatus", required = false) FulfillmentStatus fulfillmentStatus,
+            @RequestParam(name = "sort", defaultValue = "updatedAt,desc") String sort,
+            @RequestParam(name = "format", defaultValue = "csv") String format) {
+        return orderQueryService.exportOrders(
+                orgId, websiteId, orderStatus, financialStatus, fulfillmentStatus, fromDate, toDate, sort, format);
     }
 
     @Operation(summary = "Search order by external order id/number")
@@ -72,9 +131,10 @@ public class OrderController {
             @RequestParam(name = "externalOrderId", required = false) String externalOrderId,
             @RequestParam(name = "externalOrderNumber", required = false) String externalOrderNumber,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "50") int size) {
+            @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal) {
         return orderQueryService.searchOrderByExternal(
-                orgId, websiteId, externalOrderId, externalOrderNumber, page, size);
+                orgId, websiteId, externalOrderId, externalOrderNumber, page, size, withTotal);
     }
 
     @Operation(summary = "Get order by id")
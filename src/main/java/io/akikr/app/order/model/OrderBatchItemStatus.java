@@ -0,0 +1,7 @@
+package io.akikr.app.order.model;
+
+public enum OrderBatchItemStatus {
+    CREATED,
+    UPDATED,
+    FAILED
+}
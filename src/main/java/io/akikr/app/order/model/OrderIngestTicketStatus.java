@@ -0,0 +1,8 @@
+package io.akikr.app.order.model;
+
+public enum OrderIngestTicketStatus {
+    QUEUED,
+    CREATED,
+    UPDATED,
+    FAILED
+}
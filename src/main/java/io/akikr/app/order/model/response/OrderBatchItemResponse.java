@@ -0,0 +1,11 @@
+package io.akikr.app.order.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.akikr.app.order.model.OrderBatchItemStatus;
+
+public record OrderBatchItemResponse(
+        @JsonProperty("index") int index,
+        @JsonProperty("externalOrderId") String externalOrderId,
+        @JsonProperty("result") OrderBatchItemStatus result,
+        @JsonProperty("id") String id,
+        @JsonProperty("error") String error) {}
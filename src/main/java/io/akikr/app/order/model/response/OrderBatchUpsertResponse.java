@@ -0,0 +1,10 @@
+package io.akikr.app.order.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record OrderBatchUpsertResponse(
+        @JsonProperty("total") int total,
+        @JsonProperty("succeeded") int succeeded,
+        @JsonProperty("failed") int failed,
+        @JsonProperty("results") List<OrderBatchItemResponse> results) {}
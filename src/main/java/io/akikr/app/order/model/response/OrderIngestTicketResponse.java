@@ -0,0 +1,11 @@
+package io.akikr.app.order.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.akikr.app.order.model.OrderIngestTicketStatus;
+
+public record OrderIngestTicketResponse(
+        @JsonProperty("ticketId") String ticketId,
+        @JsonProperty("externalOrderId") String externalOrderId,
+        @JsonProperty("status") OrderIngestTicketStatus status,
+        @JsonProperty("id") String id,
+        @JsonProperty("error") String error) {}
@@ -2,10 +2,22 @@ package io.akikr.app.order.processor;
 
 import io.akikr.app.order.entity.Order;
 import io.akikr.app.order.repository.OrderRepository;
+import io.akikr.app.order.repository.OrderSearchRow;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +36,38 @@ public class OrderProcessor {
         return orderRepository.save(order);
     }
 
+    /**
+     * Upserts a chunk of orders of one store in a single transaction.
+     *
+     * <p>The existing rows are resolved with one query on {@code uk_order_external}, and the merged
+     * or newly built orders are saved together so that Hibernate can send them as JDBC batches.
+     * Resolving and saving in the same transaction keeps the existing orders managed, so no extra
+     * {@code SELECT} is issued per updated order on save.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param storeId The UUID of the store.
+     * @param externalOrderIds The distinct external order IDs of the chunk.
+     * @param orderMapper Builds the order to save from its external order ID and the existing order,
+     *     which is {@code null} when the order does not exist yet.
+     * @return The saved orders.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<Order> upsertOrders(
+            UUID tenantId,
+            UUID storeId,
+            Collection<String> externalOrderIds,
+            BiFunction<String, Order, Order> orderMapper) {
+        Map<String, Order> existingOrders =
+                orderRepository
+                        .findByTenant_TenantIdAndStore_StoreIdAndExternalOrderIdIn(tenantId, storeId, externalOrderIds)
+                        .stream()
+                        .collect(Collectors.toMap(Order::getExternalOrderId, Function.identity()));
+        var orders = externalOrderIds.stream()
+                .map(externalOrderId -> orderMapper.apply(externalOrderId, existingOrders.get(externalOrderId)))
+                .toList();
+        return orderRepository.saveAll(orders);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Order> findExistingOrder(UUID tenantId, UUID storeId, String externalOrderId) {
         return orderRepository.findByTenant_TenantIdAndStore_StoreIdAndExternalOrderId(
@@ -36,7 +80,102 @@ public class OrderProcessor {
     }
 
     @Transactional(readOnly = true)
-    public Page<Order> findBySpecification(Specification<Order> orderSpecification, PageRequest pageable) {
-        return orderRepository.findAll(orderSpecification, pageable);
+    public Optional<UUID> findTenantIdByOrderId(UUID orderId) {
+        return orderRepository.findTenantIdByOrderId(orderId);
+    }
+
+    /**
+     * Resolves the given orders of a tenant to references, checking they exist with one query but
+     * without loading them. A reference only carries the order id, which is all a child row being
+     * inserted needs.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param orderIds The UUIDs of the orders.
+     * @return A reference to each of the tenant's orders among {@code orderIds}; unknown orders are
+     *     absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Order> findOrderReferences(UUID tenantId, Collection<UUID> orderIds) {
+        return orderRepository.findOrderIdsByTenantIdAndOrderIds(tenantId, orderIds).stream()
+                .collect(Collectors.toMap(Function.identity(), orderRepository::getReferenceById));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrderSearchRow> findSearchRows(Specification<Order> orderSpecification, PageRequest pageable) {
+        return orderRepository.findSearchRows(orderSpecification, pageable);
+    }
+
+    /**
+     * Same as {@link #findSearchRows(Specification, PageRequest)}, but without the {@code COUNT(*)}
+     * query: one extra row is fetched to tell whether a next slice exists.
+     */
+    @Transactional(readOnly = true)
+    public Slice<OrderSearchRow> findSearchRowSlice(Specification<Order> orderSpecification, PageRequest pageable) {
+        return orderRepository.findSearchRowSlice(orderSpecification, pageable);
+    }
+
+    /**
+     * Finds the first orders matching a specification, without counting the total matches.
+     *
+     * @param orderSpecification The search {@link Specification}.
+     * @param sort The sort order.
+     * @param limit The maximum number of orders to return.
+     * @return Up to {@code limit} orders in sort order.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSearchRow> findSearchRows(Specification<Order> orderSpecification, Sort sort, int limit) {
+        return orderRepository.findSearchRows(orderSpecification, sort, limit);
+    }
+
+    /**
+     * Reads all orders matching a specification over a forward-only cursor, handing each one to the
+     * consumer as it is read. Only the row being consumed is held in memory, whatever the number of
+     * matches.
+     *
+     * @param orderSpecification The search {@link Specification}.
+     * @param sort The sort order.
+     * @param fetchSize The JDBC fetch size ({@link Integer#MIN_VALUE} streams MySQL rows one by one).
+     * @param rowConsumer Consumes each order, on the calling thread and within the transaction.
+     * @return The number of orders read.
+     */
+    @Transactional(readOnly = true)
+    public long forEachSearchRow(
+            Specification<Order> orderSpecification, Sort sort, int fetchSize, Consumer<OrderSearchRow> rowConsumer) {
+        long count = 0;
+        try (var rows = orderRepository.streamSearchRows(orderSpecification, sort, fetchSize)) {
+            var iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowConsumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Applies a roll-up to a chunk of orders of one tenant, loaded with their fulfillments, in a
+     * single transaction, and writes the fulfillment status of the orders it changed with a
+     * conditional update, so that an order upserted or cancelled concurrently since it was read is
+     * not overwritten.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param orderIds The UUIDs of the orders.
+     * @param rollUp Updates an order in place from its fulfillments, returning {@code true} if it
+     *     changed.
+     * @return The changed orders that were updated.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<Order> rollUpOrders(UUID tenantId, Collection<UUID> orderIds, Predicate<Order> rollUp) {
+        var rolledUpOrders = new ArrayList<Order>();
+        for (var order : orderRepository.findWithFulfillmentsByIds(tenantId, orderIds)) {
+            var previousStatus = order.getFulfillmentStatus();
+            if (rollUp.test(order)
+                    && orderRepository.updateRolledUpFulfillmentStatus(
+                                    tenantId, order.getOrderId(), previousStatus, order.getFulfillmentStatus())
+                            > 0) {
+                rolledUpOrders.add(order);
+            }
+        }
+        return rolledUpOrders;
     }
 }
@@ -1,14 +1,24 @@
 package io.akikr.app.order.repository;
 
 import io.akikr.app.order.entity.Order;
+import io.akikr.app.order.entity.Order.FulfillmentStatus;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository
+        extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order>, OrderSearchRepository {
 
     /**
      * Finds an {@link Optional} of {@link Order} by the tenant's ID, store's ID, and external order
@@ -26,4 +36,75 @@ public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecific
      */
     Optional<Order> findByTenant_TenantIdAndStore_StoreIdAndExternalOrderId(
             UUID tenantId, UUID storeId, String externalOrderId);
+
+    /**
+     * Finds all {@link Order}s of a store whose external order ID is one of the given values.
+     *
+     * <p>The lookup is a single {@code IN} query on the {@code uk_order_external} unique key, which is
+     * how bulk upserts resolve the rows they have to update instead of issuing one query per order.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param storeId The UUID of the store.
+     * @param externalOrderIds The external order ID strings to resolve.
+     * @return The {@link Order}s found, in no particular order.
+     */
+    List<Order> findByTenant_TenantIdAndStore_StoreIdAndExternalOrderIdIn(
+            UUID tenantId, UUID storeId, Collection<String> externalOrderIds);
+
+    /**
+     * Finds a tenant's {@link Order}s by id together with their fulfillments, with one query. The
+     * orders are loaded read-only: changing them is never written back, see {@link
+     * #updateRolledUpFulfillmentStatus}.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param orderIds The UUIDs of the orders.
+     * @return The {@link Order}s found, with their {@code fulfillments} initialized.
+     */
+    @Query("select distinct o from Order o left join fetch o.fulfillments"
+            + " where o.tenant.tenantId = :tenantId and o.orderId in :orderIds")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Order> findWithFulfillmentsByIds(
+            @Param("tenantId") UUID tenantId, @Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Writes the rolled-up fulfillment status of an order, provided it is still the one it was
+     * rolled up from. Only that column is written, so a concurrent upsert of the order is kept.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param orderId The UUID of the order.
+     * @param previousStatus The fulfillment status the order was rolled up from.
+     * @param fulfillmentStatus The rolled-up fulfillment status.
+     * @return {@code 1} if the order was updated, {@code 0} if its fulfillment status changed since
+     *     it was read.
+     */
+    @Modifying
+    @Query("update Order o set o.fulfillmentStatus = :fulfillmentStatus where o.tenant.tenantId = :tenantId"
+            + " and o.orderId = :orderId and o.fulfillmentStatus = :previousStatus")
+    int updateRolledUpFulfillmentStatus(
+            @Param("tenantId") UUID tenantId,
+            @Param("orderId") UUID orderId,
+            @Param("previousStatus") FulfillmentStatus previousStatus,
+            @Param("fulfillmentStatus") FulfillmentStatus fulfillmentStatus);
+
+    /**
+     * Finds the tenant of an order, a primary key lookup that reads a single column. This is how a
+     * child resource checks its parent order exists without loading the {@link Order}.
+     *
+     * @param orderId The UUID of the order.
+     * @return An {@link Optional} containing the UUID of the order's tenant if the order exists,
+     *     otherwise an empty {@link Optional}.
+     */
+    @Query("select o.tenant.tenantId from Order o where o.orderId = :orderId")
+    Optional<UUID> findTenantIdByOrderId(@Param("orderId") UUID orderId);
+
+    /**
+     * Finds which of the given orders exist and belong to a tenant, reading only their ids.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param orderIds The UUIDs of the orders.
+     * @return The UUIDs of the tenant's orders among {@code orderIds}.
+     */
+    @Query("select o.orderId from Order o where o.tenant.tenantId = :tenantId and o.orderId in :orderIds")
+    List<UUID> findOrderIdsByTenantIdAndOrderIds(
+            @Param("tenantId") UUID tenantId, @Param("orderIds") Collection<UUID> orderIds);
 }
@@ -0,0 +1,25 @@
+package io.akikr.app.order.repository;
+
+import io.akikr.app.order.entity.Order;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Order searches that read {@link OrderSearchRow} projections instead of {@link Order} entities, so
+ * that {@code raw_payload_json} and the other unused columns are never loaded.
+ */
+public interface OrderSearchRepository {
+
+    Page<OrderSearchRow> findSearchRows(Specification<Order> orderSpecification, Pageable pageable);
+
+    Slice<OrderSearchRow> findSearchRowSlice(Specification<Order> orderSpecification, Pageable pageable);
+
+    List<OrderSearchRow> findSearchRows(Specification<Order> orderSpecification, Sort sort, int limit);
+
+    Stream<OrderSearchRow> streamSearchRows(Specification<Order> orderSpecification, Sort sort, int fetchSize);
+}
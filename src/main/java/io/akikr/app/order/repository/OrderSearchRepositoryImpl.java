@@ -0,0 +1,59 @@
+package io.akikr.app.order.repository;
+
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.shared.SpecificationProjection;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    private final SpecificationProjection<Order, OrderSearchRow> orderSearchProjection;
+
+    OrderSearchRepositoryImpl(EntityManager entityManager) {
+        this.orderSearchProjection = new SpecificationProjection<>(
+                entityManager,
+                Order.class,
+                OrderSearchRow.class,
+                root -> List.of(
+                        root.get("orderId"),
+                        root.get("tenant").get("tenantId"),
+                        root.get("store").get("storeId"),
+                        root.get("externalOrderId"),
+                        root.get("externalOrderNumber"),
+                        root.get("orderStatus"),
+                        root.get("financialStatus"),
+                        root.get("fulfillmentStatus"),
+                        root.get("customerEmail"),
+                        root.get("orderTotalAmount"),
+                        root.get("currency"),
+                        root.get("orderCreatedAt"),
+                        root.get("orderUpdatedAt"),
+                        root.get("ingestedAt")));
+    }
+
+    @Override
+    public Page<OrderSearchRow> findSearchRows(Specification<Order> orderSpecification, Pageable pageable) {
+        return orderSearchProjection.findPage(orderSpecification, pageable);
+    }
+
+    @Override
+    public Slice<OrderSearchRow> findSearchRowSlice(Specification<Order> orderSpecification, Pageable pageable) {
+        return orderSearchProjection.findSlice(orderSpecification, pageable);
+    }
+
+    @Override
+    public List<OrderSearchRow> findSearchRows(Specification<Order> orderSpecification, Sort sort, int limit) {
+        return orderSearchProjection.findAll(orderSpecification, sort, 0, limit);
+    }
+
+    @Override
+    public Stream<OrderSearchRow> streamSearchRows(Specification<Order> orderSpecification, Sort sort, int fetchSize) {
+        return orderSearchProjection.stream(orderSpecification, sort, fetchSize);
+    }
+}
@@ -0,0 +1,23 @@
+package io.akikr.app.order.repository;
+
+import io.akikr.app.order.entity.Order;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** The columns of an {@link Order} read by the order search endpoints. */
+public record OrderSearchRow(
+        UUID orderId,
+        UUID tenantId,
+        UUID storeId,
+        String externalOrderId,
+        String externalOrderNumber,
+        Order.OrderStatus orderStatus,
+        Order.FinancialStatus financialStatus,
+        Order.FulfillmentStatus fulfillmentStatus,
+        String customerEmail,
+        BigDecimal orderTotalAmount,
+        String currency,
+        LocalDateTime orderCreatedAt,
+        LocalDateTime orderUpdatedAt,
+        LocalDateTime ingestedAt) {}
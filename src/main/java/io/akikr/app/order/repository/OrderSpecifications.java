@@ -7,11 +7,14 @@ import io.akikr.app.order.entity.Order;
 import io.akikr.app.order.model.FinancialStatus;
 import io.akikr.app.order.model.FulfillmentStatus;
 import io.akikr.app.order.model.OrderStatus;
+import io.akikr.app.shared.KeysetCursor;
+import jakarta.persistence.criteria.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Objects;
 import java.util.UUID;
 import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 public class OrderSpecifications {
@@ -84,4 +87,41 @@ public class OrderSpecifications {
             return predicate;
         };
     }
+
+    /**
+     * Restricts an order search to the rows after a keyset cursor, in {@code (orderUpdatedAt,
+     * orderId)} order.
+     *
+     * <p>The row-value comparison is expanded to {@code updated < :t OR (updated = :t AND id < :id)}
+     * (or {@code >} when ascending), which MySQL resolves as a range on {@code
+     * idx_orders_tenant_updated} / {@code idx_orders_store_updated}; both indexes end with the
+     * primary key implicitly, so the seek costs the same on every page. Orders without an {@code
+     * orderUpdatedAt} cannot be positioned and are excluded.
+     *
+     * @param cursor The cursor of the last order returned, or {@code null} for the first page.
+     * @param direction The sort direction of the search.
+     * @return The keyset {@link Specification}.
+     */
+    public static Specification<Order> withUpdatedAtKeyset(@Nullable KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            Path<LocalDateTime> updatedAt = root.get("orderUpdatedAt");
+            Path<UUID> orderId = root.get("orderId");
+            var predicate = criteriaBuilder.isNotNull(updatedAt);
+            if (nonNull(cursor)) {
+                var seekPredicate = direction.isDescending()
+                        ? criteriaBuilder.or(
+                                criteriaBuilder.lessThan(updatedAt, cursor.timestamp()),
+                                criteriaBuilder.and(
+                                        criteriaBuilder.equal(updatedAt, cursor.timestamp()),
+                                        criteriaBuilder.lessThan(orderId, cursor.id())))
+                        : criteriaBuilder.or(
+                                criteriaBuilder.greaterThan(updatedAt, cursor.timestamp()),
+                                criteriaBuilder.and(
+                                        criteriaBuilder.equal(updatedAt, cursor.timestamp()),
+                                        criteriaBuilder.greaterThan(orderId, cursor.id())));
+                predicate = criteriaBuilder.and(predicate, seekPredicate);
+            }
+            return predicate;
+        };
+    }
 }
@@ -0,0 +1,69 @@
+package io.akikr.app.order.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} of newline-delimited records that fails once a single line exceeds a
+ * maximum length, so that a parser reading it never buffers more than one bounded line.
+ *
+ * <p>The bytes before the limit is crossed are still returned, and only the next read fails, so
+ * the records preceding an oversized line can be parsed in full.
+ */
+class BoundedLineInputStream extends FilterInputStream {
+
+    private final long maxLineLength;
+    private long lineLength;
+    private boolean exceeded;
+
+    BoundedLineInputStream(InputStream inputStream, long maxLineLength) {
+        super(inputStream);
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var buffer = new byte[1];
+        var read = read(buffer, 0, 1);
+        return read == -1 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (exceeded) {
+            throw new LineTooLongException(maxLineLength);
+        }
+        var read = super.read(buffer, offset, length);
+        for (int position = 0; position < read; position++) {
+            if (buffer[offset + position] == '\n') {
+                lineLength = 0;
+            } else if (++lineLength > maxLineLength) {
+                exceeded = true;
+                if (position == 0) {
+                    throw new LineTooLongException(maxLineLength);
+                }
+                return position;
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        return read(new byte[(int) Math.min(length, 8192)], 0, (int) Math.min(length, 8192));
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /** Thrown when a line of the stream exceeds the maximum length. */
+    static class LineTooLongException extends IOException {
+
+        LineTooLongException(long maxLineLength) {
+            super("Line exceeds the maximum length of " + maxLineLength + " bytes");
+        }
+    }
+}
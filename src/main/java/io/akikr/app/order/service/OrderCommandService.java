@@ -2,10 +2,27 @@ package io.akikr.app.order.service;
 
 import io.akikr.app.order.exceptions.OrderException;
 import io.akikr.app.order.model.request.OrderUpsertRequest;
+import io.akikr.app.order.model.response.OrderBatchItemResponse;
+import io.akikr.app.order.model.response.OrderBatchUpsertResponse;
+import io.akikr.app.order.model.response.OrderIngestTicketResponse;
 import io.akikr.app.order.model.response.OrderUpsertResponse;
+import java.io.InputStream;
+import java.util.List;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface OrderCommandService {
 
     ResponseEntity<OrderUpsertResponse> upsertOrder(OrderUpsertRequest orderUpsertRequest) throws OrderException;
+
+    ResponseEntity<OrderBatchUpsertResponse> upsertOrders(List<OrderUpsertRequest> orderUpsertRequests)
+            throws OrderException;
+
+    ResponseEntity<StreamingResponseBody> upsertOrderStream(InputStream inputStream);
+
+    ResponseEntity<OrderIngestTicketResponse> enqueueOrder(OrderUpsertRequest orderUpsertRequest) throws OrderException;
+
+    List<OrderBatchItemResponse> upsertQueuedOrders(List<OrderUpsertRequest> orderUpsertRequests);
+
+    ResponseEntity<OrderIngestTicketResponse> getOrderTicket(String ticketId) throws OrderException;
 }
@@ -1,24 +1,56 @@
 package io.akikr.app.order.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.akikr.app.order.entity.Order;
 import io.akikr.app.order.entity.Order.FinancialStatus;
 import io.akikr.app.order.entity.Order.FulfillmentStatus;
 import io.akikr.app.order.entity.Order.OrderStatus;
 import io.akikr.app.order.exceptions.OrderException;
+import io.akikr.app.order.model.OrderBatchItemStatus;
 import io.akikr.app.order.model.request.OrderUpsertRequest;
+import io.akikr.app.order.model.response.OrderBatchItemResponse;
+import io.akikr.app.order.model.response.OrderBatchUpsertResponse;
+import io.akikr.app.order.model.response.OrderIngestTicketResponse;
 import io.akikr.app.order.model.response.OrderUpsertResponse;
 import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.shared.TenantShardContext;
 import io.akikr.app.store.entity.Store;
 import io.akikr.app.store.service.StoreService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 public class OrderCommandServiceImpl implements OrderCommandService {
@@ -26,47 +58,67 @@ public class OrderCommandServiceImpl implements OrderCommandService {
     private static final Logger log = LoggerFactory.getLogger(OrderCommandServiceImpl.class);
     private final StoreService storeService;
     private final OrderProcessor orderProcessor;
+    private final Validator validator;
+    private final AppIngestProperties appIngestProperties;
+    private final ObjectMapper objectMapper;
+    private final OrderWriteBehindQueue orderWriteBehindQueue;
 
-    public OrderCommandServiceImpl(StoreService storeService, OrderProcessor orderProcessor) {
+    public OrderCommandServiceImpl(
+            StoreService storeService,
+            OrderProcessor orderProcessor,
+            Validator validator,
+            AppIngestProperties appIngestProperties,
+            ObjectMapper objectMapper,
+            OrderWriteBehindQueue orderWriteBehindQueue) {
         this.storeService = storeService;
         this.orderProcessor = orderProcessor;
+        this.validator = validator;
+        this.appIngestProperties = appIngestProperties;
+        this.objectMapper = objectMapper;
+        this.orderWriteBehindQueue = orderWriteBehindQueue;
     }
 
     @Override
     public ResponseEntity<OrderUpsertResponse> upsertOrder(OrderUpsertRequest orderUpsertRequest)
             throws OrderException {
-        log.info("Upserting order command for order request:[{}]", orderUpsertRequest);
+        log.debug("Upserting order command for order request:[{}]", orderUpsertRequest);
         try {
-            var store =
-                    storeService.verifyStoreBelongsToTenant(orderUpsertRequest.orgId(), orderUpsertRequest.websiteId());
-            if (Objects.isNull(store)) {
-                throw new RuntimeException("Store with id:[ "
-                        + orderUpsertRequest.websiteId()
-                        + "] not found or does not belong to orgId:["
-                        + orderUpsertRequest.orgId()
-                        + "]");
-            }
-            log.info(
-                    "Store with id:[{}] and orgId:[{}] is present for given order request",
-                    store.getStoreId(),
-                    store.getTenant().getTenantId());
+            return TenantShardContext.call(orderUpsertRequest.orgId(), () -> {
+                var store = storeService.verifyStoreBelongsToTenant(
+                        orderUpsertRequest.orgId(), orderUpsertRequest.websiteId());
+                if (Objects.isNull(store)) {
+                    throw new RuntimeException("Store with id:[ "
+                            + orderUpsertRequest.websiteId()
+                            + "] not found or does not belong to orgId:["
+                            + orderUpsertRequest.orgId()
+                            + "]");
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug(
+                            "Store with id:[{}] and orgId:[{}] is present for given order request",
+                            store.getStoreId(),
+                            store.getTenant().getTenantId());
+                }
+
+                var tenantId = UUID.fromString(orderUpsertRequest.orgId());
+                var storeId = UUID.fromString(orderUpsertRequest.websiteId());
+                var externalOrderId = orderUpsertRequest.externalOrderId();
+                if (log.isDebugEnabled()) {
+                    log.debug(
+                            "Fetching existing order for tenantId:[{}], storeId:[{}] and externalOrderId:[{}]",
+                            tenantId,
+                            storeId,
+                            externalOrderId);
+                }
+                var order = orderProcessor
+                        .findExistingOrder(tenantId, storeId, externalOrderId)
+                        .map(existingOrder -> toOrder(orderUpsertRequest, existingOrder))
+                        .orElse(buildOrder(store, orderUpsertRequest));
 
-            var tenantId = UUID.fromString(orderUpsertRequest.orgId());
-            var storeId = UUID.fromString(orderUpsertRequest.websiteId());
-            var externalOrderId = orderUpsertRequest.externalOrderId();
-            log.info(
-                    "Fetching existing order for tenantId:[{}], storeId:[{}] and externalOrderId:[{}]",
-                    tenantId,
-                    storeId,
-                    externalOrderId);
-            var order = orderProcessor
-                    .findExistingOrder(tenantId, storeId, externalOrderId)
-                    .map(existingOrder -> toOrder(orderUpsertRequest, existingOrder))
-                    .orElse(buildOrder(store, orderUpsertRequest));
-
-            var savedOrder = orderProcessor.savedOrder(order);
-            var orderResponse = toOrderCreateResponse(savedOrder);
-            return ResponseEntity.status(HttpStatus.CREATED).body(orderResponse);
+                var savedOrder = orderProcessor.savedOrder(order);
+                var orderResponse = toOrderCreateResponse(savedOrder);
+                return ResponseEntity.status(HttpStatus.CREATED).body(orderResponse);
+            });
         } catch (NullPointerException | IllegalArgumentException e) {
             log.error(
                     "Error Upserting order command for order request:[{}], due to: {}",
@@ -78,6 +130,384 @@ public class OrderCommandServiceImpl implements OrderCommandService {
         }
     }
 
+    @Override
+    public ResponseEntity<OrderBatchUpsertResponse> upsertOrders(List<OrderUpsertRequest> orderUpsertRequests)
+            throws OrderException {
+        var batchSize = Objects.isNull(orderUpsertRequests) ? 0 : orderUpsertRequests.size();
+        log.info("Upserting order batch command for [{}] order requests", batchSize);
+        if (batchSize == 0 || batchSize > appIngestProperties.orderMaxBatchSize()) {
+            var error = new IllegalArgumentException("Order batch size must be between 1 and "
+                    + appIngestProperties.orderMaxBatchSize()
+                    + " but was "
+                    + batchSize);
+            log.error("Error Upserting order batch command, due to: {}", error.getMessage());
+            throw new OrderException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    error,
+                    "An errorDetails occurred while Upserting order batch",
+                    "/orders/batch");
+        }
+        var results = upsertOrderBatch(orderUpsertRequests, 0, false);
+        var response = toOrderBatchUpsertResponse(results);
+        log.info(
+                "Order batch upserted with succeeded:[{}] and failed:[{}] order requests",
+                response.succeeded(),
+                response.failed());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> upsertOrderStream(InputStream inputStream) {
+        log.info("Upserting order stream command");
+        StreamingResponseBody responseBody = outputStream -> upsertOrderStream(inputStream, outputStream);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
+    /**
+     * Validates an order request and hands it to the {@link OrderWriteBehindQueue}, without waiting
+     * for it to be written to the database.
+     */
+    @Override
+    public ResponseEntity<OrderIngestTicketResponse> enqueueOrder(OrderUpsertRequest orderUpsertRequest)
+            throws OrderException {
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Enqueuing order command for orgId:[{}], websiteId:[{}] and externalOrderId:[{}]",
+                    orderUpsertRequest.orgId(),
+                    orderUpsertRequest.websiteId(),
+                    orderUpsertRequest.externalOrderId());
+        }
+        var violations = validateOrder(orderUpsertRequest);
+        if (Objects.nonNull(violations)) {
+            log.error(
+                    "Error Enqueuing order command for externalOrderId:[{}], due to: {}",
+                    orderUpsertRequest.externalOrderId(),
+                    violations);
+            throw new OrderException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    new IllegalArgumentException(violations),
+                    "An errorDetails occurred while Enqueuing order",
+                    "/orders");
+        }
+        var store = TenantShardContext.call(
+                orderUpsertRequest.orgId(),
+                () -> storeService.verifyStoreBelongsToTenant(
+                        orderUpsertRequest.orgId(), orderUpsertRequest.websiteId()));
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Store with id:[{}] and orgId:[{}] is present for given order request",
+                    store.getStoreId(),
+                    store.getTenant().getTenantId());
+        }
+        var ticket = orderWriteBehindQueue
+                .enqueue(orderUpsertRequest)
+                .orElseThrow(() -> new OrderException(
+                        HttpStatus.TOO_MANY_REQUESTS.value(),
+                        new IllegalStateException("Order ingestion queue is full"),
+                        "Order ingestion queue is full, retry later",
+                        "/orders"));
+        log.debug("Order request enqueued with ticketId:[{}]", ticket.ticketId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+    }
+
+    /**
+     * Upserts the orders drained by the {@link OrderWriteBehindQueue}. A transient database error is
+     * thrown rather than reported as failed orders, so that the queue keeps them and retries. An
+     * upsert applies the whole request, so re-applying the chunks written before the error is safe.
+     */
+    @Override
+    public List<OrderBatchItemResponse> upsertQueuedOrders(List<OrderUpsertRequest> orderUpsertRequests) {
+        log.debug("Upserting [{}] queued order requests", orderUpsertRequests.size());
+        return upsertOrderBatch(orderUpsertRequests, 0, true);
+    }
+
+    @Override
+    public ResponseEntity<OrderIngestTicketResponse> getOrderTicket(String ticketId) throws OrderException {
+        log.info("Fetching order ticket for ticketId:[{}]", ticketId);
+        return orderWriteBehindQueue
+                .findTicket(ticketId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new OrderException(
+                        HttpStatus.NOT_FOUND.value(),
+                        new RuntimeException("No order ticket found with ticketId: " + ticketId),
+                        "Order ticket not found",
+                        "/orders/tickets/" + ticketId));
+    }
+
+    /**
+     * Reads newline-delimited order requests one at a time and upserts them in chunks of {@link
+     * AppIngestProperties#orderFlushSize()}, writing one result line per order request after each
+     * chunk. At most one chunk of order requests is held in memory, whatever the size of the stream.
+     *
+     * <p>An order request that cannot be bound (e.g. an unknown status) fails on its own line and the
+     * stream continues; malformed JSON, or a line longer than {@link
+     * AppIngestProperties#orderStreamMaxLineLength()}, ends the stream with a failed result for that
+     * position.
+     */
+    private void upsertOrderStream(InputStream inputStream, OutputStream outputStream) throws IOException {
+        var flushSize = appIngestProperties.orderFlushSize();
+        var resultWriter = objectMapper
+                .writerFor(OrderBatchItemResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        var chunk = new ArrayList<OrderUpsertRequest>(flushSize);
+        Map<Integer, String> bindingErrors = new LinkedHashMap<>();
+        var chunkStart = 0;
+        var failed = 0;
+        var boundedInputStream = new BoundedLineInputStream(
+                inputStream, appIngestProperties.orderStreamMaxLineLength().toBytes());
+        try (var orderRequests = objectMapper
+                        .readerFor(OrderUpsertRequest.class)
+                        .<OrderUpsertRequest>readValues(boundedInputStream);
+                var generator = objectMapper.createGenerator(outputStream)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            var endOfStream = false;
+            while (!endOfStream) {
+                try {
+                    endOfStream = !orderRequests.hasNextValue();
+                    if (!endOfStream) {
+                        chunk.add(orderRequests.nextValue());
+                    }
+                } catch (StreamReadException | BoundedLineInputStream.LineTooLongException e) {
+                    log.error(
+                            "Error reading order stream at index:[{}], due to: {}",
+                            chunkStart + chunk.size(),
+                            e.getMessage());
+                    bindingErrors.put(
+                            chunk.size(),
+                            e instanceof StreamReadException streamReadException
+                                    ? streamReadException.getOriginalMessage()
+                                    : e.getMessage());
+                    chunk.add(null);
+                    endOfStream = true;
+                } catch (DatabindException e) {
+                    bindingErrors.put(chunk.size(), e.getOriginalMessage());
+                    chunk.add(null);
+                }
+                if (chunk.size() == flushSize || (endOfStream && !chunk.isEmpty())) {
+                    var results = upsertOrderBatch(chunk, chunkStart, false);
+                    for (var result : results) {
+                        var bindingError = bindingErrors.get(result.index() - chunkStart);
+                        if (Objects.nonNull(bindingError)) {
+                            result = new OrderBatchItemResponse(
+                                    result.index(), null, OrderBatchItemStatus.FAILED, null, bindingError);
+                        }
+                        if (OrderBatchItemStatus.FAILED.equals(result.result())) {
+                            failed++;
+                        }
+                        resultWriter.writeValue(generator, result);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                    chunkStart += chunk.size();
+                    chunk.clear();
+                    bindingErrors.clear();
+                }
+            }
+        }
+        log.info(
+                "Order stream upserted with succeeded:[{}] and failed:[{}] order requests",
+                chunkStart - failed,
+                failed);
+    }
+
+    /**
+     * Upserts a batch of orders and returns one result per order request, in request order.
+     *
+     * <p>Order requests are grouped per store, so each store is verified once and its existing orders
+     * are resolved with one query per chunk of {@link AppIngestProperties#orderFlushSize()} orders.
+     * When an external order ID occurs more than once, the last occurrence wins and every occurrence
+     * reports the outcome of that write.
+     *
+     * @param orderUpsertRequests The order requests to upsert.
+     * @param indexOffset The offset added to the position of each order request in its result.
+     * @param throwTransientErrors Whether a transient database error is thrown instead of failing
+     *     the orders it affects.
+     * @return The result of each order request.
+     */
+    private List<OrderBatchItemResponse> upsertOrderBatch(
+            List<OrderUpsertRequest> orderUpsertRequests, int indexOffset, boolean throwTransientErrors) {
+        var results = new OrderBatchItemResponse[orderUpsertRequests.size()];
+        Map<OrderStoreKey, Map<String, List<Integer>>> indicesByStore = new LinkedHashMap<>();
+        for (int index = 0; index < orderUpsertRequests.size(); index++) {
+            var orderUpsertRequest = orderUpsertRequests.get(index);
+            var violations = validateOrder(orderUpsertRequest);
+            if (Objects.nonNull(violations)) {
+                results[index] = toFailedItemResponse(indexOffset + index, orderUpsertRequest, violations);
+                continue;
+            }
+            indicesByStore
+                    .computeIfAbsent(
+                            new OrderStoreKey(orderUpsertRequest.orgId(), orderUpsertRequest.websiteId()),
+                            storeKey -> new LinkedHashMap<>())
+                    .computeIfAbsent(orderUpsertRequest.externalOrderId(), externalOrderId -> new ArrayList<>())
+                    .add(index);
+        }
+        indicesByStore.forEach((storeKey, indicesByExternalOrderId) -> {
+            // A batch may span several tenants, each store's orders are written on its tenant's shard
+            TenantShardContext.run(
+                    storeKey.orgId(),
+                    () -> upsertStoreOrders(
+                            storeKey,
+                            indicesByExternalOrderId,
+                            orderUpsertRequests,
+                            indexOffset,
+                            results,
+                            throwTransientErrors));
+        });
+        return Arrays.asList(results);
+    }
+
+    private void upsertStoreOrders(
+            OrderStoreKey storeKey,
+            Map<String, List<Integer>> indicesByExternalOrderId,
+            List<OrderUpsertRequest> orderUpsertRequests,
+            int indexOffset,
+            OrderBatchItemResponse[] results,
+            boolean throwTransientErrors) {
+        Store store;
+        try {
+            store = storeService.verifyStoreBelongsToTenant(storeKey.orgId(), storeKey.websiteId());
+        } catch (RuntimeException e) {
+            if (throwTransientErrors && isTransientError(e)) {
+                throw e;
+            }
+            log.error(
+                    "Error verifying store with id:[{}] and orgId:[{}] for order batch, due to: {}",
+                    storeKey.websiteId(),
+                    storeKey.orgId(),
+                    e.getMessage());
+            failOrders(indicesByExternalOrderId.keySet(), indicesByExternalOrderId, indexOffset, results, e);
+            return;
+        }
+        var externalOrderIds = new ArrayList<>(indicesByExternalOrderId.keySet());
+        var flushSize = appIngestProperties.orderFlushSize();
+        for (int from = 0; from < externalOrderIds.size(); from += flushSize) {
+            var chunk = externalOrderIds.subList(from, Math.min(from + flushSize, externalOrderIds.size()));
+            upsertOrderChunk(
+                    store,
+                    chunk,
+                    indicesByExternalOrderId,
+                    orderUpsertRequests,
+                    indexOffset,
+                    results,
+                    throwTransientErrors);
+        }
+    }
+
+    private void upsertOrderChunk(
+            Store store,
+            List<String> externalOrderIds,
+            Map<String, List<Integer>> indicesByExternalOrderId,
+            List<OrderUpsertRequest> orderUpsertRequests,
+            int indexOffset,
+            OrderBatchItemResponse[] results,
+            boolean throwTransientErrors) {
+        var createdExternalOrderIds = new HashSet<String>();
+        try {
+            var savedOrders = orderProcessor.upsertOrders(
+                    store.getTenant().getTenantId(),
+                    store.getStoreId(),
+                    externalOrderIds,
+                    (externalOrderId, existingOrder) -> {
+                        var indices = indicesByExternalOrderId.get(externalOrderId);
+                        var orderUpsertRequest = orderUpsertRequests.get(indices.get(indices.size() - 1));
+                        if (Objects.isNull(existingOrder)) {
+                            createdExternalOrderIds.add(externalOrderId);
+                            return buildOrder(store, orderUpsertRequest);
+                        }
+                        return toOrder(orderUpsertRequest, existingOrder);
+                    });
+            for (var savedOrder : savedOrders) {
+                var result = createdExternalOrderIds.contains(savedOrder.getExternalOrderId())
+                        ? OrderBatchItemStatus.CREATED
+                        : OrderBatchItemStatus.UPDATED;
+                for (var index : indicesByExternalOrderId.get(savedOrder.getExternalOrderId())) {
+                    results[index] = new OrderBatchItemResponse(
+                            indexOffset + index,
+                            savedOrder.getExternalOrderId(),
+                            result,
+                            savedOrder.getOrderId().toString(),
+                            null);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (throwTransientErrors && isTransientError(e)) {
+                throw e;
+            }
+            log.error(
+                    "Error Upserting [{}] orders for storeId:[{}], due to: {}",
+                    externalOrderIds.size(),
+                    store.getStoreId(),
+                    e.getMessage(),
+                    e);
+            failOrders(externalOrderIds, indicesByExternalOrderId, indexOffset, results, e);
+        }
+    }
+
+    private @Nullable String validateOrder(@Nullable OrderUpsertRequest orderUpsertRequest) {
+        if (Objects.isNull(orderUpsertRequest)) {
+            return "Order request cannot be NULL";
+        }
+        var violations = validator.validate(orderUpsertRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Whether an error, or one of its causes, is a database error that may not occur again, such as
+     * a lost connection, a lock timeout or a deadlock.
+     */
+    private static boolean isTransientError(Throwable error) {
+        for (var cause = error; Objects.nonNull(cause); cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void failOrders(
+            Iterable<String> externalOrderIds,
+            Map<String, List<Integer>> indicesByExternalOrderId,
+            int indexOffset,
+            OrderBatchItemResponse[] results,
+            RuntimeException error) {
+        var message = Objects.requireNonNullElse(error.getCause(), error).getMessage();
+        for (var externalOrderId : externalOrderIds) {
+            for (var index : indicesByExternalOrderId.get(externalOrderId)) {
+                results[index] = new OrderBatchItemResponse(
+                        indexOffset + index, externalOrderId, OrderBatchItemStatus.FAILED, null, message);
+            }
+        }
+    }
+
+    private static OrderBatchItemResponse toFailedItemResponse(
+            int index, @Nullable OrderUpsertRequest orderUpsertRequest, String error) {
+        return new OrderBatchItemResponse(
+                index,
+                Objects.isNull(orderUpsertRequest) ? null : orderUpsertRequest.externalOrderId(),
+                OrderBatchItemStatus.FAILED,
+                null,
+                error);
+    }
+
+    private static OrderBatchUpsertResponse toOrderBatchUpsertResponse(List<OrderBatchItemResponse> results) {
+        var failed = (int) results.stream()
+                .filter(result -> OrderBatchItemStatus.FAILED.equals(result.result()))
+                .count();
+        return new OrderBatchUpsertResponse(results.size(), results.size() - failed, failed, results);
+    }
+
     private static Order toOrder(OrderUpsertRequest orderUpsertRequest, Order existingOrder) {
         log.info("Found existing order with id:[{}]", existingOrder.getOrderId());
         existingOrder.setExternalOrderNumber(orderUpsertRequest.externalOrderNumber());
@@ -134,4 +564,6 @@ public class OrderCommandServiceImpl implements OrderCommandService {
                 savedOrder.getOrderCreatedAt().atOffset(ZoneOffset.UTC).toString(),
                 savedOrder.getOrderUpdatedAt().atOffset(ZoneOffset.UTC).toString());
     }
+
+    private record OrderStoreKey(String orgId, String websiteId) {}
 }
@@ -0,0 +1,180 @@
+package io.akikr.app.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.akikr.app.order.model.request.OrderUpsertRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal of the orders accepted for asynchronous ingestion.
+ *
+ * <p>Entries are appended as JSON lines to numbered segment files ({@code orders-<n>.ndjson}),
+ * switching to a new segment every {@code segmentSize} entries. Each segment keeps a count of its
+ * entries not yet written to the database, and is deleted once that count drops to zero and it is
+ * no longer appended to. On startup, the entries of the remaining segments are replayed.
+ *
+ * <p>Replay is at-least-once: an entry written to the database just before a crash, whose segment
+ * was not deleted yet, is written again.
+ */
+class OrderIngestJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIngestJournal.class);
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    record Entry(String ticketId, OrderUpsertRequest request) {}
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Integer> pendingBySegment = new HashMap<>();
+    private long activeSegment;
+    private int activeSegmentEntries;
+    private FileChannel activeChannel;
+
+    OrderIngestJournal(Path directory, int segmentSize, boolean sync, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the entries left by a previous run, oldest first, and opens a new segment to append to.
+     *
+     * @param consumer Called with each replayed entry and the segment it belongs to.
+     */
+    synchronized void open(SegmentEntryConsumer consumer) throws IOException {
+        Files.createDirectories(directory);
+        var segments = listSegments();
+        for (var segment : segments) {
+            var count = 0;
+            for (var line : Files.readAllLines(segmentPath(segment), StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    consumer.accept(segment, objectMapper.readValue(line, Entry.class));
+                    count++;
+                } catch (JsonProcessingException e) {
+                    // Only the last line of a segment can be torn by a crash
+                    log.warn("Skipping unreadable entry of journal segment:[{}], due to: {}", segment, e.getMessage());
+                }
+            }
+            if (count == 0) {
+                Files.deleteIfExists(segmentPath(segment));
+            } else {
+                pendingBySegment.put(segment, count);
+                log.info("Replaying [{}] orders from journal segment:[{}]", count, segment);
+            }
+        }
+        activeSegment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        rotate();
+    }
+
+    /**
+     * Appends an entry, forcing it to disk if configured.
+     *
+     * @return The segment the entry was appended to, to be passed to {@link #complete(long)}.
+     */
+    synchronized long append(Entry entry) {
+        try {
+            if (activeSegmentEntries == segmentSize) {
+                rotate();
+            }
+            var line = objectMapper.writeValueAsString(entry) + "\n";
+            var buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                activeChannel.write(buffer);
+            }
+            if (sync) {
+                activeChannel.force(false);
+            }
+            activeSegmentEntries++;
+            pendingBySegment.merge(activeSegment, 1, Integer::sum);
+            return activeSegment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Marks one entry of a segment as written, deleting the segment once it is fully written. */
+    synchronized void complete(long segment) {
+        var pending = pendingBySegment.merge(segment, -1, Integer::sum);
+        if (pending <= 0 && segment != activeSegment) {
+            pendingBySegment.remove(segment);
+            deleteSegment(segment);
+        }
+    }
+
+    synchronized void close() throws IOException {
+        if (Objects.nonNull(activeChannel)) {
+            activeChannel.close();
+            if (pendingBySegment.getOrDefault(activeSegment, 0) <= 0) {
+                deleteSegment(activeSegment);
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (Objects.nonNull(activeChannel)) {
+            activeChannel.close();
+            if (pendingBySegment.getOrDefault(activeSegment, 0) <= 0) {
+                pendingBySegment.remove(activeSegment);
+                deleteSegment(activeSegment);
+            }
+        }
+        activeSegment++;
+        activeSegmentEntries = 0;
+        activeChannel = FileChannel.open(
+                segmentPath(activeSegment),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void deleteSegment(long segment) {
+        try {
+            Files.deleteIfExists(segmentPath(segment));
+        } catch (IOException e) {
+            log.warn("Failed to delete journal segment:[{}], due to: {}", segment, e.getMessage());
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            var segments = new ArrayList<Long>();
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> segments.add(Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+            segments.sort(null);
+            return segments;
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    @FunctionalInterface
+    interface SegmentEntryConsumer {
+        void accept(long segment, Entry entry);
+    }
+}
@@ -8,6 +8,7 @@ import io.akikr.app.order.model.response.OrderSearchResponse;
 import io.akikr.app.shared.PagedResponse;
 import org.jspecify.annotations.Nullable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface OrderQueryService {
     ResponseEntity<PagedResponse<OrderSearchResponse>> searchOrderByExternal(
@@ -16,7 +17,8 @@ public interface OrderQueryService {
             @Nullable String externalOrderId,
             @Nullable String externalOrderNumber,
             int page,
-            int size)
+            int size,
+            boolean withTotal)
             throws OrderException;
 
     ResponseEntity<PagedResponse<OrderSearchResponse>> searchOrders(
@@ -29,6 +31,20 @@ public interface OrderQueryService {
             @Nullable String toDate,
             int page,
             int size,
-            String sort)
+            boolean withTotal,
+            String sort,
+            @Nullable String cursor)
+            throws OrderException;
+
+    ResponseEntity<StreamingResponseBody> exportOrders(
+            String orgId,
+            @Nullable String websiteId,
+            @Nullable OrderStatus orderStatus,
+            @Nullable FinancialStatus financialStatus,
+            @Nullable FulfillmentStatus fulfillmentStatus,
+            @Nullable String fromDate,
+            @Nullable String toDate,
+            String sort,
+            String format)
             throws OrderException;
 }
@@ -2,6 +2,9 @@ package io.akikr.app.order.service;
 
 import static org.springframework.util.StringUtils.hasText;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.akikr.app.order.entity.Order;
 import io.akikr.app.order.exceptions.OrderException;
 import io.akikr.app.order.model.FinancialStatus;
@@ -9,36 +12,62 @@ import io.akikr.app.order.model.FulfillmentStatus;
 import io.akikr.app.order.model.OrderStatus;
 import io.akikr.app.order.model.response.OrderSearchResponse;
 import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.order.repository.OrderSearchRow;
 import io.akikr.app.order.repository.OrderSpecifications;
+import io.akikr.app.shared.KeysetCursor;
 import io.akikr.app.shared.PagedResponse;
+import io.akikr.app.shared.TenantShardContext;
 import io.akikr.app.store.processor.StoreProcessor;
 import io.akikr.app.tenant.processor.TenantProcessor;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.UUID;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 public class OrderQueryServiceImpl implements OrderQueryService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderQueryServiceImpl.class);
+    // Makes MySQL Connector/J stream the export result set row by row instead of reading it into memory
+    private static final int EXPORT_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final String CSV_HEADER = "id,orgId,websiteId,externalOrderId,externalOrderNumber,status,"
+            + "financialStatus,fulfillmentStatus,customerEmail,orderTotal,currency,orderCreatedAt,orderUpdatedAt,"
+            + "ingestedAt";
     private final OrderProcessor orderProcessor;
     private final TenantProcessor tenantProcessor;
     private final StoreProcessor storeProcessor;
+    private final ObjectMapper objectMapper;
 
     public OrderQueryServiceImpl(
-            OrderProcessor orderProcessor, TenantProcessor tenantProcessor, StoreProcessor storeProcessor) {
+            OrderProcessor orderProcessor,
+            TenantProcessor tenantProcessor,
+            StoreProcessor storeProcessor,
+            ObjectMapper objectMapper) {
         this.orderProcessor = orderProcessor;
         this.tenantProcessor = tenantProcessor;
         this.storeProcessor = storeProcessor;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -48,42 +77,50 @@ public class OrderQueryServiceImpl implements OrderQueryService {
             @Nullable String externalOrderId,
             @Nullable String externalOrderNumber,
             int page,
-            int size)
+            int size,
+            boolean withTotal)
             throws OrderException {
-        log.info(
-                "Searching for orders by tenantId:[{}], storeId:[{}], externalOrderId:[{}] and externalOrderNumber:[{}] for page:[{}], size:[{}]",
-                orgId,
-                websiteId,
-                externalOrderId,
-                externalOrderNumber,
-                page,
-                size);
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Searching for orders by tenantId:[{}], storeId:[{}], externalOrderId:[{}] and externalOrderNumber:[{}] for page:[{}], size:[{}]",
+                    orgId,
+                    websiteId,
+                    externalOrderId,
+                    externalOrderNumber,
+                    page,
+                    size);
+        }
         try {
             var pageable = PageRequest.of(page, size);
             var existingTenantId = UUID.fromString(orgId);
             var tenant = tenantProcessor
-                    .findByTenantId(existingTenantId)
+                    .findCachedByTenantId(existingTenantId)
                     .orElseThrow(() -> new RuntimeException("No Tenant found with tenantId: " + existingTenantId));
             log.debug("Found existing tenant with id:[{}]", existingTenantId);
             UUID storeId = null;
             if (hasText(websiteId)) {
                 var existingStoreId = UUID.fromString(websiteId);
                 var store = storeProcessor
-                        .findByStoreIdAndTenantId(existingStoreId, existingTenantId)
+                        .findCachedByStoreIdAndTenantId(existingStoreId, existingTenantId)
                         .orElseThrow(() -> new RuntimeException(
                                 "No Store found with id: " + websiteId + " and for tenantId: " + existingTenantId));
                 storeId = store.getStoreId();
-                log.info("Found store id:[{}] for tenantId:[{}]", storeId, existingTenantId);
+                log.debug("Found store id:[{}] for tenantId:[{}]", storeId, existingTenantId);
             }
             var orderSpecification = OrderSpecifications.withSearchFilters(
                     tenant.getTenantId(), storeId, externalOrderId, externalOrderNumber);
             log.debug("Searching for orders by orderSpecification:[{}]", orderSpecification);
-            var orderPage = orderProcessor.findBySpecification(orderSpecification, pageable);
-            log.info(
-                    "Order search completed successfully for tenantId:[{}] with totalElements:[{}]",
-                    orgId,
-                    orderPage.getTotalElements());
-            var response = toPagedOrderSearchResponse(orderPage);
+            var orderSlice = withTotal
+                    ? orderProcessor.findSearchRows(orderSpecification, pageable)
+                    : orderProcessor.findSearchRowSlice(orderSpecification, pageable);
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Order search completed successfully for tenantId:[{}] with numberOfElements:[{}], hasNext:[{}]",
+                        orgId,
+                        orderSlice.getNumberOfElements(),
+                        orderSlice.hasNext());
+            }
+            var response = toPagedOrderSearchResponse(orderSlice);
             return ResponseEntity.status(HttpStatus.OK).body(response);
         } catch (RuntimeException e) {
             log.error(
@@ -115,51 +152,83 @@ public class OrderQueryServiceImpl implements OrderQueryService {
             @Nullable String toDate,
             int page,
             int size,
-            String sort)
+            boolean withTotal,
+            String sort,
+            @Nullable String cursor)
             throws OrderException {
-        log.info(
-                "Searching for orders by tenantId:[{}], storeId:[{}], orderStatus:[{}], financialStatus:[{}], fulfillmentStatus:[{}] for fromDate:[{}], toDate:[{}],  page:[{}], size:[{}], sortBy:[{}]",
-                orgId,
-                websiteId,
-                orderStatus,
-                financialStatus,
-                fulfillmentStatus,
-                fromDate,
-                toDate,
-                page,
-                size,
-                sort);
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Searching for orders by tenantId:[{}], storeId:[{}], orderStatus:[{}], financialStatus:[{}], fulfillmentStatus:[{}] for fromDate:[{}], toDate:[{}],  page:[{}], size:[{}], sortBy:[{}], cursor:[{}]",
+                    orgId,
+                    websiteId,
+                    orderStatus,
+                    financialStatus,
+                    fulfillmentStatus,
+                    fromDate,
+                    toDate,
+                    page,
+                    size,
+                    sort,
+                    cursor);
+        }
         try {
             var sortBy = convertToOrderSort(sort);
-            var pageable = PageRequest.of(page, size, sortBy);
             var existingTenantId = UUID.fromString(orgId);
             var tenant = tenantProcessor
-                    .findByTenantId(existingTenantId)
+                    .findCachedByTenantId(existingTenantId)
                     .orElseThrow(() -> new RuntimeException("No Tenant found with tenantId: " + existingTenantId));
             log.debug("Found existing tenant with id:[{}]", existingTenantId);
             UUID storeId = null;
             if (hasText(websiteId)) {
                 var existingStoreId = UUID.fromString(websiteId);
                 var store = storeProcessor
-                        .findByStoreIdAndTenantId(existingStoreId, existingTenantId)
+                        .findCachedByStoreIdAndTenantId(existingStoreId, existingTenantId)
                         .orElseThrow(() -> new RuntimeException(
                                 "No Store found with id: " + websiteId + " and for tenantId: " + existingTenantId));
                 storeId = store.getStoreId();
-                log.info("Found store id:[{}] for tenantId:[{}]", storeId, existingTenantId);
+                log.debug("Found store id:[{}] for tenantId:[{}]", storeId, existingTenantId);
             }
             var orderSpecification = OrderSpecifications.withSearchFilters(
                     tenant.getTenantId(), storeId, orderStatus, financialStatus, fulfillmentStatus, fromDate, toDate);
             log.debug("Searching for orders by orderSpecification:[{}]", orderSpecification);
-            var orderPage = orderProcessor.findBySpecification(orderSpecification, pageable);
-            log.info(
-                    "Order search completed successfully for tenantId:[{}] with totalElements:[{}]",
-                    orgId,
-                    orderPage.getTotalElements());
-            var response = toPagedOrderSearchResponse(orderPage);
+            if (Objects.nonNull(cursor)) {
+                var response = searchOrdersByKeyset(orderSpecification, sortBy, size, cursor);
+                if (log.isDebugEnabled()) {
+                    log.debug(
+                            "Order keyset search completed successfully for tenantId:[{}] with hasNext:[{}]",
+                            orgId,
+                            response.hasNextPage());
+                }
+                return ResponseEntity.status(HttpStatus.OK).body(response);
+            }
+            var pageable = PageRequest.of(page, size, sortBy);
+            var orderSlice = withTotal
+                    ? orderProcessor.findSearchRows(orderSpecification, pageable)
+                    : orderProcessor.findSearchRowSlice(orderSpecification, pageable);
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Order search completed successfully for tenantId:[{}] with numberOfElements:[{}], hasNext:[{}]",
+                        orgId,
+                        orderSlice.getNumberOfElements(),
+                        orderSlice.hasNext());
+            }
+            var response = toPagedOrderSearchResponse(orderSlice);
             return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            log.error(
+                    "Invalid order search parameters for tenantId:[{}], page:[{}], size:[{}], sortBy:[{}], cursor:[{}], due to: {}",
+                    orgId,
+                    page,
+                    size,
+                    sort,
+                    cursor,
+                    e.getMessage(),
+                    e);
+            throw new OrderException(
+                    HttpStatus.BAD_REQUEST.value(), e, "Invalid parameters for searching orders", "/orders");
         } catch (RuntimeException e) {
             log.error(
-                    "Error searching for orders by tenantId:[{}], storeId:[{}], orderStatus:[{}], financialStatus:[{}], fulfillmentStatus:[{}] for fromDate:[{}], toDate:[{}],  page:[{}], size:[{}], sortBy:[{}], due to: {}",
+                    "Error searching for orders by tenantId:[{}], storeId:[{}], orderStatus:[{}], financialStatus:[{}], fulfillmentStatus:[{}] for fromDate:[{}], toDate:[{}],  page:[{}], size:[{}], sortBy:[{}], cursor:[{}], due to: {}",
                     orgId,
                     websiteId,
                     orderStatus,
@@ -170,6 +239,7 @@ public class OrderQueryServiceImpl implements OrderQueryService {
                     page,
                     size,
                     sort,
+                    cursor,
                     e.getMessage(),
                     e);
             throw new OrderException(
@@ -180,6 +250,229 @@ public class OrderQueryServiceImpl implements OrderQueryService {
         }
     }
 
+    /**
+     * Streams all orders matching the search filters as CSV or newline-delimited JSON.
+     *
+     * <p>The tenant, store and filters are validated before the response is committed. The orders are
+     * then read over a forward-only cursor and written as they are read, so neither the matching
+     * orders nor the response body are held in memory. An error while streaming can no longer change
+     * the response status; it ends the response early.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            String orgId,
+            @Nullable String websiteId,
+            @Nullable OrderStatus orderStatus,
+            @Nullable FinancialStatus financialStatus,
+            @Nullable FulfillmentStatus fulfillmentStatus,
+            @Nullable String fromDate,
+            @Nullable String toDate,
+            String sort,
+            String format)
+            throws OrderException {
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Exporting orders by tenantId:[{}], storeId:[{}], orderStatus:[{}], financialStatus:[{}], fulfillmentStatus:[{}] for fromDate:[{}], toDate:[{}], sortBy:[{}], format:[{}]",
+                    orgId,
+                    websiteId,
+                    orderStatus,
+                    financialStatus,
+                    fulfillmentStatus,
+                    fromDate,
+                    toDate,
+                    sort,
+                    format);
+        }
+        try {
+            var exportFormat = ExportFormat.of(format);
+            var sortBy = convertToOrderSort(sort);
+            var existingTenantId = UUID.fromString(orgId);
+            var tenant = tenantProcessor
+                    .findCachedByTenantId(existingTenantId)
+                    .orElseThrow(() -> new RuntimeException("No Tenant found with tenantId: " + existingTenantId));
+            log.debug("Found existing tenant with id:[{}]", existingTenantId);
+            UUID storeId = null;
+            if (hasText(websiteId)) {
+                var existingStoreId = UUID.fromString(websiteId);
+                var store = storeProcessor
+                        .findCachedByStoreIdAndTenantId(existingStoreId, existingTenantId)
+                        .orElseThrow(() -> new RuntimeException(
+                                "No Store found with id: " + websiteId + " and for tenantId: " + existingTenantId));
+                storeId = store.getStoreId();
+                log.debug("Found store id:[{}] for tenantId:[{}]", storeId, existingTenantId);
+            }
+            var orderSpecification = OrderSpecifications.withSearchFilters(
+                    tenant.getTenantId(), storeId, orderStatus, financialStatus, fulfillmentStatus, fromDate, toDate);
+            log.debug("Exporting orders by orderSpecification:[{}]", orderSpecification);
+            StreamingResponseBody responseBody = outputStream ->
+                    writeOrderExport(existingTenantId, orderSpecification, sortBy, exportFormat, outputStream);
+            var contentDisposition = ContentDisposition.attachment()
+                    .filename("orders-" + existingTenantId + "." + exportFormat.fileExtension)
+                    .build();
+            return ResponseEntity.status(HttpStatus.OK)
+                    .contentType(exportFormat.mediaType)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                    .body(responseBody);
+        } catch (IllegalArgumentException e) {
+            log.error(
+                    "Invalid order export parameters for tenantId:[{}], sortBy:[{}], format:[{}], due to: {}",
+                    orgId,
+                    sort,
+                    format,
+                    e.getMessage(),
+                    e);
+            throw new OrderException(
+                    HttpStatus.BAD_REQUEST.value(), e, "Invalid parameters for exporting orders", "/orders/export");
+        } catch (RuntimeException e) {
+            log.error(
+                    "Error exporting orders by tenantId:[{}], storeId:[{}], orderStatus:[{}], financialStatus:[{}], fulfillmentStatus:[{}] for fromDate:[{}], toDate:[{}], sortBy:[{}], format:[{}], due to: {}",
+                    orgId,
+                    websiteId,
+                    orderStatus,
+                    financialStatus,
+                    fulfillmentStatus,
+                    fromDate,
+                    toDate,
+                    sort,
+                    format,
+                    e.getMessage(),
+                    e);
+            throw new OrderException(
+                    HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    e,
+                    "An error occurred while exporting orders",
+                    "/orders/export");
+        }
+    }
+
+    /**
+     * Writes the export body. It runs on an async request thread, so the tenant is set again for the
+     * shard routing of the export query.
+     */
+    private void writeOrderExport(
+            UUID tenantId,
+            Specification<Order> orderSpecification,
+            Sort sortBy,
+            ExportFormat exportFormat,
+            OutputStream outputStream)
+            throws IOException {
+        try {
+            var count = TenantShardContext.call(tenantId, () -> switch (exportFormat) {
+                case CSV -> exportOrdersAsCsv(orderSpecification, sortBy, outputStream);
+                case NDJSON -> exportOrdersAsNdjson(orderSpecification, sortBy, outputStream);
+            });
+            log.debug(
+                    "Order export completed successfully for tenantId:[{}] with numberOfOrders:[{}]", tenantId, count);
+        } catch (UncheckedIOException e) {
+            log.error("Order export aborted for tenantId:[{}], due to: {}", tenantId, e.getMessage());
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            log.error("Error exporting orders for tenantId:[{}], due to: {}", tenantId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private long exportOrdersAsCsv(Specification<Order> orderSpecification, Sort sortBy, OutputStream outputStream)
+            throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        var count = orderProcessor.forEachSearchRow(orderSpecification, sortBy, EXPORT_FETCH_SIZE, order -> {
+            try {
+                writeCsvRow(writer, toOrderSearchResponse(order));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return count;
+    }
+
+    private long exportOrdersAsNdjson(Specification<Order> orderSpecification, Sort sortBy, OutputStream outputStream)
+            throws IOException {
+        var orderWriter =
+                objectMapper.writerFor(OrderSearchResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (var generator = objectMapper.createGenerator(outputStream)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            return orderProcessor.forEachSearchRow(orderSpecification, sortBy, EXPORT_FETCH_SIZE, order -> {
+                try {
+                    orderWriter.writeValue(generator, toOrderSearchResponse(order));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, OrderSearchResponse order) throws IOException {
+        writer.write(String.join(
+                ",",
+                toCsvField(order.id()),
+                toCsvField(order.orgId()),
+                toCsvField(order.websiteId()),
+                toCsvField(order.externalOrderId()),
+                toCsvField(order.externalOrderNumber()),
+                toCsvField(order.status()),
+                toCsvField(order.financialStatus()),
+                toCsvField(order.fulfillmentStatus()),
+                toCsvField(order.customerEmail()),
+                toCsvField(order.orderTotal()),
+                toCsvField(order.currency()),
+                toCsvField(order.orderCreatedAt()),
+                toCsvField(order.orderUpdatedAt()),
+                toCsvField(order.ingestedAt())));
+        writer.write("\r\n");
+    }
+
+    /** Formats a CSV field (RFC 4180), quoting it when it contains a separator, quote or line break. */
+    private static String toCsvField(@Nullable Object value) {
+        if (Objects.isNull(value)) {
+            return "";
+        }
+        var text = (value instanceof BigDecimal decimal) ? decimal.toPlainString() : value.toString();
+        if (text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Reads one page of a keyset (seek) paginated order search.
+     *
+     * <p>Orders are read in {@code (orderUpdatedAt, orderId)} order, starting after the given cursor,
+     * and one extra order is fetched to tell whether a next page exists; no {@code COUNT(*)} is run.
+     * A blank cursor reads the first page.
+     */
+    private PagedResponse<OrderSearchResponse> searchOrdersByKeyset(
+            Specification<Order> orderSpecification, Sort sortBy, int size, String cursor) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        var sortOrder = sortBy.getOrderFor("orderUpdatedAt");
+        if (Objects.isNull(sortOrder)) {
+            throw new IllegalArgumentException("Cursor pagination only supports sorting by updatedAt");
+        }
+        var direction = sortOrder.getDirection();
+        var keysetCursor = hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        var orders = orderProcessor.findSearchRows(
+                orderSpecification.and(OrderSpecifications.withUpdatedAtKeyset(keysetCursor, direction)),
+                Sort.by(direction, "orderUpdatedAt", "orderId"),
+                size + 1);
+        var hasNext = orders.size() > size;
+        var pageOrders = hasNext ? orders.subList(0, size) : orders;
+        String nextCursor = null;
+        if (hasNext) {
+            var lastOrder = pageOrders.get(size - 1);
+            nextCursor = new KeysetCursor(lastOrder.orderUpdatedAt(), lastOrder.orderId()).encode();
+        }
+        var searchResponseList = pageOrders.stream()
+                .map(OrderQueryServiceImpl::toOrderSearchResponse)
+                .toList();
+        return new PagedResponse<>(searchResponseList, 0, size, null, null, hasNext, nextCursor);
+    }
+
     private @NonNull Sort convertToOrderSort(String sortStr) {
 
         // Split "updatedAt,desc" into ["updatedAt", "desc"]
@@ -198,37 +491,54 @@ public class OrderQueryServiceImpl implements OrderQueryService {
         return Sort.by(direction, property);
     }
 
-    private PagedResponse<OrderSearchResponse> toPagedOrderSearchResponse(Page<Order> orderPage) {
+    private PagedResponse<OrderSearchResponse> toPagedOrderSearchResponse(Slice<OrderSearchRow> orderSlice) {
         var searchResponseList =
-                Objects.requireNonNull(orderPage.getContent(), "Failed to retrieve order list").stream()
+                Objects.requireNonNull(orderSlice.getContent(), "Failed to retrieve order list").stream()
                         .map(OrderQueryServiceImpl::toOrderSearchResponse)
                         .toList();
-        return new PagedResponse<>(
-                searchResponseList,
-                orderPage.getNumber(),
-                orderPage.getSize(),
-                orderPage.getTotalElements(),
-                orderPage.getTotalPages(),
-                orderPage.hasNext());
+        return PagedResponse.of(orderSlice, searchResponseList);
     }
 
-    private static OrderSearchResponse toOrderSearchResponse(Order order) {
+    static OrderSearchResponse toOrderSearchResponse(OrderSearchRow order) {
         return new OrderSearchResponse(
-                order.getOrderId().toString(),
-                order.getTenant().getTenantId().toString(),
-                order.getStore().getStoreId().toString(),
-                order.getExternalOrderId(),
-                order.getExternalOrderNumber(),
-                OrderStatus.valueOf(order.getOrderStatus().name()),
-                FinancialStatus.valueOf(order.getFinancialStatus().name()),
-                FulfillmentStatus.valueOf(order.getFulfillmentStatus().name()),
-                order.getCustomerEmail(),
-                order.getOrderTotalAmount(),
-                order.getCurrency(),
-                order.getOrderCreatedAt(),
-                order.getOrderUpdatedAt(),
-                order.getIngestedAt(),
-                order.getOrderCreatedAt(),
-                order.getOrderUpdatedAt());
+                order.orderId().toString(),
+                order.tenantId().toString(),
+                order.storeId().toString(),
+                order.externalOrderId(),
+                order.externalOrderNumber(),
+                OrderStatus.valueOf(order.orderStatus().name()),
+                FinancialStatus.valueOf(order.financialStatus().name()),
+                FulfillmentStatus.valueOf(order.fulfillmentStatus().name()),
+                order.customerEmail(),
+                order.orderTotalAmount(),
+                order.currency(),
+                order.orderCreatedAt(),
+                order.orderUpdatedAt(),
+                order.ingestedAt(),
+                order.orderCreatedAt(),
+                order.orderUpdatedAt());
+    }
+
+    /** The formats of the order export. */
+    private enum ExportFormat {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String fileExtension;
+
+        ExportFormat(MediaType mediaType, String fileExtension) {
+            this.mediaType = mediaType;
+            this.fileExtension = fileExtension;
+        }
+
+        private static ExportFormat of(String format) {
+            for (var exportFormat : values()) {
+                if (exportFormat.fileExtension.equalsIgnoreCase(format)) {
+                    return exportFormat;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format:[" + format + "]");
+        }
     }
 }
@@ -0,0 +1,246 @@
+package io.akikr.app.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.akikr.app.order.model.OrderIngestTicketStatus;
+import io.akikr.app.order.model.request.OrderUpsertRequest;
+import io.akikr.app.order.model.response.OrderIngestTicketResponse;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.shared.TimeOrderedUuidGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process write-behind queue for the asynchronous order ingestion.
+ *
+ * <p>Accepted orders are appended to the {@link OrderIngestJournal} and handed to one of {@code
+ * workers} queues, chosen by the hash of the order's store and external order ID, so that all the
+ * writes of one order are applied by the same worker in the order they were accepted. Each worker
+ * drains up to {@code batch-size} orders at a time and writes them with {@link
+ * OrderCommandService#upsertOrders(List)}, which coalesces the writes of the same order (the last
+ * one wins) into one row update.
+ *
+ * <p>An order is completed in the journal once it is written, or once it failed on its own (e.g. an
+ * unknown store). When writing a batch throws, e.g. on a transient database error, the worker keeps
+ * the batch and retries it after a backoff growing from {@code retry-backoff} up to {@code
+ * retry-max-backoff}; a batch still failing on shutdown is replayed on the next startup.
+ *
+ * <p>The number of accepted but not yet written orders is bounded by {@code queue-capacity}. The
+ * status of each ticket is kept in memory for {@code ticket-retention}.
+ */
+@Component
+public class OrderWriteBehindQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderWriteBehindQueue.class);
+
+    /**
+     * An order waiting to be written. {@code holdsPermit} is false for orders replayed above {@code
+     * queue-capacity}, which must not release a permit once written.
+     */
+    private record QueuedOrder(long segment, OrderIngestJournal.Entry entry, boolean holdsPermit) {}
+
+    private final AppIngestProperties.OrderAsync orderAsyncProperties;
+    private final ObjectProvider<OrderCommandService> orderCommandService;
+    private final OrderIngestJournal journal;
+    private final Semaphore capacity;
+    private final List<BlockingQueue<QueuedOrder>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Cache<String, OrderIngestTicketResponse> tickets;
+    private volatile boolean running;
+
+    public OrderWriteBehindQueue(
+            AppIngestProperties appIngestProperties,
+            ObjectProvider<OrderCommandService> orderCommandService,
+            ObjectMapper objectMapper) {
+        this.orderAsyncProperties = appIngestProperties.orderAsync();
+        this.orderCommandService = orderCommandService;
+        this.journal = new OrderIngestJournal(
+                orderAsyncProperties.journalDir(),
+                orderAsyncProperties.journalSegmentSize(),
+                orderAsyncProperties.journalSync(),
+                objectMapper);
+        this.capacity = new Semaphore(orderAsyncProperties.queueCapacity());
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(orderAsyncProperties.ticketRetention())
+                .build();
+        for (int i = 0; i < orderAsyncProperties.workers(); i++) {
+            queues.add(new LinkedBlockingQueue<>());
+        }
+    }
+
+    /**
+     * Accepts an order for asynchronous ingestion.
+     *
+     * @param orderUpsertRequest The validated order request.
+     * @return The {@link OrderIngestTicketResponse} of the queued order, or an empty {@link
+     *     Optional} when the queue is full or not running.
+     */
+    public Optional<OrderIngestTicketResponse> enqueue(OrderUpsertRequest orderUpsertRequest) {
+        if (!running || !capacity.tryAcquire()) {
+            return Optional.empty();
+        }
+        try {
+            var ticketId = TimeOrderedUuidGenerator.generate().toString();
+            var entry = new OrderIngestJournal.Entry(ticketId, orderUpsertRequest);
+            var segment = journal.append(entry);
+            var ticket = queuedTicket(entry);
+            tickets.put(ticketId, ticket);
+            queueOf(orderUpsertRequest).add(new QueuedOrder(segment, entry, true));
+            return Optional.of(ticket);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the status of a ticket.
+     *
+     * @param ticketId The ticket ID returned when the order was accepted.
+     * @return The {@link OrderIngestTicketResponse}, or an empty {@link Optional} when the ticket is
+     *     unknown or expired.
+     */
+    public Optional<OrderIngestTicketResponse> findTicket(String ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    @Override
+    public void start() {
+        try {
+            journal.open((segment, entry) -> {
+                // Replayed orders were accepted before the restart, so they are queued even above capacity
+                var holdsPermit = capacity.tryAcquire();
+                tickets.put(entry.ticketId(), queuedTicket(entry));
+                queueOf(entry.request()).add(new QueuedOrder(segment, entry, holdsPermit));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        running = true;
+        for (int i = 0; i < queues.size(); i++) {
+            var queue = queues.get(i);
+            var worker = new Thread(() -> drain(queue), "order-write-behind-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Order write-behind queue started with [{}] workers", workers.size());
+    }
+
+    /**
+     * Stops accepting orders and waits for each worker to finish the batch it is writing. Orders still
+     * queued stay in the journal and are replayed on the next startup.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        for (var worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Failed to close order journal, due to: {}", e.getMessage());
+        }
+        log.info("Order write-behind queue stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain(BlockingQueue<QueuedOrder> queue) {
+        var batch = new ArrayList<QueuedOrder>(orderAsyncProperties.batchSize());
+        var backoff = orderAsyncProperties.retryBackoff();
+        try {
+            while (running) {
+                if (batch.isEmpty()) {
+                    var first = queue.poll(1, TimeUnit.SECONDS);
+                    if (Objects.isNull(first)) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, orderAsyncProperties.batchSize() - 1);
+                }
+                try {
+                    write(batch);
+                    batch.clear();
+                    backoff = orderAsyncProperties.retryBackoff();
+                } catch (RuntimeException e) {
+                    // The orders stay in the journal: they are retried, or replayed on the next startup
+                    log.error(
+                            "Error writing [{}] queued orders, retrying in [{}], due to: {}",
+                            batch.size(),
+                            backoff,
+                            e.getMessage(),
+                            e);
+                    pause(backoff);
+                    var nextBackoff = backoff.multipliedBy(2);
+                    backoff = nextBackoff.compareTo(orderAsyncProperties.retryMaxBackoff()) < 0
+                            ? nextBackoff
+                            : orderAsyncProperties.retryMaxBackoff();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Sleeps for the given duration, or until the queue is stopped. */
+    private void pause(Duration duration) throws InterruptedException {
+        var deadline = System.nanoTime() + duration.toNanos();
+        for (var remaining = duration.toNanos(); running && remaining > 0; remaining = deadline - System.nanoTime()) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    private void write(List<QueuedOrder> batch) {
+        var requests =
+                batch.stream().map(queuedOrder -> queuedOrder.entry().request()).toList();
+        var results = orderCommandService.getObject().upsertQueuedOrders(requests);
+        for (int i = 0; i < batch.size(); i++) {
+            var entry = batch.get(i).entry();
+            var result = results.get(i);
+            tickets.put(
+                    entry.ticketId(),
+                    new OrderIngestTicketResponse(
+                            entry.ticketId(),
+                            result.externalOrderId(),
+                            OrderIngestTicketStatus.valueOf(result.result().name()),
+                            result.id(),
+                            result.error()));
+            journal.complete(batch.get(i).segment());
+        }
+        capacity.release((int) batch.stream().filter(QueuedOrder::holdsPermit).count());
+    }
+
+    private BlockingQueue<QueuedOrder> queueOf(OrderUpsertRequest orderUpsertRequest) {
+        var key = Objects.hash(orderUpsertRequest.websiteId(), orderUpsertRequest.externalOrderId());
+        return queues.get(Math.floorMod(key, queues.size()));
+    }
+
+    private static OrderIngestTicketResponse queuedTicket(OrderIngestJournal.Entry entry) {
+        return new OrderIngestTicketResponse(
+                entry.ticketId(), entry.request().externalOrderId(), OrderIngestTicketStatus.QUEUED, null, null);
+    }
+}
@@ -0,0 +1,167 @@
+package io.akikr.app.shared;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.GenericFilter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * A filter that writes one structured access-log event per request: method, route, status,
+ * tenant, latency, and the number and duration of the JDBC statements run on the request thread
+ * (see {@link RequestStatistics}).
+ *
+ * <p>Events go to the {@value #ACCESS_LOGGER_NAME} logger as SLF4J key-value pairs, which {@code
+ * logback-spring.xml} renders as JSON through an asynchronous appender, so the request thread only
+ * enqueues the event. Events are sampled with {@link AppLoggingProperties.AccessLog#sampleRate()},
+ * except for failed and slow requests, which are always logged.
+ *
+ * <p>The statement count and time of every request (sampled or not) are also recorded into the
+ * {@value #DB_STATEMENTS_METRIC_NAME} and {@value #DB_TIME_METRIC_NAME} metrics, tagged by route.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AppAccessLogFilter extends GenericFilter {
+
+    public static final String ACCESS_LOGGER_NAME = "io.akikr.app.access";
+    public static final String DB_STATEMENTS_METRIC_NAME = "app.request.db.statements";
+    public static final String DB_TIME_METRIC_NAME = "app.request.db.time";
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER_NAME);
+
+    private final AppLoggingProperties.AccessLog accessLogProperties;
+    private final MeterRegistry meterRegistry;
+
+    public AppAccessLogFilter(AppLoggingProperties appLoggingProperties, MeterRegistry meterRegistry) {
+        this.accessLogProperties = appLoggingProperties.accessLog();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+        if (!(servletRequest instanceof HttpServletRequest request)
+                || !(servletResponse instanceof HttpServletResponse response)) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        var startNanos = System.nanoTime();
+        var statistics = RequestStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.stop();
+            if (request.isAsyncStarted()) {
+                // The response is completed by another thread, log once it is
+                request.getAsyncContext().addListener(new AccessLogAsyncListener(startNanos, statistics));
+            } else {
+                complete(request, response, startNanos, statistics);
+            }
+        }
+    }
+
+    private void complete(
+            HttpServletRequest request, HttpServletResponse response, long startNanos, RequestStatistics statistics) {
+        var route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // The route template has a bounded cardinality, unlike the URI of an unmatched request
+        var routeTag = Objects.nonNull(route) ? route.toString() : UNMATCHED_ROUTE;
+        DistributionSummary.builder(DB_STATEMENTS_METRIC_NAME)
+                .description("JDBC statements executed per request")
+                .tag("route", routeTag)
+                .register(meterRegistry)
+                .record(statistics.statementCount());
+        Timer.builder(DB_TIME_METRIC_NAME)
+                .description("Time spent executing JDBC statements per request")
+                .tag("route", routeTag)
+                .register(meterRegistry)
+                .record(statistics.statementMillis(), TimeUnit.MILLISECONDS);
+        if (accessLogProperties.enabled() && accessLog.isInfoEnabled()) {
+            logAccess(
+                    request,
+                    response,
+                    Objects.nonNull(route) ? route.toString() : request.getRequestURI(),
+                    startNanos,
+                    statistics);
+        }
+    }
+
+    private void logAccess(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            String route,
+            long startNanos,
+            RequestStatistics statistics) {
+        var latencyNanos = System.nanoTime() - startNanos;
+        var status = response.getStatus();
+        if (!isLogged(status, latencyNanos)) {
+            return;
+        }
+        var event = accessLog
+                .atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", route)
+                .addKeyValue("status", status)
+                .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(latencyNanos))
+                .addKeyValue("dbTimeMs", statistics.statementMillis())
+                .addKeyValue("dbStatements", statistics.statementCount());
+        var tenantId = TenantShardFilter.tenantOf(request);
+        if (Objects.nonNull(tenantId)) {
+            event = event.addKeyValue("tenantId", tenantId);
+        }
+        event.log("HTTP request completed");
+    }
+
+    private boolean isLogged(int status, long latencyNanos) {
+        var sampleRate = accessLogProperties.sampleRate();
+        return sampleRate >= 1.0
+                || status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                || latencyNanos >= accessLogProperties.slowThreshold().toNanos()
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private class AccessLogAsyncListener implements AsyncListener {
+
+        private final long startNanos;
+        private final RequestStatistics statistics;
+
+        private AccessLogAsyncListener(long startNanos, RequestStatistics statistics) {
+            this.startNanos = startNanos;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(
+                    (HttpServletRequest) event.getSuppliedRequest(),
+                    (HttpServletResponse) event.getSuppliedResponse(),
+                    startNanos,
+                    statistics);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+}
@@ -0,0 +1,92 @@
+package io.akikr.app.shared;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Configuration for the in-memory (Caffeine) reference caches of tenants and stores.
+ *
+ * <p>Each cache is bounded in size and expires its entries after write, as configured by {@link
+ * AppCacheProperties}. Statistics are recorded so that hits, misses and evictions are published as
+ * {@code cache.*} metrics on the actuator.
+ *
+ * <p>The cache manager is transaction-aware: evictions triggered inside a transaction are applied
+ * after it commits, so that a concurrent read cannot re-cache the row as it was before the update.
+ *
+ * <p>Evictions are also published on the {@link CacheInvalidationChannel}, and the evictions of the
+ * other nodes are applied to the local caches, so that a change made through one node does not
+ * leave stale copies on the others until they expire.
+ */
+@EnableCaching
+@EnableScheduling
+@Configuration(proxyBeanMethods = false)
+public class AppCacheConfig {
+
+    public static final String TENANTS_CACHE = "tenants";
+    public static final String STORES_CACHE = "stores";
+
+    @Bean
+    public CacheManager cacheManager(
+            AppCacheProperties appCacheProperties, CacheInvalidationChannel cacheInvalidationChannel) {
+        var caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                var broadcastingCache =
+                        new BroadcastingCaffeineCache(name, cache, isAllowNullValues(), cacheInvalidationChannel);
+                cacheInvalidationChannel.subscribe(broadcastingCache::apply);
+                return broadcastingCache;
+            }
+        };
+        // No caches are created on demand, only the ones registered below
+        caffeineCacheManager.setCacheNames(List.of());
+        caffeineCacheManager.registerCustomCache(TENANTS_CACHE, buildCache(appCacheProperties.tenants()));
+        caffeineCacheManager.registerCustomCache(STORES_CACHE, buildCache(appCacheProperties.stores()));
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+
+    /**
+     * The invalidation channel polls the database on a schedule, so it is created eagerly even
+     * before the first cache lookup.
+     */
+    @Bean
+    @Lazy(false)
+    public CacheInvalidationChannel cacheInvalidationChannel(
+            AppCacheProperties appCacheProperties,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        if (!appCacheProperties.invalidation().enabled()) {
+            return CacheInvalidationChannel.noop();
+        }
+        return new JdbcCacheInvalidationChannel(jdbcTemplate, transactionManager, appCacheProperties.invalidation());
+    }
+
+    /**
+     * The cache metrics are bound when the actuator's cache metrics configuration is created, which
+     * would never happen with {@code spring.main.lazy-initialization=true}.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter cacheMetricsLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(CacheMetricsRegistrar.class);
+    }
+
+    private static Cache<Object, Object> buildCache(AppCacheProperties.CacheSpec cacheSpec) {
+        return Caffeine.newBuilder()
+                .maximumSize(cacheSpec.maximumSize())
+                .expireAfterWrite(cacheSpec.expireAfterWrite())
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package io.akikr.app.shared;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the in-memory reference caches.
+ *
+ * @param tenants The settings of the tenant cache.
+ * @param stores The settings of the store (store-to-tenant membership) cache.
+ * @param invalidation The settings of the cross-node invalidation of these caches.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record AppCacheProperties(
+        @DefaultValue CacheSpec tenants, @DefaultValue CacheSpec stores, @DefaultValue Invalidation invalidation) {
+
+    /**
+     * Settings of a single cache.
+     *
+     * @param maximumSize The maximum number of entries kept in the cache.
+     * @param expireAfterWrite The time after which an entry is reloaded from the database.
+     */
+    public record CacheSpec(@DefaultValue("10000") long maximumSize, @DefaultValue("10m") Duration expireAfterWrite) {}
+
+    /**
+     * Settings of the cross-node cache invalidation through the {@code cache_invalidation} table.
+     *
+     * @param enabled Whether evictions are propagated to the other nodes; disable on single-node
+     *     deployments.
+     * @param pollInterval The delay between two polls of the table, which bounds how long another
+     *     node may serve a stale entry.
+     * @param retention The time after which published invalidations are purged from the table.
+     * @param batchSize The maximum number of invalidations read per query while polling.
+     * @param overlap How long the rows already polled are read again, so that a row committed after
+     *     a higher id was polled is still applied; it must exceed the time between the insert of a
+     *     row and its commit.
+     */
+    public record Invalidation(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1s") Duration pollInterval,
+            @DefaultValue("1h") Duration retention,
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("10s") Duration overlap) {}
+}
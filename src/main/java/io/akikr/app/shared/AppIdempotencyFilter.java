@@ -0,0 +1,356 @@
+package io.akikr.app.shared;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.GenericFilter;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * A filter that makes the write requests carrying an {@code Idempotency-Key} header idempotent.
+ *
+ * <p>The first request with a given key runs normally, and its response is stored in the {@link
+ * IdempotencyStore} if it is final: a success or a client error other than a transient one such as
+ * {@code 429 Too Many Requests} or {@code 409 Conflict}, so that a rejected or failed request can be
+ * retried with the same key. Later
+ * requests with the same key are answered with the stored response, marked with an {@code
+ * Idempotency-Replayed: true} header, without reaching the controllers. A request reusing a key
+ * with a different method, URI or body is rejected with {@code 422 Unprocessable Entity}.
+ *
+ * <p>Keys are scoped by tenant: the {@code orgId} of the {@code /organizations/{orgId}} path, or
+ * else the {@code orgId} query parameter, or else the {@code orgId} field of the JSON body (of every
+ * item, for a JSON array). A request whose tenant cannot be determined, e.g. {@code
+ * /orders/{orderId}/fulfillments} without the {@code orgId} query parameter, or whose tenant is not
+ * a UUID, is rejected with {@code 400 Bad Request} rather than sharing its key with other tenants.
+ * Only tenant creation ({@code POST /organizations}) is unscoped. Concurrent duplicates received by
+ * the same node wait for the first request to complete and replay its response, so the request runs
+ * once.
+ *
+ * <p>Streaming requests ({@code application/x-ndjson}) are passed through, since their bodies are
+ * never buffered. The body of any other keyed request is read into memory, so a body larger than
+ * {@code max-request-size} is rejected with {@code 413 Content Too Large}. The response is written
+ * through to the client, and only a copy of at most {@code max-response-size} bytes is kept. A keyed write request with an unparsable {@code Content-Type} is rejected with
+ * {@code 400 Bad Request}. Behavior is controlled by {@link AppIdempotencyProperties}.
+ */
+@Component
+public class AppIdempotencyFilter extends GenericFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AppIdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENCY_REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Pattern ORGANIZATIONS_PATH = Pattern.compile("/organizations/?$");
+    // Client errors that a retry of the same request may not get
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(
+            HttpStatus.REQUEST_TIMEOUT.value(),
+            HttpStatus.CONFLICT.value(),
+            HttpStatus.LOCKED.value(),
+            HttpStatus.TOO_EARLY.value(),
+            HttpStatus.TOO_MANY_REQUESTS.value());
+
+    private final AppIdempotencyProperties appIdempotencyProperties;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public AppIdempotencyFilter(
+            AppIdempotencyProperties appIdempotencyProperties,
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper) {
+        this.appIdempotencyProperties = appIdempotencyProperties;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+        var request = (HttpServletRequest) servletRequest;
+        var response = (HttpServletResponse) servletResponse;
+        var idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        boolean passedThrough;
+        try {
+            passedThrough = !appIdempotencyProperties.enabled()
+                    || Objects.isNull(idempotencyKey)
+                    || idempotencyKey.isBlank()
+                    || !WRITE_METHODS.contains(request.getMethod())
+                    || isStreamingRequest(request);
+        } catch (InvalidMediaTypeException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid Content-Type: " + e.getMessage());
+            return;
+        }
+        if (passedThrough) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(
+                    HttpStatus.BAD_REQUEST.value(),
+                    IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        var maxRequestSize = appIdempotencyProperties.maxRequestSize();
+        // Read at most one byte past the limit, whether or not the request declares its length
+        var body = request.getContentLengthLong() > maxRequestSize
+                ? null
+                : request.getInputStream().readNBytes(maxRequestSize + 1);
+        if (Objects.isNull(body) || body.length > maxRequestSize) {
+            response.sendError(
+                    HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                    "A request with an " + IDEMPOTENCY_KEY_HEADER + " must be at most " + maxRequestSize + " bytes");
+            return;
+        }
+        String scope;
+        try {
+            scope = scopeOf(request, body);
+        } catch (IllegalArgumentException e) {
+            log.error("Error scoping idempotency key:[{}], due to: {}", idempotencyKey, e.getMessage());
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        var requestHash = hashOf(request, body);
+
+        var stored = idempotencyStore.find(scope, idempotencyKey);
+        if (stored.isPresent()) {
+            replay(stored.get(), requestHash, idempotencyKey, response);
+            return;
+        }
+        var execution = new CompletableFuture<IdempotentResponse>();
+        var running = inFlight.putIfAbsent(scope + ":" + idempotencyKey, execution);
+        if (Objects.nonNull(running)) {
+            awaitAndReplay(running, requestHash, idempotencyKey, response);
+            return;
+        }
+        try {
+            // The first request may have completed, and left the in-flight map, since the lookup above
+            var completed = idempotencyStore.find(scope, idempotencyKey);
+            if (completed.isPresent()) {
+                execution.complete(completed.get());
+                replay(completed.get(), requestHash, idempotencyKey, response);
+                return;
+            }
+            // Written through to the client, keeping a copy of the body up to the size that is stored
+            var responseWrapper = new ContentTeeResponseWrapper(response, appIdempotencyProperties.maxResponseSize());
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+            responseWrapper.flushWriter();
+            var idempotentResponse = new IdempotentResponse(
+                    requestHash,
+                    responseWrapper.getStatus(),
+                    responseWrapper.getContentType(),
+                    responseWrapper.getCapturedContent());
+            if (responseWrapper.isTruncated()) {
+                // Too large to be replayed, concurrent duplicates are told to retry
+                execution.completeExceptionally(new IllegalStateException("Response too large to store"));
+                return;
+            }
+            if (isFinal(idempotentResponse.status())) {
+                idempotencyStore.save(scope, idempotencyKey, idempotentResponse);
+            }
+            execution.complete(idempotentResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope + ":" + idempotencyKey, execution);
+        }
+    }
+
+    private void awaitAndReplay(
+            CompletableFuture<IdempotentResponse> running,
+            byte[] requestHash,
+            String idempotencyKey,
+            HttpServletResponse response)
+            throws IOException {
+        log.info("Waiting for in-flight request with idempotency key:[{}]", idempotencyKey);
+        try {
+            var idempotentResponse =
+                    running.get(appIdempotencyProperties.inFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            replay(idempotentResponse, requestHash, idempotencyKey, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        } catch (ExecutionException | TimeoutException e) {
+            response.sendError(
+                    HttpStatus.CONFLICT.value(),
+                    "A request with the same " + IDEMPOTENCY_KEY_HEADER + " did not complete, retry later");
+        }
+    }
+
+    private static void replay(
+            IdempotentResponse idempotentResponse,
+            byte[] requestHash,
+            String idempotencyKey,
+            HttpServletResponse response)
+            throws IOException {
+        if (!Arrays.equals(idempotentResponse.requestHash(), requestHash)) {
+            log.error("Idempotency key:[{}] reused for a different request", idempotencyKey);
+            response.sendError(
+                    HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+        log.info("Replaying stored response for idempotency key:[{}]", idempotencyKey);
+        response.setStatus(idempotentResponse.status());
+        response.setHeader(IDEMPOTENCY_REPLAYED_HEADER, "true");
+        if (Objects.nonNull(idempotentResponse.contentType())) {
+            response.setContentType(idempotentResponse.contentType());
+        }
+        response.setContentLength(idempotentResponse.body().length);
+        response.getOutputStream().write(idempotentResponse.body());
+    }
+
+    /** Whether a response is the final outcome of its request, rather than one a retry may change. */
+    private static boolean isFinal(int status) {
+        var series = HttpStatus.Series.resolve(status);
+        return HttpStatus.Series.SUCCESSFUL.equals(series)
+                || (HttpStatus.Series.CLIENT_ERROR.equals(series) && !TRANSIENT_STATUSES.contains(status));
+    }
+
+    /**
+     * The tenant scope of a request, as the canonical form of its tenant ID so that it always fits
+     * the {@code scope} column; empty for tenant creation only.
+     *
+     * @throws IllegalArgumentException When the tenant cannot be determined or is not a UUID.
+     */
+    private String scopeOf(HttpServletRequest request, byte[] body) {
+        if (ORGANIZATIONS_PATH.matcher(request.getRequestURI()).find()) {
+            return "";
+        }
+        var tenantId = tenantOf(request, body);
+        if (Objects.isNull(tenantId)) {
+            throw new IllegalArgumentException(
+                    IDEMPOTENCY_KEY_HEADER + " requires the tenant of the request, pass the orgId query parameter");
+        }
+        try {
+            return UUID.fromString(tenantId).toString();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("orgId must be a UUID but was: " + tenantId);
+        }
+    }
+
+    private @Nullable String tenantOf(HttpServletRequest request, byte[] body) {
+        var tenantId = TenantShardFilter.tenantOf(request);
+        if (Objects.nonNull(tenantId) || body.length == 0) {
+            return tenantId;
+        }
+        try {
+            var json = objectMapper.readTree(body);
+            // A batch is scoped only when all of its items belong to the same tenant
+            var items = json.isArray() ? json : objectMapper.createArrayNode().add(json);
+            for (var item : items) {
+                var orgId = item.path("orgId");
+                if (!orgId.isTextual() || (Objects.nonNull(tenantId) && !tenantId.equals(orgId.asText()))) {
+                    return null;
+                }
+                tenantId = orgId.asText();
+            }
+            return tenantId;
+        } catch (IOException e) {
+            // Not JSON, the tenant is unknown
+            return null;
+        }
+    }
+
+    private static byte[] hashOf(HttpServletRequest request, byte[] body) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (Objects.nonNull(request.getQueryString())) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isStreamingRequest(ServletRequest servletRequest) {
+        var contentType = servletRequest.getContentType();
+        return Objects.nonNull(contentType)
+                && MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    /** Replays a body that was already read from the request. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return inputStream.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.akikr.app.shared;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the {@code Idempotency-Key} handling of the write endpoints.
+ *
+ * @param enabled Flag to enable or disable the idempotency filter.
+ * @param retention How long a stored response is replayed for its key.
+ * @param cacheMaximumSize The maximum number of responses kept in the local cache, in front of the
+ *     {@code idempotency_keys} table.
+ * @param maxRequestSize The maximum size in bytes of the body of a keyed request, which is read into
+ *     memory to scope and hash it; a larger request is rejected with {@code 413 Content Too Large}.
+ * @param maxResponseSize The maximum size in bytes of a response body to store; larger responses
+ *     are not replayed, and are captured only up to this size.
+ * @param inFlightTimeout How long a duplicate request waits for the original request, running
+ *     concurrently on the same node, to complete.
+ * @param purgeInterval The delay between two purges of the expired keys from the table.
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record AppIdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration retention,
+        @DefaultValue("10000") long cacheMaximumSize,
+        @DefaultValue("1048576") int maxRequestSize,
+        @DefaultValue("1048576") int maxResponseSize,
+        @DefaultValue("30s") Duration inFlightTimeout,
+        @DefaultValue("10m") Duration purgeInterval) {}
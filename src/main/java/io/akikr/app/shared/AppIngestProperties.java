@@ -0,0 +1,119 @@
+package io.akikr.app.shared;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the bulk ingestion paths.
+ *
+ * @param orderMaxBatchSize The maximum number of orders accepted by a single batch request.
+ * @param orderFlushSize The number of orders written per transaction (and JDBC batch) while
+ *     ingesting a batch.
+ * @param orderAsync The settings of the asynchronous (write-behind) order ingestion.
+ * @param trackingEventMaxBatchSize The maximum number of tracking events accepted by a single batch
+ *     request.
+ * @param trackingEventFlushSize The number of tracking events written per {@code INSERT IGNORE}
+ *     statement (and transaction) while ingesting a batch.
+ * @param trackingEventDedup The settings of the in-memory tracking event deduplication.
+ * @param trackingRollup The settings of the roll-up of ingested tracking events into the tracking,
+ *     fulfillment and order statuses.
+ * @param shipmentMaxBatchSize The maximum number of shipments (a fulfillment with its trackings and
+ *     their initial events) accepted by a single batch request.
+ * @param shipmentFlushSize The number of shipments written per transaction (and JDBC batch) while
+ *     creating a batch.
+ * @param orderStreamMaxLineLength The maximum length of a single line of an NDJSON order stream;
+ *     the stream ends with a failed result at the first longer line.
+ */
+@ConfigurationProperties(prefix = "app.ingest")
+public record AppIngestProperties(
+        @DefaultValue("5000") int orderMaxBatchSize,
+        @DefaultValue("500") int orderFlushSize,
+        @DefaultValue OrderAsync orderAsync,
+        @DefaultValue("5000") int trackingEventMaxBatchSize,
+        @DefaultValue("500") int trackingEventFlushSize,
+        @DefaultValue TrackingEventDedup trackingEventDedup,
+        @DefaultValue TrackingRollup trackingRollup,
+        @DefaultValue("1000") int shipmentMaxBatchSize,
+        @DefaultValue("100") int shipmentFlushSize,
+        @DefaultValue("1MB") DataSize orderStreamMaxLineLength) {
+
+    /**
+     * Settings of the asynchronous order ingestion ({@code POST /orders?mode=async}).
+     *
+     * @param queueCapacity The maximum number of accepted but not yet written orders; further
+     *     requests are rejected with {@code 429 Too Many Requests}.
+     * @param workers The number of workers writing the queued orders; orders with the same external
+     *     order ID are always written by the same worker, in the order they were accepted.
+     * @param batchSize The maximum number of queued orders a worker writes at once. Must not exceed
+     *     {@code order-max-batch-size}.
+     * @param journalDir The directory of the journal that accepted orders are appended to before
+     *     being queued, and replayed from on startup. Defaults to {@code fenix-commerce/order-journal}
+     *     under {@code java.io.tmpdir}, which may not survive a reboot: production deployments set it
+     *     to a persistent volume.
+     * @param journalSegmentSize The number of orders per journal file; a file is deleted once all of
+     *     its orders are written.
+     * @param journalSync Whether each journal append is forced to disk before the request is
+     *     acknowledged. Disabling it trades durability on an OS crash for latency.
+     * @param ticketRetention How long the status of a ticket can be looked up.
+     * @param retryBackoff How long a worker waits before retrying a batch whose write failed, e.g.
+     *     on a lost database connection; the wait doubles on each further failure.
+     * @param retryMaxBackoff The longest a worker waits before retrying a failed batch.
+     */
+    public record OrderAsync(
+            @DefaultValue("10000") int queueCapacity,
+            @DefaultValue("4") int workers,
+            @DefaultValue("500") int batchSize,
+            @Nullable Path journalDir,
+            @DefaultValue("10000") int journalSegmentSize,
+            @DefaultValue("true") boolean journalSync,
+            @DefaultValue("1h") Duration ticketRetention,
+            @DefaultValue("1s") Duration retryBackoff,
+            @DefaultValue("1m") Duration retryMaxBackoff) {
+
+        public OrderAsync {
+            if (Objects.isNull(journalDir)) {
+                journalDir = Path.of(System.getProperty("java.io.tmpdir"), "fenix-commerce", "order-journal");
+            }
+        }
+    }
+
+    /**
+     * Settings of the in-memory set of recently stored tracking event hashes, which drops the events
+     * carriers resend on every poll before they reach the database.
+     *
+     * @param maximumTenants The maximum number of tenants whose hashes are held; the least recently
+     *     used tenant is evicted beyond it.
+     * @param maximumSizePerTenant The maximum number of hashes held per tenant; the least recently
+     *     used hashes are evicted beyond it, and are then deduplicated by the database instead.
+     * @param expireAfterWrite How long a hash is held after the event was stored.
+     */
+    public record TrackingEventDedup(
+            @DefaultValue("1000") int maximumTenants,
+            @DefaultValue("100000") int maximumSizePerTenant,
+            @DefaultValue("24h") Duration expireAfterWrite) {}
+
+    /**
+     * Settings of the tracking status roll-up. The events ingested within a flush window are reduced
+     * per tracking and applied together, so a tracking polled several times within the window is
+     * updated once.
+     *
+     * @param enabled Whether ingested tracking events are rolled up.
+     * @param flushInterval The flush window, i.e. how long a status change may lag its event.
+     * @param flushSize The number of trackings rolled up per transaction.
+     * @param maxPendingTrackings The number of trackings pending a roll-up above which ingestion
+     *     flushes them right away instead of waiting for the window to end.
+     * @param maxFlushAttempts The number of flushes a tracking whose roll-up fails is tried in; its
+     *     events are dropped after the last one, and it catches up with its next event.
+     */
+    public record TrackingRollup(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1s") Duration flushInterval,
+            @DefaultValue("500") int flushSize,
+            @DefaultValue("10000") int maxPendingTrackings,
+            @DefaultValue("5") int maxFlushAttempts) {}
+}
@@ -8,18 +8,40 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * A filter that logs the request and response bodies for debugging purposes.
  *
- * <p>It uses {@link ContentCachingRequestWrapper} and {@link ContentCachingResponseWrapper} to
- * capture the content of the request and response. Logging behavior is controlled by {@link
- * AppLoggingProperties}.
+ * <p>Logging behavior is controlled by {@link AppLoggingProperties}. A request is only wrapped when
+ * its body or response body is to be logged: the filter is enabled, the logger is at {@code DEBUG},
+ * the path is included and not excluded, and the request is sampled. Every other request passes
+ * through untouched.
+ *
+ * <p>At most {@code maxBodyLength} bytes of each body are captured: the request body with a bounded
+ * {@link ContentCachingRequestWrapper}, and the response body with a {@link
+ * ContentTeeResponseWrapper}, which writes it straight through to the client instead of buffering
+ * and copying it back.
+ *
+ * <p>Streaming requests ({@code application/x-ndjson}) are never wrapped, and streaming endpoints
+ * such as {@code /orders/export} are in the default {@code exclude-paths}. A response completed
+ * asynchronously (e.g. a {@code StreamingResponseBody}) is written by another thread after the
+ * filter returns, so only its request body is logged. A request whose {@code Content-Type} cannot
+ * be parsed is answered with {@code 400 Bad Request}.
  */
 @Component
 public class AppLoggingFilter extends GenericFilter {
@@ -27,59 +49,101 @@ public class AppLoggingFilter extends GenericFilter {
     private static final Logger log = LoggerFactory.getLogger(AppLoggingFilter.class);
 
     private final AppLoggingProperties appLoggingProperties;
+    private final List<PathPattern> includePatterns;
+    private final List<PathPattern> excludePatterns;
 
     public AppLoggingFilter(AppLoggingProperties appLoggingProperties) {
         this.appLoggingProperties = appLoggingProperties;
+        this.includePatterns = parsePatterns(appLoggingProperties.includePaths());
+        this.excludePatterns = parsePatterns(appLoggingProperties.excludePaths());
     }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
             throws IOException, ServletException {
-        ContentCachingRequestWrapper requestWrapper = requestWrapper(servletRequest);
-        ContentCachingResponseWrapper responseWrapper = responseWrapper(servletResponse);
+        boolean logged;
+        try {
+            logged = isLogged(servletRequest);
+        } catch (InvalidMediaTypeException e) {
+            ((HttpServletResponse) servletResponse)
+                    .sendError(HttpStatus.BAD_REQUEST.value(), "Invalid Content-Type: " + e.getMessage());
+            return;
+        }
+        if (!logged) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+        var maxBodyLength = appLoggingProperties.maxBodyLength();
+        var requestWrapper = appLoggingProperties.includeRequestBody()
+                ? new ContentCachingRequestWrapper((HttpServletRequest) servletRequest, maxBodyLength)
+                : null;
+        var responseWrapper = appLoggingProperties.includeResponseBody()
+                ? new ContentTeeResponseWrapper((HttpServletResponse) servletResponse, maxBodyLength)
+                : null;
 
-        filterChain.doFilter(requestWrapper, responseWrapper);
+        filterChain.doFilter(
+                Objects.requireNonNullElse(requestWrapper, servletRequest),
+                Objects.requireNonNullElse(responseWrapper, servletResponse));
 
-        if (appLoggingProperties.enabled()) {
+        if (Objects.nonNull(requestWrapper)) {
             logRequest(requestWrapper);
+        }
+        if (Objects.nonNull(responseWrapper) && !servletRequest.isAsyncStarted()) {
+            responseWrapper.flushWriter();
             logResponse(responseWrapper);
         }
-        responseWrapper.copyBodyToResponse();
     }
 
     private void logRequest(ContentCachingRequestWrapper request) {
-        var body = "[Not Logged]";
-        if (appLoggingProperties.includeRequestBody()) {
-            body = new String(request.getContentAsByteArray());
-            if (body.length() > appLoggingProperties.maxBodyLength()) {
-                body = body.substring(0, appLoggingProperties.maxBodyLength()) + "...[truncated]";
-            }
-        }
-        log.debug("REQUEST BODY: {}", (body.isEmpty()) ? "[No-Body]" : body);
+        var content = request.getContentAsByteArray();
+        var truncated = request.getContentLengthLong() > content.length;
+        log.debug("REQUEST BODY: {}", toLoggedBody(content, charsetOf(request.getCharacterEncoding()), truncated));
     }
 
-    private void logResponse(ContentCachingResponseWrapper response) {
-        var body = "[Not Logged]";
-        if (appLoggingProperties.includeRequestBody()) {
-            body = new String(response.getContentAsByteArray());
-            if (body.length() > appLoggingProperties.maxBodyLength()) {
-                body = body.substring(0, appLoggingProperties.maxBodyLength()) + "...[truncated]";
-            }
-        }
-        log.debug("RESPONSE BODY: {}", (body.isEmpty()) ? "[No-Body]" : body);
+    private void logResponse(ContentTeeResponseWrapper response) {
+        log.debug(
+                "RESPONSE BODY: {}",
+                toLoggedBody(response.getCapturedContent(), response.getCharset(), response.isTruncated()));
     }
 
-    private ContentCachingRequestWrapper requestWrapper(ServletRequest servletRequest) {
-        if (servletRequest instanceof ContentCachingRequestWrapper requestWrapper) {
-            return requestWrapper;
+    private static String toLoggedBody(byte[] content, Charset charset, boolean truncated) {
+        if (content.length == 0) {
+            return "[No-Body]";
         }
-        return new ContentCachingRequestWrapper((HttpServletRequest) servletRequest, Integer.MAX_VALUE);
+        return new String(content, charset) + (truncated ? "...[truncated]" : "");
     }
 
-    private ContentCachingResponseWrapper responseWrapper(ServletResponse servletResponse) {
-        if (servletResponse instanceof ContentCachingResponseWrapper responseWrapper) {
-            return responseWrapper;
+    private static Charset charsetOf(String characterEncoding) {
+        return Objects.isNull(characterEncoding) ? StandardCharsets.UTF_8 : Charset.forName(characterEncoding);
+    }
+
+    private boolean isLogged(ServletRequest servletRequest) {
+        if (!appLoggingProperties.enabled()
+                || !(appLoggingProperties.includeRequestBody() || appLoggingProperties.includeResponseBody())
+                || !log.isDebugEnabled()
+                || !(servletRequest instanceof HttpServletRequest request)
+                || isStreamingRequest(request)) {
+            return false;
         }
-        return new ContentCachingResponseWrapper((HttpServletResponse) servletResponse);
+        var path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        return includePatterns.stream().anyMatch(pattern -> pattern.matches(path))
+                && excludePatterns.stream().noneMatch(pattern -> pattern.matches(path))
+                && isSampled();
+    }
+
+    private boolean isSampled() {
+        var sampleRate = appLoggingProperties.sampleRate();
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static boolean isStreamingRequest(HttpServletRequest request) {
+        var contentType = request.getContentType();
+        return Objects.nonNull(contentType)
+                && MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    private static List<PathPattern> parsePatterns(List<String> paths) {
+        return paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
     }
 }
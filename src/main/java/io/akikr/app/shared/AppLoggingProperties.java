@@ -1,6 +1,9 @@
 package io.akikr.app.shared;
 
+import java.time.Duration;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 /**
  * Configuration properties for application logging filter.
@@ -8,8 +11,39 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * @param enabled Flag to enable or disable the logging filter.
  * @param includeRequestBody Flag to include the request body in the logs.
  * @param includeResponseBody Flag to include the response body in the logs.
- * @param maxBodyLength The maximum length of the body to be logged.
+ * @param maxBodyLength The maximum length of the body to be logged; no more than this many bytes of
+ *     a body are ever captured.
+ * @param includePaths The path patterns (relative to the context path) of the requests to log.
+ * @param excludePaths The path patterns of the requests never to log, even if included, such as the
+ *     endpoints streaming their response.
+ * @param sampleRate The fraction (0 to 1) of the matching requests to log.
+ * @param accessLog The settings of the access log.
  */
 @ConfigurationProperties(prefix = "app.logging.filter")
 public record AppLoggingProperties(
-        boolean enabled, boolean includeRequestBody, boolean includeResponseBody, int maxBodyLength) {}
+        boolean enabled,
+        boolean includeRequestBody,
+        boolean includeResponseBody,
+        @DefaultValue("10000") int maxBodyLength,
+        @DefaultValue("/**") List<String> includePaths,
+        @DefaultValue({"/actuator/**", "/orders/export"}) List<String> excludePaths,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue AccessLog accessLog) {
+
+    /**
+     * Settings of the access log, one structured event per request written by the {@link
+     * AppAccessLogFilter} to the {@code io.akikr.app.access} logger.
+     *
+     * @param enabled Flag to enable or disable the access log.
+     * @param sampleRate The fraction (0 to 1) of the requests to log. Failed ({@code 5xx}) and slow
+     *     requests are always logged.
+     * @param slowThreshold The latency from which a request is always logged.
+     * @param queueSize The capacity of the asynchronous appender queue (read by {@code
+     *     logback-spring.xml}); events are dropped rather than waited for when it is full.
+     */
+    public record AccessLog(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1.0") double sampleRate,
+            @DefaultValue("1s") Duration slowThreshold,
+            @DefaultValue("8192") int queueSize) {}
+}
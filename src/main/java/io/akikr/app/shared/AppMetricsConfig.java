@@ -0,0 +1,67 @@
+package io.akikr.app.shared;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Application metrics: the {@link MethodMetricsInterceptor} around the public methods of every
+ * {@code *Processor} and {@code *ServiceImpl} bean, and the {@link HotPathsEndpoint}.
+ *
+ * <p>The advisor is an infrastructure bean, so it is applied by the auto-proxy creator that Spring
+ * Boot already registers for {@code @Transactional} and {@code @Cacheable}, without AspectJ.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AppMetricsConfig {
+
+    private static final String APP_PACKAGE = "io.akikr.app.";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor methodMetricsAdvisor(
+            ObjectProvider<MeterRegistry> meterRegistryProvider,
+            ObjectProvider<AppMetricsProperties> propertiesProvider) {
+        // Both are resolved on first use: advisors are created while the post-processors are registered
+        var interceptor = new MethodMetricsInterceptor(
+                meterRegistryProvider,
+                SingletonSupplier.of(() -> propertiesProvider.getObject().tenantTagLimit()));
+        return new DefaultPointcutAdvisor(new ServiceMethodPointcut(), interceptor);
+    }
+
+    @Bean
+    public HotPathsEndpoint hotPathsEndpoint(MeterRegistry meterRegistry) {
+        return new HotPathsEndpoint(meterRegistry);
+    }
+
+    /** Matches the public methods declared by the application's processors and service implementations. */
+    private static class ServiceMethodPointcut extends StaticMethodMatcherPointcut {
+
+        private ServiceMethodPointcut() {
+            setClassFilter(ServiceMethodPointcut::isServiceClass);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers())
+                    && !Object.class.equals(method.getDeclaringClass())
+                    && isServiceClass(ClassUtils.getUserClass(targetClass));
+        }
+
+        private static boolean isServiceClass(Class<?> clazz) {
+            var name = clazz.getName();
+            return name.startsWith(APP_PACKAGE) && (name.endsWith("Processor") || name.endsWith("ServiceImpl"));
+        }
+    }
+}
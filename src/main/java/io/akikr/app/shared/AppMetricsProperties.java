@@ -0,0 +1,15 @@
+package io.akikr.app.shared;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the application metrics.
+ *
+ * @param enabled Flag to enable or disable the {@code app.method} timers on the service and
+ *     processor methods.
+ * @param tenantTagLimit The number of distinct tenants tagged by name; calls of any further tenant
+ *     are tagged {@code other}, which bounds the number of time series.
+ */
+@ConfigurationProperties(prefix = "app.metrics")
+public record AppMetricsProperties(@DefaultValue("true") boolean enabled, @DefaultValue("100") int tenantTagLimit) {}
@@ -0,0 +1,90 @@
+package io.akikr.app.shared;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration for sending the read-only transactions to a MySQL read replica, enabled with
+ * {@code app.replica.enabled=true}.
+ *
+ * <p>The primary keeps using {@code spring.datasource} (and {@code spring.datasource.hikari}), the
+ * replica gets its own pool from {@link AppReplicaProperties}. Every {@code @Transactional(readOnly
+ * = true)} processor method is routed to the replica by the {@link ReplicaRoutingDataSource}.
+ *
+ * <p>Replica routing is not combined with tenant shard routing ({@link AppShardingConfig}), which
+ * takes precedence when both are enabled.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("${app.replica.enabled:false} and !${app.sharding.enabled:false}")
+public class AppReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(AppReplicaProperties appReplicaProperties) {
+        var dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(appReplicaProperties.url())
+                .username(appReplicaProperties.username())
+                .password(appReplicaProperties.password())
+                .build();
+        dataSource.setPoolName("app-cp-replica");
+        dataSource.setMaximumPoolSize(appReplicaProperties.maximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            AppReplicaProperties appReplicaProperties,
+            HikariDataSource primaryDataSource,
+            HikariDataSource replicaDataSource) {
+        var routingDataSource = new ReplicaRoutingDataSource(appReplicaProperties.readYourWritesWindow());
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        return routingDataSource;
+    }
+
+    /**
+     * The transaction managers ask for a connection when a transaction begins, before its read-only
+     * flag is exposed; the lazy proxy defers picking the route to the first statement.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /** Sets the tenant of each request, used by the read-your-writes guard. */
+    @Bean
+    public FilterRegistrationBean<TenantShardFilter> tenantContextFilter() {
+        var registration = new FilterRegistrationBean<>(new TenantShardFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public ReplicaHealthIndicator replicaHealthIndicator(HikariDataSource replicaDataSource) {
+        return new ReplicaHealthIndicator(replicaDataSource);
+    }
+}
@@ -0,0 +1,26 @@
+package io.akikr.app.shared;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for routing the read-only transactions to a MySQL read replica.
+ *
+ * @param enabled Flag to enable or disable the replica routing; when disabled every transaction
+ *     uses {@code spring.datasource}.
+ * @param url The JDBC URL of the replica.
+ * @param username The database user of the replica.
+ * @param password The database password of the replica.
+ * @param maximumPoolSize The maximum size of the replica's connection pool.
+ * @param readYourWritesWindow How long the read-only transactions of a tenant stay on the primary
+ *     after that tenant wrote, so that they see their own writes despite the replication lag.
+ */
+@ConfigurationProperties(prefix = "app.replica")
+public record AppReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("5s") Duration readYourWritesWindow) {}
@@ -0,0 +1,95 @@
+package io.akikr.app.shared;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration for routing the tenants' data to several MySQL instances (shards), enabled with
+ * {@code app.sharding.enabled=true}.
+ *
+ * <p>Each shard gets its own Hikari pool and holds the full schema. The primary {@link DataSource}
+ * routes each transaction to the shard of the tenant in the {@link TenantShardContext}, resolved
+ * by the {@link TenantShardResolver}; operations without a tenant (e.g. searching all the tenants)
+ * use the default shard only.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class AppShardingConfig {
+
+    private static final int MIGRATION_CHUNK_SIZE = 1000;
+
+    @Bean
+    public TenantShardResolver tenantShardResolver(AppShardingProperties appShardingProperties) {
+        return new TenantShardResolver(appShardingProperties);
+    }
+
+    @Bean
+    public TenantShardRoutingDataSource tenantShardRoutingDataSource(
+            AppShardingProperties appShardingProperties, TenantShardResolver tenantShardResolver) {
+        Map<Object, Object> shardDataSources = new LinkedHashMap<>();
+        appShardingProperties
+                .shards()
+                .forEach((name, shard) -> shardDataSources.put(name, buildShardDataSource(name, shard)));
+        var defaultShardDataSource = shardDataSources.get(appShardingProperties.defaultShard());
+        if (Objects.isNull(defaultShardDataSource)) {
+            throw new IllegalArgumentException(
+                    "Default shard:[" + appShardingProperties.defaultShard() + "] is not configured");
+        }
+        var routingDataSource = new TenantShardRoutingDataSource(tenantShardResolver);
+        routingDataSource.setTargetDataSources(shardDataSources);
+        routingDataSource.setDefaultTargetDataSource(defaultShardDataSource);
+        routingDataSource.setLenientFallback(false);
+        return routingDataSource;
+    }
+
+    /**
+     * The transaction managers ask for a connection when a transaction begins, before the tenant of
+     * the operation may be known; the lazy proxy defers picking the shard to the first statement.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(TenantShardRoutingDataSource tenantShardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(tenantShardRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantShardFilter> tenantShardFilter() {
+        var registration = new FilterRegistrationBean<>(new TenantShardFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TenantShardMigrator tenantShardMigrator(TenantShardRoutingDataSource tenantShardRoutingDataSource) {
+        return new TenantShardMigrator(tenantShardRoutingDataSource.getResolvedDataSources(), MIGRATION_CHUNK_SIZE);
+    }
+
+    @Bean
+    public TenantShardEndpoint tenantShardEndpoint(
+            TenantShardResolver tenantShardResolver, TenantShardMigrator tenantShardMigrator) {
+        return new TenantShardEndpoint(tenantShardResolver, tenantShardMigrator);
+    }
+
+    private static DataSource buildShardDataSource(String name, AppShardingProperties.Shard shard) {
+        var dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.url())
+                .username(shard.username())
+                .password(shard.password())
+                .build();
+        dataSource.setPoolName("app-cp-" + name);
+        dataSource.setMaximumPoolSize(shard.maximumPoolSize());
+        return dataSource;
+    }
+}
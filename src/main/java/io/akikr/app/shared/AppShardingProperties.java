@@ -0,0 +1,36 @@
+package io.akikr.app.shared;
+
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for routing the tenants' data to several MySQL instances (shards).
+ *
+ * @param enabled Flag to enable or disable the tenant shard routing; when disabled the single
+ *     {@code spring.datasource} is used.
+ * @param defaultShard The shard used when no tenant is known for the current operation.
+ * @param virtualNodes The number of positions of each shard on the consistent-hash ring.
+ * @param shards The shards, by name.
+ * @param tenants Tenants pinned to a shard, overriding the consistent-hash ring (e.g. a large
+ *     tenant on a dedicated shard, or a tenant moved with the {@code tenantshards} endpoint).
+ */
+@ConfigurationProperties(prefix = "app.sharding")
+public record AppShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("shard-0") String defaultShard,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue Map<String, Shard> shards,
+        @DefaultValue Map<UUID, String> tenants) {
+
+    /**
+     * Connection settings of a single shard.
+     *
+     * @param url The JDBC URL.
+     * @param username The database user.
+     * @param password The database password.
+     * @param maximumPoolSize The maximum size of the shard's connection pool.
+     */
+    public record Shard(String url, String username, String password, @DefaultValue("10") int maximumPoolSize) {}
+}
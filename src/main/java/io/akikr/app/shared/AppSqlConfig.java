@@ -0,0 +1,17 @@
+package io.akikr.app.shared;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Registers the {@link SqlStatementInspector} with Hibernate. */
+@Configuration(proxyBeanMethods = false)
+public class AppSqlConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(AppSqlProperties appSqlProperties) {
+        return hibernateProperties -> hibernateProperties.put(
+                AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(appSqlProperties));
+    }
+}
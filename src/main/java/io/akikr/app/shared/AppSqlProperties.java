@@ -0,0 +1,28 @@
+package io.akikr.app.shared;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the per-request SQL statement checks of the {@link
+ * SqlStatementInspector}.
+ *
+ * @param statementBudget The maximum number of SQL statements a single HTTP request should run.
+ * @param failOnBudgetExceeded Whether a statement over the budget fails instead of only being
+ *     logged; meant for tests, to catch N+1 regressions before they ship.
+ * @param nPlusOneThreshold The number of times the same statement may run within a request before
+ *     it is logged as a possible N+1 query.
+ * @param statementCountHeader Whether responses carry the {@code X-SQL-Statement-Count} header.
+ * @param budgetExemptPaths The path patterns of the requests not checked against the statement
+ *     budget, such as the batch ingests whose statement count grows with the batch size. NDJSON
+ *     requests are always exempt.
+ */
+@ConfigurationProperties(prefix = "app.sql")
+public record AppSqlProperties(
+        @DefaultValue("100") int statementBudget,
+        @DefaultValue("false") boolean failOnBudgetExceeded,
+        @DefaultValue("10") int nPlusOneThreshold,
+        @DefaultValue("false") boolean statementCountHeader,
+        @DefaultValue({"/orders/batch", "/shipments/batch", "/tracking-events/batch"})
+                List<String> budgetExemptPaths) {}
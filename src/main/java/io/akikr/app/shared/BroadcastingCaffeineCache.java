@@ -0,0 +1,66 @@
+package io.akikr.app.shared;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.Objects;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * A {@link CaffeineCache} that publishes its evictions on a {@link CacheInvalidationChannel}, so
+ * that the other nodes drop their copy of the entry as well.
+ *
+ * <p>Invalidations received from the other nodes are applied with {@link #apply} directly on the
+ * native cache, so they are not published again. Keys are published in their string form, so the
+ * keys of a broadcasting cache must be strings.
+ */
+public class BroadcastingCaffeineCache extends CaffeineCache {
+
+    private final CacheInvalidationChannel channel;
+
+    public BroadcastingCaffeineCache(
+            String name, Cache<Object, Object> cache, boolean allowNullValues, CacheInvalidationChannel channel) {
+        super(name, cache, allowNullValues);
+        this.channel = channel;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        channel.publish(new CacheInvalidation(getName(), key.toString()));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = super.evictIfPresent(key);
+        channel.publish(new CacheInvalidation(getName(), key.toString()));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        channel.publish(new CacheInvalidation(getName(), null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = super.invalidate();
+        channel.publish(new CacheInvalidation(getName(), null));
+        return invalidated;
+    }
+
+    /**
+     * Applies an invalidation received from another node, without publishing it.
+     *
+     * @param invalidation The {@link CacheInvalidation}, ignored if it targets another cache.
+     */
+    public void apply(CacheInvalidation invalidation) {
+        if (!getName().equals(invalidation.cacheName())) {
+            return;
+        }
+        if (Objects.isNull(invalidation.cacheKey())) {
+            getNativeCache().invalidateAll();
+        } else {
+            getNativeCache().invalidate(invalidation.cacheKey());
+        }
+    }
+}
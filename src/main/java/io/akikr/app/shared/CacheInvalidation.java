@@ -0,0 +1,12 @@
+package io.akikr.app.shared;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An invalidation of a reference cache entry, exchanged between the application nodes.
+ *
+ * @param cacheName The name of the cache.
+ * @param cacheKey The string form of the invalidated key, or {@code null} when the whole cache is
+ *     cleared.
+ */
+public record CacheInvalidation(String cacheName, @Nullable String cacheKey) {}
@@ -0,0 +1,37 @@
+package io.akikr.app.shared;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates reference cache invalidations to the other application nodes.
+ *
+ * <p>Invalidations published by a node are delivered to the subscribers of every other node, but
+ * never back to the publishing node, which has already applied them locally.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Publishes an invalidation to the other nodes.
+     *
+     * @param invalidation The {@link CacheInvalidation} to publish.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Subscribes to the invalidations published by the other nodes.
+     *
+     * @param subscriber Called for each invalidation received.
+     */
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+
+    /** A channel for single-node deployments, which drops all invalidations. */
+    static CacheInvalidationChannel noop() {
+        return new CacheInvalidationChannel() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {}
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> subscriber) {}
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package io.akikr.app.shared;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A consistent-hash ring mapping keys to nodes.
+ *
+ * <p>Each node is placed on the ring at {@code virtualNodes} positions, and a key belongs to the
+ * first node found clockwise from the key's own position. Adding or removing a node only moves the
+ * keys between that node and its neighbours, about {@code 1 / nodes} of all keys.
+ *
+ * @param <T> The node type, whose {@link Object#toString()} identifies the node on the ring.
+ */
+public class ConsistentHashRing<T> {
+
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+    /**
+     * @param nodes The nodes of the ring, must not be empty.
+     * @param virtualNodes The number of positions of each node on the ring.
+     */
+    public ConsistentHashRing(Collection<T> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A consistent-hash ring needs at least one node");
+        }
+        for (T node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Finds the node owning a key.
+     *
+     * @param key The key.
+     * @return The first node clockwise from the key's position on the ring.
+     */
+    public T nodeOf(String key) {
+        var entry = ring.ceilingEntry(hash(key));
+        return Objects.isNull(entry) ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    private static long hash(String value) {
+        try {
+            var digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.akikr.app.shared;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+/**
+ * A response wrapper that writes the body straight through to the response, keeping a copy of at
+ * most {@code captureLimit} bytes of it, for logging or for storing the response of an idempotent
+ * request.
+ *
+ * <p>Unlike {@link org.springframework.web.util.ContentCachingResponseWrapper}, the body is never
+ * buffered in full and does not need to be copied back to the response, so large responses cost no
+ * more than the captured prefix.
+ */
+class ContentTeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int captureLimit;
+    private final ByteArrayOutputStream capturedContent;
+    private long contentLength;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ContentTeeResponseWrapper(HttpServletResponse response, int captureLimit) {
+        super(response);
+        this.captureLimit = captureLimit;
+        this.capturedContent = new ByteArrayOutputStream(Math.min(captureLimit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (Objects.isNull(outputStream)) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (Objects.isNull(writer)) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (Objects.nonNull(writer)) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /** Flushes the characters buffered by {@link #getWriter()} to the response. */
+    void flushWriter() {
+        if (Objects.nonNull(writer)) {
+            writer.flush();
+        }
+    }
+
+    /** The captured prefix of the body. */
+    byte[] getCapturedContent() {
+        return capturedContent.toByteArray();
+    }
+
+    /** Whether more of the body was written than was captured. */
+    boolean isTruncated() {
+        return contentLength > capturedContent.size();
+    }
+
+    /** The charset of the body, for decoding the captured content. */
+    Charset getCharset() {
+        return Charset.forName(getCharacterEncoding());
+    }
+
+    private void capture(int b) {
+        contentLength++;
+        if (capturedContent.size() < captureLimit) {
+            capturedContent.write(b);
+        }
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        contentLength += len;
+        var remaining = captureLimit - capturedContent.size();
+        if (remaining > 0) {
+            capturedContent.write(b, off, Math.min(len, remaining));
+        }
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
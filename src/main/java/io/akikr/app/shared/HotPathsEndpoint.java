@@ -0,0 +1,101 @@
+package io.akikr.app.shared;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint ({@code /actuator/hotpaths}) ranking the service and processor methods by
+ * latency, from the {@value MethodMetricsInterceptor#METRIC_NAME} timers aggregated over all of
+ * their tenants, routes and outcomes.
+ */
+@Endpoint(id = "hotpaths")
+public class HotPathsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final MeterRegistry meterRegistry;
+
+    public HotPathsEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Ranks the timed methods, slowest first.
+     *
+     * @param orderBy {@code mean} (default), {@code total} or {@code max} latency.
+     * @param limit The maximum number of methods to return (default 20), not negative.
+     * @return The timed methods in rank order.
+     */
+    @ReadOperation
+    public List<HotPath> hotPaths(@Nullable String orderBy, @Nullable Integer limit) {
+        if (Objects.nonNull(limit) && limit < 0) {
+            throw new InvalidEndpointRequestException(
+                    "Invalid limit value:[" + limit + "]", "The limit must not be negative");
+        }
+        var comparator = comparator(orderBy);
+        Map<String, HotPath> hotPaths = new LinkedHashMap<>();
+        for (Timer timer :
+                meterRegistry.find(MethodMetricsInterceptor.METRIC_NAME).timers()) {
+            var id = timer.getId();
+            var operation = id.getTag("class") + "." + id.getTag("method");
+            var errors = "ERROR".equals(id.getTag("outcome")) ? timer.count() : 0;
+            var hotPath = HotPath.of(
+                    operation,
+                    timer.count(),
+                    errors,
+                    timer.totalTime(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS));
+            hotPaths.merge(operation, hotPath, HotPath::merge);
+        }
+        return hotPaths.values().stream()
+                .sorted(comparator.reversed())
+                .limit(Objects.isNull(limit) ? DEFAULT_LIMIT : limit)
+                .toList();
+    }
+
+    private static Comparator<HotPath> comparator(@Nullable String orderBy) {
+        return switch (Objects.isNull(orderBy) ? "mean" : orderBy) {
+            case "mean" -> Comparator.comparingDouble(HotPath::meanMs);
+            case "total" -> Comparator.comparingDouble(HotPath::totalMs);
+            case "max" -> Comparator.comparingDouble(HotPath::maxMs);
+            default -> throw new InvalidEndpointRequestException(
+                    "Unsupported orderBy value:[" + orderBy + "]", "The orderBy must be mean, total or max");
+        };
+    }
+
+    /**
+     * The latency of a timed method.
+     *
+     * @param operation The class and method name.
+     * @param count The number of calls.
+     * @param errors The number of calls that threw.
+     * @param totalMs The total time spent in the method.
+     * @param meanMs The mean latency.
+     * @param maxMs The maximum latency over the recent window.
+     */
+    public record HotPath(String operation, long count, long errors, double totalMs, double meanMs, double maxMs) {
+
+        private static HotPath of(String operation, long count, long errors, double totalMs, double maxMs) {
+            return new HotPath(operation, count, errors, totalMs, count == 0 ? 0 : totalMs / count, maxMs);
+        }
+
+        private HotPath merge(HotPath other) {
+            return of(
+                    operation,
+                    count + other.count,
+                    errors + other.errors,
+                    totalMs + other.totalMs,
+                    Math.max(maxMs, other.maxMs));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.akikr.app.shared;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the responses of the idempotent requests, keyed by tenant scope and {@code
+ * Idempotency-Key}.
+ *
+ * <p>Responses are kept in a bounded local cache, backed by the {@code idempotency_keys} table so
+ * that a retry reaching another node (or arriving after a restart) is still replayed. Database
+ * errors are logged and otherwise ignored: the request then simply runs again. The table is shared
+ * by all the tenants, so it is always accessed on the default shard.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final String SELECT_SQL = "SELECT request_hash, status_code, content_type, response_body"
+            + " FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND expires_at > NOW(3)";
+    // The first response stored for a key wins, should two nodes run the same request concurrently
+    private static final String INSERT_SQL = "INSERT IGNORE INTO idempotency_keys"
+            + " (scope, idempotency_key, request_hash, status_code, content_type, response_body, expires_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, NOW(3) + INTERVAL ? SECOND)";
+    private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE expires_at < NOW(3) LIMIT 10000";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AppIdempotencyProperties appIdempotencyProperties;
+    private final Cache<String, IdempotentResponse> responses;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, AppIdempotencyProperties appIdempotencyProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.appIdempotencyProperties = appIdempotencyProperties;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(appIdempotencyProperties.cacheMaximumSize())
+                .expireAfterWrite(appIdempotencyProperties.retention())
+                .build();
+    }
+
+    /**
+     * Finds the stored response of a key, in the local cache first and then in the database.
+     *
+     * @param scope The tenant scope of the key.
+     * @param idempotencyKey The {@code Idempotency-Key} header value.
+     * @return The stored {@link IdempotentResponse}, if any.
+     */
+    public Optional<IdempotentResponse> find(String scope, String idempotencyKey) {
+        var cacheKey = scope + ":" + idempotencyKey;
+        var cached = responses.getIfPresent(cacheKey);
+        if (Objects.nonNull(cached)) {
+            return Optional.of(cached);
+        }
+        try {
+            var stored = TenantShardContext.callOnDefaultShard(() -> jdbcTemplate
+                    .query(
+                            SELECT_SQL,
+                            (rs, rowNum) -> new IdempotentResponse(
+                                    rs.getBytes("request_hash"),
+                                    rs.getInt("status_code"),
+                                    rs.getString("content_type"),
+                                    rs.getBytes("response_body")),
+                            scope,
+                            idempotencyKey)
+                    .stream()
+                    .findFirst());
+            stored.ifPresent(response -> responses.put(cacheKey, response));
+            return stored;
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to read idempotency key:[{}] of scope:[{}], error:[{}]",
+                    idempotencyKey,
+                    scope,
+                    e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the response of a key.
+     *
+     * @param scope The tenant scope of the key.
+     * @param idempotencyKey The {@code Idempotency-Key} header value.
+     * @param response The {@link IdempotentResponse} to replay for the key.
+     */
+    public void save(String scope, String idempotencyKey, IdempotentResponse response) {
+        responses.put(scope + ":" + idempotencyKey, response);
+        try {
+            TenantShardContext.callOnDefaultShard(() -> jdbcTemplate.update(
+                    INSERT_SQL,
+                    scope,
+                    idempotencyKey,
+                    response.requestHash(),
+                    response.status(),
+                    response.contentType(),
+                    response.body(),
+                    appIdempotencyProperties.retention().toSeconds()));
+        } catch (Exception e) {
+            log.warn(
+                    "Failed to save idempotency key:[{}] of scope:[{}], error:[{}]",
+                    idempotencyKey,
+                    scope,
+                    e.getMessage());
+        }
+    }
+
+    /** Deletes the expired keys from the database. */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:10m}")
+    public void purge() {
+        try {
+            int deleted = TenantShardContext.callOnDefaultShard(() -> jdbcTemplate.update(PURGE_SQL));
+            log.debug("Purged:[{}] expired idempotency keys", deleted);
+        } catch (Exception e) {
+            log.warn("Failed to purge idempotency keys, error:[{}]", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.akikr.app.shared;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A response stored for an {@code Idempotency-Key}, replayed for the retries of the request.
+ *
+ * @param requestHash The SHA-256 hash of the method, URI and body of the original request.
+ * @param status The HTTP status code.
+ * @param contentType The content type of the body, if any.
+ * @param body The response body.
+ */
+public record IdempotentResponse(byte[] requestHash, int status, @Nullable String contentType, byte[] body) {}
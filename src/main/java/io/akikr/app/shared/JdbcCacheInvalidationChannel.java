@@ -0,0 +1,156 @@
+package io.akikr.app.shared;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A {@link CacheInvalidationChannel} backed by the {@code cache_invalidation} table.
+ *
+ * <p>Each node appends the invalidations it publishes to the table, and tails it every {@code
+ * app.cache.invalidation.poll-interval} for the rows appended by the other nodes since the last
+ * poll, so a change is visible on all nodes within about one poll interval. Rows older than {@code
+ * app.cache.invalidation.retention} are purged. The table is shared by all the tenants, so it is
+ * always accessed on the default shard, whatever the tenant of the publishing thread.
+ *
+ * <p>Auto-increment ids are allocated at insert but become visible at commit, so a row may appear
+ * after a higher id was already polled. Each poll therefore reads again the rows above the id that
+ * was last seen {@code app.cache.invalidation.overlap} ago, and skips the ones it already applied.
+ * Only an invalidation that cannot be published, or whose commit lags its insert by more than the
+ * overlap, is missed; such an entry stays stale until it expires, so the staleness is still
+ * bounded by the cache's {@code expire-after-write}.
+ */
+public class JdbcCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcCacheInvalidationChannel.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidation (node_id, cache_name, cache_key) VALUES (?, ?, ?)";
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(invalidation_id), 0) FROM cache_invalidation";
+    private static final String POLL_SQL = "SELECT invalidation_id, cache_name, cache_key FROM cache_invalidation"
+            + " WHERE invalidation_id > ? AND node_id <> ? ORDER BY invalidation_id LIMIT ?";
+    private static final String PURGE_SQL =
+            "DELETE FROM cache_invalidation WHERE created_at < NOW(3) - INTERVAL ? SECOND LIMIT 10000";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppCacheProperties.Invalidation invalidationProperties;
+
+    // Id of the last row seen by this node, initialized on the first poll; only the poller updates it
+    private volatile long lastSeenId = -1;
+    // The last seen id after each poll of the overlap period, oldest first, the last seen id one
+    // overlap period ago, and the ids applied above it; only the poller reads and updates them
+    private final Deque<Watermark> watermarks = new ArrayDeque<>();
+    private long overlapFromId;
+    private final NavigableSet<Long> appliedIds = new TreeSet<>();
+
+    public JdbcCacheInvalidationChannel(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AppCacheProperties.Invalidation invalidationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Evictions are published after the caller's transaction commits, so the insert must not
+        // join the (already committed) transaction still bound to the thread
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.invalidationProperties = invalidationProperties;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            TenantShardContext.callOnDefaultShard(() -> transactionTemplate.execute(status ->
+                    jdbcTemplate.update(INSERT_SQL, nodeId, invalidation.cacheName(), invalidation.cacheKey())));
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation:[{}], error:[{}]", invalidation, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /** Applies the invalidations published by the other nodes since the last poll. */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval:1s}")
+    public void poll() {
+        try {
+            TenantShardContext.callOnDefaultShard(this::applyNewInvalidations);
+        } catch (Exception e) {
+            log.warn("Failed to poll cache invalidations, error:[{}]", e.getMessage());
+        }
+    }
+
+    private int applyNewInvalidations() {
+        if (lastSeenId < 0) {
+            // Entries cached from now on are newer than anything already in the table
+            lastSeenId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+            overlapFromId = lastSeenId;
+            return 0;
+        }
+        var now = System.nanoTime();
+        while (!watermarks.isEmpty()
+                && now - watermarks.peekFirst().polledAtNanos()
+                        >= invalidationProperties.overlap().toNanos()) {
+            overlapFromId = watermarks.removeFirst().lastSeenId();
+        }
+        // Rows above the id seen one overlap period ago may have been committed since then
+        appliedIds.headSet(overlapFromId, true).clear();
+        long fromId = overlapFromId;
+        int applied = 0;
+        int received;
+        do {
+            var rows = jdbcTemplate.query(
+                    POLL_SQL,
+                    (rs, rowNum) -> new InvalidationRow(
+                            rs.getLong("invalidation_id"),
+                            new CacheInvalidation(rs.getString("cache_name"), rs.getString("cache_key"))),
+                    fromId,
+                    nodeId,
+                    invalidationProperties.batchSize());
+            for (var row : rows) {
+                fromId = row.invalidationId();
+                if (appliedIds.add(row.invalidationId())) {
+                    subscribers.forEach(subscriber -> subscriber.accept(row.invalidation()));
+                    applied++;
+                }
+                lastSeenId = Math.max(lastSeenId, row.invalidationId());
+            }
+            received = rows.size();
+        } while (received == invalidationProperties.batchSize());
+        watermarks.addLast(new Watermark(now, lastSeenId));
+        return applied;
+    }
+
+    /** Deletes the invalidations older than the retention period. */
+    @Scheduled(
+            initialDelayString = "${app.cache.invalidation.retention:1h}",
+            fixedDelayString = "${app.cache.invalidation.retention:1h}")
+    public void purge() {
+        try {
+            int deleted = TenantShardContext.callOnDefaultShard(() -> jdbcTemplate.update(
+                    PURGE_SQL, invalidationProperties.retention().toSeconds()));
+            log.debug("Purged:[{}] cache invalidations", deleted);
+        } catch (Exception e) {
+            log.warn("Failed to purge cache invalidations, error:[{}]", e.getMessage());
+        }
+    }
+
+    private record InvalidationRow(long invalidationId, CacheInvalidation invalidation) {}
+
+    private record Watermark(long polledAtNanos, long lastSeenId) {}
+}
@@ -0,0 +1,42 @@
+package io.akikr.app.shared;
+
+import java.util.Objects;
+import org.hibernate.SessionEventListener;
+
+/**
+ * A Hibernate session listener that records the JDBC execution time of each session into the
+ * {@link RequestStatistics} of the current thread, if any.
+ *
+ * <p>Registered for every session with {@code hibernate.session.events.auto}.
+ */
+public class JdbcTimingSessionEventListener implements SessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        var statistics = RequestStatistics.current();
+        if (Objects.nonNull(statistics)) {
+            statistics.recordExecutionTime(System.nanoTime() - executionStart);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.akikr.app.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a keyset (seek) paginated search: the sort timestamp and the primary key of the last
+ * row returned, which together identify a row uniquely even when timestamps collide.
+ *
+ * <p>Clients receive the cursor as an opaque URL-safe Base64 token and pass it back unchanged to
+ * read the next page.
+ *
+ * @param timestamp The sort timestamp of the last row returned.
+ * @param id The primary key of the last row returned.
+ */
+public record KeysetCursor(LocalDateTime timestamp, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        var value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token produced by {@link #encode()}.
+     *
+     * @param cursor The opaque cursor token.
+     * @return The decoded {@link KeysetCursor}.
+     * @throws IllegalArgumentException If the token is not a valid cursor.
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.indexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    UUID.fromString(value.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor:[" + cursor + "]", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.akikr.app.shared;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times the service and processor methods into the {@value #METRIC_NAME} timer, tagged by class,
+ * method, outcome, exception, tenant and route.
+ *
+ * <p>The tenant is the one of the {@link TenantShardContext}, or else the one of the current
+ * request. Only the first {@link AppMetricsProperties#tenantTagLimit()} tenants seen are tagged by
+ * name; later ones share the {@code other} tag. The route is the matched request mapping pattern,
+ * or {@code none} outside a request (e.g. the write-behind workers).
+ *
+ * <p>The timers are cached per tag tuple, so a call only looks its timer up in a map. The timers
+ * have no percentiles histogram, which would multiply the number of series of this tag set.
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "app.method";
+    private static final String NONE = "none";
+    private static final String OTHER = "other";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Supplier<Integer> tenantTagLimit;
+    private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public MethodMetricsInterceptor(
+            ObjectProvider<MeterRegistry> meterRegistryProvider, Supplier<Integer> tenantTagLimit) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.tenantTagLimit = tenantTagLimit;
+    }
+
+    @Override
+    public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+        var meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (Objects.isNull(meterRegistry)) {
+            return invocation.proceed();
+        }
+        var startNanos = System.nanoTime();
+        var exception = NONE;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            // Measured before the timer lookup, which is not part of the call
+            var durationNanos = System.nanoTime() - startNanos;
+            var targetClass = ClassUtils.getUserClass(Objects.requireNonNull(invocation.getThis()));
+            var timerKey = new TimerKey(
+                    targetClass.getSimpleName(),
+                    invocation.getMethod().getName(),
+                    NONE.equals(exception) ? "SUCCESS" : "ERROR",
+                    exception,
+                    tenantTag(currentTenant()),
+                    currentRoute());
+            timers.computeIfAbsent(timerKey, key -> key.register(meterRegistry))
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    String tenantTag(@Nullable UUID tenantId) {
+        if (Objects.isNull(tenantId)) {
+            return NONE;
+        }
+        var tenant = tenantId.toString();
+        if (taggedTenants.contains(tenant)) {
+            return tenant;
+        }
+        // The limit may be overshot by a few concurrent first calls, which is harmless
+        if (taggedTenants.size() < tenantTagLimit.get() && taggedTenants.add(tenant)) {
+            return tenant;
+        }
+        return OTHER;
+    }
+
+    private static @Nullable UUID currentTenant() {
+        var tenantId = TenantShardContext.currentTenant();
+        if (Objects.nonNull(tenantId)) {
+            return tenantId;
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            var requestTenant = TenantShardFilter.tenantOf(attributes.getRequest());
+            try {
+                return Objects.isNull(requestTenant) ? null : UUID.fromString(requestTenant);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String currentRoute() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            var route = attributes.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (Objects.nonNull(route)) {
+                return route.toString();
+            }
+        }
+        return NONE;
+    }
+
+    /** The tags of an {@value #METRIC_NAME} timer. */
+    private record TimerKey(
+            String className, String method, String outcome, String exception, String tenant, String route) {
+
+        private Timer register(MeterRegistry meterRegistry) {
+            return Timer.builder(METRIC_NAME)
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .tag("tenant", tenant)
+                    .tag("route", route)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -2,22 +2,58 @@ package io.akikr.app.shared;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 /**
  * Represents a paginated response for the API.
  *
+ * <p>A page read without a count ({@code withTotal=false}) or with a cursor (keyset pagination)
+ * leaves the totals {@code null}, since counting all matching rows can cost more than reading the
+ * page itself. A cursor page also carries the {@code nextCursor}.
+ *
  * @param <T> The type of data in the response.
  * @param data The list of data for the current page.
  * @param page The current page number.
  * @param size The number of elements per page.
- * @param totalElements The total number of elements across all pages.
- * @param totalPages The total number of pages.
+ * @param totalElements The total number of elements across all pages, or {@code null} if not
+ *     counted.
+ * @param totalPages The total number of pages, or {@code null} if not counted.
  * @param hasNextPage A boolean indicating if there is a next page.
+ * @param nextCursor The opaque cursor of the next page, or {@code null} if there is no next page or
+ *     the page was not read with a cursor.
  */
 public record PagedResponse<T>(
         @JsonProperty("data") List<T> data,
         @JsonProperty("page") int page,
         @JsonProperty("size") int size,
-        @JsonProperty("totalElements") long totalElements,
-        @JsonProperty("totalPages") int totalPages,
-        @JsonProperty("hasNext") boolean hasNextPage) {}
+        @JsonProperty("totalElements") Long totalElements,
+        @JsonProperty("totalPages") Integer totalPages,
+        @JsonProperty("hasNext") boolean hasNextPage,
+        @JsonProperty("nextCursor") String nextCursor) {
+
+    public PagedResponse(List<T> data, int page, int size, long totalElements, int totalPages, boolean hasNextPage) {
+        this(data, page, size, totalElements, totalPages, hasNextPage, null);
+    }
+
+    /**
+     * Creates a {@link PagedResponse} for a {@link Slice}, with the totals only when the slice is a
+     * counted {@link Page}.
+     *
+     * @param slice The slice (or page) that was read.
+     * @param data The data of the slice, converted to the response type.
+     * @return The {@link PagedResponse}.
+     */
+    public static <T> PagedResponse<T> of(Slice<?> slice, List<T> data) {
+        if (slice instanceof Page<?> page) {
+            return new PagedResponse<>(
+                    data,
+                    page.getNumber(),
+                    page.getSize(),
+                    page.getTotalElements(),
+                    page.getTotalPages(),
+                    page.hasNext());
+        }
+        return new PagedResponse<>(data, slice.getNumber(), slice.getSize(), null, null, slice.hasNext(), null);
+    }
+}
@@ -0,0 +1,38 @@
+package io.akikr.app.shared;
+
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Health of the read replica: whether it answers, and how far it is behind the primary.
+ *
+ * <p>The lag is read from {@code SHOW REPLICA STATUS}, which needs the {@code REPLICATION CLIENT}
+ * privilege; without it only the reachability is reported.
+ */
+public class ReplicaHealthIndicator extends AbstractHealthIndicator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReplicaHealthIndicator(DataSource replicaDataSource) {
+        super("Replica health check failed");
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        builder.up();
+        try {
+            jdbcTemplate.query("SHOW REPLICA STATUS", rs -> {
+                var secondsBehindSource = rs.getObject("Seconds_Behind_Source");
+                builder.withDetail("secondsBehindSource", Objects.requireNonNullElse(secondsBehindSource, "unknown"));
+                builder.withDetail("replicaSqlRunning", rs.getString("Replica_SQL_Running"));
+            });
+        } catch (RuntimeException e) {
+            builder.withDetail("secondsBehindSource", "unavailable: " + e.getMessage());
+        }
+    }
+}
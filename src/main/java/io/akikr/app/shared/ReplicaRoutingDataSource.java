@@ -0,0 +1,52 @@
+package io.akikr.app.shared;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes the read-only transactions to the replica, and everything else to the primary.
+ *
+ * <p>A tenant that committed a write within the {@code read-your-writes-window} keeps reading from
+ * the primary, so that it never reads a replica that has not applied its own write yet. The tenant
+ * is taken from the {@link TenantShardContext}; reads without a tenant always go to the replica.
+ * The last writes are tracked per node.
+ *
+ * <p>It is used behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * so the route is chosen at the first statement, once the transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(Duration readYourWritesWindow) {
+        this.recentWriters =
+                Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var tenantId = TenantShardContext.currentTenant();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            var recentWriter = Objects.nonNull(tenantId) && Objects.nonNull(recentWriters.getIfPresent(tenantId));
+            return recentWriter ? PRIMARY : REPLICA;
+        }
+        if (Objects.nonNull(tenantId) && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(tenantId, Boolean.TRUE);
+                }
+            });
+        }
+        return PRIMARY;
+    }
+}
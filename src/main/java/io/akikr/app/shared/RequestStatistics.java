@@ -0,0 +1,69 @@
+package io.akikr.app.shared;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The database work of the current request: the number of SQL statements run and the time spent
+ * executing them.
+ *
+ * <p>The statistics are started and read by the {@link AppAccessLogFilter}. Statements are counted
+ * by the {@link SqlStatementInspector} and timed by the {@link JdbcTimingSessionEventListener}, so
+ * only the statements run through Hibernate are included.
+ * They are bound to the request thread, so statements run on other threads (e.g. while writing a
+ * {@code StreamingResponseBody}) are not counted.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statementRepeats = new HashMap<>();
+    private int statementCount;
+    private long statementNanos;
+
+    private RequestStatistics() {}
+
+    /** Starts collecting the statistics of the current thread, replacing any previous ones. */
+    public static RequestStatistics start() {
+        var statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /** Stops collecting the statistics of the current thread. */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /** The statistics of the current thread, or {@code null} when none are being collected. */
+    public static @Nullable RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts a statement prepared by the request.
+     *
+     * @param sql The SQL of the statement.
+     * @return The number of times this SQL was prepared by the request, including this one.
+     */
+    int recordStatement(String sql) {
+        statementCount++;
+        return statementRepeats.merge(sql, 1, Integer::sum);
+    }
+
+    void recordExecutionTime(long nanos) {
+        statementNanos += nanos;
+    }
+
+    /** The number of SQL statements prepared (a JDBC batch counts once). */
+    public int statementCount() {
+        return statementCount;
+    }
+
+    /** The time spent executing JDBC statements, in milliseconds. */
+    public long statementMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(statementNanos);
+    }
+}
@@ -0,0 +1,130 @@
+package io.akikr.app.shared;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Runs {@link Specification} searches that select a constructor projection instead of entities.
+ *
+ * <p>Only the projected columns are read from the database, and the rows never enter the
+ * persistence context, so large columns (such as JSON payloads) are not transferred and nothing
+ * is snapshotted for dirty checking.
+ *
+ * @param <T> The entity type the specifications apply to.
+ * @param <R> The projection type, which must have a constructor matching the selected columns.
+ */
+public class SpecificationProjection<T, R> {
+
+    private final EntityManager entityManager;
+    private final Class<T> entityClass;
+    private final Class<R> projectionClass;
+    private final Function<Root<T>, List<Selection<?>>> columns;
+
+    /**
+     * @param entityManager The {@link EntityManager} to run the queries with.
+     * @param entityClass The entity type the specifications apply to.
+     * @param projectionClass The projection type.
+     * @param columns Selects the projected columns from the entity root, in constructor order.
+     */
+    public SpecificationProjection(
+            EntityManager entityManager,
+            Class<T> entityClass,
+            Class<R> projectionClass,
+            Function<Root<T>, List<Selection<?>>> columns) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.projectionClass = projectionClass;
+        this.columns = columns;
+    }
+
+    /**
+     * Reads a page of projections, counting the total matches unless the page is the last one.
+     */
+    public Page<R> findPage(Specification<T> specification, Pageable pageable) {
+        var content = findAll(specification, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    /**
+     * Reads a slice of projections, fetching one extra row to tell whether a next slice exists.
+     */
+    public Slice<R> findSlice(Specification<T> specification, Pageable pageable) {
+        var content = findAll(specification, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        var hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * Reads up to {@code limit} projections in the given sort order, starting at {@code offset}.
+     */
+    public List<R> findAll(Specification<T> specification, Sort sort, long offset, int limit) {
+        return createQuery(specification, sort)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Streams all projections in the given sort order over a forward-only cursor.
+     *
+     * <p>The rows are read from the JDBC result set as the stream is consumed, {@code fetchSize} at a
+     * time, so the stream must be consumed (and closed) within the transaction that opened it. With
+     * MySQL Connector/J a fetch size of {@link Integer#MIN_VALUE} streams the result set row by row
+     * instead of reading it into memory.
+     *
+     * @param specification The search {@link Specification}.
+     * @param sort The sort order.
+     * @param fetchSize The JDBC fetch size.
+     * @return The projections, to be closed after use.
+     */
+    public Stream<R> stream(Specification<T> specification, Sort sort, int fetchSize) {
+        return createQuery(specification, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private TypedQuery<R> createQuery(Specification<T> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = criteriaBuilder.createQuery(projectionClass);
+        Root<T> root = query.from(entityClass);
+        query.select(
+                criteriaBuilder.construct(projectionClass, columns.apply(root).toArray(Selection[]::new)));
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (Objects.nonNull(predicate)) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<T> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        query.select(criteriaBuilder.count(root));
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (Objects.nonNull(predicate)) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,46 @@
+package io.akikr.app.shared;
+
+import java.util.Objects;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@value #STATEMENT_COUNT_HEADER} header, the number of SQL statements run by the request
+ * so far, to every response body written by a controller. Enabled with {@code
+ * app.sql.statement-count-header} (in the dev profile).
+ *
+ * <p>The header is set right before the body is written, once the handler has run all its
+ * statements.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "app.sql", name = "statement-count-header", havingValue = "true")
+public class SqlStatementCountAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        var statistics = RequestStatistics.current();
+        if (Objects.nonNull(statistics)) {
+            response.getHeaders().set(STATEMENT_COUNT_HEADER, String.valueOf(statistics.statementCount()));
+        }
+        return body;
+    }
+}
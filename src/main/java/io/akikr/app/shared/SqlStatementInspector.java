@@ -0,0 +1,109 @@
+package io.akikr.app.shared;
+
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * A Hibernate {@link StatementInspector} that counts the SQL statements of each HTTP request into
+ * its {@link RequestStatistics}, and checks them against the {@link AppSqlProperties}.
+ *
+ * <p>A request running more than {@code statement-budget} statements, or the same statement
+ * {@code n-plus-one-threshold} times (typically a lazy association loaded in a loop), is logged
+ * once with the application call sites of the offending statement. With {@code
+ * fail-on-budget-exceeded} every statement over the budget fails with an {@link
+ * IllegalStateException} instead. The requests matching {@code budget-exempt-paths}, and NDJSON
+ * requests, are not checked against the budget.
+ *
+ * <p>Only the statements prepared through Hibernate are seen: the ones run directly with a {@code
+ * JdbcTemplate} (the tracking event {@code INSERT IGNORE} ingest, the {@link IdempotencyStore},
+ * the {@link JdbcCacheInvalidationChannel} and the replica health check) are neither counted nor
+ * checked. Statements run outside a request (e.g. by the write-behind workers) are not checked
+ * either.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementInspector.class);
+    private static final String APP_PACKAGE = "io.akikr.app.";
+    private static final String SHARED_PACKAGE = "io.akikr.app.shared.";
+    private static final int MAX_CALL_SITES = 5;
+
+    private final AppSqlProperties appSqlProperties;
+    private final List<PathPattern> budgetExemptPatterns;
+
+    public SqlStatementInspector(AppSqlProperties appSqlProperties) {
+        this.appSqlProperties = appSqlProperties;
+        this.budgetExemptPatterns = appSqlProperties.budgetExemptPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var statistics = RequestStatistics.current();
+        if (Objects.isNull(statistics)) {
+            return sql;
+        }
+        var repeats = statistics.recordStatement(sql);
+        if (repeats == appSqlProperties.nPlusOneThreshold()) {
+            log.warn(
+                    "Possible N+1 query, statement run [{}] times in one request, sql:[{}], call sites:{}",
+                    repeats,
+                    sql,
+                    callSites());
+        }
+        var statementCount = statistics.statementCount();
+        var statementBudget = appSqlProperties.statementBudget();
+        if (statementCount > statementBudget && !isBudgetExempt()) {
+            if (statementCount == statementBudget + 1) {
+                log.warn(
+                        "Request exceeded its SQL statement budget:[{}], sql:[{}], call sites:{}",
+                        statementBudget,
+                        sql,
+                        callSites());
+            }
+            if (appSqlProperties.failOnBudgetExceeded()) {
+                throw new IllegalStateException(
+                        "Request exceeded its SQL statement budget:[" + statementBudget + "] with sql:[" + sql + "]");
+            }
+        }
+        return sql;
+    }
+
+    /** Whether the current request is exempt from the statement budget, resolved only once it is exceeded. */
+    private boolean isBudgetExempt() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        var request = attributes.getRequest();
+        var contentType = request.getContentType();
+        if (Objects.nonNull(contentType)
+                && MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return true;
+        }
+        var path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        return budgetExemptPatterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    /** The innermost application frames (outside this infrastructure and its proxies) of the current stack. */
+    private static List<String> callSites() {
+        return StackWalker.getInstance().walk(frames -> frames.filter(frame -> {
+                    var className = frame.getClassName();
+                    return className.startsWith(APP_PACKAGE)
+                            && !className.startsWith(SHARED_PACKAGE)
+                            && !className.contains("$$");
+                })
+                .limit(MAX_CALL_SITES)
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .toList());
+    }
+}
@@ -0,0 +1,168 @@
+package io.akikr.app.shared;
+
+import java.util.Objects;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Holds the tenant of the current thread, which selects the shard used by the {@link
+ * TenantShardRoutingDataSource}.
+ *
+ * <p>The shard is resolved when a transaction issues its first statement, so the tenant must be
+ * set before that, typically around the processor calls:
+ *
+ * <pre>{@code
+ * var response = TenantShardContext.call(tenantId, () -> {
+ *     ...
+ * });
+ * }</pre>
+ *
+ * <p>The actions may throw a checked exception, which is rethrown as is. {@link #enter(UUID)} is
+ * left for the code whose scope cannot be a single action throwing one exception type, such as a
+ * servlet filter.
+ *
+ * <p>Without a tenant (and whenever shard routing is disabled) nothing changes: the default
+ * DataSource is used. The tables shared by all the tenants, such as {@code idempotency_keys} and
+ * {@code cache_invalidation}, live on the default shard only, and are accessed within {@link
+ * #callOnDefaultShard(Call)} so that the tenant of the current thread does not route them.
+ */
+public final class TenantShardContext {
+
+    private static final ThreadLocal<UUID> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantShardContext() {}
+
+    /** The tenant of the current thread, if any. */
+    public static @Nullable UUID currentTenant() {
+        return CURRENT_TENANT.get();
+    }
+
+    /**
+     * Sets the tenant of the current thread until the returned scope is closed, which restores the
+     * previous tenant.
+     *
+     * @param tenantId The UUID of the tenant, or {@code null} to keep the current tenant.
+     * @return The {@link Scope} to close.
+     */
+    public static Scope enter(@Nullable UUID tenantId) {
+        var previous = CURRENT_TENANT.get();
+        if (Objects.nonNull(tenantId)) {
+            CURRENT_TENANT.set(tenantId);
+        }
+        return () -> {
+            if (Objects.isNull(previous)) {
+                CURRENT_TENANT.remove();
+            } else {
+                CURRENT_TENANT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Same as {@link #enter(UUID)}, for a tenant ID that has not been validated yet; an invalid ID
+     * keeps the current tenant, leaving its validation to the caller.
+     */
+    public static Scope enter(@Nullable String tenantId) {
+        try {
+            return enter(Objects.isNull(tenantId) ? null : UUID.fromString(tenantId));
+        } catch (IllegalArgumentException e) {
+            return enter((UUID) null);
+        }
+    }
+
+    /**
+     * Runs an action with the tenant of the current thread set, then restores the previous tenant.
+     *
+     * @param tenantId The UUID of the tenant, or {@code null} to keep the current tenant.
+     * @param action The action to run.
+     */
+    public static <E extends Exception> void run(@Nullable UUID tenantId, Action<E> action) throws E {
+        var scope = enter(tenantId);
+        try {
+            action.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Same as {@link #run(UUID, Action)}, for a tenant ID that has not been validated yet; an invalid
+     * ID keeps the current tenant, leaving its validation to the caller.
+     */
+    public static <E extends Exception> void run(@Nullable String tenantId, Action<E> action) throws E {
+        var scope = enter(tenantId);
+        try {
+            action.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Calls an action with the tenant of the current thread set, then restores the previous tenant.
+     *
+     * @param tenantId The UUID of the tenant, or {@code null} to keep the current tenant.
+     * @param action The action to call.
+     * @return The result of the action.
+     */
+    public static <T, E extends Exception> T call(@Nullable UUID tenantId, Call<T, E> action) throws E {
+        var scope = enter(tenantId);
+        try {
+            return action.call();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Same as {@link #call(UUID, Call)}, for a tenant ID that has not been validated yet; an invalid
+     * ID keeps the current tenant, leaving its validation to the caller.
+     */
+    public static <T, E extends Exception> T call(@Nullable String tenantId, Call<T, E> action) throws E {
+        var scope = enter(tenantId);
+        try {
+            return action.call();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Calls an action with no tenant set, so that its statements go to the default shard, then
+     * restores the tenant of the current thread. A transaction already bound to the thread keeps
+     * its connection, so the action must not join one.
+     *
+     * @param action The action to call.
+     * @return The result of the action.
+     */
+    public static <T, E extends Exception> T callOnDefaultShard(Call<T, E> action) throws E {
+        var previous = CURRENT_TENANT.get();
+        CURRENT_TENANT.remove();
+        try {
+            return action.call();
+        } finally {
+            if (Objects.nonNull(previous)) {
+                CURRENT_TENANT.set(previous);
+            }
+        }
+    }
+
+    /** An action run within a tenant scope, like a {@link Runnable} that may throw {@code E}. */
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    /** An action called within a tenant scope, like a {@link java.util.function.Supplier} that may throw {@code E}. */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /** A tenant scope, restoring the previous tenant when closed. */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
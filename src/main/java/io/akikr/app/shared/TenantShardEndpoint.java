@@ -0,0 +1,45 @@
+package io.akikr.app.shared;
+
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint ({@code /actuator/tenantshards}) to look up the shard of a tenant, and to copy
+ * a tenant to another shard with the {@link TenantShardMigrator}.
+ *
+ * <p>The endpoint is {@code read-only} by default, as the actuator is not secured: the copy is only
+ * available with {@code management.endpoint.tenantshards.access=unrestricted}, to be set on a node
+ * whose actuator is reachable by operators only.
+ */
+@Endpoint(id = "tenantshards")
+public class TenantShardEndpoint {
+
+    private final TenantShardResolver tenantShardResolver;
+    private final TenantShardMigrator tenantShardMigrator;
+
+    public TenantShardEndpoint(TenantShardResolver tenantShardResolver, TenantShardMigrator tenantShardMigrator) {
+        this.tenantShardResolver = tenantShardResolver;
+        this.tenantShardMigrator = tenantShardMigrator;
+    }
+
+    @ReadOperation
+    public Map<String, String> shardOf(@Selector UUID tenantId) {
+        return Map.of("tenantId", tenantId.toString(), "shard", tenantShardResolver.shardOf(tenantId));
+    }
+
+    /**
+     * Copies a tenant from its current shard to the target shard.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param targetShard The shard to copy to.
+     * @return The number of rows copied, per table.
+     */
+    @WriteOperation
+    public Map<String, Integer> copyTenant(@Selector UUID tenantId, String targetShard) {
+        return tenantShardMigrator.copyTenant(tenantId, tenantShardResolver.shardOf(tenantId), targetShard);
+    }
+}
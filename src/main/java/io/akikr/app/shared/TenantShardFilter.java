@@ -0,0 +1,45 @@
+package io.akikr.app.shared;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.GenericFilter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * A filter that sets the {@link TenantShardContext} of a request from its tenant: the {@code
+ * orgId} of the {@code /organizations/{orgId}} path, or else the {@code orgId} query parameter.
+ *
+ * <p>Requests carrying their tenant in the JSON body (order upserts) are scoped by the service
+ * instead. Requests addressing a resource by its own ID only (e.g. {@code
+ * /orders/{orderId}/fulfillments}) must pass the {@code orgId} query parameter to reach the right
+ * shard.
+ */
+public class TenantShardFilter extends GenericFilter {
+
+    private static final Pattern ORGANIZATION_PATH = Pattern.compile("/organizations/([^/]+)");
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+        // The chain throws two checked exception types, which a TenantShardContext action cannot
+        var shardScope = TenantShardContext.enter(tenantOf((HttpServletRequest) servletRequest));
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            shardScope.close();
+        }
+    }
+
+    /** The tenant ID of a request as given in its path or query, not validated. */
+    static String tenantOf(HttpServletRequest request) {
+        var organization = ORGANIZATION_PATH.matcher(request.getRequestURI());
+        if (organization.find()) {
+            return organization.group(1);
+        }
+        return request.getParameter("orgId");
+    }
+}
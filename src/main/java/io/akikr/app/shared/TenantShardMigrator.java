@@ -0,0 +1,132 @@
+package io.akikr.app.shared;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Copies all the rows of one tenant from a shard to another, as the first step of moving the
+ * tenant.
+ *
+ * <p>Tables are copied in foreign key order, in chunks of {@code chunkSize} rows read in primary
+ * key order, and each chunk is upserted on the target shard. The copy can therefore run while the
+ * tenant keeps writing to its current shard, and be repeated to catch up. Moving a tenant is done
+ * as follows:
+ *
+ * <ol>
+ *   <li>Copy the tenant to the target shard (live).
+ *   <li>Pause the tenant's writes, copy again to catch up, pin the tenant to the target shard in
+ *       {@code app.sharding.tenants} and roll the nodes.
+ *   <li>Delete the tenant's rows from the source shard.
+ * </ol>
+ *
+ * <p>Deletes made on the source shard between two copies are not propagated.
+ */
+public class TenantShardMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantShardMigrator.class);
+
+    // Parents before children, so that the foreign keys are satisfied on the target shard
+    private static final Map<String, String> TENANT_TABLES = new LinkedHashMap<>();
+
+    static {
+        TENANT_TABLES.put("tenant", "tenant_id");
+        TENANT_TABLES.put("store", "store_id");
+        TENANT_TABLES.put("orders", "order_id");
+        TENANT_TABLES.put("order_items", "order_item_id");
+        TENANT_TABLES.put("fulfillments", "fulfillment_id");
+        TENANT_TABLES.put("tracking", "tracking_id");
+        TENANT_TABLES.put("tracking_events", "tracking_event_id");
+    }
+
+    private final Map<Object, DataSource> shardDataSources;
+    private final int chunkSize;
+
+    public TenantShardMigrator(Map<Object, DataSource> shardDataSources, int chunkSize) {
+        this.shardDataSources = shardDataSources;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Copies (upserts) all the rows of a tenant from one shard to another.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param sourceShard The shard to copy from.
+     * @param targetShard The shard to copy to.
+     * @return The number of rows copied, per table.
+     */
+    public Map<String, Integer> copyTenant(UUID tenantId, String sourceShard, String targetShard) {
+        if (sourceShard.equals(targetShard)) {
+            throw new IllegalArgumentException("Source and target shard are both:[" + sourceShard + "]");
+        }
+        var source = new JdbcTemplate(shardDataSource(sourceShard));
+        var target = new JdbcTemplate(shardDataSource(targetShard));
+        var tenantKey = toBytes(tenantId);
+        Map<String, Integer> copied = new LinkedHashMap<>();
+        TENANT_TABLES.forEach((table, primaryKey) -> {
+            copied.put(table, copyTable(source, target, table, primaryKey, tenantKey));
+            log.info(
+                    "Copied:[{}] rows of table:[{}] for tenantId:[{}] from shard:[{}] to shard:[{}]",
+                    copied.get(table),
+                    table,
+                    tenantId,
+                    sourceShard,
+                    targetShard);
+        });
+        return copied;
+    }
+
+    private int copyTable(JdbcTemplate source, JdbcTemplate target, String table, String primaryKey, byte[] tenantKey) {
+        var select = "SELECT * FROM " + table + " WHERE tenant_id = ? AND " + primaryKey + " > ? ORDER BY " + primaryKey
+                + " LIMIT " + chunkSize;
+        var lastKey = new byte[16];
+        var copied = 0;
+        while (true) {
+            List<Map<String, Object>> rows = source.queryForList(select, tenantKey, lastKey);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            var columns = List.copyOf(rows.get(0).keySet());
+            target.batchUpdate(
+                    upsertSql(table, columns),
+                    rows.stream()
+                            .map(row -> columns.stream().map(row::get).toArray())
+                            .toList());
+            copied += rows.size();
+            lastKey = (byte[]) rows.get(rows.size() - 1).get(primaryKey);
+        }
+    }
+
+    private static String upsertSql(String table, List<String> columns) {
+        return "INSERT INTO " + table
+                + columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", ", " (", ")"))
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ", " VALUES (", ")"))
+                + " AS copied ON DUPLICATE KEY UPDATE "
+                + columns.stream()
+                        .map(column -> "`" + column + "` = copied.`" + column + "`")
+                        .collect(Collectors.joining(", "));
+    }
+
+    private DataSource shardDataSource(String shard) {
+        var dataSource = shardDataSources.get(shard);
+        if (Objects.isNull(dataSource)) {
+            throw new IllegalArgumentException("Unknown shard:[" + shard + "]");
+        }
+        return dataSource;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
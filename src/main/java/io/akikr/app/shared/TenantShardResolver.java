@@ -0,0 +1,44 @@
+package io.akikr.app.shared;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resolves the shard of a tenant: the shard it is pinned to in {@link
+ * AppShardingProperties#tenants()}, or else its position on a {@link ConsistentHashRing} of all the
+ * shards.
+ */
+public class TenantShardResolver {
+
+    private final Map<UUID, String> pinnedTenants;
+    private final Set<String> shards;
+    private final ConsistentHashRing<String> ring;
+
+    public TenantShardResolver(AppShardingProperties appShardingProperties) {
+        this.shards = appShardingProperties.shards().keySet();
+        this.pinnedTenants = appShardingProperties.tenants();
+        this.ring = new ConsistentHashRing<>(shards, appShardingProperties.virtualNodes());
+        pinnedTenants.forEach((tenantId, shard) -> {
+            if (!shards.contains(shard)) {
+                throw new IllegalArgumentException(
+                        "Tenant:[" + tenantId + "] is pinned to unknown shard:[" + shard + "]");
+            }
+        });
+    }
+
+    /**
+     * @param tenantId The UUID of the tenant.
+     * @return The name of the tenant's shard.
+     */
+    public String shardOf(UUID tenantId) {
+        var pinnedShard = pinnedTenants.get(tenantId);
+        return Objects.nonNull(pinnedShard) ? pinnedShard : ring.nodeOf(tenantId.toString());
+    }
+
+    /** The names of all the shards. */
+    public Set<String> shards() {
+        return shards;
+    }
+}
@@ -0,0 +1,38 @@
+package io.akikr.app.shared;
+
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routes each connection to the shard of the tenant in the {@link TenantShardContext}, or to the
+ * default shard when there is none.
+ *
+ * <p>It is used behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * so the shard is chosen when a transaction sends its first statement rather than when it begins.
+ */
+public class TenantShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final TenantShardResolver tenantShardResolver;
+
+    public TenantShardRoutingDataSource(TenantShardResolver tenantShardResolver) {
+        this.tenantShardResolver = tenantShardResolver;
+    }
+
+    @Override
+    protected @Nullable Object determineCurrentLookupKey() {
+        var tenantId = TenantShardContext.currentTenant();
+        return Objects.isNull(tenantId) ? null : tenantShardResolver.shardOf(tenantId);
+    }
+
+    /** Closes the connection pools of the shards. */
+    @Override
+    public void destroy() throws Exception {
+        for (var shardDataSource : getResolvedDataSources().values()) {
+            if (shardDataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
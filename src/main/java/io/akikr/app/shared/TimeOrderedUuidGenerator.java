@@ -0,0 +1,60 @@
+package io.akikr.app.shared;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * Generates time-ordered (version 7, RFC 9562) UUIDs for the entity primary keys.
+ *
+ * <p>The 48 most significant bits hold the Unix epoch milliseconds, followed by a 12-bit counter
+ * that keeps ids generated within the same millisecond monotonic. Hibernate stores a {@link UUID}
+ * in {@code BINARY(16)} most significant byte first, so new keys are appended to the right-hand
+ * side of the InnoDB clustered index instead of being scattered across it.
+ *
+ * <p>The timestamp and counter are advanced with a compare-and-set on a single {@link AtomicLong},
+ * so generation never blocks (or pins a carrier thread). When the counter overflows it borrows
+ * from the next millisecond, which keeps ids strictly increasing within this JVM.
+ *
+ * <p>Usage: {@code @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)}.
+ */
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_62_BITS = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Last issued (unix millis << COUNTER_BITS | counter), shared by all generator instances
+    private static final AtomicLong LAST_TIMESTAMP = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return generate();
+    }
+
+    /**
+     * Generates a new time-ordered UUID.
+     *
+     * @return A version 7 UUID, greater than any UUID previously generated by this JVM.
+     */
+    public static UUID generate() {
+        long timestamp = nextTimestamp();
+        long mostSigBits = ((timestamp >>> COUNTER_BITS) << 16) | VERSION_7 | (timestamp & ((1L << COUNTER_BITS) - 1));
+        long leastSigBits = VARIANT_RFC_9562 | (ThreadLocalRandom.current().nextLong() & RANDOM_62_BITS);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static long nextTimestamp() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            long last = LAST_TIMESTAMP.get();
+            long next = Math.max(now, last + 1);
+            if (LAST_TIMESTAMP.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -53,12 +53,14 @@ public class StoreController {
             @RequestParam(name = "to", required = false) String toDate,
             @RequestParam(name = "page", defaultValue = "0") int page,
             @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal,
             @RequestParam(name = "sort", defaultValue = "updatedAt,desc") String sort,
             @RequestParam(name = "status", required = false) StoreStatus status,
             @RequestParam(name = "platform", required = false) StorePlatform platform,
             @RequestParam(name = "code", required = false) String code,
             @RequestParam(name = "domain", required = false) String domain) {
-        return storeService.listStores(orgId, fromDate, toDate, page, size, sort, status, platform, code, domain);
+        return storeService.listStores(
+                orgId, fromDate, toDate, page, size, withTotal, sort, status, platform, code, domain);
     }
 
     @Operation(summary = "Search websites within an organization by websiteId/code/domain")
@@ -69,8 +71,9 @@ public class StoreController {
             @RequestParam(name = "code", required = false) String code,
             @RequestParam(name = "domain", required = false) String domain,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "50") int size) {
-        return storeService.searchStores(orgId, websiteId, code, domain, page, size);
+            @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "withTotal", defaultValue = "true") boolean withTotal) {
+        return storeService.searchStores(orgId, websiteId, code, domain, page, size, withTotal);
     }
 
     @Operation(summary = "Get website by id")
@@ -1,11 +1,18 @@
 package io.akikr.app.store.processor;
 
+import static io.akikr.app.shared.AppCacheConfig.STORES_CACHE;
+
 import io.akikr.app.store.entity.Store;
+import io.akikr.app.store.repository.StoreReferenceRow;
 import io.akikr.app.store.repository.StoreRepository;
+import io.akikr.app.store.repository.StoreSearchRow;
+import io.akikr.app.tenant.entity.Tenant;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,18 +26,76 @@ public class StoreProcessor {
         this.storeRepository = storeRepository;
     }
 
+    /** Saves a store and evicts it from the store reference cache. */
     @Transactional(rollbackFor = Exception.class)
+    @CacheEvict(
+            cacheNames = STORES_CACHE,
+            key = "#store.storeId + ':' + #store.tenant.tenantId",
+            condition = "#store.storeId != null")
     public Store saveStore(Store store) {
         return storeRepository.save(store);
     }
 
     @Transactional(readOnly = true)
-    public Page<Store> findBySpecification(Specification<Store> storeSpecification, Pageable pageable) {
-        return storeRepository.findAll(storeSpecification, pageable);
+    public Page<StoreSearchRow> findSearchRows(Specification<Store> storeSpecification, Pageable pageable) {
+        return storeRepository.findSearchRows(storeSpecification, pageable);
+    }
+
+    /**
+     * Same as {@link #findSearchRows}, but without the {@code COUNT(*)} query: one extra row is
+     * fetched to tell whether a next slice exists.
+     */
+    @Transactional(readOnly = true)
+    public Slice<StoreSearchRow> findSearchRowSlice(Specification<Store> storeSpecification, Pageable pageable) {
+        return storeRepository.findSearchRowSlice(storeSpecification, pageable);
     }
 
     @Transactional(readOnly = true)
     public Optional<Store> findByStoreIdAndTenantId(UUID storeId, UUID tenantId) {
         return storeRepository.findByStoreIdAndTenantTenantId(storeId, tenantId);
     }
+
+    /**
+     * Finds a store of a tenant through the store reference cache; missing stores (or stores of
+     * another tenant) are not cached.
+     *
+     * <p>The cache holds immutable {@link StoreReferenceRow}s, and each call returns a new detached
+     * store (and tenant) built from the row, so callers never share an entity. Paths that modify the
+     * store still use {@link #findByStoreIdAndTenantId(UUID, UUID)}, since saving a detached copy
+     * would merge it.
+     *
+     * @param storeId The UUID of the store.
+     * @param tenantId The UUID of the tenant the store must belong to.
+     * @return An {@link Optional} containing the store if it exists and belongs to the tenant.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Store> findCachedByStoreIdAndTenantId(UUID storeId, UUID tenantId) {
+        return storeRepository
+                .findReferenceRowByStoreIdAndTenantId(storeId, tenantId)
+                .map(StoreProcessor::toStore);
+    }
+
+    private static Store toStore(StoreReferenceRow storeReferenceRow) {
+        var tenant = Tenant.builder()
+                .tenantId(storeReferenceRow.tenantId())
+                .tenantName(storeReferenceRow.tenantName())
+                .externalId(storeReferenceRow.tenantExternalId())
+                .status(storeReferenceRow.tenantStatus())
+                .createdAt(storeReferenceRow.tenantCreatedAt())
+                .updatedAt(storeReferenceRow.tenantUpdatedAt())
+                .build();
+        return Store.builder()
+                .storeId(storeReferenceRow.storeId())
+                .tenant(tenant)
+                .storeCode(storeReferenceRow.storeCode())
+                .storeName(storeReferenceRow.storeName())
+                .domain(storeReferenceRow.domain())
+                .platform(storeReferenceRow.platform())
+                .timezone(storeReferenceRow.timezone())
+                .currency(storeReferenceRow.currency())
+                .status(storeReferenceRow.status())
+                .createdAt(storeReferenceRow.createdAt())
+                .updatedAt(storeReferenceRow.updatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,29 @@
+package io.akikr.app.store.repository;
+
+import io.akikr.app.store.entity.Store;
+import io.akikr.app.tenant.entity.Tenant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a {@link Store} and of its {@link Tenant} held by the store reference cache. Being
+ * immutable, a cached row can be shared between threads, unlike the entities built from it on each
+ * lookup.
+ */
+public record StoreReferenceRow(
+        UUID storeId,
+        String storeCode,
+        String storeName,
+        String domain,
+        Store.Platform platform,
+        String timezone,
+        String currency,
+        Store.Status status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID tenantId,
+        String tenantName,
+        String tenantExternalId,
+        Tenant.Status tenantStatus,
+        LocalDateTime tenantCreatedAt,
+        LocalDateTime tenantUpdatedAt) {}
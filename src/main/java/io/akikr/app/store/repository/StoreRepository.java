@@ -1,14 +1,38 @@
 package io.akikr.app.store.repository;
 
+import static io.akikr.app.shared.AppCacheConfig.STORES_CACHE;
+
 import io.akikr.app.store.entity.Store;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface StoreRepository extends JpaRepository<Store, UUID>, JpaSpecificationExecutor<Store> {
+public interface StoreRepository
+        extends JpaRepository<Store, UUID>, JpaSpecificationExecutor<Store>, StoreSearchRepository {
 
     Optional<Store> findByStoreIdAndTenantTenantId(UUID storeId, UUID tenantId);
+
+    /**
+     * Finds the columns of a store of a tenant, and of the tenant, through the store reference
+     * cache; missing stores (or stores of another tenant) are not cached. The cache key is {@code
+     * storeId:tenantId} ({@code #p0} and {@code #p1}, as parameter names of repository interfaces
+     * are not reliably available to the cache).
+     *
+     * @param storeId The UUID of the store.
+     * @param tenantId The UUID of the tenant the store must belong to.
+     * @return An {@link Optional} containing the store's row if it exists and belongs to the tenant.
+     */
+    @Cacheable(cacheNames = STORES_CACHE, key = "#p0 + ':' + #p1", unless = "#result == null")
+    @Query("select new io.akikr.app.store.repository.StoreReferenceRow(s.storeId, s.storeCode, s.storeName,"
+            + " s.domain, s.platform, s.timezone, s.currency, s.status, s.createdAt, s.updatedAt, t.tenantId,"
+            + " t.tenantName, t.externalId, t.status, t.createdAt, t.updatedAt)"
+            + " from Store s join s.tenant t where s.storeId = :storeId and t.tenantId = :tenantId")
+    Optional<StoreReferenceRow> findReferenceRowByStoreIdAndTenantId(
+            @Param("storeId") UUID storeId, @Param("tenantId") UUID tenantId);
 }
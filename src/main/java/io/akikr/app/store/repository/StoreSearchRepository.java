@@ -0,0 +1,18 @@
+package io.akikr.app.store.repository;
+
+import io.akikr.app.store.entity.Store;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Store searches that read {@link StoreSearchRow} projections instead of {@link Store} entities, so
+ * that neither the unused columns nor the eagerly fetched tenant are loaded.
+ */
+public interface StoreSearchRepository {
+
+    Page<StoreSearchRow> findSearchRows(Specification<Store> storeSpecification, Pageable pageable);
+
+    Slice<StoreSearchRow> findSearchRowSlice(Specification<Store> storeSpecification, Pageable pageable);
+}
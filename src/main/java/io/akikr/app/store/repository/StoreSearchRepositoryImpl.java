@@ -0,0 +1,42 @@
+package io.akikr.app.store.repository;
+
+import io.akikr.app.shared.SpecificationProjection;
+import io.akikr.app.store.entity.Store;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+class StoreSearchRepositoryImpl implements StoreSearchRepository {
+
+    private final SpecificationProjection<Store, StoreSearchRow> storeSearchProjection;
+
+    StoreSearchRepositoryImpl(EntityManager entityManager) {
+        this.storeSearchProjection = new SpecificationProjection<>(
+                entityManager,
+                Store.class,
+                StoreSearchRow.class,
+                root -> List.of(
+                        root.get("storeId"),
+                        root.get("tenant").get("tenantId"),
+                        root.get("storeCode"),
+                        root.get("storeName"),
+                        root.get("platform"),
+                        root.get("domain"),
+                        root.get("status"),
+                        root.get("createdAt"),
+                        root.get("updatedAt")));
+    }
+
+    @Override
+    public Page<StoreSearchRow> findSearchRows(Specification<Store> storeSpecification, Pageable pageable) {
+        return storeSearchProjection.findPage(storeSpecification, pageable);
+    }
+
+    @Override
+    public Slice<StoreSearchRow> findSearchRowSlice(Specification<Store> storeSpecification, Pageable pageable) {
+        return storeSearchProjection.findSlice(storeSpecification, pageable);
+    }
+}
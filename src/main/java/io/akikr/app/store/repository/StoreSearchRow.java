@@ -0,0 +1,17 @@
+package io.akikr.app.store.repository;
+
+import io.akikr.app.store.entity.Store;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** The columns of a {@link Store} read by the store search endpoints. */
+public record StoreSearchRow(
+        UUID storeId,
+        UUID tenantId,
+        String storeCode,
+        String storeName,
+        Store.Platform platform,
+        String domain,
+        Store.Status status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {}
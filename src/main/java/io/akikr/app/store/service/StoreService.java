@@ -25,6 +25,7 @@ public interface StoreService {
             @Nullable String toDate,
             Integer page,
             Integer size,
+            boolean withTotal,
             String sort,
             @Nullable StoreStatus status,
             @Nullable StorePlatform platform,
@@ -38,7 +39,8 @@ public interface StoreService {
             @Nullable String code,
             @Nullable String domain,
             Integer page,
-            Integer size)
+            Integer size,
+            boolean withTotal)
             throws StoreException;
 
     ResponseEntity<StoreResponse> getStoreById(String orgId, String websiteId) throws StoreException;
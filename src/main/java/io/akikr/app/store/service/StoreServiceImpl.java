@@ -19,6 +19,7 @@ import io.akikr.app.store.model.response.StoreResponse;
 import io.akikr.app.store.model.response.StoreSearchResponse;
 import io.akikr.app.store.model.response.StoreUpdateResponse;
 import io.akikr.app.store.processor.StoreProcessor;
+import io.akikr.app.store.repository.StoreSearchRow;
 import io.akikr.app.store.repository.StoreSpecifications;
 import io.akikr.app.tenant.entity.Tenant;
 import io.akikr.app.tenant.processor.TenantProcessor;
@@ -29,8 +30,8 @@ import java.util.UUID;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -54,7 +55,7 @@ public class StoreServiceImpl implements StoreService {
         try {
             var tenantId = UUID.fromString(orgId);
             var tenant = tenantProcessor
-                    .findByTenantId(tenantId)
+                    .findCachedByTenantId(tenantId)
                     .orElseThrow(() -> new RuntimeException("No Tenant found with tenantId: " + tenantId));
             var store = toStore(tenant, request);
             var savedStore = storeProcessor.saveStore(store);
@@ -78,40 +79,48 @@ public class StoreServiceImpl implements StoreService {
             @Nullable String toDate,
             Integer page,
             Integer size,
+            boolean withTotal,
             String sort,
             @Nullable StoreStatus status,
             @Nullable StorePlatform platform,
             @Nullable String code,
             @Nullable String domain)
             throws StoreException {
-        log.info(
-                "Listing stores for orgId:[{}] with parameters: fromDate:[{}], toDate:[{}], page:[{}], size:[{}], sort:[{}], status:[{}], platform:[{}], code:[{}], domain:[{}]",
-                orgId,
-                fromDate,
-                toDate,
-                page,
-                size,
-                sort,
-                status,
-                platform,
-                code,
-                domain);
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Listing stores for orgId:[{}] with parameters: fromDate:[{}], toDate:[{}], page:[{}], size:[{}], sort:[{}], status:[{}], platform:[{}], code:[{}], domain:[{}]",
+                    orgId,
+                    fromDate,
+                    toDate,
+                    page,
+                    size,
+                    sort,
+                    status,
+                    platform,
+                    code,
+                    domain);
+        }
         try {
             var tenantId = UUID.fromString(orgId);
             tenantProcessor
-                    .findByTenantId(tenantId)
+                    .findCachedByTenantId(tenantId)
                     .orElseThrow(() -> new RuntimeException("No Tenant found with tenantId: " + tenantId));
 
             var sortBy = convertToSort(sort);
             var pageable = PageRequest.of(page, size, sortBy);
             var storeSpecification =
                     StoreSpecifications.withOptionalFilters(tenantId, fromDate, toDate, status, platform, code, domain);
-            var storePage = storeProcessor.findBySpecification(storeSpecification, pageable);
-            log.info(
-                    "Stores list completed successfully for orgId:[{}] with totalElements:[{}]",
-                    orgId,
-                    storePage.getTotalElements());
-            var pagedResponse = toPagedStoreSearchResponse(storePage);
+            var storeSlice = withTotal
+                    ? storeProcessor.findSearchRows(storeSpecification, pageable)
+                    : storeProcessor.findSearchRowSlice(storeSpecification, pageable);
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Stores list completed successfully for orgId:[{}] with numberOfElements:[{}], hasNext:[{}]",
+                        orgId,
+                        storeSlice.getNumberOfElements(),
+                        storeSlice.hasNext());
+            }
+            var pagedResponse = toPagedStoreSearchResponse(storeSlice);
             return ResponseEntity.status(HttpStatus.OK).body(pagedResponse);
         } catch (NullPointerException | IllegalArgumentException e) {
             log.error("Error listing stores for orgId:[{}] due to: {}", orgId, e.getMessage(), e);
@@ -130,7 +139,8 @@ public class StoreServiceImpl implements StoreService {
             @Nullable String code,
             @Nullable String domain,
             Integer page,
-            Integer size)
+            Integer size,
+            boolean withTotal)
             throws StoreException {
         log.info(
                 "Searching stores for orgId:[{}] with parameters: storeId[{}], code:[{}], domain:[{}], page:[{}], size:[{}]",
@@ -143,17 +153,20 @@ public class StoreServiceImpl implements StoreService {
         try {
             var tenantId = UUID.fromString(orgId);
             var tenant = tenantProcessor
-                    .findByTenantId(tenantId)
+                    .findCachedByTenantId(tenantId)
                     .orElseThrow(() -> new RuntimeException("No Tenant found with tenantId: " + tenantId));
             log.debug("Tenant found for tenantId:[{}]", tenant.getTenantId());
             var pageable = PageRequest.of(page, size);
             var storeSpecification = StoreSpecifications.withSearchFilters(tenantId, websiteId, code, domain);
-            var storePage = storeProcessor.findBySpecification(storeSpecification, pageable);
+            var storeSlice = withTotal
+                    ? storeProcessor.findSearchRows(storeSpecification, pageable)
+                    : storeProcessor.findSearchRowSlice(storeSpecification, pageable);
             log.info(
-                    "Stores search completed successfully for orgId:[{}] with totalElements:[{}]",
+                    "Stores search completed successfully for orgId:[{}] with numberOfElements:[{}], hasNext:[{}]",
                     orgId,
-                    storePage.getTotalElements());
-            var pagedResponse = toPagedStoreSearchResponse(storePage);
+                    storeSlice.getNumberOfElements(),
+                    storeSlice.hasNext());
+            var pagedResponse = toPagedStoreSearchResponse(storeSlice);
             return ResponseEntity.status(HttpStatus.OK).body(pagedResponse);
         } catch (NullPointerException | IllegalArgumentException e) {
             log.error("Error searching stores for orgId:[{}] due to: {}", orgId, e.getMessage(), e);
@@ -171,13 +184,13 @@ public class StoreServiceImpl implements StoreService {
         try {
             var tenantId = UUID.fromString(orgId);
             var tenant = tenantProcessor
-                    .findByTenantId(tenantId)
+                    .findCachedByTenantId(tenantId)
                     .orElseThrow(() -> new RuntimeException("No Tenant found with tenantId: " + tenantId));
             log.debug("Tenant found for tenantId:[{}]", tenant.getTenantId());
 
             var storeId = UUID.fromString(websiteId);
             var store = storeProcessor
-                    .findByStoreIdAndTenantId(storeId, tenant.getTenantId())
+                    .findCachedByStoreIdAndTenantId(storeId, tenant.getTenantId())
                     .orElseThrow(() -> new RuntimeException("No Store found with id: " + websiteId));
             log.info("Store fetched successfully for storeId[{}]", websiteId);
 
@@ -317,7 +330,7 @@ public class StoreServiceImpl implements StoreService {
         log.info("Verifying store for orgId:[{}] and storeId:[{}]", orgId, storeId);
         try {
             return storeProcessor
-                    .findByStoreIdAndTenantId(UUID.fromString(storeId), UUID.fromString(orgId))
+                    .findCachedByStoreIdAndTenantId(UUID.fromString(storeId), UUID.fromString(orgId))
                     .orElseThrow(() -> new RuntimeException(
                             "Store with id:[ " + storeId + "] not found or does not belong to orgId:[" + orgId + "]"));
         } catch (NullPointerException | IllegalArgumentException e) {
@@ -335,7 +348,7 @@ public class StoreServiceImpl implements StoreService {
         }
     }
 
-    private StoreCreateResponse toStoreCreateResponse(Store savedStore) {
+    static StoreCreateResponse toStoreCreateResponse(Store savedStore) {
         return new StoreCreateResponse(
                 savedStore.getStoreId().toString(),
                 savedStore.getTenant().getTenantId().toString(),
@@ -348,7 +361,7 @@ public class StoreServiceImpl implements StoreService {
                 savedStore.getUpdatedAt().atOffset(ZoneOffset.UTC).toString());
     }
 
-    private StoreResponse toStoreResponse(Store store) {
+    static StoreResponse toStoreResponse(Store store) {
         return new StoreResponse(
                 store.getStoreId().toString(),
                 store.getTenant().getTenantId().toString(),
@@ -361,7 +374,7 @@ public class StoreServiceImpl implements StoreService {
                 store.getUpdatedAt().atOffset(ZoneOffset.UTC).toString());
     }
 
-    private StoreUpdateResponse toStoreUpdateResponse(Store updatedStore) {
+    static StoreUpdateResponse toStoreUpdateResponse(Store updatedStore) {
         return new StoreUpdateResponse(
                 updatedStore.getStoreId().toString(),
                 updatedStore.getTenant().getTenantId().toString(),
@@ -374,7 +387,7 @@ public class StoreServiceImpl implements StoreService {
                 updatedStore.getUpdatedAt().atOffset(ZoneOffset.UTC).toString());
     }
 
-    private StorePatchResponse toStorePatchResponse(Store patchedStore) {
+    static StorePatchResponse toStorePatchResponse(Store patchedStore) {
         return new StorePatchResponse(
                 patchedStore.getStoreId().toString(),
                 patchedStore.getTenant().getTenantId().toString(),
@@ -387,31 +400,25 @@ public class StoreServiceImpl implements StoreService {
                 patchedStore.getUpdatedAt().atOffset(ZoneOffset.UTC).toString());
     }
 
-    private static StoreSearchResponse toStoreSearchResponse(Store store) {
+    static StoreSearchResponse toStoreSearchResponse(StoreSearchRow store) {
         return new StoreSearchResponse(
-                store.getStoreId().toString(),
-                store.getTenant().getTenantId().toString(),
-                store.getStoreCode(),
-                store.getStoreName(),
-                store.getPlatform().name(),
-                store.getDomain(),
-                store.getStatus().name(),
-                store.getCreatedAt().atOffset(ZoneOffset.UTC).toString(),
-                store.getUpdatedAt().atOffset(ZoneOffset.UTC).toString());
+                store.storeId().toString(),
+                store.tenantId().toString(),
+                store.storeCode(),
+                store.storeName(),
+                store.platform().name(),
+                store.domain(),
+                store.status().name(),
+                store.createdAt().atOffset(ZoneOffset.UTC).toString(),
+                store.updatedAt().atOffset(ZoneOffset.UTC).toString());
     }
 
-    private PagedResponse<StoreSearchResponse> toPagedStoreSearchResponse(Page<Store> storePage) {
+    private PagedResponse<StoreSearchResponse> toPagedStoreSearchResponse(Slice<StoreSearchRow> storeSlice) {
         var searchResponseList =
-                Objects.requireNonNull(storePage.getContent(), "Failed to retrieve store list").stream()
+                Objects.requireNonNull(storeSlice.getContent(), "Failed to retrieve store list").stream()
                         .map(StoreServiceImpl::toStoreSearchResponse)
                         .toList();
-        return new PagedResponse<>(
-                searchResponseList,
-                storePage.getNumber(),
-                storePage.getSize(),
-                storePage.getTotalElements(),
-                storePage.getTotalPages(),
-                storePage.hasNext());
+        return PagedResponse.of(storeSlice, searchResponseList);
     }
 
     private Store toStore(Tenant tenant, StoreCreateRequest request) {
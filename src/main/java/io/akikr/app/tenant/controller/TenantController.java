@@ -50,10 +50,11 @@ public class TenantController {
             @RequestParam(name = "to", required = false) String toDate,
             @RequestParam(name = "page", defaultValue = "0", required = false) Integer page,
             @RequestParam(name = "size", defaultValue = "50", required = false) Integer size,
+            @RequestParam(name = "withTotal", defaultValue = "true", required = false) boolean withTotal,
             @RequestParam(name = "sort", defaultValue = "updatedAt,desc", required = false) String sort,
             @RequestParam(name = "status", required = false) TenantStatus tenantStatus,
             @RequestParam(name = "name", required = false) String tenantName) {
-        return tenantService.searchTenants(fromDate, toDate, page, size, sort, tenantStatus, tenantName);
+        return tenantService.searchTenants(fromDate, toDate, page, size, withTotal, sort, tenantStatus, tenantName);
     }
 
     @Operation(summary = "Search organizations by external-id")
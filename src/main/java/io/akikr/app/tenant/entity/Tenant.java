@@ -1,5 +1,6 @@
 package io.akikr.app.tenant.entity;
 
+import io.akikr.app.shared.TimeOrderedUuidGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -15,6 +16,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 @Getter
 @Setter
@@ -31,6 +33,7 @@ public class Tenant {
 
     @Id
     @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     @Column(name = "tenant_id", columnDefinition = "BINARY(16)")
     private UUID tenantId;
 
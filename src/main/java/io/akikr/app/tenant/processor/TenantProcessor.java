@@ -1,11 +1,20 @@
 package io.akikr.app.tenant.processor;
 
+import static io.akikr.app.shared.AppCacheConfig.STORES_CACHE;
+import static io.akikr.app.shared.AppCacheConfig.TENANTS_CACHE;
+
+import io.akikr.app.shared.TenantShardContext;
 import io.akikr.app.tenant.entity.Tenant;
+import io.akikr.app.tenant.repository.TenantReferenceRow;
 import io.akikr.app.tenant.repository.TenantRepository;
+import io.akikr.app.tenant.repository.TenantSearchRow;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,14 +28,39 @@ public class TenantProcessor {
         this.tenantRepository = tenantRepository;
     }
 
+    /**
+     * Saves a tenant and evicts it from the tenant reference cache. The store cache is cleared as
+     * well, since cached stores carry the columns of their tenant.
+     */
     @Transactional(rollbackFor = Exception.class)
+    @Caching(
+            evict = {
+                @CacheEvict(
+                        cacheNames = TENANTS_CACHE,
+                        key = "#tenant.tenantId.toString()",
+                        condition = "#tenant.tenantId != null"),
+                @CacheEvict(cacheNames = STORES_CACHE, allEntries = true, condition = "#tenant.tenantId != null")
+            })
     public Tenant saveTenant(Tenant tenant) {
-        return tenantRepository.save(tenant);
+        var savedTenant = tenantRepository.save(tenant);
+        // A new tenant gets its ID on save, but is only inserted on flush: flushing within its own
+        // shard scope creates it on its shard when tenant shard routing is enabled
+        TenantShardContext.run(savedTenant.getTenantId(), tenantRepository::flush);
+        return savedTenant;
     }
 
     @Transactional(readOnly = true)
-    public Page<Tenant> findBySpecification(Specification<Tenant> tenantSpecification, PageRequest pageable) {
-        return tenantRepository.findAll(tenantSpecification, pageable);
+    public Page<TenantSearchRow> findSearchRows(Specification<Tenant> tenantSpecification, PageRequest pageable) {
+        return tenantRepository.findSearchRows(tenantSpecification, pageable);
+    }
+
+    /**
+     * Same as {@link #findSearchRows}, but without the {@code COUNT(*)} query: one extra row is
+     * fetched to tell whether a next slice exists.
+     */
+    @Transactional(readOnly = true)
+    public Slice<TenantSearchRow> findSearchRowSlice(Specification<Tenant> tenantSpecification, PageRequest pageable) {
+        return tenantRepository.findSearchRowSlice(tenantSpecification, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -39,6 +73,32 @@ public class TenantProcessor {
         return tenantRepository.findByTenantId(tenantId);
     }
 
+    /**
+     * Finds a tenant through the tenant reference cache; missing tenants are not cached.
+     *
+     * <p>The cache holds immutable {@link TenantReferenceRow}s, and each call returns a new detached
+     * instance built from the row, so callers never share an entity. Paths that modify the tenant
+     * still use {@link #findByTenantId(UUID)}, since saving a detached copy would merge it.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @return An {@link Optional} containing the tenant if it exists.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Tenant> findCachedByTenantId(UUID tenantId) {
+        return tenantRepository.findReferenceRowByTenantId(tenantId).map(TenantProcessor::toTenant);
+    }
+
+    private static Tenant toTenant(TenantReferenceRow tenantReferenceRow) {
+        return Tenant.builder()
+                .tenantId(tenantReferenceRow.tenantId())
+                .tenantName(tenantReferenceRow.tenantName())
+                .externalId(tenantReferenceRow.externalId())
+                .status(tenantReferenceRow.status())
+                .createdAt(tenantReferenceRow.createdAt())
+                .updatedAt(tenantReferenceRow.updatedAt())
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public Page<Tenant> findByExternalId(String externalId, PageRequest pageable) {
         return tenantRepository.findByExternalId(externalId, pageable);
@@ -0,0 +1,17 @@
+package io.akikr.app.tenant.repository;
+
+import io.akikr.app.tenant.entity.Tenant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a {@link Tenant} held by the tenant reference cache. Being immutable, a cached row
+ * can be shared between threads, unlike the entity built from it on each lookup.
+ */
+public record TenantReferenceRow(
+        UUID tenantId,
+        String tenantName,
+        String externalId,
+        Tenant.Status status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {}
@@ -1,20 +1,39 @@
 package io.akikr.app.tenant.repository;
 
+import static io.akikr.app.shared.AppCacheConfig.TENANTS_CACHE;
+
 import io.akikr.app.tenant.entity.Tenant;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TenantRepository extends JpaRepository<Tenant, UUID>, JpaSpecificationExecutor<Tenant> {
+public interface TenantRepository
+        extends JpaRepository<Tenant, UUID>, JpaSpecificationExecutor<Tenant>, TenantSearchRepository {
 
     Page<Tenant> findByTenantId(UUID tenantId, Pageable pageable);
 
     Optional<Tenant> findByTenantId(UUID tenantId);
 
     Page<Tenant> findByExternalId(String externalId, Pageable pageable);
+
+    /**
+     * Finds the columns of a tenant through the tenant reference cache; missing tenants are not
+     * cached. The cache key is the tenant id ({@code #p0}, as parameter names of repository
+     * interfaces are not reliably available to the cache).
+     *
+     * @param tenantId The UUID of the tenant.
+     * @return An {@link Optional} containing the tenant's row if it exists.
+     */
+    @Cacheable(cacheNames = TENANTS_CACHE, key = "#p0.toString()", unless = "#result == null")
+    @Query("select new io.akikr.app.tenant.repository.TenantReferenceRow(t.tenantId, t.tenantName, t.externalId,"
+            + " t.status, t.createdAt, t.updatedAt) from Tenant t where t.tenantId = :tenantId")
+    Optional<TenantReferenceRow> findReferenceRowByTenantId(@Param("tenantId") UUID tenantId);
 }
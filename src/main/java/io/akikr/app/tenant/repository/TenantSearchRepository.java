@@ -0,0 +1,15 @@
+package io.akikr.app.tenant.repository;
+
+import io.akikr.app.tenant.entity.Tenant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Tenant searches that read {@link TenantSearchRow} projections instead of {@link Tenant} entities. */
+public interface TenantSearchRepository {
+
+    Page<TenantSearchRow> findSearchRows(Specification<Tenant> tenantSpecification, Pageable pageable);
+
+    Slice<TenantSearchRow> findSearchRowSlice(Specification<Tenant> tenantSpecification, Pageable pageable);
+}
@@ -0,0 +1,39 @@
+package io.akikr.app.tenant.repository;
+
+import io.akikr.app.shared.SpecificationProjection;
+import io.akikr.app.tenant.entity.Tenant;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+class TenantSearchRepositoryImpl implements TenantSearchRepository {
+
+    private final SpecificationProjection<Tenant, TenantSearchRow> tenantSearchProjection;
+
+    TenantSearchRepositoryImpl(EntityManager entityManager) {
+        this.tenantSearchProjection = new SpecificationProjection<>(
+                entityManager,
+                Tenant.class,
+                TenantSearchRow.class,
+                root -> List.of(
+                        root.get("tenantId"),
+                        root.get("externalId"),
+                        root.get("tenantName"),
+                        root.get("status"),
+                        root.get("createdAt"),
+                        root.get("updatedAt")));
+    }
+
+    @Override
+    public Page<TenantSearchRow> findSearchRows(Specification<Tenant> tenantSpecification, Pageable pageable) {
+        return tenantSearchProjection.findPage(tenantSpecification, pageable);
+    }
+
+    @Override
+    public Slice<TenantSearchRow> findSearchRowSlice(Specification<Tenant> tenantSpecification, Pageable pageable) {
+        return tenantSearchProjection.findSlice(tenantSpecification, pageable);
+    }
+}
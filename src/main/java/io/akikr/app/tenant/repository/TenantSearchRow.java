@@ -0,0 +1,14 @@
+package io.akikr.app.tenant.repository;
+
+import io.akikr.app.tenant.entity.Tenant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** The columns of a {@link Tenant} read by the tenant search endpoints. */
+public record TenantSearchRow(
+        UUID tenantId,
+        String externalId,
+        String tenantName,
+        Tenant.Status status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {}
@@ -23,6 +23,7 @@ public interface TenantService {
             @Nullable String toDate,
             Integer page,
             Integer size,
+            boolean withTotal,
             String sort,
             @Nullable TenantStatus tenantStatus,
             @Nullable String tenantName)
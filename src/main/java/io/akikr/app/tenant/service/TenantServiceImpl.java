@@ -17,6 +17,7 @@ import io.akikr.app.tenant.model.response.TenantResponse;
 import io.akikr.app.tenant.model.response.TenantSearchResponse;
 import io.akikr.app.tenant.model.response.TenantUpdateResponse;
 import io.akikr.app.tenant.processor.TenantProcessor;
+import io.akikr.app.tenant.repository.TenantSearchRow;
 import io.akikr.app.tenant.repository.TenantSpecifications;
 import java.time.ZoneOffset;
 import java.util.Objects;
@@ -24,8 +25,8 @@ import java.util.UUID;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -70,6 +71,7 @@ public class TenantServiceImpl implements TenantService {
             @Nullable String toDate,
             Integer page,
             Integer size,
+            boolean withTotal,
             String sort,
             @Nullable TenantStatus tenantStatus,
             @Nullable String tenantName)
@@ -89,9 +91,14 @@ public class TenantServiceImpl implements TenantService {
             var tenantSpecification =
                     TenantSpecifications.withOptionalFilters(fromDate, toDate, tenantStatus, tenantName);
             log.debug("Constructed tenant specification as: [{}]", tenantSpecification);
-            var tenantPage = tenantProcessor.findBySpecification(tenantSpecification, pageable);
-            log.info("Tenants search completed successfully with totalElements:[{}]", tenantPage.getTotalElements());
-            var pagedResponse = toPagedTenantSearchResponse(tenantPage);
+            var tenantSlice = withTotal
+                    ? tenantProcessor.findSearchRows(tenantSpecification, pageable)
+                    : tenantProcessor.findSearchRowSlice(tenantSpecification, pageable);
+            log.info(
+                    "Tenants search completed successfully with numberOfElements:[{}], hasNext:[{}]",
+                    tenantSlice.getNumberOfElements(),
+                    tenantSlice.hasNext());
+            var pagedResponse = toPagedTenantSearchRowResponse(tenantSlice);
             return ResponseEntity.status(HttpStatus.OK).body(pagedResponse);
         } catch (RuntimeException e) {
             log.error(
@@ -313,18 +320,31 @@ public class TenantServiceImpl implements TenantService {
                 tenant.getUpdatedAt().atOffset(ZoneOffset.UTC).toString());
     }
 
-    private PagedResponse<TenantSearchResponse> toPagedTenantSearchResponse(Page<Tenant> tenantPage)
+    private static TenantSearchResponse toTenantSearchResponse(TenantSearchRow tenant) {
+        return new TenantSearchResponse(
+                tenant.tenantId().toString(),
+                tenant.externalId(),
+                tenant.tenantName(),
+                tenant.status().name(),
+                tenant.createdAt().atOffset(ZoneOffset.UTC).toString(),
+                tenant.updatedAt().atOffset(ZoneOffset.UTC).toString());
+    }
+
+    private PagedResponse<TenantSearchResponse> toPagedTenantSearchRowResponse(Slice<TenantSearchRow> tenantSlice)
+            throws NullPointerException {
+        var searchResponseList =
+                Objects.requireNonNull(tenantSlice.getContent(), "Failed to retrieve tenant list").stream()
+                        .map(TenantServiceImpl::toTenantSearchResponse)
+                        .toList();
+        return PagedResponse.of(tenantSlice, searchResponseList);
+    }
+
+    private PagedResponse<TenantSearchResponse> toPagedTenantSearchResponse(Slice<Tenant> tenantSlice)
             throws NullPointerException {
         var searchResponseList =
-                Objects.requireNonNull(tenantPage.getContent(), "Failed to retrieve tenant list").stream()
+                Objects.requireNonNull(tenantSlice.getContent(), "Failed to retrieve tenant list").stream()
                         .map(TenantServiceImpl::toTenantSearchResponse)
                         .toList();
-        return new PagedResponse<>(
-                searchResponseList,
-                tenantPage.getNumber(),
-                tenantPage.getSize(),
-                tenantPage.getTotalElements(),
-                tenantPage.getTotalPages(),
-                tenantPage.hasNext());
+        return PagedResponse.of(tenantSlice, searchResponseList);
     }
 }
@@ -0,0 +1,30 @@
+package io.akikr.app.tracking.controller;
+
+import io.akikr.app.tracking.model.request.TrackingEventBatchRequest;
+import io.akikr.app.tracking.model.response.TrackingEventBatchResponse;
+import io.akikr.app.tracking.service.TrackingEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Tracking")
+@RestController
+@RequestMapping("/tracking-events")
+public class TrackingEventController {
+
+    private final TrackingEventService trackingEventService;
+
+    public TrackingEventController(TrackingEventService trackingEventService) {
+        this.trackingEventService = trackingEventService;
+    }
+
+    @Operation(summary = "Ingest a batch of carrier tracking events, skipping duplicates")
+    @PostMapping("/batch")
+    public ResponseEntity<TrackingEventBatchResponse> ingestEvents(@RequestBody TrackingEventBatchRequest request) {
+        return trackingEventService.ingestEvents(request);
+    }
+}
@@ -1,15 +1,17 @@
 package io.akikr.app.tracking.entity;
 
 import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.shared.TimeOrderedUuidGenerator;
 import io.akikr.app.tenant.entity.Tenant;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -23,6 +25,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 @Getter
 @Setter
@@ -33,7 +36,8 @@ import lombok.Setter;
 public class Tracking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     @Column(name = "tracking_id", columnDefinition = "BINARY(16)")
     private UUID trackingId;
 
@@ -42,7 +46,7 @@ public class Tracking {
     private Tenant tenant;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "fulfillment_id", nullable = false)
+    @JoinColumn(name = "fulfillment_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Fulfillment fulfillment;
 
     @Column(name = "tracking_number", nullable = false, length = 128)
@@ -0,0 +1,22 @@
+package io.akikr.app.tracking.exceptions;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class TrackingException extends RuntimeException {
+
+    private int status;
+    private String message;
+    private String path;
+
+    public TrackingException(int status, Throwable error, String message, String path) {
+        super(error);
+        this.status = status;
+        this.message = message;
+        this.path = path;
+    }
+}
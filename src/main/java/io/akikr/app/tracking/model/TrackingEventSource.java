@@ -0,0 +1,8 @@
+package io.akikr.app.tracking.model;
+
+public enum TrackingEventSource {
+    CARRIER,
+    SHOPIFY,
+    FENIX,
+    OTHER
+}
@@ -0,0 +1,7 @@
+package io.akikr.app.tracking.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record TrackingEventBatchRequest(
+        @JsonProperty("orgId") String orgId, @JsonProperty("events") List<TrackingEventRequest> events) {}
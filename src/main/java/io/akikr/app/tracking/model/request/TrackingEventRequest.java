@@ -0,0 +1,32 @@
+package io.akikr.app.tracking.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.akikr.app.tracking.model.TrackingEventSource;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+public record TrackingEventRequest(
+        @NotNull(message = "trackingNumber cannot be NULL")
+                @NotBlank(message = "trackingNumber cannot be Blank")
+                @JsonProperty("trackingNumber")
+                String trackingNumber,
+        @NotNull(message = "eventTime cannot be NULL") @JsonProperty("eventTime") LocalDateTime eventTime,
+        @NotNull(message = "eventCode cannot be NULL")
+                @NotBlank(message = "eventCode cannot be Blank")
+                @Size(max = 64, message = "eventCode cannot be longer than 64 characters")
+                @JsonProperty("eventCode")
+                String eventCode,
+        @Size(max = 512, message = "eventDescription cannot be longer than 512 characters")
+                @JsonProperty("eventDescription")
+                String eventDescription,
+        @Size(max = 128, message = "eventCity cannot be longer than 128 characters") @JsonProperty("eventCity")
+                String eventCity,
+        @Size(max = 128, message = "eventState cannot be longer than 128 characters") @JsonProperty("eventState")
+                String eventState,
+        @Size(max = 128, message = "eventCountry cannot be longer than 128 characters") @JsonProperty("eventCountry")
+                String eventCountry,
+        @Size(max = 32, message = "eventZip cannot be longer than 32 characters") @JsonProperty("eventZip")
+                String eventZip,
+        @JsonProperty("source") TrackingEventSource source) {}
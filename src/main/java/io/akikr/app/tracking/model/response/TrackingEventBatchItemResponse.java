@@ -0,0 +1,8 @@
+package io.akikr.app.tracking.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TrackingEventBatchItemResponse(
+        @JsonProperty("index") int index,
+        @JsonProperty("trackingNumber") String trackingNumber,
+        @JsonProperty("error") String error) {}
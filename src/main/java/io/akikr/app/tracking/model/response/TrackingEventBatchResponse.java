@@ -0,0 +1,23 @@
+package io.akikr.app.tracking.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * The outcome of a tracking event batch.
+ *
+ * @param total The number of events received.
+ * @param inserted The number of new events stored.
+ * @param duplicates The number of events already known, whether repeated within the batch, found
+ *     in the in-memory dedup filter, or already in the database.
+ * @param filteredInMemory The part of the {@code duplicates} dropped before reaching the database.
+ * @param rejected The number of invalid events, or events of an unknown tracking number.
+ * @param rejections The rejected events, with the reason.
+ */
+public record TrackingEventBatchResponse(
+        @JsonProperty("total") int total,
+        @JsonProperty("inserted") int inserted,
+        @JsonProperty("duplicates") int duplicates,
+        @JsonProperty("filteredInMemory") int filteredInMemory,
+        @JsonProperty("rejected") int rejected,
+        @JsonProperty("rejections") List<TrackingEventBatchItemResponse> rejections) {}
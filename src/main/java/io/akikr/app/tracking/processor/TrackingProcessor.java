@@ -1,8 +1,86 @@
 package io.akikr.app.tracking.processor;
 
-import org.springframework.stereotype.Service;
+import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.repository.TrackingEventRepository;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import io.akikr.app.tracking.repository.TrackingNumberRow;
+import io.akikr.app.tracking.repository.TrackingRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-@Service
+@Component
 public class TrackingProcessor {
-    // TODO: Implement processor methods
+
+    private final TrackingRepository trackingRepository;
+    private final TrackingEventRepository trackingEventRepository;
+
+    public TrackingProcessor(TrackingRepository trackingRepository, TrackingEventRepository trackingEventRepository) {
+        this.trackingRepository = trackingRepository;
+        this.trackingEventRepository = trackingEventRepository;
+    }
+
+    /**
+     * Resolves the tracking ids of a tenant's tracking numbers with one query.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param trackingNumbers The distinct tracking numbers to resolve.
+     * @return The tracking id of each known tracking number; unknown numbers are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, UUID> findTrackingIdsByNumber(UUID tenantId, Collection<String> trackingNumbers) {
+        return trackingRepository.findTrackingNumberRows(tenantId, trackingNumbers).stream()
+                .collect(Collectors.toMap(
+                        TrackingNumberRow::trackingNumber, TrackingNumberRow::trackingId, (first, second) -> first));
+    }
+
+    /**
+     * Inserts a chunk of tracking events of one tenant in a single statement, skipping the events
+     * already stored.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param trackingEvents The events to insert.
+     * @return The number of events inserted.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int insertEvents(UUID tenantId, List<TrackingEventRow> trackingEvents) {
+        return trackingEventRepository.insertIgnoringDuplicates(tenantId, trackingEvents);
+    }
+
+    /**
+     * Applies a roll-up to a chunk of trackings of one tenant in a single transaction, and writes the
+     * status of the trackings it changed with a conditional update, so that a tracking changed
+     * concurrently since it was read is neither overwritten nor moved back.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param trackingIds The UUIDs of the trackings.
+     * @param rollUp Updates a tracking in place, returning {@code true} if it changed.
+     * @return The changed trackings that were updated; a changed tracking missing from it was changed
+     *     concurrently, and is left as it is.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<Tracking> rollUpTrackings(UUID tenantId, Collection<UUID> trackingIds, Predicate<Tracking> rollUp) {
+        var rolledUpTrackings = new ArrayList<Tracking>();
+        for (var tracking : trackingRepository.findByTenant_TenantIdAndTrackingIdIn(tenantId, trackingIds)) {
+            var previousStatus = tracking.getTrackingStatus();
+            if (rollUp.test(tracking)
+                    && trackingRepository.updateRolledUpStatus(
+                                    tenantId,
+                                    tracking.getTrackingId(),
+                                    previousStatus,
+                                    tracking.getTrackingStatus(),
+                                    tracking.getLastEventAt(),
+                                    tracking.getUpdatedAt())
+                            > 0) {
+                rolledUpTrackings.add(tracking);
+            }
+        }
+        return rolledUpTrackings;
+    }
 }
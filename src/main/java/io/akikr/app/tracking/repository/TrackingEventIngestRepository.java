@@ -0,0 +1,17 @@
+package io.akikr.app.tracking.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TrackingEventIngestRepository {
+
+    /**
+     * Inserts tracking events, skipping those whose {@code event_hash} is already stored for the
+     * tenant ({@code INSERT IGNORE} on {@code uk_event_hash}).
+     *
+     * @param tenantId The UUID of the tenant of the events.
+     * @param trackingEvents The events to insert.
+     * @return The number of events inserted.
+     */
+    int insertIgnoringDuplicates(UUID tenantId, List<TrackingEventRow> trackingEvents);
+}
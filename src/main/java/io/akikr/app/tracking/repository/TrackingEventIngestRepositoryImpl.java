@@ -0,0 +1,63 @@
+package io.akikr.app.tracking.repository;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Writes the tracking events as a single multi-row {@code INSERT IGNORE} per call, which returns
+ * the exact number of rows inserted; a JDBC batch rewritten by the driver into the same statement
+ * would only report {@code SUCCESS_NO_INFO} per row.
+ */
+class TrackingEventIngestRepositoryImpl implements TrackingEventIngestRepository {
+
+    private static final String INSERT_IGNORE_SQL = "INSERT IGNORE INTO tracking_events (tracking_event_id, tenant_id,"
+            + " tracking_id, event_time, event_code, event_description, event_city, event_state, event_country,"
+            + " event_zip, source, event_hash) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMN_COUNT = 12;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TrackingEventIngestRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(UUID tenantId, List<TrackingEventRow> trackingEvents) {
+        if (trackingEvents.isEmpty()) {
+            return 0;
+        }
+        var sql = new StringBuilder(
+                        INSERT_IGNORE_SQL.length() + trackingEvents.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_IGNORE_SQL);
+        var args = new ArrayList<>(trackingEvents.size() * COLUMN_COUNT);
+        var tenantKey = toBytes(tenantId);
+        for (int index = 0; index < trackingEvents.size(); index++) {
+            var trackingEvent = trackingEvents.get(index);
+            sql.append(index == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+            args.add(toBytes(trackingEvent.trackingEventId()));
+            args.add(tenantKey);
+            args.add(toBytes(trackingEvent.trackingId()));
+            args.add(trackingEvent.eventTime());
+            args.add(trackingEvent.eventCode());
+            args.add(trackingEvent.eventDescription());
+            args.add(trackingEvent.eventCity());
+            args.add(trackingEvent.eventState());
+            args.add(trackingEvent.eventCountry());
+            args.add(trackingEvent.eventZip());
+            args.add(trackingEvent.source().name());
+            args.add(trackingEvent.eventHash());
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
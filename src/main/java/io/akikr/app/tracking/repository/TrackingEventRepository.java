@@ -6,4 +6,4 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TrackingEventRepository extends JpaRepository<TrackingEvent, UUID> {}
+public interface TrackingEventRepository extends JpaRepository<TrackingEvent, UUID>, TrackingEventIngestRepository {}
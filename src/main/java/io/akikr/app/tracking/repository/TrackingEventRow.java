@@ -0,0 +1,19 @@
+package io.akikr.app.tracking.repository;
+
+import io.akikr.app.tracking.entity.TrackingEvent;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** The columns of a {@link TrackingEvent} written by the tracking event ingestion. */
+public record TrackingEventRow(
+        UUID trackingEventId,
+        UUID trackingId,
+        LocalDateTime eventTime,
+        String eventCode,
+        String eventDescription,
+        String eventCity,
+        String eventState,
+        String eventCountry,
+        String eventZip,
+        TrackingEvent.Source source,
+        String eventHash) {}
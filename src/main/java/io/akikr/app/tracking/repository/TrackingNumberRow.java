@@ -0,0 +1,7 @@
+package io.akikr.app.tracking.repository;
+
+import io.akikr.app.tracking.entity.Tracking;
+import java.util.UUID;
+
+/** The id of a {@link Tracking} by its tracking number. */
+public record TrackingNumberRow(UUID trackingId, String trackingNumber) {}
@@ -1,9 +1,69 @@
 package io.akikr.app.tracking.repository;
 
 import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.entity.Tracking.TrackingStatus;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TrackingRepository extends JpaRepository<Tracking, UUID> {}
+public interface TrackingRepository extends JpaRepository<Tracking, UUID> {
+
+    /**
+     * Finds the ids of a tenant's trackings by tracking number, with one {@code IN} query on the
+     * {@code uk_tracking_number} unique key.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param trackingNumbers The tracking numbers to resolve.
+     * @return The {@link TrackingNumberRow}s found, in no particular order.
+     */
+    @Query("select new io.akikr.app.tracking.repository.TrackingNumberRow(t.trackingId, t.trackingNumber)"
+            + " from Tracking t where t.tenant.tenantId = :tenantId and t.trackingNumber in :trackingNumbers")
+    List<TrackingNumberRow> findTrackingNumberRows(
+            @Param("tenantId") UUID tenantId, @Param("trackingNumbers") Collection<String> trackingNumbers);
+
+    /**
+     * Finds a tenant's {@link Tracking}s by id, with one {@code IN} query. The trackings are loaded
+     * read-only: changing them is never written back, see {@link #updateRolledUpStatus}.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param trackingIds The UUIDs of the trackings.
+     * @return The {@link Tracking}s found, in no particular order.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Tracking> findByTenant_TenantIdAndTrackingIdIn(UUID tenantId, Collection<UUID> trackingIds);
+
+    /**
+     * Writes the rolled-up status of a tracking, provided its status is still the one it was rolled
+     * up from and its {@code lastEventAt} is not later than the rolled-up one. Only the roll-up
+     * columns are written, so a concurrent change of the other columns is kept.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param trackingId The UUID of the tracking.
+     * @param previousStatus The status the tracking was rolled up from.
+     * @param trackingStatus The rolled-up status.
+     * @param lastEventAt The rolled-up time of the latest event.
+     * @param updatedAt The time of the roll-up.
+     * @return {@code 1} if the tracking was updated, {@code 0} if it changed since it was read.
+     */
+    @Modifying
+    @Query("update Tracking t set t.trackingStatus = :trackingStatus, t.lastEventAt = :lastEventAt,"
+            + " t.updatedAt = :updatedAt where t.tenant.tenantId = :tenantId and t.trackingId = :trackingId"
+            + " and t.trackingStatus = :previousStatus and (t.lastEventAt is null or t.lastEventAt <= :lastEventAt)")
+    int updateRolledUpStatus(
+            @Param("tenantId") UUID tenantId,
+            @Param("trackingId") UUID trackingId,
+            @Param("previousStatus") TrackingStatus previousStatus,
+            @Param("trackingStatus") TrackingStatus trackingStatus,
+            @Param("lastEventAt") LocalDateTime lastEventAt,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,63 @@
+package io.akikr.app.tracking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.akikr.app.shared.AppIngestProperties;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the hashes of the tracking events recently stored, per tenant, so that the events carriers
+ * resend on every poll are dropped before reaching the database.
+ *
+ * <p>The set is exact rather than probabilistic: a Bloom filter would be smaller, but its false
+ * positives would silently drop new events, whereas a hash evicted from this bounded set only
+ * costs a duplicate that {@code INSERT IGNORE} skips. Hashes are remembered only once their events
+ * are stored, so a failed insert is never filtered on retry.
+ */
+@Component
+public class TrackingEventDeduplicator {
+
+    private final AppIngestProperties.TrackingEventDedup trackingEventDedupProperties;
+    private final Cache<UUID, Cache<String, Boolean>> hashesByTenant;
+
+    public TrackingEventDeduplicator(AppIngestProperties appIngestProperties) {
+        this.trackingEventDedupProperties = appIngestProperties.trackingEventDedup();
+        this.hashesByTenant = Caffeine.newBuilder()
+                .maximumSize(trackingEventDedupProperties.maximumTenants())
+                .build();
+    }
+
+    /**
+     * Tells whether an event of a tenant was recently stored.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param eventHash The hash of the event.
+     * @return {@code true} if the event is known to be stored already.
+     */
+    public boolean isKnown(UUID tenantId, String eventHash) {
+        var hashes = hashesByTenant.getIfPresent(tenantId);
+        return Objects.nonNull(hashes) && Objects.nonNull(hashes.getIfPresent(eventHash));
+    }
+
+    /**
+     * Remembers the events of a tenant as stored.
+     *
+     * @param tenantId The UUID of the tenant.
+     * @param eventHashes The hashes of the stored events.
+     */
+    public void remember(UUID tenantId, Collection<String> eventHashes) {
+        if (eventHashes.isEmpty()) {
+            return;
+        }
+        var hashes = hashesByTenant.get(tenantId, tenant -> Caffeine.newBuilder()
+                .maximumSize(trackingEventDedupProperties.maximumSizePerTenant())
+                .expireAfterWrite(trackingEventDedupProperties.expireAfterWrite())
+                .build());
+        for (var eventHash : eventHashes) {
+            hashes.put(eventHash, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package io.akikr.app.tracking.service;
+
+import io.akikr.app.tracking.entity.TrackingEvent;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the SHA-256 {@code event_hash} of tracking events, the key that deduplicates them
+ * ({@code uk_event_hash}), as 64 lowercase hex characters.
+ *
+ * <p>An event is hashed from its canonical fields: the tracking id, event time, event code, source
+ * and location (city, state, country, zip). The free-text description is left out, so a carrier
+ * resending a scan with a reworded description is still recognized as the same event. The fields
+ * are encoded straight into a reusable byte buffer, each string prefixed with its UTF-8 length (or
+ * {@code -1} for {@code null}), so that no two different events encode the same bytes and no
+ * intermediate payload {@link String} is built.
+ *
+ * <p>The {@link MessageDigest}, buffer and digest output are held in a small striped pool instead
+ * of a {@link ThreadLocal}: a thread takes the state of its stripe, or creates one when the stripe
+ * is empty (contended), and puts it back after use. A steady state of hashing allocates only the
+ * resulting hex {@link String}, and the pool stays bounded however many (virtual) threads hash
+ * events, where a {@link ThreadLocal} would hold a digest per virtual thread.
+ */
+@Component
+public class TrackingEventHashGenerator {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int DIGEST_LENGTH = 32;
+    private static final int INITIAL_BUFFER_LENGTH = 1024;
+    private static final int NULL_LENGTH = -1;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final AtomicReferenceArray<HashState> pool;
+    private final int stripeMask;
+
+    public TrackingEventHashGenerator() {
+        var stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.pool = new AtomicReferenceArray<>(stripes);
+        this.stripeMask = stripes - 1;
+        // Fails fast at startup rather than on the first event if the JVM lacks SHA-256
+        release(newHashState());
+    }
+
+    /**
+     * Generates the hash of a tracking event from its canonical fields.
+     *
+     * @param event The tracking event, with its tracking set.
+     * @return The SHA-256 hash of the canonical fields, in hex.
+     */
+    public String hash(TrackingEvent event) {
+        return hash(
+                event.getTracking().getTrackingId(),
+                event.getEventTime(),
+                event.getEventCode(),
+                Objects.isNull(event.getSource()) ? null : event.getSource().name(),
+                event.getEventCity(),
+                event.getEventState(),
+                event.getEventCountry(),
+                event.getEventZip());
+    }
+
+    /**
+     * Generates the hash of a tracking event from its canonical fields, for events not built as a
+     * {@link TrackingEvent} (e.g. ingested rows).
+     *
+     * @param trackingId The UUID of the tracking of the event.
+     * @param eventTime The time of the event.
+     * @param eventCode The code of the event.
+     * @param source The name of the source of the event.
+     * @param eventCity The city of the event.
+     * @param eventState The state of the event.
+     * @param eventCountry The country of the event.
+     * @param eventZip The zip code of the event.
+     * @return The SHA-256 hash of the canonical fields, in hex.
+     */
+    public String hash(
+            UUID trackingId,
+            LocalDateTime eventTime,
+            String eventCode,
+            String source,
+            String eventCity,
+            String eventState,
+            String eventCountry,
+            String eventZip) {
+        var state = acquire();
+        try {
+            state.length = 0;
+            writeUuid(state, trackingId);
+            writeDateTime(state, eventTime);
+            writeString(state, eventCode);
+            writeString(state, source);
+            writeString(state, eventCity);
+            writeString(state, eventState);
+            writeString(state, eventCountry);
+            writeString(state, eventZip);
+            return digestToHex(state);
+        } finally {
+            release(state);
+        }
+    }
+
+    /**
+     * Generates the hash of a payload.
+     *
+     * @param payload The payload, hashed as UTF-8.
+     * @return The SHA-256 hash of the payload, in hex.
+     */
+    public String hash(String payload) {
+        var state = acquire();
+        try {
+            state.length = 0;
+            writeUtf8(state, payload);
+            return digestToHex(state);
+        } finally {
+            release(state);
+        }
+    }
+
+    private static String digestToHex(HashState state) {
+        state.digest.update(state.buffer, 0, state.length);
+        try {
+            state.digest.digest(state.hash, 0, DIGEST_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException("Failed to generate the " + ALGORITHM + " hash", e);
+        }
+        for (int index = 0; index < DIGEST_LENGTH; index++) {
+            var value = state.hash[index] & 0xFF;
+            state.hex[index << 1] = HEX_DIGITS[value >>> 4];
+            state.hex[(index << 1) + 1] = HEX_DIGITS[value & 0x0F];
+        }
+        return new String(state.hex, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeUuid(HashState state, UUID uuid) {
+        writeLong(state, uuid.getMostSignificantBits());
+        writeLong(state, uuid.getLeastSignificantBits());
+    }
+
+    private static void writeDateTime(HashState state, LocalDateTime dateTime) {
+        if (Objects.isNull(dateTime)) {
+            writeInt(state, NULL_LENGTH);
+            return;
+        }
+        writeLong(state, dateTime.toEpochSecond(ZoneOffset.UTC));
+        writeInt(state, dateTime.getNano());
+    }
+
+    private static void writeString(HashState state, String value) {
+        if (Objects.isNull(value)) {
+            writeInt(state, NULL_LENGTH);
+            return;
+        }
+        // Reserve the length prefix, and fill it in once the encoded length is known
+        var lengthOffset = state.length;
+        writeInt(state, 0);
+        writeUtf8(state, value);
+        var encodedLength = state.length - lengthOffset - Integer.BYTES;
+        state.length = lengthOffset;
+        writeInt(state, encodedLength);
+        state.length += encodedLength;
+    }
+
+    private static void writeUtf8(HashState state, String value) {
+        // A char encodes to at most 3 bytes (a surrogate pair to 4, i.e. 2 per char)
+        ensureCapacity(state, value.length() * 3);
+        var buffer = state.buffer;
+        var position = state.length;
+        for (int index = 0; index < value.length(); index++) {
+            char c = value.charAt(index);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c)
+                    && index + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++index));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate is encoded as '?', like String.getBytes(UTF_8)
+                buffer[position++] = (byte) '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        state.length = position;
+    }
+
+    private static void writeLong(HashState state, long value) {
+        writeInt(state, (int) (value >>> 32));
+        writeInt(state, (int) value);
+    }
+
+    private static void writeInt(HashState state, int value) {
+        ensureCapacity(state, Integer.BYTES);
+        var buffer = state.buffer;
+        var position = state.length;
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+        state.length = position + Integer.BYTES;
+    }
+
+    private static void ensureCapacity(HashState state, int additionalLength) {
+        var requiredLength = state.length + additionalLength;
+        if (requiredLength > state.buffer.length) {
+            state.buffer = Arrays.copyOf(state.buffer, Math.max(requiredLength, state.buffer.length << 1));
+        }
+    }
+
+    private HashState acquire() {
+        var state = pool.getAndSet(stripe(), null);
+        return Objects.nonNull(state) ? state : newHashState();
+    }
+
+    private void release(HashState state) {
+        if (state.buffer.length > INITIAL_BUFFER_LENGTH << 4) {
+            // Do not keep the buffer of an unusually large payload around
+            state.buffer = new byte[INITIAL_BUFFER_LENGTH];
+        }
+        // When the stripe was refilled meanwhile, this state is left to the garbage collector
+        pool.compareAndSet(stripe(), null, state);
+    }
+
+    private int stripe() {
+        return mix(System.identityHashCode(Thread.currentThread())) & stripeMask;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static HashState newHashState() {
+        try {
+            return new HashState(MessageDigest.getInstance(ALGORITHM));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("The " + ALGORITHM + " algorithm is not available", e);
+        }
+    }
+
+    /** The reusable state of a hash: the digest, the encoded fields, the digest output and its hex. */
+    private static final class HashState {
+
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[DIGEST_LENGTH];
+        private final byte[] hex = new byte[DIGEST_LENGTH << 1];
+        private byte[] buffer = new byte[INITIAL_BUFFER_LENGTH];
+        private int length;
+
+        private HashState(MessageDigest digest) {
+            this.digest = digest;
+        }
+    }
+}
@@ -1,6 +1,37 @@
 package io.akikr.app.tracking.service;
 
+import io.akikr.app.tracking.exceptions.TrackingException;
+import io.akikr.app.tracking.model.request.TrackingEventBatchRequest;
+import io.akikr.app.tracking.model.request.TrackingEventRequest;
+import io.akikr.app.tracking.model.response.TrackingEventBatchResponse;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+
 public interface TrackingEventService {
 
     String generateEventHash(String payload) throws Exception;
+
+    ResponseEntity<TrackingEventBatchResponse> ingestEvents(TrackingEventBatchRequest trackingEventBatchRequest)
+            throws TrackingException;
+
+    /**
+     * Maps a tracking event of a known tracking to the row written by the ingestion, with its event
+     * hash.
+     *
+     * @param trackingId The UUID of the tracking of the event.
+     * @param event The tracking event.
+     * @return The row to insert.
+     */
+    TrackingEventRow toTrackingEventRow(UUID trackingId, TrackingEventRequest event);
+
+    /**
+     * Records tracking events written (and committed) outside of {@link #ingestEvents}, so they are
+     * deduplicated and rolled up like ingested ones.
+     *
+     * @param tenantId The UUID of the tenant of the events.
+     * @param trackingEvents The stored events.
+     */
+    void recordStoredEvents(UUID tenantId, List<TrackingEventRow> trackingEvents);
 }
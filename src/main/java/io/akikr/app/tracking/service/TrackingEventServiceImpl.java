@@ -1,25 +1,263 @@
 package io.akikr.app.tracking.service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.shared.TenantShardContext;
+import io.akikr.app.shared.TimeOrderedUuidGenerator;
+import io.akikr.app.tracking.entity.TrackingEvent;
+import io.akikr.app.tracking.exceptions.TrackingException;
+import io.akikr.app.tracking.model.TrackingEventSource;
+import io.akikr.app.tracking.model.request.TrackingEventBatchRequest;
+import io.akikr.app.tracking.model.request.TrackingEventRequest;
+import io.akikr.app.tracking.model.response.TrackingEventBatchItemResponse;
+import io.akikr.app.tracking.model.response.TrackingEventBatchResponse;
+import io.akikr.app.tracking.processor.TrackingProcessor;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TrackingEventServiceImpl implements TrackingEventService {
 
+    private static final Logger log = LoggerFactory.getLogger(TrackingEventServiceImpl.class);
+    private static final String BATCH_PATH = "/tracking-events/batch";
+
+    private final TrackingEventHashGenerator trackingEventHashGenerator;
+    private final TrackingEventDeduplicator trackingEventDeduplicator;
+    private final TrackingStatusRollupEngine trackingStatusRollupEngine;
+    private final TrackingProcessor trackingProcessor;
+    private final Validator validator;
+    private final AppIngestProperties appIngestProperties;
+
+    public TrackingEventServiceImpl(
+            TrackingEventHashGenerator trackingEventHashGenerator,
+            TrackingEventDeduplicator trackingEventDeduplicator,
+            TrackingStatusRollupEngine trackingStatusRollupEngine,
+            TrackingProcessor trackingProcessor,
+            Validator validator,
+            AppIngestProperties appIngestProperties) {
+        this.trackingEventHashGenerator = trackingEventHashGenerator;
+        this.trackingEventDeduplicator = trackingEventDeduplicator;
+        this.trackingStatusRollupEngine = trackingStatusRollupEngine;
+        this.trackingProcessor = trackingProcessor;
+        this.validator = validator;
+        this.appIngestProperties = appIngestProperties;
+    }
+
     @Override
-    public String generateEventHash(String payload) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] hash = digest.digest(payload.getBytes(StandardCharsets.UTF_8));
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : hash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
+    public String generateEventHash(String payload) {
+        return trackingEventHashGenerator.hash(payload);
+    }
+
+    /**
+     * Ingests a batch of tracking events of one tenant, e.g. the event history a carrier returns on
+     * each poll, which mostly repeats events already stored.
+     *
+     * <p>Each event is hashed from its canonical fields and dropped when its hash repeats within the
+     * batch or is known to the {@link TrackingEventDeduplicator}, before any statement is run. The
+     * tracking numbers of the remaining events are resolved with one query, and the events are
+     * written in chunks of {@link AppIngestProperties#trackingEventFlushSize()} with {@code INSERT
+     * IGNORE}, which skips the duplicates only the database knows of ({@code uk_event_hash}). The
+     * stored events are then handed to the {@link TrackingStatusRollupEngine}.
+     */
+    @Override
+    public ResponseEntity<TrackingEventBatchResponse> ingestEvents(TrackingEventBatchRequest trackingEventBatchRequest)
+            throws TrackingException {
+        var events = Objects.isNull(trackingEventBatchRequest) ? null : trackingEventBatchRequest.events();
+        var batchSize = Objects.isNull(events) ? 0 : events.size();
+        log.debug("Ingesting tracking event batch of [{}] events", batchSize);
+        if (batchSize == 0 || batchSize > appIngestProperties.trackingEventMaxBatchSize()) {
+            var error = new IllegalArgumentException("Tracking event batch size must be between 1 and "
+                    + appIngestProperties.trackingEventMaxBatchSize()
+                    + " but was "
+                    + batchSize);
+            log.error("Error Ingesting tracking event batch, due to: {}", error.getMessage());
+            throw new TrackingException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    error,
+                    "An errorDetails occurred while Ingesting tracking event batch",
+                    BATCH_PATH);
+        }
+        try {
+            return TenantShardContext.call(trackingEventBatchRequest.orgId(), () -> {
+                var tenantId = UUID.fromString(trackingEventBatchRequest.orgId());
+                var response = ingestTenantEvents(tenantId, events);
+                if (log.isDebugEnabled()) {
+                    log.debug(
+                            "Tracking event batch ingested for tenantId:[{}] with inserted:[{}], duplicates:[{}],"
+                                    + " filteredInMemory:[{}] and rejected:[{}] events",
+                            tenantId,
+                            response.inserted(),
+                            response.duplicates(),
+                            response.filteredInMemory(),
+                            response.rejected());
+                }
+                return ResponseEntity.status(HttpStatus.OK).body(response);
+            });
+        } catch (NullPointerException | IllegalArgumentException e) {
+            log.error(
+                    "Error Ingesting tracking event batch for orgId:[{}], due to: {}",
+                    trackingEventBatchRequest.orgId(),
+                    e.getMessage(),
+                    e);
+            throw new TrackingException(
+                    HttpStatus.BAD_REQUEST.value(),
+                    e,
+                    "An errorDetails occurred while Ingesting tracking event batch",
+                    BATCH_PATH);
+        }
+    }
+
+    private TrackingEventBatchResponse ingestTenantEvents(UUID tenantId, List<TrackingEventRequest> events) {
+        var rejections = new ArrayList<TrackingEventBatchItemResponse>();
+        var validIndices = new ArrayList<Integer>(events.size());
+        var trackingNumbers = new LinkedHashSet<String>();
+        for (int index = 0; index < events.size(); index++) {
+            var event = events.get(index);
+            var violations = validateEvent(event);
+            if (Objects.nonNull(violations)) {
+                rejections.add(new TrackingEventBatchItemResponse(
+                        index, Objects.isNull(event) ? null : event.trackingNumber(), violations));
+                continue;
+            }
+            validIndices.add(index);
+            trackingNumbers.add(event.trackingNumber());
+        }
+
+        Map<String, UUID> trackingIds = trackingNumbers.isEmpty()
+                ? Map.of()
+                : trackingProcessor.findTrackingIdsByNumber(tenantId, trackingNumbers);
+        var seenHashes = new HashSet<String>(validIndices.size() * 2);
+        var survivors = new ArrayList<TrackingEventRow>(validIndices.size());
+        var survivorIndices = new ArrayList<Integer>(validIndices.size());
+        var filteredInMemory = 0;
+        for (var index : validIndices) {
+            var event = events.get(index);
+            var trackingId = trackingIds.get(event.trackingNumber());
+            if (Objects.isNull(trackingId)) {
+                rejections.add(new TrackingEventBatchItemResponse(
+                        index,
+                        event.trackingNumber(),
+                        "No tracking found with trackingNumber: " + event.trackingNumber()));
+                continue;
             }
-            hexString.append(hex);
+            var trackingEventRow = toTrackingEventRow(trackingId, event);
+            if (!seenHashes.add(trackingEventRow.eventHash())
+                    || trackingEventDeduplicator.isKnown(tenantId, trackingEventRow.eventHash())) {
+                filteredInMemory++;
+                continue;
+            }
+            survivors.add(trackingEventRow);
+            survivorIndices.add(index);
+        }
+
+        var inserted = 0;
+        var stored = 0;
+        var flushSize = appIngestProperties.trackingEventFlushSize();
+        for (int from = 0; from < survivors.size(); from += flushSize) {
+            var to = Math.min(from + flushSize, survivors.size());
+            var chunk = survivors.subList(from, to);
+            try {
+                inserted += trackingProcessor.insertEvents(tenantId, chunk);
+                stored += chunk.size();
+                recordStoredEvents(tenantId, chunk);
+            } catch (RuntimeException e) {
+                log.error(
+                        "Error Inserting [{}] tracking events for tenantId:[{}], due to: {}",
+                        chunk.size(),
+                        tenantId,
+                        e.getMessage(),
+                        e);
+                var message = Objects.requireNonNullElse(e.getCause(), e).getMessage();
+                for (int position = from; position < to; position++) {
+                    var index = survivorIndices.get(position);
+                    rejections.add(new TrackingEventBatchItemResponse(
+                            index, events.get(index).trackingNumber(), message));
+                }
+            }
+        }
+        rejections.sort((first, second) -> Integer.compare(first.index(), second.index()));
+        return new TrackingEventBatchResponse(
+                events.size(),
+                inserted,
+                filteredInMemory + stored - inserted,
+                filteredInMemory,
+                rejections.size(),
+                rejections);
+    }
+
+    @Override
+    public void recordStoredEvents(UUID tenantId, List<TrackingEventRow> trackingEvents) {
+        trackingEventDeduplicator.remember(
+                tenantId,
+                trackingEvents.stream().map(TrackingEventRow::eventHash).toList());
+        trackingStatusRollupEngine.record(tenantId, trackingEvents);
+    }
+
+    @Override
+    public TrackingEventRow toTrackingEventRow(UUID trackingId, TrackingEventRequest event) {
+        var source = toSource(event.source());
+        var eventHash = trackingEventHashGenerator.hash(
+                trackingId,
+                event.eventTime(),
+                event.eventCode(),
+                source.name(),
+                event.eventCity(),
+                event.eventState(),
+                event.eventCountry(),
+                event.eventZip());
+        return new TrackingEventRow(
+                TimeOrderedUuidGenerator.generate(),
+                trackingId,
+                event.eventTime(),
+                event.eventCode(),
+                event.eventDescription(),
+                event.eventCity(),
+                event.eventState(),
+                event.eventCountry(),
+                event.eventZip(),
+                source,
+                eventHash);
+    }
+
+    /**
+     * Maps the source of a tracking event request to the one stored with the event, {@code OTHER}
+     * when not given. This is the only mapping between the two enums, and the exhaustive switch fails
+     * the build when a request source is added without a stored one.
+     */
+    private static TrackingEvent.Source toSource(@Nullable TrackingEventSource source) {
+        if (Objects.isNull(source)) {
+            return TrackingEvent.Source.OTHER;
+        }
+        return switch (source) {
+            case CARRIER -> TrackingEvent.Source.CARRIER;
+            case SHOPIFY -> TrackingEvent.Source.SHOPIFY;
+            case FENIX -> TrackingEvent.Source.FENIX;
+            case OTHER -> TrackingEvent.Source.OTHER;
+        };
+    }
+
+    private @Nullable String validateEvent(@Nullable TrackingEventRequest event) {
+        if (Objects.isNull(event)) {
+            return "Tracking event request cannot be NULL";
+        }
+        var violations = validator.validate(event);
+        if (violations.isEmpty()) {
+            return null;
         }
-        return hexString.toString();
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
     }
 }
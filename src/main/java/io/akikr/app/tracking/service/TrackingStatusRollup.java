@@ -0,0 +1,296 @@
+package io.akikr.app.tracking.service;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.entity.Fulfillment.FulfillmentStatus;
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.entity.Tracking.TrackingStatus;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Rolls tracking events up into the denormalized status of their tracking, and a tracking status
+ * change up into the status of its fulfillment and order.
+ *
+ * <p>A tracking only moves forward through {@code LABEL_CREATED -> IN_TRANSIT -> OUT_FOR_DELIVERY
+ * -> DELIVERED}, so an event arriving late or out of order never moves it back; {@code DELIVERED}
+ * is final. {@code EXCEPTION} can be entered from any other status, and left for a status past
+ * {@code LABEL_CREATED}, but only by an event not older than the tracking's {@code lastEventAt}.
+ * Event codes that map to no status (see {@link #statusOf(String)}) only advance {@code
+ * lastEventAt}.
+ *
+ * <p>A fulfillment is {@code SHIPPED} once one of its trackings is on its way and {@code DELIVERED}
+ * once all are; an order is {@code PARTIAL} once one of its (not cancelled or failed) fulfillments
+ * is shipped and {@code FULFILLED} once all are. Both only move forward too, and cancelled or
+ * failed ones are left as they are. They are derived from the rows of their children, never from
+ * the event history.
+ */
+final class TrackingStatusRollup {
+
+    private static final Map<String, TrackingStatus> STATUS_BY_EVENT_CODE = Map.ofEntries(
+            Map.entry("LABEL_CREATED", TrackingStatus.LABEL_CREATED),
+            Map.entry("LABEL_PRINTED", TrackingStatus.LABEL_CREATED),
+            Map.entry("PRE_TRANSIT", TrackingStatus.LABEL_CREATED),
+            Map.entry("INFO_RECEIVED", TrackingStatus.LABEL_CREATED),
+            Map.entry("MANIFESTED", TrackingStatus.LABEL_CREATED),
+            Map.entry("IN_TRANSIT", TrackingStatus.IN_TRANSIT),
+            Map.entry("PICKED_UP", TrackingStatus.IN_TRANSIT),
+            Map.entry("ACCEPTED", TrackingStatus.IN_TRANSIT),
+            Map.entry("DEPARTED", TrackingStatus.IN_TRANSIT),
+            Map.entry("ARRIVED", TrackingStatus.IN_TRANSIT),
+            Map.entry("OUT_FOR_DELIVERY", TrackingStatus.OUT_FOR_DELIVERY),
+            Map.entry("DELIVERED", TrackingStatus.DELIVERED),
+            Map.entry("EXCEPTION", TrackingStatus.EXCEPTION),
+            Map.entry("DELAYED", TrackingStatus.EXCEPTION),
+            Map.entry("FAILED_ATTEMPT", TrackingStatus.EXCEPTION),
+            Map.entry("DELIVERY_FAILED", TrackingStatus.EXCEPTION),
+            Map.entry("RETURN_TO_SENDER", TrackingStatus.EXCEPTION));
+
+    private TrackingStatusRollup() {}
+
+    /**
+     * Maps the code of a tracking event to the tracking status it reports, ignoring case and
+     * separators (e.g. {@code "Out for delivery"} or {@code "out-for-delivery"}).
+     *
+     * @param eventCode The code of the event.
+     * @return The status reported by the event, or {@code UNKNOWN} if it reports none.
+     */
+    static TrackingStatus statusOf(@Nullable String eventCode) {
+        if (Objects.isNull(eventCode)) {
+            return TrackingStatus.UNKNOWN;
+        }
+        var normalizedEventCode = eventCode.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_");
+        return STATUS_BY_EVENT_CODE.getOrDefault(normalizedEventCode, TrackingStatus.UNKNOWN);
+    }
+
+    /**
+     * Moves a tracking forward with the events accumulated for it.
+     *
+     * @param tracking The tracking, updated in place.
+     * @param pendingTracking The events of the tracking since its last roll-up.
+     * @return {@code true} if the status or {@code lastEventAt} of the tracking changed.
+     */
+    static boolean rollUpTracking(Tracking tracking, PendingTracking pendingTracking) {
+        var status = Objects.requireNonNullElse(tracking.getTrackingStatus(), TrackingStatus.UNKNOWN);
+        var lastEventAt = tracking.getLastEventAt();
+        var observations = pendingTracking.latestEventAtByStatus.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .toList();
+        for (var observation : observations) {
+            if (TrackingStatus.DELIVERED.equals(status)) {
+                break;
+            }
+            var observedStatus = observation.getKey();
+            var isCurrent =
+                    Objects.isNull(lastEventAt) || !observation.getValue().isBefore(lastEventAt);
+            if (TrackingStatus.EXCEPTION.equals(observedStatus)) {
+                if (isCurrent) {
+                    status = observedStatus;
+                }
+            } else if (progressOf(observedStatus) > progressOf(status)
+                    && (!TrackingStatus.EXCEPTION.equals(status) || isCurrent)) {
+                status = observedStatus;
+            }
+            lastEventAt = latest(lastEventAt, observation.getValue());
+        }
+        lastEventAt = latest(lastEventAt, pendingTracking.lastEventAt);
+        if (status.equals(tracking.getTrackingStatus()) && Objects.equals(lastEventAt, tracking.getLastEventAt())) {
+            return false;
+        }
+        tracking.setTrackingStatus(status);
+        tracking.setLastEventAt(lastEventAt);
+        tracking.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * Moves a fulfillment forward from the statuses of its trackings.
+     *
+     * @param fulfillment The fulfillment, with its trackings, updated in place.
+     * @return {@code true} if the fulfillment changed.
+     */
+    static boolean rollUpFulfillment(Fulfillment fulfillment) {
+        var status = fulfillment.getFulfillmentStatus();
+        var trackings = fulfillment.getTracking();
+        if (FulfillmentStatus.CANCELLED.equals(status)
+                || FulfillmentStatus.FAILED.equals(status)
+                || Objects.isNull(trackings)
+                || trackings.isEmpty()) {
+            return false;
+        }
+        var allDelivered = true;
+        var anyShipped = false;
+        LocalDateTime firstShippedEventAt = null;
+        LocalDateTime lastDeliveredEventAt = null;
+        for (var tracking : trackings) {
+            var trackingStatus = tracking.getTrackingStatus();
+            if (!TrackingStatus.DELIVERED.equals(trackingStatus)) {
+                allDelivered = false;
+            } else {
+                lastDeliveredEventAt = latest(lastDeliveredEventAt, tracking.getLastEventAt());
+            }
+            if (progressOf(trackingStatus) >= progressOf(TrackingStatus.IN_TRANSIT)) {
+                anyShipped = true;
+                firstShippedEventAt = earliest(firstShippedEventAt, tracking.getLastEventAt());
+            }
+        }
+        var rolledUpStatus =
+                allDelivered ? FulfillmentStatus.DELIVERED : anyShipped ? FulfillmentStatus.SHIPPED : status;
+        if (progressOf(rolledUpStatus) <= progressOf(status)) {
+            return false;
+        }
+        fulfillment.setFulfillmentStatus(rolledUpStatus);
+        if (Objects.isNull(fulfillment.getShippedAt())) {
+            fulfillment.setShippedAt(firstShippedEventAt);
+        }
+        if (FulfillmentStatus.DELIVERED.equals(rolledUpStatus) && Objects.isNull(fulfillment.getDeliveredAt())) {
+            // chk_ship_delivery_order: a delivery cannot precede the shipment
+            fulfillment.setDeliveredAt(latest(lastDeliveredEventAt, fulfillment.getShippedAt()));
+        }
+        fulfillment.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * Moves an order forward from the statuses of its fulfillments.
+     *
+     * @param order The order, with its fulfillments, updated in place.
+     * @return {@code true} if the order changed.
+     */
+    static boolean rollUpOrder(Order order) {
+        var status = order.getFulfillmentStatus();
+        if (Order.FulfillmentStatus.CANCELLED.equals(status) || Objects.isNull(order.getFulfillments())) {
+            return false;
+        }
+        var active = 0;
+        var shipped = 0;
+        for (var fulfillment : order.getFulfillments()) {
+            var fulfillmentStatus = fulfillment.getFulfillmentStatus();
+            if (FulfillmentStatus.CANCELLED.equals(fulfillmentStatus)
+                    || FulfillmentStatus.FAILED.equals(fulfillmentStatus)) {
+                continue;
+            }
+            active++;
+            if (progressOf(fulfillmentStatus) >= progressOf(FulfillmentStatus.SHIPPED)) {
+                shipped++;
+            }
+        }
+        var rolledUpStatus = active > 0 && shipped == active
+                ? Order.FulfillmentStatus.FULFILLED
+                : shipped > 0 ? Order.FulfillmentStatus.PARTIAL : status;
+        if (progressOf(rolledUpStatus) <= progressOf(status)) {
+            return false;
+        }
+        order.setFulfillmentStatus(rolledUpStatus);
+        return true;
+    }
+
+    private static int progressOf(@Nullable TrackingStatus status) {
+        if (Objects.isNull(status)) {
+            return 0;
+        }
+        return switch (status) {
+            case UNKNOWN -> 0;
+            case LABEL_CREATED, EXCEPTION -> 1;
+            case IN_TRANSIT -> 2;
+            case OUT_FOR_DELIVERY -> 3;
+            case DELIVERED -> 4;
+        };
+    }
+
+    private static int progressOf(@Nullable FulfillmentStatus status) {
+        if (Objects.isNull(status)) {
+            return 0;
+        }
+        return switch (status) {
+            case CREATED, UNKNOWN, CANCELLED, FAILED -> 0;
+            case SHIPPED -> 1;
+            case DELIVERED -> 2;
+        };
+    }
+
+    private static int progressOf(Order.@Nullable FulfillmentStatus status) {
+        if (Objects.isNull(status)) {
+            return 0;
+        }
+        return switch (status) {
+            case UNFULFILLED, UNKNOWN, CANCELLED -> 0;
+            case PARTIAL -> 1;
+            case FULFILLED -> 2;
+        };
+    }
+
+    private static @Nullable LocalDateTime latest(@Nullable LocalDateTime first, @Nullable LocalDateTime second) {
+        if (Objects.isNull(first)) {
+            return second;
+        }
+        return Objects.isNull(second) || first.isAfter(second) ? first : second;
+    }
+
+    private static @Nullable LocalDateTime earliest(@Nullable LocalDateTime first, @Nullable LocalDateTime second) {
+        if (Objects.isNull(first)) {
+            return second;
+        }
+        return Objects.isNull(second) || first.isBefore(second) ? first : second;
+    }
+
+    /**
+     * The events of one tracking accumulated within a flush window, reduced to the latest event time
+     * of each reported status and overall.
+     */
+    static final class PendingTracking {
+
+        private final UUID tenantId;
+        private final Map<TrackingStatus, LocalDateTime> latestEventAtByStatus = new EnumMap<>(TrackingStatus.class);
+        private @Nullable LocalDateTime lastEventAt;
+        private int failedAttempts;
+
+        PendingTracking(UUID tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        UUID tenantId() {
+            return tenantId;
+        }
+
+        void add(TrackingStatus status, LocalDateTime eventTime) {
+            lastEventAt = latest(lastEventAt, eventTime);
+            if (!TrackingStatus.UNKNOWN.equals(status)) {
+                latestEventAtByStatus.merge(status, eventTime, (first, second) -> latest(first, second));
+            }
+        }
+
+        int failedAttempts() {
+            return failedAttempts;
+        }
+
+        /**
+         * Counts a failed roll-up of these events.
+         *
+         * @return The number of failed roll-ups so far.
+         */
+        int fail() {
+            return ++failedAttempts;
+        }
+
+        /**
+         * Adds the events of another pending roll-up of the same tracking, e.g. of a failed roll-up
+         * put back for the next flush.
+         *
+         * @param other The other pending roll-up.
+         * @return This pending roll-up.
+         */
+        PendingTracking merge(PendingTracking other) {
+            lastEventAt = latest(lastEventAt, other.lastEventAt);
+            other.latestEventAtByStatus.forEach((status, eventTime) ->
+                    latestEventAtByStatus.merge(status, eventTime, (first, second) -> latest(first, second)));
+            failedAttempts = Math.max(failedAttempts, other.failedAttempts);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package io.akikr.app.tracking.service;
+
+import io.akikr.app.fulfillment.processor.FulfillmentProcessor;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.shared.TenantShardContext;
+import io.akikr.app.tracking.processor.TrackingProcessor;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import io.akikr.app.tracking.service.TrackingStatusRollup.PendingTracking;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the denormalized tracking, fulfillment and order statuses in step with the ingested
+ * tracking events, so that reading a status never aggregates the event history.
+ *
+ * <p>Stored events are {@linkplain #record(UUID, List) recorded} per tracking and reduced in memory
+ * until the end of the flush window, when each pending tracking is moved forward once (see {@link
+ * TrackingStatusRollup}) in chunks of {@code flush-size}. Only trackings whose status changed are
+ * cascaded to their fulfillment, and only fulfillments whose status changed to their order, each
+ * recomputed from the rows of its children.
+ *
+ * <p>The pending roll-ups of a chunk that fails are put back for the next flush, which also
+ * cascades them to their fulfillments and orders whether or not the tracking changes then, in case
+ * the failure came after the tracking was saved. They are dropped after {@code max-flush-attempts}.
+ * The statuses are written with conditional updates, and a tracking changed concurrently since it
+ * was read is put back for the next flush too; over-cascading is harmless, since fulfillments and
+ * orders are recomputed from the rows of their children.
+ * Pending roll-ups are flushed on shutdown but not persisted: after a crash, or a dropped roll-up,
+ * a tracking catches up with the next event ingested for it.
+ */
+@Component
+public class TrackingStatusRollupEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackingStatusRollupEngine.class);
+
+    private final AppIngestProperties.TrackingRollup trackingRollupProperties;
+    private final TrackingProcessor trackingProcessor;
+    private final FulfillmentProcessor fulfillmentProcessor;
+    private final OrderProcessor orderProcessor;
+    private final ConcurrentMap<UUID, PendingTracking> pendingTrackings = new ConcurrentHashMap<>();
+    // Flushes run one at a time, so the roll-ups of the same fulfillment or order never interleave
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean running;
+
+    public TrackingStatusRollupEngine(
+            AppIngestProperties appIngestProperties,
+            TrackingProcessor trackingProcessor,
+            FulfillmentProcessor fulfillmentProcessor,
+            OrderProcessor orderProcessor) {
+        this.trackingRollupProperties = appIngestProperties.trackingRollup();
+        this.trackingProcessor = trackingProcessor;
+        this.fulfillmentProcessor = fulfillmentProcessor;
+        this.orderProcessor = orderProcessor;
+    }
+
+    /**
+     * Records stored tracking events for the next roll-up.
+     *
+     * @param tenantId The UUID of the tenant of the events.
+     * @param trackingEvents The stored events.
+     */
+    public void record(UUID tenantId, List<TrackingEventRow> trackingEvents) {
+        if (!trackingRollupProperties.enabled() || trackingEvents.isEmpty()) {
+            return;
+        }
+        for (var trackingEvent : trackingEvents) {
+            var status = TrackingStatusRollup.statusOf(trackingEvent.eventCode());
+            pendingTrackings.compute(trackingEvent.trackingId(), (trackingId, pendingTracking) -> {
+                var pending = Objects.requireNonNullElseGet(pendingTracking, () -> new PendingTracking(tenantId));
+                pending.add(status, trackingEvent.eventTime());
+                return pending;
+            });
+        }
+        if (pendingTrackings.size() >= trackingRollupProperties.maxPendingTrackings() && flushLock.tryLock()) {
+            try {
+                flushPendingTrackings();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /** Rolls up the trackings recorded since the last flush. */
+    @Scheduled(fixedDelayString = "${app.ingest.tracking-rollup.flush-interval:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPendingTrackings();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushPendingTrackings() {
+        if (pendingTrackings.isEmpty()) {
+            return;
+        }
+        Map<UUID, Map<UUID, PendingTracking>> pendingTrackingsByTenant = new HashMap<>();
+        for (var trackingId : pendingTrackings.keySet()) {
+            // Events recorded from now on start a new pending roll-up for the next flush
+            var pendingTracking = pendingTrackings.remove(trackingId);
+            if (Objects.nonNull(pendingTracking)) {
+                pendingTrackingsByTenant
+                        .computeIfAbsent(pendingTracking.tenantId(), tenantId -> new HashMap<>())
+                        .put(trackingId, pendingTracking);
+            }
+        }
+        var flushSize = trackingRollupProperties.flushSize();
+        pendingTrackingsByTenant.forEach((tenantId, tenantPendingTrackings) -> {
+            TenantShardContext.run(tenantId, () -> {
+                var trackingIds = new ArrayList<>(tenantPendingTrackings.keySet());
+                for (int from = 0; from < trackingIds.size(); from += flushSize) {
+                    var chunk = trackingIds.subList(from, Math.min(from + flushSize, trackingIds.size()));
+                    rollUp(tenantId, chunk, tenantPendingTrackings);
+                }
+            });
+        });
+    }
+
+    private void rollUp(UUID tenantId, List<UUID> trackingIds, Map<UUID, PendingTracking> tenantPendingTrackings) {
+        try {
+            var fulfillmentIds = new HashSet<UUID>();
+            var retriedFulfillmentIds = new HashSet<UUID>();
+            var changedTrackingIds = new HashSet<UUID>();
+            var trackings = trackingProcessor.rollUpTrackings(tenantId, trackingIds, tracking -> {
+                var pendingTracking = tenantPendingTrackings.get(tracking.getTrackingId());
+                var previousStatus = tracking.getTrackingStatus();
+                var changed = TrackingStatusRollup.rollUpTracking(tracking, pendingTracking);
+                var fulfillmentId = tracking.getFulfillment().getFulfillmentId();
+                if (pendingTracking.failedAttempts() > 0) {
+                    retriedFulfillmentIds.add(fulfillmentId);
+                }
+                if (pendingTracking.failedAttempts() > 0
+                        || !Objects.equals(previousStatus, tracking.getTrackingStatus())) {
+                    fulfillmentIds.add(fulfillmentId);
+                }
+                if (changed) {
+                    changedTrackingIds.add(tracking.getTrackingId());
+                }
+                return changed;
+            });
+            trackings.forEach(tracking -> changedTrackingIds.remove(tracking.getTrackingId()));
+            // Changed concurrently since they were read: rolled up again from their new row next flush
+            changedTrackingIds.forEach(trackingId ->
+                    pendingTrackings.merge(trackingId, tenantPendingTrackings.get(trackingId), PendingTracking::merge));
+            var orderIds = new HashSet<UUID>();
+            var fulfillments = fulfillmentIds.isEmpty()
+                    ? List.of()
+                    : fulfillmentProcessor.rollUpFulfillments(tenantId, fulfillmentIds, fulfillment -> {
+                        var changed = TrackingStatusRollup.rollUpFulfillment(fulfillment);
+                        if (changed || retriedFulfillmentIds.contains(fulfillment.getFulfillmentId())) {
+                            orderIds.add(fulfillment.getOrder().getOrderId());
+                        }
+                        return changed;
+                    });
+            var orders = orderIds.isEmpty()
+                    ? List.of()
+                    : orderProcessor.rollUpOrders(tenantId, orderIds, TrackingStatusRollup::rollUpOrder);
+            log.debug(
+                    "Rolled up [{}] trackings for tenantId:[{}] with trackings:[{}], fulfillments:[{}] and orders:[{}] changed",
+                    trackingIds.size(),
+                    tenantId,
+                    trackings.size(),
+                    fulfillments.size(),
+                    orders.size());
+        } catch (RuntimeException e) {
+            log.error(
+                    "Error rolling up [{}] trackings for tenantId:[{}], due to: {}",
+                    trackingIds.size(),
+                    tenantId,
+                    e.getMessage(),
+                    e);
+            retry(tenantId, trackingIds, tenantPendingTrackings);
+        }
+    }
+
+    private void retry(UUID tenantId, List<UUID> trackingIds, Map<UUID, PendingTracking> tenantPendingTrackings) {
+        var dropped = 0;
+        for (var trackingId : trackingIds) {
+            var pendingTracking = tenantPendingTrackings.get(trackingId);
+            if (pendingTracking.fail() >= trackingRollupProperties.maxFlushAttempts()) {
+                dropped++;
+                continue;
+            }
+            // Merged with the events recorded since the flush started, if any
+            pendingTrackings.merge(trackingId, pendingTracking, PendingTracking::merge);
+        }
+        if (dropped > 0) {
+            log.error(
+                    "Dropped the roll-up of [{}] trackings for tenantId:[{}] after [{}] failed attempts",
+                    dropped,
+                    tenantId,
+                    trackingRollupProperties.maxFlushAttempts());
+        }
+    }
+}
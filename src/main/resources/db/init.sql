@@ -2,6 +2,8 @@
 -- Fenix Commerce - Database Tables Initialization Script
 -- Multi-tenant Orders / Fulfillment / Tracking (MySQL 8.x)
 -- UUID PKs stored as BINARY(16) using UUID_TO_BIN(..., 1)
+-- Application generated PKs are time-ordered UUIDv7 (TimeOrderedUuidGenerator),
+-- stored as-is so that inserts append to the clustered index
 -- ============================================================
 -- Requirements:
 --  - MySQL 8.0.16+ for CHECK constraint enforcement
@@ -17,6 +19,8 @@ SET time_zone = '+00:00';
 -- ============================================================
 -- 1) DROP TABLES (safe reset)
 -- ============================================================
+DROP TABLE IF EXISTS cache_invalidation;
+DROP TABLE IF EXISTS idempotency_keys;
 DROP TABLE IF EXISTS tracking_events;
 DROP TABLE IF EXISTS tracking;
 DROP TABLE IF EXISTS fulfillments;
@@ -261,6 +265,37 @@ CREATE TABLE tracking_events (
     ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
+-- cache_invalidation table (cross-node reference cache invalidation log)
+CREATE TABLE cache_invalidation (
+  invalidation_id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+  node_id CHAR(36) NOT NULL,
+  cache_name VARCHAR(64) NOT NULL,
+  cache_key VARCHAR(255) NULL,
+
+  created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+
+  PRIMARY KEY (invalidation_id),
+
+  KEY idx_cache_invalidation_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- idempotency_keys table (responses replayed for retried write requests)
+CREATE TABLE idempotency_keys (
+  scope VARCHAR(64) NOT NULL,
+  idempotency_key VARCHAR(255) NOT NULL,
+  request_hash BINARY(32) NOT NULL,
+  status_code SMALLINT UNSIGNED NOT NULL,
+  content_type VARCHAR(255) NULL,
+  response_body MEDIUMBLOB NOT NULL,
+
+  created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  expires_at TIMESTAMP(3) NOT NULL,
+
+  PRIMARY KEY (scope, idempotency_key),
+
+  KEY idx_idempotency_keys_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
 -- ============================================================
 -- 3) INSERT DUMMY DATA
 -- ============================================================
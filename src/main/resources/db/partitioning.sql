@@ -0,0 +1,87 @@
+-- ============================================================
+-- Fenix Commerce - Tenant Partitioning (opt-in migration)
+-- Hash-partitions orders / order_items / fulfillments by tenant_id (MySQL 8.x)
+-- ============================================================
+-- Run once against a database created by schema.sql / init.sql, e.g.:
+--   mysql -u <user> -p <database> < partitioning.sql
+--
+-- Why KEY(tenant_id) and not RANGE(ingested_at):
+--  - Every order search (OrderSpecifications) and every upsert lookup
+--    (uk_order_external) filters on tenant_id, so each of them prunes to a
+--    single partition; no query filters on ingested_at.
+--  - Hash partitions are fixed, so no maintenance job has to pre-create
+--    future partitions (as monthly RANGE partitions would require).
+--
+-- MySQL restrictions on partitioned InnoDB tables:
+--  - No foreign keys, neither on nor referencing a partitioned table: they are
+--    dropped below. The cascades are still applied by JPA (Order ->
+--    orderItems / fulfillments are mapped with CascadeType.ALL), and the
+--    application never deletes tenants or stores that still have orders.
+--    The matching @JoinColumn mappings declare ConstraintMode.NO_CONSTRAINT,
+--    so that spring.jpa.hibernate.ddl-auto=update does not re-create them.
+--  - Every unique key must contain the partitioning column: the primary keys
+--    become (<id>, tenant_id); the uk_* keys already start with tenant_id.
+--    The JPA mappings keep the UUID alone as @Id, which stays unique.
+--  - Lookups by id alone (e.g. findById) probe every partition; they remain
+--    primary key lookups, one per partition.
+--
+-- Changing the partition count later:
+--   ALTER TABLE orders COALESCE PARTITION <n>;  /  ADD PARTITION PARTITIONS <n>;
+-- ============================================================
+
+SET sql_mode = 'STRICT_TRANS_TABLES,ERROR_FOR_DIVISION_BY_ZERO,NO_ENGINE_SUBSTITUTION';
+SET time_zone = '+00:00';
+
+-- ============================================================
+-- 1) DROP FOREIGN KEYS (not supported with partitioning)
+-- ============================================================
+ALTER TABLE tracking
+  DROP FOREIGN KEY fk_tracking_fulfillment;
+
+ALTER TABLE fulfillments
+  DROP FOREIGN KEY fk_fulfillments_tenant,
+  DROP FOREIGN KEY fk_fulfillments_order;
+
+ALTER TABLE order_items
+  DROP FOREIGN KEY fk_order_items_tenant,
+  DROP FOREIGN KEY fk_order_items_order;
+
+ALTER TABLE orders
+  DROP FOREIGN KEY fk_orders_tenant,
+  DROP FOREIGN KEY fk_orders_store;
+
+-- ============================================================
+-- 2) PRIMARY KEYS (must include the partitioning column)
+-- ============================================================
+ALTER TABLE orders
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (order_id, tenant_id);
+
+ALTER TABLE order_items
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (order_item_id, tenant_id);
+
+ALTER TABLE fulfillments
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (fulfillment_id, tenant_id);
+
+-- ============================================================
+-- 3) PARTITION BY TENANT
+-- ============================================================
+-- Partition count: a power of two, 16 keeps each partition's B-trees small
+-- without multiplying the open file handles too much
+ALTER TABLE orders PARTITION BY KEY (tenant_id) PARTITIONS 16;
+
+ALTER TABLE order_items PARTITION BY KEY (tenant_id) PARTITIONS 16;
+
+ALTER TABLE fulfillments PARTITION BY KEY (tenant_id) PARTITIONS 16;
+
+-- ============================================================
+-- 4) VERIFY PRUNING (expect a single partition, e.g. p7)
+-- ============================================================
+-- EXPLAIN SELECT order_id FROM orders
+--   WHERE tenant_id = UUID_TO_BIN('<tenant uuid>') ORDER BY order_updated_at DESC LIMIT 50;
+
+-- ============================================================
+-- End of Fenix Commerce Tenant Partitioning Script
+-- ============================================================
@@ -0,0 +1,117 @@
+package io.akikr.app.fulfillment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.exceptions.FulfillmentException;
+import io.akikr.app.fulfillment.processor.FulfillmentProcessor;
+import io.akikr.app.fulfillment.repository.FulfillmentSearchRow;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.KeysetCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class FulfillmentQueryServiceTest {
+
+    @Mock
+    private OrderProcessor orderProcessor;
+
+    @Mock
+    private FulfillmentProcessor fulfillmentProcessor;
+
+    @InjectMocks
+    private FulfillmentQueryServiceImpl fulfillmentQueryService;
+
+    @Test
+    @DisplayName("Should answer 404 for an unknown order without searching its fulfillments")
+    void testSearchFulfillments_UnknownOrder() {
+        var orderId = UUID.randomUUID();
+        when(orderProcessor.findTenantIdByOrderId(orderId)).thenReturn(Optional.empty());
+
+        var exception = assertThrows(
+                FulfillmentException.class,
+                () -> fulfillmentQueryService.searchFulfillments(
+                        orderId.toString(), null, null, null, null, 0, 50, true, "updatedAt,desc", null));
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), exception.getStatus());
+        verifyNoInteractions(fulfillmentProcessor);
+    }
+
+    @Test
+    @DisplayName("Should read one extra fulfillment to tell whether a next keyset page exists")
+    void testSearchFulfillments_Keyset() {
+        var orderId = UUID.randomUUID();
+        when(orderProcessor.findTenantIdByOrderId(orderId)).thenReturn(Optional.of(UUID.randomUUID()));
+        var updatedAt = LocalDateTime.of(2025, 3, 1, 10, 0);
+        var fulfillments = List.of(
+                fulfillment(orderId, updatedAt.plusMinutes(2)),
+                fulfillment(orderId, updatedAt.plusMinutes(1)),
+                fulfillment(orderId, updatedAt));
+        when(fulfillmentProcessor.findSearchRows(
+                        any(Specification.class),
+                        eq(Sort.by(Sort.Direction.DESC, "updatedAt", "fulfillmentId")),
+                        anyInt()))
+                .thenReturn(fulfillments);
+
+        var response = fulfillmentQueryService
+                .searchFulfillments(orderId.toString(), null, null, null, null, 0, 2, true, "updatedAt,desc", "")
+                .getBody();
+
+        assertEquals(2, response.data().size());
+        assertTrue(response.hasNextPage());
+        assertNull(response.totalElements());
+        var nextCursor = KeysetCursor.decode(response.nextCursor());
+        assertEquals(updatedAt.plusMinutes(1), nextCursor.timestamp());
+        assertEquals(fulfillments.get(1).fulfillmentId(), nextCursor.id());
+    }
+
+    @Test
+    @DisplayName("Should reject cursor pagination on another sort than updatedAt")
+    void testSearchFulfillments_KeysetSort() {
+        var orderId = UUID.randomUUID();
+        when(orderProcessor.findTenantIdByOrderId(orderId)).thenReturn(Optional.of(UUID.randomUUID()));
+
+        var exception = assertThrows(
+                FulfillmentException.class,
+                () -> fulfillmentQueryService.searchFulfillments(
+                        orderId.toString(), null, null, null, null, 0, 50, true, "createdAt,desc", ""));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), exception.getStatus());
+        assertFalse(exception.getMessage().isBlank());
+    }
+
+    private static FulfillmentSearchRow fulfillment(UUID orderId, LocalDateTime updatedAt) {
+        return new FulfillmentSearchRow(
+                UUID.randomUUID(),
+                orderId,
+                "ext-" + updatedAt,
+                Fulfillment.FulfillmentStatus.SHIPPED,
+                null,
+                null,
+                null,
+                null,
+                updatedAt,
+                updatedAt);
+    }
+}
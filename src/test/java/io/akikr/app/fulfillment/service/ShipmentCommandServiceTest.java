@@ -0,0 +1,260 @@
+package io.akikr.app.fulfillment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.exceptions.FulfillmentException;
+import io.akikr.app.fulfillment.model.FulfillmentCreateStatus;
+import io.akikr.app.fulfillment.model.ShipmentBatchItemStatus;
+import io.akikr.app.fulfillment.model.request.ShipmentBatchRequest;
+import io.akikr.app.fulfillment.model.request.ShipmentEventRequest;
+import io.akikr.app.fulfillment.model.request.ShipmentRequest;
+import io.akikr.app.fulfillment.model.request.ShipmentTrackingRequest;
+import io.akikr.app.fulfillment.model.response.ShipmentBatchItemResponse;
+import io.akikr.app.fulfillment.processor.FulfillmentProcessor;
+import io.akikr.app.fulfillment.repository.FulfillmentExternalIdRow;
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.tenant.entity.Tenant;
+import io.akikr.app.tenant.processor.TenantProcessor;
+import io.akikr.app.tracking.model.request.TrackingEventRequest;
+import io.akikr.app.tracking.processor.TrackingProcessor;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import io.akikr.app.tracking.service.TrackingEventService;
+import jakarta.validation.Validation;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+class ShipmentCommandServiceTest {
+
+    private static final LocalDateTime SHIPPED_AT = LocalDateTime.of(2025, 3, 1, 10, 15);
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID otherOrderId = UUID.randomUUID();
+    private OrderProcessor orderProcessor;
+    private FulfillmentProcessor fulfillmentProcessor;
+    private TrackingProcessor trackingProcessor;
+    private TrackingEventService trackingEventService;
+
+    @BeforeEach
+    void setUp() {
+        orderProcessor = mock(OrderProcessor.class);
+        fulfillmentProcessor = mock(FulfillmentProcessor.class);
+        trackingProcessor = mock(TrackingProcessor.class);
+        trackingEventService = mock(TrackingEventService.class);
+        when(orderProcessor.findOrderReferences(eq(tenantId), any()))
+                .thenReturn(Map.of(
+                        orderId, Order.builder().orderId(orderId).build(),
+                        otherOrderId, Order.builder().orderId(otherOrderId).build()));
+        when(fulfillmentProcessor.findExistingExternalIds(eq(tenantId), any(), any()))
+                .thenReturn(Set.of(new FulfillmentExternalIdRow(otherOrderId, "F-EXISTING")));
+        when(trackingProcessor.findTrackingIdsByNumber(eq(tenantId), any()))
+                .thenReturn(Map.of("T-EXISTING", UUID.randomUUID()));
+        when(trackingEventService.toTrackingEventRow(any(), any()))
+                .thenAnswer(invocation ->
+                        toTrackingEventRow(invocation.getArgument(0), invocation.<TrackingEventRequest>getArgument(1)));
+    }
+
+    @Test
+    @DisplayName("Should create valid shipments with their events and reject the others up front")
+    void testCreateShipments_RejectsConflictsBeforeWriting() {
+        when(fulfillmentProcessor.createFulfillments(anyList(), any())).thenAnswer(invocation -> save(invocation));
+        var request = new ShipmentBatchRequest(
+                tenantId.toString(),
+                List.of(
+                        shipment(orderId, "F-1", tracking("T-1", event("PICKED_UP"), event("IN_TRANSIT"))),
+                        shipment(UUID.randomUUID(), "F-2"),
+                        shipment(orderId, "F-1"),
+                        shipment(otherOrderId, "F-3", tracking("T-1")),
+                        shipment(otherOrderId, "F-4", tracking("T-EXISTING")),
+                        shipment(otherOrderId, "F-EXISTING"),
+                        shipment(otherOrderId, "F-5", tracking("T-2"), tracking("T-2")),
+                        shipment(otherOrderId, "F-6")));
+
+        var response = service(2).createShipments(request).getBody();
+
+        assertNotNull(response);
+        assertEquals(8, response.total());
+        assertEquals(2, response.succeeded());
+        assertEquals(6, response.failed());
+        var results = response.results();
+        assertEquals(
+                List.of(
+                        ShipmentBatchItemStatus.CREATED,
+                        ShipmentBatchItemStatus.FAILED,
+                        ShipmentBatchItemStatus.FAILED,
+                        ShipmentBatchItemStatus.FAILED,
+                        ShipmentBatchItemStatus.FAILED,
+                        ShipmentBatchItemStatus.FAILED,
+                        ShipmentBatchItemStatus.FAILED,
+                        ShipmentBatchItemStatus.CREATED),
+                results.stream().map(ShipmentBatchItemResponse::result).toList());
+        assertEquals(1, results.get(0).trackingIds().size());
+        assertEquals(
+                "Tracking already exists with trackingNumber: T-1",
+                results.get(3).error());
+        assertEquals(
+                "Tracking already exists with trackingNumber: T-EXISTING",
+                results.get(4).error());
+        assertEquals(
+                "Fulfillment already exists with externalFulfillmentId: F-EXISTING",
+                results.get(5).error());
+        assertEquals("Duplicate trackingNumber: T-2", results.get(6).error());
+        verify(fulfillmentProcessor, times(1)).createFulfillments(anyList(), any());
+        verify(trackingProcessor, times(1))
+                .insertEvents(
+                        eq(tenantId),
+                        argThat(rows -> rows.size() == 2
+                                && rows.stream().allMatch(row -> row.trackingId()
+                                        .toString()
+                                        .equals(results.get(0).trackingIds().get(0)))));
+        verify(trackingEventService, times(1)).recordStoredEvents(eq(tenantId), anyList());
+    }
+
+    @Test
+    @DisplayName("Should not reserve the external id or tracking numbers of a rejected shipment")
+    void testCreateShipments_RejectedShipmentReservesNothing() {
+        when(fulfillmentProcessor.createFulfillments(anyList(), any())).thenAnswer(invocation -> save(invocation));
+        var request = new ShipmentBatchRequest(
+                tenantId.toString(),
+                List.of(
+                        shipment(orderId, "F-1", tracking("T-NEW"), tracking("T-EXISTING")),
+                        shipment(orderId, "F-1", tracking("T-NEW"))));
+
+        var response = service(10).createShipments(request).getBody();
+
+        assertNotNull(response);
+        assertEquals(ShipmentBatchItemStatus.FAILED, response.results().get(0).result());
+        assertEquals(
+                "Tracking already exists with trackingNumber: T-EXISTING",
+                response.results().get(0).error());
+        assertEquals(ShipmentBatchItemStatus.CREATED, response.results().get(1).result());
+    }
+
+    @Test
+    @DisplayName("Should fail only the shipments of a failed chunk")
+    void testCreateShipments_FailedChunkFailsOnlyItsShipments() {
+        when(fulfillmentProcessor.createFulfillments(anyList(), any()))
+                .thenThrow(new IllegalStateException("Deadlock found"))
+                .thenAnswer(invocation -> save(invocation));
+        var request = new ShipmentBatchRequest(
+                tenantId.toString(),
+                List.of(
+                        shipment(orderId, "F-1", tracking("T-1", event("PICKED_UP"))),
+                        shipment(orderId, "F-2", tracking("T-2"))));
+
+        var response = service(1).createShipments(request).getBody();
+
+        assertNotNull(response);
+        assertEquals(1, response.succeeded());
+        assertEquals(ShipmentBatchItemStatus.FAILED, response.results().get(0).result());
+        assertEquals("Deadlock found", response.results().get(0).error());
+        assertNull(response.results().get(0).fulfillmentId());
+        assertEquals(ShipmentBatchItemStatus.CREATED, response.results().get(1).result());
+        verify(trackingEventService, never()).recordStoredEvents(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject an oversized batch")
+    void testCreateShipments_RejectsOversizedBatch() {
+        var request = new ShipmentBatchRequest(
+                tenantId.toString(), List.of(shipment(orderId, "F-1"), shipment(orderId, "F-2")));
+
+        var exception =
+                assertThrows(FulfillmentException.class, () -> service(1, 1).createShipments(request));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), exception.getStatus());
+    }
+
+    private ShipmentCommandServiceImpl service(int flushSize) {
+        return service(1000, flushSize);
+    }
+
+    private ShipmentCommandServiceImpl service(int maxBatchSize, int flushSize) {
+        var tenantProcessor = mock(TenantProcessor.class);
+        when(tenantProcessor.findCachedByTenantId(tenantId))
+                .thenReturn(Optional.of(Tenant.builder().tenantId(tenantId).build()));
+        return new ShipmentCommandServiceImpl(
+                tenantProcessor,
+                orderProcessor,
+                fulfillmentProcessor,
+                trackingProcessor,
+                trackingEventService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new AppIngestProperties(
+                        5000, 500, null, 5000, 500, null, null, maxBatchSize, flushSize, DataSize.ofMegabytes(1)));
+    }
+
+    /** Assigns ids the way persisting does, then runs the after-flush callback. */
+    private static List<Fulfillment> save(InvocationOnMock invocation) {
+        List<Fulfillment> fulfillments = invocation.getArgument(0);
+        Consumer<List<Fulfillment>> afterFlush = invocation.getArgument(1);
+        fulfillments.forEach(fulfillment -> {
+            fulfillment.setFulfillmentId(UUID.randomUUID());
+            fulfillment.getTracking().forEach(tracking -> tracking.setTrackingId(UUID.randomUUID()));
+        });
+        afterFlush.accept(fulfillments);
+        return fulfillments;
+    }
+
+    private static ShipmentRequest shipment(
+            UUID orderId, String externalFulfillmentId, ShipmentTrackingRequest... tracking) {
+        return new ShipmentRequest(
+                orderId.toString(),
+                externalFulfillmentId,
+                FulfillmentCreateStatus.SHIPPED,
+                "UPS",
+                "GROUND",
+                SHIPPED_AT,
+                null,
+                List.of(tracking));
+    }
+
+    private static ShipmentTrackingRequest tracking(String trackingNumber, ShipmentEventRequest... events) {
+        return new ShipmentTrackingRequest(trackingNumber, null, null, null, true, List.of(events));
+    }
+
+    private static ShipmentEventRequest event(String eventCode) {
+        return new ShipmentEventRequest(SHIPPED_AT, eventCode, null, null, null, null, null, null);
+    }
+
+    private static TrackingEventRow toTrackingEventRow(UUID trackingId, TrackingEventRequest event) {
+        return new TrackingEventRow(
+                UUID.randomUUID(),
+                trackingId,
+                event.eventTime(),
+                event.eventCode(),
+                event.eventDescription(),
+                event.eventCity(),
+                event.eventState(),
+                event.eventCountry(),
+                event.eventZip(),
+                null,
+                event.eventCode());
+    }
+}
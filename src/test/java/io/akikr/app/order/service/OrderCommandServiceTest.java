@@ -0,0 +1,333 @@
+package io.akikr.app.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.order.exceptions.OrderException;
+import io.akikr.app.order.model.FinancialStatus;
+import io.akikr.app.order.model.FulfillmentStatus;
+import io.akikr.app.order.model.OrderBatchItemStatus;
+import io.akikr.app.order.model.OrderStatus;
+import io.akikr.app.order.model.request.OrderUpsertRequest;
+import io.akikr.app.order.model.response.OrderBatchItemResponse;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.shared.TenantShardContext;
+import io.akikr.app.store.entity.Store;
+import io.akikr.app.store.exceptions.StoreException;
+import io.akikr.app.store.service.StoreService;
+import io.akikr.app.tenant.entity.Tenant;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+class OrderCommandServiceTest {
+
+    private static final LocalDateTime ORDER_TIME = LocalDateTime.of(2025, 3, 1, 10, 15);
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID storeId = UUID.randomUUID();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<String> existingExternalOrderIds = new ArrayList<>();
+    private StoreService storeService;
+    private OrderProcessor orderProcessor;
+    private OrderWriteBehindQueue orderWriteBehindQueue;
+
+    @BeforeEach
+    void setUp() {
+        storeService = mock(StoreService.class);
+        orderProcessor = mock(OrderProcessor.class);
+        orderWriteBehindQueue = mock(OrderWriteBehindQueue.class);
+        var tenant = Tenant.builder().tenantId(tenantId).build();
+        when(storeService.verifyStoreBelongsToTenant(tenantId.toString(), storeId.toString()))
+                .thenReturn(Store.builder().storeId(storeId).tenant(tenant).build());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty or oversized order batch")
+    void testUpsertOrders_RejectsBatchSize() {
+        var service = service(2, 500);
+        var orders = List.of(order("A-1", "1"), order("A-2", "2"), order("A-3", "3"));
+
+        var oversized = assertThrows(OrderException.class, () -> service.upsertOrders(orders));
+        var empty = assertThrows(OrderException.class, () -> service.upsertOrders(List.of()));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), oversized.getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), empty.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should create and update orders in one chunk, reporting each request in order")
+    void testUpsertOrders_CreatesUpdatesAndRejects() {
+        existingExternalOrderIds.add("A-2");
+        when(orderProcessor.upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any()))
+                .thenAnswer(this::upsert);
+        var unknownStoreId = UUID.randomUUID().toString();
+        when(storeService.verifyStoreBelongsToTenant(tenantId.toString(), unknownStoreId))
+                .thenThrow(new StoreException(400, new RuntimeException("Store not found"), "Not found", "/"));
+        var orders = new ArrayList<OrderUpsertRequest>();
+        orders.add(order("A-1", "1"));
+        orders.add(order("A-2", "2"));
+        orders.add(order("A-1", "1-b"));
+        orders.add(order(" ", "4"));
+        orders.add(null);
+        orders.add(new OrderUpsertRequest(
+                tenantId.toString(),
+                unknownStoreId,
+                "B-1",
+                "6",
+                OrderStatus.CREATED,
+                FinancialStatus.PAID,
+                FulfillmentStatus.UNFULFILLED,
+                null,
+                BigDecimal.TEN,
+                "USD",
+                ORDER_TIME,
+                ORDER_TIME));
+
+        var response = service(5000, 500).upsertOrders(orders).getBody();
+
+        assertNotNull(response);
+        assertEquals(6, response.total());
+        assertEquals(3, response.succeeded());
+        assertEquals(3, response.failed());
+        var results = response.results();
+        assertEquals(
+                List.of(
+                        OrderBatchItemStatus.CREATED,
+                        OrderBatchItemStatus.UPDATED,
+                        OrderBatchItemStatus.CREATED,
+                        OrderBatchItemStatus.FAILED,
+                        OrderBatchItemStatus.FAILED,
+                        OrderBatchItemStatus.FAILED),
+                results.stream().map(OrderBatchItemResponse::result).toList());
+        assertEquals(
+                List.of(0, 1, 2, 3, 4, 5),
+                results.stream().map(OrderBatchItemResponse::index).toList());
+        // the last occurrence of a repeated external order ID wins, and both report its write
+        assertEquals(results.get(0).id(), results.get(2).id());
+        assertEquals("externalOrderId cannot be Blank", results.get(3).error());
+        assertEquals("Order request cannot be NULL", results.get(4).error());
+        assertEquals("Store not found", results.get(5).error());
+        verify(orderProcessor, times(1)).upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail only the orders of a failed chunk")
+    void testUpsertOrders_FailedChunkFailsOnlyItsOrders() {
+        when(orderProcessor.upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any()))
+                .thenThrow(new IllegalStateException("Deadlock found"))
+                .thenAnswer(this::upsert);
+        var orders = List.of(order("A-1", "1"), order("A-2", "2"), order("A-3", "3"));
+
+        var response = service(5000, 2).upsertOrders(orders).getBody();
+
+        assertNotNull(response);
+        assertEquals(1, response.succeeded());
+        assertEquals(OrderBatchItemStatus.FAILED, response.results().get(0).result());
+        assertEquals("Deadlock found", response.results().get(0).error());
+        assertNull(response.results().get(1).id());
+        assertEquals(OrderBatchItemStatus.CREATED, response.results().get(2).result());
+        verify(orderProcessor, times(2)).upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw a transient error of a chunk when upserting queued orders")
+    void testUpsertQueuedOrders_ThrowsTransientError() {
+        when(orderProcessor.upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found"));
+        var orders = List.of(order("A-1", "1"), order("A-2", "2"));
+
+        var service = service(5000, 2);
+
+        assertThrows(CannotAcquireLockException.class, () -> service.upsertQueuedOrders(orders));
+    }
+
+    @Test
+    @DisplayName("Should fail the orders of a non-transient error when upserting queued orders")
+    void testUpsertQueuedOrders_FailsPermanentError() {
+        when(storeService.verifyStoreBelongsToTenant(tenantId.toString(), storeId.toString()))
+                .thenThrow(new StoreException(400, new RuntimeException("Store not found"), "Not found", "/"));
+        var orders = List.of(order("A-1", "1"), order("A-2", "2"));
+
+        var results = service(5000, 2).upsertQueuedOrders(orders);
+
+        assertTrue(results.stream().allMatch(result -> OrderBatchItemStatus.FAILED.equals(result.result())));
+        assertEquals("Store not found", results.get(0).error());
+    }
+
+    @Test
+    @DisplayName("Should stream one result line per order line, upserting in chunks")
+    void testUpsertOrderStream_StreamsResultsPerChunk() throws IOException {
+        when(orderProcessor.upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any()))
+                .thenAnswer(this::upsert);
+        var stream = line(order("A-1", "1")) + line(order("A-2", "2")) + line(order("A-3", "3"));
+
+        var results = upsertOrderStream(service(5000, 2), stream);
+
+        assertEquals(
+                List.of(0, 1, 2),
+                results.stream().map(OrderBatchItemResponse::index).toList());
+        assertTrue(results.stream().allMatch(result -> OrderBatchItemStatus.CREATED.equals(result.result())));
+        verify(orderProcessor, times(2)).upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail an unbindable line on its own and end the stream at malformed JSON")
+    void testUpsertOrderStream_PartialFailure() throws IOException {
+        when(orderProcessor.upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any()))
+                .thenAnswer(this::upsert);
+        var unknownStatus = line(order("A-2", "2")).replace("\"CREATED\"", "\"SHIPPED\"");
+        var stream = line(order("A-1", "1")) + unknownStatus + line(order("A-3", "3")) + "{\"orgId\" ]\n"
+                + line(order("A-4", "4"));
+
+        var results = upsertOrderStream(service(5000, 500), stream);
+
+        assertEquals(
+                List.of(
+                        OrderBatchItemStatus.CREATED,
+                        OrderBatchItemStatus.FAILED,
+                        OrderBatchItemStatus.CREATED,
+                        OrderBatchItemStatus.FAILED),
+                results.stream().map(OrderBatchItemResponse::result).toList());
+        assertNotNull(results.get(1).error());
+        assertNotNull(results.get(3).error());
+    }
+
+    @Test
+    @DisplayName("Should end the stream at a line longer than the maximum line length")
+    void testUpsertOrderStream_OversizedLine() throws IOException {
+        when(orderProcessor.upsertOrders(eq(tenantId), eq(storeId), anyCollection(), any()))
+                .thenAnswer(this::upsert);
+        var oversized = line(order("A-2", "x".repeat(2048)));
+        var stream = line(order("A-1", "1")) + oversized + line(order("A-3", "3"));
+
+        var results = upsertOrderStream(service(5000, 500, DataSize.ofBytes(1024)), stream);
+
+        assertEquals(2, results.size());
+        assertEquals(OrderBatchItemStatus.CREATED, results.get(0).result());
+        assertEquals(OrderBatchItemStatus.FAILED, results.get(1).result());
+        assertEquals(
+                "Line exceeds the maximum length of 1024 bytes", results.get(1).error());
+    }
+
+    @Test
+    @DisplayName("Should verify the store of an enqueued order within its tenant scope")
+    void testEnqueueOrder_VerifiesStoreInTenantScope() {
+        var tenants = new ArrayList<UUID>();
+        var tenant = Tenant.builder().tenantId(tenantId).build();
+        when(storeService.verifyStoreBelongsToTenant(tenantId.toString(), storeId.toString()))
+                .thenAnswer(invocation -> {
+                    tenants.add(TenantShardContext.currentTenant());
+                    return Store.builder().storeId(storeId).tenant(tenant).build();
+                });
+        when(orderWriteBehindQueue.enqueue(any())).thenReturn(Optional.empty());
+        var service = service(5000, 500);
+
+        var error = assertThrows(OrderException.class, () -> service.enqueueOrder(order("A-1", "1")));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), error.getStatus());
+        assertEquals(List.of(tenantId), tenants);
+        assertNull(TenantShardContext.currentTenant());
+    }
+
+    private List<OrderBatchItemResponse> upsertOrderStream(OrderCommandServiceImpl service, String stream)
+            throws IOException {
+        var inputStream = new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8));
+        var outputStream = new ByteArrayOutputStream();
+        var body = service.upsertOrderStream(inputStream).getBody();
+        assertNotNull(body);
+        body.writeTo(outputStream);
+        try (var results = objectMapper
+                .readerFor(OrderBatchItemResponse.class)
+                .<OrderBatchItemResponse>readValues(outputStream.toByteArray())) {
+            return results.readAll();
+        }
+    }
+
+    private String line(OrderUpsertRequest orderUpsertRequest) throws IOException {
+        return objectMapper.writeValueAsString(orderUpsertRequest) + "\n";
+    }
+
+    /** Maps each external order ID the way the processor does, then assigns ids like saving does. */
+    private List<Order> upsert(InvocationOnMock invocation) {
+        Collection<String> externalOrderIds = invocation.getArgument(2);
+        BiFunction<String, Order, Order> orderMapper = invocation.getArgument(3);
+        return externalOrderIds.stream()
+                .map(externalOrderId -> {
+                    var existingOrder = existingExternalOrderIds.contains(externalOrderId)
+                            ? Order.builder()
+                                    .orderId(UUID.randomUUID())
+                                    .externalOrderId(externalOrderId)
+                                    .build()
+                            : null;
+                    var order = orderMapper.apply(externalOrderId, existingOrder);
+                    if (Objects.isNull(order.getOrderId())) {
+                        order.setOrderId(UUID.randomUUID());
+                    }
+                    return order;
+                })
+                .toList();
+    }
+
+    private OrderCommandServiceImpl service(int maxBatchSize, int flushSize) {
+        return service(maxBatchSize, flushSize, DataSize.ofMegabytes(1));
+    }
+
+    private OrderCommandServiceImpl service(int maxBatchSize, int flushSize, DataSize maxLineLength) {
+        return new OrderCommandServiceImpl(
+                storeService,
+                orderProcessor,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new AppIngestProperties(maxBatchSize, flushSize, null, 5000, 500, null, null, 1000, 100, maxLineLength),
+                objectMapper,
+                orderWriteBehindQueue);
+    }
+
+    private OrderUpsertRequest order(String externalOrderId, String externalOrderNumber) {
+        return new OrderUpsertRequest(
+                tenantId.toString(),
+                storeId.toString(),
+                externalOrderId,
+                externalOrderNumber,
+                OrderStatus.CREATED,
+                FinancialStatus.PAID,
+                FulfillmentStatus.UNFULFILLED,
+                "buyer@example.com",
+                BigDecimal.TEN,
+                "USD",
+                ORDER_TIME,
+                ORDER_TIME);
+    }
+}
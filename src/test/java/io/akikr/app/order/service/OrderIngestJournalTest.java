@@ -0,0 +1,84 @@
+package io.akikr.app.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.akikr.app.order.model.FinancialStatus;
+import io.akikr.app.order.model.FulfillmentStatus;
+import io.akikr.app.order.model.OrderStatus;
+import io.akikr.app.order.model.request.OrderUpsertRequest;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OrderIngestJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    @DisplayName("Should replay the entries that were not completed before a restart")
+    void testOpen_ReplaysPendingEntries() throws Exception {
+        var journal = new OrderIngestJournal(journalDir, 2, false, objectMapper);
+        journal.open((segment, entry) -> {});
+        var first = journal.append(entry("t1", "ext-1"));
+        journal.append(entry("t2", "ext-2"));
+        journal.append(entry("t3", "ext-3"));
+        journal.complete(first);
+        journal.close();
+
+        List<String> replayed = new ArrayList<>();
+        var reopened = new OrderIngestJournal(journalDir, 2, false, objectMapper);
+        reopened.open((segment, entry) -> replayed.add(entry.ticketId()));
+
+        assertEquals(List.of("t1", "t2", "t3"), replayed);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Should delete a segment once all of its entries are completed")
+    void testComplete_DeletesWrittenSegment() throws Exception {
+        var journal = new OrderIngestJournal(journalDir, 2, false, objectMapper);
+        journal.open((segment, entry) -> {});
+        var first = journal.append(entry("t1", "ext-1"));
+        var second = journal.append(entry("t2", "ext-2"));
+        journal.append(entry("t3", "ext-3"));
+        assertTrue(Files.exists(journalDir.resolve("orders-" + first + ".ndjson")));
+
+        journal.complete(first);
+        journal.complete(second);
+
+        assertFalse(Files.exists(journalDir.resolve("orders-" + first + ".ndjson")));
+        journal.close();
+    }
+
+    private static OrderIngestJournal.Entry entry(String ticketId, String externalOrderId) {
+        var now = LocalDateTime.now();
+        return new OrderIngestJournal.Entry(
+                ticketId,
+                new OrderUpsertRequest(
+                        "org",
+                        "website",
+                        externalOrderId,
+                        "number",
+                        OrderStatus.CREATED,
+                        FinancialStatus.PAID,
+                        FulfillmentStatus.UNFULFILLED,
+                        null,
+                        BigDecimal.TEN,
+                        "USD",
+                        now,
+                        now));
+    }
+}
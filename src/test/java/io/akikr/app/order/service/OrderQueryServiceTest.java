@@ -0,0 +1,158 @@
+package io.akikr.app.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.order.exceptions.OrderException;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.order.repository.OrderSearchRow;
+import io.akikr.app.store.processor.StoreProcessor;
+import io.akikr.app.tenant.entity.Tenant;
+import io.akikr.app.tenant.processor.TenantProcessor;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class OrderQueryServiceTest {
+
+    private static final LocalDateTime ORDER_TIME = LocalDateTime.of(2025, 3, 1, 10, 15);
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID storeId = UUID.randomUUID();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private OrderProcessor orderProcessor;
+    private OrderQueryServiceImpl orderQueryService;
+
+    @BeforeEach
+    void setUp() {
+        orderProcessor = mock(OrderProcessor.class);
+        var tenantProcessor = mock(TenantProcessor.class);
+        when(tenantProcessor.findCachedByTenantId(tenantId))
+                .thenReturn(Optional.of(Tenant.builder().tenantId(tenantId).build()));
+        orderQueryService =
+                new OrderQueryServiceImpl(orderProcessor, tenantProcessor, mock(StoreProcessor.class), objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should export orders as CSV, quoting the fields that need it")
+    void testExportOrders_Csv() throws IOException {
+        var plain = row("A-1", "plain@example.com", new BigDecimal("1E+1"));
+        var quoted = row("A-\"2\"", "last, first\r\n<x@example.com>", null);
+        givenRows(plain, quoted);
+
+        var response = export("csv");
+        var lines = body(response).split("\r\n", -1);
+
+        assertEquals(
+                new MediaType("text", "csv", StandardCharsets.UTF_8),
+                response.getHeaders().getContentType());
+        assertEquals(
+                "attachment; filename=\"orders-" + tenantId + ".csv\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertTrue(lines[0].startsWith("id,orgId,websiteId,externalOrderId,"));
+        assertEquals(
+                plain.orderId() + "," + tenantId + "," + storeId
+                        + ",A-1,N-1,CREATED,PAID,UNFULFILLED,plain@example.com,10,USD,"
+                        + ORDER_TIME + "," + ORDER_TIME + "," + ORDER_TIME,
+                lines[1]);
+        assertEquals(
+                quoted.orderId() + "," + tenantId + "," + storeId
+                        + ",\"A-\"\"2\"\"\",N-1,CREATED,PAID,UNFULFILLED,\"last, first",
+                lines[2]);
+        assertEquals("<x@example.com>\",,USD," + ORDER_TIME + "," + ORDER_TIME + "," + ORDER_TIME, lines[3]);
+        assertEquals("", lines[4]);
+        assertEquals(5, lines.length);
+    }
+
+    @Test
+    @DisplayName("Should export orders as one JSON object per line")
+    void testExportOrders_Ndjson() throws IOException {
+        givenRows(row("A-1", "a@example.com", BigDecimal.TEN), row("A-2", "b@example.com", BigDecimal.ONE));
+
+        var response = export("ndjson");
+        var lines = body(response).split("\n", -1);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        assertEquals(
+                "A-1", objectMapper.readTree(lines[0]).path("externalOrderId").asText());
+        assertEquals(
+                "b@example.com",
+                objectMapper.readTree(lines[1]).path("customerEmail").asText());
+        verify(orderProcessor).forEachSearchRow(any(), any(Sort.class), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an unsupported export format before streaming")
+    void testExportOrders_UnsupportedFormat() {
+        var error = assertThrows(OrderException.class, () -> export("xlsx"));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), error.getStatus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenRows(OrderSearchRow... rows) {
+        when(orderProcessor.forEachSearchRow(any(), any(Sort.class), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    var rowConsumer = (Consumer<OrderSearchRow>) invocation.getArgument(3);
+                    List.of(rows).forEach(rowConsumer);
+                    return (long) rows.length;
+                });
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String format) {
+        return orderQueryService.exportOrders(
+                tenantId.toString(), null, null, null, null, null, null, "updatedAt,desc", format);
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        assertNotNull(response.getBody());
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private OrderSearchRow row(String externalOrderId, String customerEmail, BigDecimal orderTotal) {
+        return new OrderSearchRow(
+                UUID.randomUUID(),
+                tenantId,
+                storeId,
+                externalOrderId,
+                "N-1",
+                Order.OrderStatus.CREATED,
+                Order.FinancialStatus.PAID,
+                Order.FulfillmentStatus.UNFULFILLED,
+                customerEmail,
+                orderTotal,
+                "USD",
+                ORDER_TIME,
+                ORDER_TIME,
+                ORDER_TIME);
+    }
+}
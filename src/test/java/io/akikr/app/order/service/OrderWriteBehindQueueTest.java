@@ -0,0 +1,209 @@
+package io.akikr.app.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.akikr.app.order.model.FinancialStatus;
+import io.akikr.app.order.model.FulfillmentStatus;
+import io.akikr.app.order.model.OrderBatchItemStatus;
+import io.akikr.app.order.model.OrderIngestTicketStatus;
+import io.akikr.app.order.model.OrderStatus;
+import io.akikr.app.order.model.request.OrderUpsertRequest;
+import io.akikr.app.order.model.response.OrderBatchItemResponse;
+import io.akikr.app.shared.AppIngestProperties;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.util.unit.DataSize;
+
+class OrderWriteBehindQueueTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path journalDir;
+
+    private OrderCommandService orderCommandService;
+    private ObjectProvider<OrderCommandService> orderCommandServiceProvider;
+    private OrderWriteBehindQueue queue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        orderCommandService = mock(OrderCommandService.class);
+        orderCommandServiceProvider = mock(ObjectProvider.class);
+        when(orderCommandServiceProvider.getObject()).thenReturn(orderCommandService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not gain capacity from orders replayed above the queue capacity")
+    void testStart_ReplayAboveCapacity() throws Exception {
+        var journal = new OrderIngestJournal(journalDir, 100, false, objectMapper);
+        journal.open((segment, entry) -> {});
+        for (var ticketId : List.of("t1", "t2", "t3")) {
+            journal.append(new OrderIngestJournal.Entry(ticketId, request(ticketId)));
+        }
+        journal.close();
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        when(orderCommandService.upsertQueuedOrders(anyList())).thenAnswer(invocation -> {
+            // Orders accepted after the replay stay in flight until the end of the test
+            if (calls.incrementAndGet() > 1) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return created(invocation.getArgument(0));
+        });
+
+        queue = queue(2);
+        queue.start();
+        awaitTicket("t3", OrderIngestTicketStatus.CREATED);
+
+        assertTrue(queue.enqueue(request("ext-1")).isPresent());
+        assertTrue(queue.enqueue(request("ext-2")).isPresent());
+        assertTrue(queue.enqueue(request("ext-3")).isEmpty());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should keep a batch whose write failed and retry it")
+    void testWrite_RetriesFailedBatch() throws Exception {
+        when(orderCommandService.upsertQueuedOrders(anyList()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found"))
+                .thenThrow(new CannotAcquireLockException("Deadlock found"))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        queue = queue(10);
+        queue.start();
+        var ticket = queue.enqueue(request("ext-1")).orElseThrow();
+        awaitTicket(ticket.ticketId(), OrderIngestTicketStatus.CREATED);
+        queue.stop();
+
+        verify(orderCommandService, times(3)).upsertQueuedOrders(anyList());
+        assertEquals(List.of(), replayedTicketIds());
+    }
+
+    @Test
+    @DisplayName("Should replay a batch still failing on shutdown on the next startup")
+    void testStop_KeepsFailingBatchInJournal() throws Exception {
+        var calls = new AtomicInteger();
+        when(orderCommandService.upsertQueuedOrders(anyList())).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("Deadlock found");
+        });
+
+        queue = queue(10);
+        queue.start();
+        var ticket = queue.enqueue(request("ext-1")).orElseThrow();
+        while (calls.get() < 2) {
+            Thread.sleep(10);
+        }
+        queue.stop();
+
+        assertEquals(
+                OrderIngestTicketStatus.QUEUED,
+                queue.findTicket(ticket.ticketId()).orElseThrow().status());
+        assertEquals(List.of(ticket.ticketId()), replayedTicketIds());
+    }
+
+    private List<String> replayedTicketIds() throws IOException {
+        List<String> replayed = new ArrayList<>();
+        var journal = new OrderIngestJournal(journalDir, 100, false, objectMapper);
+        journal.open((segment, entry) -> replayed.add(entry.ticketId()));
+        journal.close();
+        return replayed;
+    }
+
+    private OrderWriteBehindQueue queue(int queueCapacity) {
+        var appIngestProperties = new AppIngestProperties(
+                5000,
+                500,
+                new AppIngestProperties.OrderAsync(
+                        queueCapacity,
+                        1,
+                        10,
+                        journalDir,
+                        100,
+                        false,
+                        Duration.ofHours(1),
+                        Duration.ofMillis(10),
+                        Duration.ofMillis(100)),
+                5000,
+                500,
+                null,
+                null,
+                1000,
+                100,
+                DataSize.ofMegabytes(1));
+        return new OrderWriteBehindQueue(appIngestProperties, orderCommandServiceProvider, objectMapper);
+    }
+
+    private void awaitTicket(String ticketId, OrderIngestTicketStatus status) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            var ticket = queue.findTicket(ticketId);
+            if (ticket.isPresent() && status.equals(ticket.get().status())) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(status, queue.findTicket(ticketId).orElseThrow().status());
+    }
+
+    private static List<OrderBatchItemResponse> created(List<OrderUpsertRequest> requests) {
+        return IntStream.range(0, requests.size())
+                .mapToObj(index -> new OrderBatchItemResponse(
+                        index,
+                        requests.get(index).externalOrderId(),
+                        OrderBatchItemStatus.CREATED,
+                        UUID.randomUUID().toString(),
+                        null))
+                .toList();
+    }
+
+    private static OrderUpsertRequest request(String externalOrderId) {
+        var now = LocalDateTime.now();
+        return new OrderUpsertRequest(
+                "org",
+                "website",
+                externalOrderId,
+                "number",
+                OrderStatus.CREATED,
+                FinancialStatus.PAID,
+                FulfillmentStatus.UNFULFILLED,
+                null,
+                BigDecimal.TEN,
+                "USD",
+                now,
+                now);
+    }
+}
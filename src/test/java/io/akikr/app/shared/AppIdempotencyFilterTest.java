@@ -0,0 +1,215 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AppIdempotencyFilterTest {
+
+    private static final String ORG_1 = "4f7c2a10-8b1e-4c1a-9d6e-2b3f4a5c6d7e";
+    private static final String ORG_2 = "0b9e8d7c-6a5f-4e3d-8c2b-1a0f9e8d7c6b";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private int responseStatus = HttpServletResponse.SC_CREATED;
+    private String responseBodyPadding = "";
+    private AppIdempotencyProperties properties;
+    private AppIdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AppIdempotencyProperties(
+                true, Duration.ofHours(1), 100, 1024, 1024, Duration.ofSeconds(1), Duration.ofMinutes(10));
+        var jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), Mockito.<RowMapper<Object>>any(), any(), any()))
+                .thenReturn(List.of());
+        filter = new AppIdempotencyFilter(
+                properties, new IdempotencyStore(jdbcTemplate, properties), new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response for a retried request without running it again")
+    void testDoFilter_ReplaysStoredResponse() throws Exception {
+        var first = perform("key-1", "{\"orgId\":\"" + ORG_1 + "\"}");
+        var retry = perform("key-1", "{\"orgId\":\"" + ORG_1 + "\"}");
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(AppIdempotencyFilter.IDEMPOTENCY_REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should run a retry again when the first request was rejected with a transient status")
+    void testDoFilter_DoesNotStoreTransientStatus() throws Exception {
+        responseStatus = HttpStatus.TOO_MANY_REQUESTS.value();
+        perform("key-1", "{\"orgId\":\"" + ORG_1 + "\"}");
+        responseStatus = HttpServletResponse.SC_CREATED;
+        var retry = perform("key-1", "{\"orgId\":\"" + ORG_1 + "\"}");
+
+        assertEquals(2, executions.get());
+        assertEquals(HttpServletResponse.SC_CREATED, retry.getStatus());
+        assertNull(retry.getHeader(AppIdempotencyFilter.IDEMPOTENCY_REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should answer 413 for a keyed request over the maximum request size")
+    void testDoFilter_RejectsOversizedRequest() throws Exception {
+        var response = perform("key-1", "{\"orgId\":\"" + ORG_1 + "\",\"note\":\"" + "x".repeat(1024) + "\"}");
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should write a response over the maximum response size through without storing it")
+    void testDoFilter_DoesNotStoreOversizedResponse() throws Exception {
+        responseBodyPadding = "x".repeat(1024);
+        var first = perform("key-1", "{\"orgId\":\"" + ORG_1 + "\"}");
+        var retry = perform("key-1", "{\"orgId\":\"" + ORG_1 + "\"}");
+
+        assertEquals(2, executions.get());
+        assertTrue(first.getContentAsString().endsWith(responseBodyPadding + "\"}"));
+        assertNull(retry.getHeader(AppIdempotencyFilter.IDEMPOTENCY_REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request and scope keys by tenant")
+    void testDoFilter_KeyReuseAndScope() throws Exception {
+        perform("key-1", "{\"orgId\":\"" + ORG_1 + "\",\"name\":\"a\"}");
+        var reused = perform("key-1", "{\"orgId\":\"" + ORG_1 + "\",\"name\":\"b\"}");
+        var otherTenant = perform("key-1", "{\"orgId\":\"" + ORG_2 + "\",\"name\":\"b\"}");
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), reused.getStatus());
+        assertEquals(HttpServletResponse.SC_CREATED, otherTenant.getStatus());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should scope a request addressed by resource ID with the orgId query parameter")
+    void testDoFilter_QueryParameterScope() throws Exception {
+        var first = perform("/app/orders/o-1/fulfillments", ORG_1, "key-1", "{}");
+        var otherTenant = perform("/app/orders/o-1/fulfillments", ORG_2, "key-1", "{}");
+        var retry = perform("/app/orders/o-1/fulfillments", ORG_1, "key-1", "{}");
+
+        assertEquals(HttpServletResponse.SC_CREATED, first.getStatus());
+        assertEquals(HttpServletResponse.SC_CREATED, otherTenant.getStatus());
+        assertEquals("true", retry.getHeader(AppIdempotencyFilter.IDEMPOTENCY_REPLAYED_HEADER));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a request whose tenant is unknown, mixed or not a UUID")
+    void testDoFilter_RejectsUnscopedRequest() throws Exception {
+        var unknown = perform("/app/orders/o-1/fulfillments", null, "key-1", "{}");
+        var mixed = perform(
+                "/app/orders/batch", null, "key-2", "[{\"orgId\":\"" + ORG_1 + "\"},{\"orgId\":\"" + ORG_2 + "\"}]");
+        var notUuid = perform("key-3", "{\"orgId\":\"org-1\"}");
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), unknown.getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), mixed.getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), notUuid.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should scope a batch whose items all belong to one tenant, and leave tenant creation unscoped")
+    void testDoFilter_BatchAndTenantCreation() throws Exception {
+        var batch = perform(
+                "/app/orders/batch", null, "key-1", "[{\"orgId\":\"" + ORG_1 + "\"},{\"orgId\":\"" + ORG_1 + "\"}]");
+        var tenant = perform("/app/organizations", null, "key-1", "{\"name\":\"a\"}");
+
+        assertEquals(HttpServletResponse.SC_CREATED, batch.getStatus());
+        assertEquals(HttpServletResponse.SC_CREATED, tenant.getStatus());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should replay a response stored between the lookup and taking the key")
+    void testDoFilter_RechecksStoreAfterTakingKey() throws Exception {
+        var idempotencyStore = mock(IdempotencyStore.class);
+        filter = new AppIdempotencyFilter(properties, idempotencyStore, new ObjectMapper());
+        var body = "{\"orgId\":\"" + ORG_1 + "\"}";
+        var first = perform("key-1", body);
+        var stored = new IdempotentResponse(
+                hashOf("POST", "/app/orders", body), HttpServletResponse.SC_CREATED, "application/json", new byte[0]);
+        when(idempotencyStore.find(ORG_1, "key-1")).thenReturn(Optional.empty(), Optional.of(stored));
+
+        var retry = perform("key-1", body);
+
+        assertEquals(HttpServletResponse.SC_CREATED, first.getStatus());
+        assertEquals("true", retry.getHeader(AppIdempotencyFilter.IDEMPOTENCY_REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 400 for a keyed request with an invalid Content-Type")
+    void testDoFilter_InvalidContentType() throws Exception {
+        var request = new MockHttpServletRequest("POST", "/app/orders");
+        request.addHeader(AppIdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContentType("not a media type");
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> executions.incrementAndGet());
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+        assertEquals(0, executions.get());
+    }
+
+    private static byte[] hashOf(String method, String requestUri, String body) throws Exception {
+        var digest = MessageDigest.getInstance("SHA-256");
+        digest.update((method + " " + requestUri + "\n").getBytes(StandardCharsets.UTF_8));
+        return digest.digest(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse perform(String idempotencyKey, String body) throws Exception {
+        return perform("/app/orders", null, idempotencyKey, body);
+    }
+
+    private MockHttpServletResponse perform(
+            String requestUri, @Nullable String orgId, String idempotencyKey, String body) throws Exception {
+        var request = new MockHttpServletRequest("POST", requestUri);
+        if (Objects.nonNull(orgId)) {
+            request.setQueryString("orgId=" + orgId);
+            request.addParameter("orgId", orgId);
+        }
+        request.addHeader(AppIdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            var httpResponse = (HttpServletResponse) servletResponse;
+            httpResponse.setStatus(responseStatus);
+            httpResponse.setContentType("application/json");
+            httpResponse
+                    .getOutputStream()
+                    .write(("{\"execution\":" + executions.incrementAndGet() + ",\"padding\":\"" + responseBodyPadding
+                                    + "\"}")
+                            .getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+}
@@ -0,0 +1,63 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AppLoggingFilterTest {
+
+    @Test
+    @DisplayName("Should pass requests through unwrapped when logging is disabled or the path is excluded")
+    void testDoFilter_PassThrough() throws Exception {
+        var disabled = new AppLoggingFilter(
+                new AppLoggingProperties(false, true, true, 16, List.of("/**"), List.of(), 1.0, null));
+        var excluded = new AppLoggingFilter(new AppLoggingProperties(
+                true, true, true, 16, List.of("/**"), List.of("/actuator/**", "/orders/export"), 1.0, null));
+
+        assertPassedThrough(disabled, new MockHttpServletRequest("GET", "/app/orders"));
+        var actuatorRequest = new MockHttpServletRequest("GET", "/app/actuator/health");
+        actuatorRequest.setContextPath("/app");
+        assertPassedThrough(excluded, actuatorRequest);
+        var exportRequest = new MockHttpServletRequest("GET", "/app/orders/export");
+        exportRequest.setContextPath("/app");
+        assertPassedThrough(excluded, exportRequest);
+    }
+
+    @Test
+    @DisplayName("Should write the whole response body through while capturing at most the capture limit")
+    void testContentTeeResponseWrapper_BoundedCapture() throws Exception {
+        var response = new MockHttpServletResponse();
+        var wrapper = new ContentTeeResponseWrapper(response, 4);
+        var body = "{\"id\":\"0123456789\"}".getBytes(StandardCharsets.UTF_8);
+
+        wrapper.getOutputStream().write(body, 0, 10);
+        wrapper.getOutputStream().write(body, 10, body.length - 10);
+
+        assertArrayEquals(body, response.getContentAsByteArray());
+        assertEquals("{\"id", new String(wrapper.getCapturedContent(), StandardCharsets.UTF_8));
+        assertTrue(wrapper.isTruncated());
+    }
+
+    private static void assertPassedThrough(AppLoggingFilter filter, MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        var filteredRequest = new AtomicReference<ServletRequest>();
+        var filteredResponse = new AtomicReference<ServletResponse>();
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+            filteredRequest.set(servletRequest);
+            filteredResponse.set(servletResponse);
+        });
+        assertSame(request, filteredRequest.get());
+        assertSame(response, filteredResponse.get());
+    }
+}
@@ -0,0 +1,62 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BroadcastingCaffeineCacheTest {
+
+    private final List<CacheInvalidation> published = new ArrayList<>();
+    private BroadcastingCaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        var channel = new CacheInvalidationChannel() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                published.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> subscriber) {}
+        };
+        cache = new BroadcastingCaffeineCache("tenants", Caffeine.newBuilder().build(), false, channel);
+        cache.put("a", "A");
+        cache.put("b", "B");
+    }
+
+    @Test
+    @DisplayName("Should publish local evictions and clears")
+    void testEvictAndClear_Publish() {
+        cache.evict("a");
+        cache.clear();
+
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(List.of(new CacheInvalidation("tenants", "a"), new CacheInvalidation("tenants", null)), published);
+    }
+
+    @Test
+    @DisplayName("Should apply remote invalidations of its own cache without publishing them")
+    void testApply_RemoteInvalidation() {
+        cache.apply(new CacheInvalidation("stores", "a"));
+        assertNotNull(cache.get("a"));
+
+        cache.apply(new CacheInvalidation("tenants", "a"));
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+
+        cache.apply(new CacheInvalidation("tenants", null));
+        assertNull(cache.get("b"));
+        assertTrue(published.isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    @Test
+    @DisplayName("Should spread keys evenly over the nodes")
+    void testNodeOf_Distribution() {
+        var ring = new ConsistentHashRing<>(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(ring.nodeOf(UUID.randomUUID().toString()), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, "Unbalanced: " + counts));
+    }
+
+    @Test
+    @DisplayName("Should only move keys to the added node")
+    void testNodeOf_AddNode() {
+        var ring = new ConsistentHashRing<>(List.of("shard-0", "shard-1", "shard-2"), 128);
+        var grownRing = new ConsistentHashRing<>(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        var moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            var key = UUID.randomUUID().toString();
+            var node = ring.nodeOf(key);
+            var grownNode = grownRing.nodeOf(key);
+            if (!node.equals(grownNode)) {
+                assertEquals("shard-3", grownNode);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > 1_500 && moved < 3_500, "Moved: " + moved);
+    }
+}
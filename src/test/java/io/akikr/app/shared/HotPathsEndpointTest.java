@@ -0,0 +1,107 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+class HotPathsEndpointTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should rank the timed methods by mean latency across their tags")
+    void testHotPaths_RanksByMeanLatency() {
+        var interceptor = new MethodMetricsInterceptor(meterRegistryProvider(), () -> 10);
+        var proxyFactory = new ProxyFactory(new SampleServiceImpl());
+        proxyFactory.addAdvice(interceptor);
+        var service = (SampleServiceImpl) proxyFactory.getProxy();
+        service.fast();
+        service.slow();
+        assertThrows(IllegalStateException.class, service::failing);
+
+        var hotPaths = new HotPathsEndpoint(meterRegistry).hotPaths(null, null);
+
+        assertEquals(3, hotPaths.size());
+        assertEquals("SampleServiceImpl.slow", hotPaths.get(0).operation());
+        assertEquals(1, hotPaths.get(0).count());
+        assertEquals(
+                1,
+                hotPaths.stream()
+                        .filter(hotPath -> hotPath.operation().endsWith("failing"))
+                        .findFirst()
+                        .orElseThrow()
+                        .errors());
+    }
+
+    @Test
+    @DisplayName("Should record the calls with the same tags into one cached timer")
+    void testInvoke_CachesTimerPerTags() {
+        var interceptor = new MethodMetricsInterceptor(meterRegistryProvider(), () -> 10);
+        var proxyFactory = new ProxyFactory(new SampleServiceImpl());
+        proxyFactory.addAdvice(interceptor);
+        var service = (SampleServiceImpl) proxyFactory.getProxy();
+        service.fast();
+        service.fast();
+
+        var timers = meterRegistry.find(MethodMetricsInterceptor.METRIC_NAME).timers();
+
+        assertEquals(1, timers.size());
+        assertEquals(2, timers.iterator().next().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a negative limit and an unsupported orderBy as invalid requests")
+    void testHotPaths_InvalidParameters() {
+        var endpoint = new HotPathsEndpoint(meterRegistry);
+
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.hotPaths(null, -1));
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.hotPaths("median", null));
+        assertEquals(0, endpoint.hotPaths("max", 0).size());
+    }
+
+    @Test
+    @DisplayName("Should tag at most the tenant tag limit of tenants by name")
+    void testTenantTag_Limit() {
+        var interceptor = new MethodMetricsInterceptor(meterRegistryProvider(), () -> 2);
+        var first = UUID.randomUUID();
+
+        assertEquals(first.toString(), interceptor.tenantTag(first));
+        interceptor.tenantTag(UUID.randomUUID());
+        assertEquals("other", interceptor.tenantTag(UUID.randomUUID()));
+        assertEquals(first.toString(), interceptor.tenantTag(first));
+        assertEquals("none", interceptor.tenantTag(null));
+    }
+
+    private ObjectProvider<MeterRegistry> meterRegistryProvider() {
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+
+    static class SampleServiceImpl {
+
+        public void fast() {}
+
+        public void slow() {
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public void failing() {
+            throw new IllegalStateException("failed");
+        }
+    }
+}
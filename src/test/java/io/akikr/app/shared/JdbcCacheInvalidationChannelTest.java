@@ -0,0 +1,86 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class JdbcCacheInvalidationChannelTest {
+
+    // The committed rows of the other nodes, by invalidation id
+    private final TreeMap<Long, String> table = new TreeMap<>();
+    private final List<CacheInvalidation> applied = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    var rowMapper = invocation.<RowMapper<?>>getArgument(1);
+                    long fromId = invocation.getArgument(2);
+                    var rows = new ArrayList<>();
+                    for (var row : table.tailMap(fromId, false).entrySet()) {
+                        var rs = mock(ResultSet.class);
+                        when(rs.getLong("invalidation_id")).thenReturn(row.getKey());
+                        when(rs.getString("cache_name")).thenReturn("stores");
+                        when(rs.getString("cache_key")).thenReturn(row.getValue());
+                        rows.add(rowMapper.mapRow(rs, rows.size()));
+                    }
+                    return rows;
+                });
+    }
+
+    @Test
+    @DisplayName("Should apply a row committed after a higher id was polled, and each row only once")
+    void testPoll_AppliesLateCommittedRow() {
+        var channel = channel(Duration.ofMinutes(1));
+
+        channel.poll();
+        table.put(12L, "b");
+        channel.poll();
+        table.put(11L, "a");
+        channel.poll();
+        channel.poll();
+
+        assertEquals(List.of(new CacheInvalidation("stores", "b"), new CacheInvalidation("stores", "a")), applied);
+    }
+
+    @Test
+    @DisplayName("Should miss a row committed later than the overlap period")
+    void testPoll_MissesRowBeyondOverlap() {
+        var channel = channel(Duration.ZERO);
+
+        channel.poll();
+        table.put(12L, "b");
+        channel.poll();
+        table.put(11L, "a");
+        channel.poll();
+
+        assertEquals(List.of(new CacheInvalidation("stores", "b")), applied);
+    }
+
+    private JdbcCacheInvalidationChannel channel(Duration overlap) {
+        var channel = new JdbcCacheInvalidationChannel(
+                jdbcTemplate,
+                mock(PlatformTransactionManager.class),
+                new AppCacheProperties.Invalidation(true, Duration.ofSeconds(1), Duration.ofHours(1), 500, overlap));
+        channel.subscribe(applied::add);
+        return channel;
+    }
+}
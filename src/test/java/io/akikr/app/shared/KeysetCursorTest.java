@@ -0,0 +1,26 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Should decode an encoded cursor to the same position")
+    void testEncodeDecode_RoundTrip() {
+        var cursor = new KeysetCursor(LocalDateTime.of(2025, 1, 31, 10, 0), UUID.randomUUID());
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that was not produced by encode")
+    void testDecode_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,223 @@
+package io.akikr.app.shared;
+
+import static io.akikr.app.shared.AppCacheConfig.STORES_CACHE;
+import static io.akikr.app.shared.AppCacheConfig.TENANTS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.akikr.app.store.entity.Store;
+import io.akikr.app.store.processor.StoreProcessor;
+import io.akikr.app.store.repository.StoreReferenceRow;
+import io.akikr.app.store.repository.StoreRepository;
+import io.akikr.app.tenant.entity.Tenant;
+import io.akikr.app.tenant.processor.TenantProcessor;
+import io.akikr.app.tenant.repository.TenantReferenceRow;
+import io.akikr.app.tenant.repository.TenantRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+
+/** Tests the tenant and store reference caches as wired through the repositories' annotations. */
+@SpringJUnitConfig(ReferenceCacheTest.Config.class)
+class ReferenceCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private TenantRepository tenantRepositoryProxy;
+
+    @Autowired
+    private StoreRepository storeRepositoryProxy;
+
+    @Autowired
+    private TenantProcessor tenantProcessor;
+
+    @Autowired
+    private StoreProcessor storeProcessor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private TenantRepository tenantRepository;
+    private StoreRepository storeRepository;
+    private UUID tenantId;
+    private UUID storeId;
+
+    @BeforeEach
+    void setUp() {
+        // Stubbing and verifying go to the mocks behind the caching proxies
+        tenantRepository = AopTestUtils.getUltimateTargetObject(tenantRepositoryProxy);
+        storeRepository = AopTestUtils.getUltimateTargetObject(storeRepositoryProxy);
+        reset(tenantRepository, storeRepository);
+        cacheManager.getCache(TENANTS_CACHE).clear();
+        cacheManager.getCache(STORES_CACHE).clear();
+        tenantId = UUID.randomUUID();
+        storeId = UUID.randomUUID();
+        when(tenantRepository.findReferenceRowByTenantId(tenantId))
+                .thenReturn(Optional.of(
+                        new TenantReferenceRow(tenantId, "tenant", "ext-1", Tenant.Status.ACTIVE, NOW, NOW)));
+        when(storeRepository.findReferenceRowByStoreIdAndTenantId(storeId, tenantId))
+                .thenReturn(Optional.of(new StoreReferenceRow(
+                        storeId,
+                        "store-1",
+                        "store",
+                        "store.example.com",
+                        Store.Platform.SHOPIFY,
+                        "UTC",
+                        "USD",
+                        Store.Status.ACTIVE,
+                        NOW,
+                        NOW,
+                        tenantId,
+                        "tenant",
+                        "ext-1",
+                        Tenant.Status.ACTIVE,
+                        NOW,
+                        NOW)));
+    }
+
+    @Test
+    @DisplayName("Should load a tenant once and return a new instance on each lookup")
+    void testFindCachedByTenantId_CachesRow() {
+        var first = tenantProcessor.findCachedByTenantId(tenantId).orElseThrow();
+        var second = tenantProcessor.findCachedByTenantId(tenantId).orElseThrow();
+
+        verify(tenantRepository, times(1)).findReferenceRowByTenantId(tenantId);
+        assertNotSame(first, second);
+        assertEquals(tenantId, second.getTenantId());
+        assertEquals("tenant", second.getTenantName());
+
+        // Changing a returned instance does not leak into the cache
+        first.setTenantName("changed");
+        assertEquals(
+                "tenant",
+                tenantProcessor.findCachedByTenantId(tenantId).orElseThrow().getTenantName());
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing tenant")
+    void testFindCachedByTenantId_MissNotCached() {
+        var unknownTenantId = UUID.randomUUID();
+        when(tenantRepository.findReferenceRowByTenantId(unknownTenantId)).thenReturn(Optional.empty());
+
+        assertTrue(tenantProcessor.findCachedByTenantId(unknownTenantId).isEmpty());
+        assertTrue(tenantProcessor.findCachedByTenantId(unknownTenantId).isEmpty());
+
+        verify(tenantRepository, times(2)).findReferenceRowByTenantId(unknownTenantId);
+    }
+
+    @Test
+    @DisplayName("Should evict the tenant and all stores when a tenant is saved")
+    void testSaveTenant_Evicts() {
+        when(tenantRepository.save(any(Tenant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        tenantProcessor.findCachedByTenantId(tenantId);
+        storeProcessor.findCachedByStoreIdAndTenantId(storeId, tenantId);
+
+        tenantProcessor.saveTenant(Tenant.builder().tenantId(tenantId).build());
+        tenantProcessor.findCachedByTenantId(tenantId);
+        storeProcessor.findCachedByStoreIdAndTenantId(storeId, tenantId);
+
+        verify(tenantRepository, times(2)).findReferenceRowByTenantId(tenantId);
+        verify(storeRepository, times(2)).findReferenceRowByStoreIdAndTenantId(storeId, tenantId);
+    }
+
+    @Test
+    @DisplayName("Should load a store once and return a new store and tenant on each lookup")
+    void testFindCachedByStoreIdAndTenantId_CachesRow() {
+        var first =
+                storeProcessor.findCachedByStoreIdAndTenantId(storeId, tenantId).orElseThrow();
+        var second =
+                storeProcessor.findCachedByStoreIdAndTenantId(storeId, tenantId).orElseThrow();
+
+        verify(storeRepository, times(1)).findReferenceRowByStoreIdAndTenantId(storeId, tenantId);
+        assertNotSame(first, second);
+        assertNotSame(first.getTenant(), second.getTenant());
+        assertEquals(storeId, second.getStoreId());
+        assertEquals(tenantId, second.getTenant().getTenantId());
+    }
+
+    @Test
+    @DisplayName("Should not cache a store of another tenant")
+    void testFindCachedByStoreIdAndTenantId_MissNotCached() {
+        var otherTenantId = UUID.randomUUID();
+        when(storeRepository.findReferenceRowByStoreIdAndTenantId(storeId, otherTenantId))
+                .thenReturn(Optional.empty());
+
+        assertTrue(storeProcessor
+                .findCachedByStoreIdAndTenantId(storeId, otherTenantId)
+                .isEmpty());
+        assertTrue(storeProcessor
+                .findCachedByStoreIdAndTenantId(storeId, otherTenantId)
+                .isEmpty());
+
+        verify(storeRepository, times(2)).findReferenceRowByStoreIdAndTenantId(storeId, otherTenantId);
+    }
+
+    @Test
+    @DisplayName("Should evict only the saved store")
+    void testSaveStore_Evicts() {
+        when(storeRepository.save(any(Store.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        var store =
+                storeProcessor.findCachedByStoreIdAndTenantId(storeId, tenantId).orElseThrow();
+
+        storeProcessor.saveStore(store);
+        storeProcessor.findCachedByStoreIdAndTenantId(storeId, tenantId);
+
+        verify(storeRepository, times(2)).findReferenceRowByStoreIdAndTenantId(storeId, tenantId);
+    }
+
+    @EnableCaching
+    @Configuration(proxyBeanMethods = false)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            var cacheManager = new CaffeineCacheManager();
+            cacheManager.setCacheNames(List.of());
+            cacheManager.registerCustomCache(
+                    TENANTS_CACHE, Caffeine.newBuilder().build());
+            cacheManager.registerCustomCache(STORES_CACHE, Caffeine.newBuilder().build());
+            return cacheManager;
+        }
+
+        @Bean
+        TenantRepository tenantRepository() {
+            return mock(TenantRepository.class);
+        }
+
+        @Bean
+        StoreRepository storeRepository() {
+            return mock(StoreRepository.class);
+        }
+
+        @Bean
+        TenantProcessor tenantProcessor(TenantRepository tenantRepository) {
+            return new TenantProcessor(tenantRepository);
+        }
+
+        @Bean
+        StoreProcessor storeProcessor(StoreRepository storeRepository) {
+            return new StoreProcessor(storeRepository);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(Duration.ofMinutes(1));
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica and others to the primary")
+    void testDetermineCurrentLookupKey_ReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReplicaRoutingDataSource.REPLICA, routingDataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should keep the reads of a tenant on the primary after it committed a write")
+    void testDetermineCurrentLookupKey_ReadYourWrites() {
+        var writer = UUID.randomUUID();
+        TenantShardContext.run(writer, () -> {
+            routingDataSource.determineCurrentLookupKey();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        });
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(
+                ReplicaRoutingDataSource.PRIMARY,
+                TenantShardContext.call(writer, routingDataSource::determineCurrentLookupKey));
+        assertEquals(
+                ReplicaRoutingDataSource.REPLICA,
+                TenantShardContext.call(UUID.randomUUID(), routingDataSource::determineCurrentLookupKey));
+    }
+}
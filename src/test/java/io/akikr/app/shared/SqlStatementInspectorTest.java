@@ -0,0 +1,84 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class SqlStatementInspectorTest {
+
+    private static final String SELECT_STORE = "select s1_0.store_id from stores s1_0 where s1_0.store_id=?";
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.stop();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should count the statements of the current request only")
+    void testInspect_CountsRequestStatements() {
+        var inspector = new SqlStatementInspector(new AppSqlProperties(3, true, 2, false, List.of("/orders/batch")));
+        inspector.inspect(SELECT_STORE);
+
+        var statistics = RequestStatistics.start();
+        inspector.inspect(SELECT_STORE);
+        inspector.inspect(SELECT_STORE);
+
+        assertEquals(2, statistics.statementCount());
+    }
+
+    @Test
+    @DisplayName("Should fail statements over the budget when configured to")
+    void testInspect_FailsOverBudget() {
+        var inspector = new SqlStatementInspector(new AppSqlProperties(2, true, 10, false, List.of("/orders/batch")));
+        RequestStatistics.start();
+        inspector.inspect(SELECT_STORE);
+        inspector.inspect(SELECT_STORE);
+
+        assertThrows(IllegalStateException.class, () -> inspector.inspect(SELECT_STORE));
+    }
+
+    @Test
+    @DisplayName("Should only log statements over the budget by default")
+    void testInspect_LogsOverBudget() {
+        var inspector = new SqlStatementInspector(new AppSqlProperties(1, false, 10, false, List.of("/orders/batch")));
+        var statistics = RequestStatistics.start();
+        inspector.inspect(SELECT_STORE);
+
+        assertEquals(SELECT_STORE, inspector.inspect(SELECT_STORE));
+        assertEquals(2, statistics.statementCount());
+    }
+
+    @Test
+    @DisplayName("Should not check the budget of exempt paths and NDJSON requests")
+    void testInspect_SkipsBudgetExemptRequests() {
+        var inspector = new SqlStatementInspector(new AppSqlProperties(1, true, 10, false, List.of("/orders/batch")));
+        var batchRequest = new MockHttpServletRequest("POST", "/app/orders/batch");
+        batchRequest.setContextPath("/app");
+        var streamRequest = new MockHttpServletRequest("POST", "/app/orders");
+        streamRequest.setContextPath("/app");
+        streamRequest.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        var orderRequest = new MockHttpServletRequest("POST", "/app/orders");
+        orderRequest.setContextPath("/app");
+
+        for (var request : List.of(batchRequest, streamRequest)) {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            var statistics = RequestStatistics.start();
+            inspector.inspect(SELECT_STORE);
+            inspector.inspect(SELECT_STORE);
+            assertEquals(2, statistics.statementCount());
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(orderRequest));
+        RequestStatistics.start();
+        inspector.inspect(SELECT_STORE);
+        assertThrows(IllegalStateException.class, () -> inspector.inspect(SELECT_STORE));
+    }
+}
@@ -0,0 +1,66 @@
+package io.akikr.app.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TenantShardContextTest {
+
+    @Test
+    @DisplayName("Should set the tenant for the action and restore the previous one")
+    void testCall_RestoresPreviousTenant() {
+        var outer = UUID.randomUUID();
+        var inner = UUID.randomUUID();
+
+        var seen = TenantShardContext.call(outer, () -> {
+            var innerSeen = TenantShardContext.call(inner, TenantShardContext::currentTenant);
+            assertEquals(outer, TenantShardContext.currentTenant());
+            return innerSeen;
+        });
+
+        assertEquals(inner, seen);
+        assertNull(TenantShardContext.currentTenant());
+    }
+
+    @Test
+    @DisplayName("Should keep the current tenant for a null or invalid tenant ID")
+    void testRun_KeepsCurrentTenant() {
+        var outer = UUID.randomUUID();
+
+        TenantShardContext.run(outer, () -> {
+            TenantShardContext.run((UUID) null, () -> assertEquals(outer, TenantShardContext.currentTenant()));
+            TenantShardContext.run("not-a-uuid", () -> assertEquals(outer, TenantShardContext.currentTenant()));
+        });
+    }
+
+    @Test
+    @DisplayName("Should rethrow the checked exception of the action and restore the previous tenant")
+    void testRun_RethrowsCheckedException() {
+        var error = assertThrows(
+                IOException.class,
+                () -> TenantShardContext.run(UUID.randomUUID(), () -> {
+                    throw new IOException("Broken pipe");
+                }));
+
+        assertEquals("Broken pipe", error.getMessage());
+        assertNull(TenantShardContext.currentTenant());
+    }
+
+    @Test
+    @DisplayName("Should clear the tenant for the default shard action and restore it afterwards")
+    void testCallOnDefaultShard_ClearsAndRestoresTenant() {
+        var tenantId = UUID.randomUUID();
+
+        TenantShardContext.run(tenantId, () -> {
+            var seen = TenantShardContext.callOnDefaultShard(TenantShardContext::currentTenant);
+            assertNull(seen);
+            assertEquals(tenantId, TenantShardContext.currentTenant());
+        });
+        assertNull(TenantShardContext.currentTenant());
+    }
+}
@@ -9,6 +9,7 @@ import io.akikr.app.MySqlTestContainer;
 import io.akikr.app.tenant.entity.Tenant;
 import io.akikr.app.tenant.model.TenantStatus;
 import io.akikr.app.tenant.repository.TenantRepository;
+import io.akikr.app.tenant.repository.TenantSearchRow;
 import io.akikr.app.tenant.repository.TenantSpecifications;
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -71,30 +72,30 @@ class TenantProcessorTest extends MySqlTestContainer {
     }
 
     @Test
-    @DisplayName("Test findBySpecification - Success")
-    void testFindBySpecification_Success() {
+    @DisplayName("Test findSearchRows - Success")
+    void testFindSearchRows_Success() {
         // Arrange
         Specification<Tenant> spec =
                 TenantSpecifications.withOptionalFilters(null, null, TenantStatus.ACTIVE, "test-tenant-1");
         PageRequest pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<Tenant> result = tenantProcessor.findBySpecification(spec, pageable);
+        Page<TenantSearchRow> result = tenantProcessor.findSearchRows(spec, pageable);
 
         // Assert
         assertEquals(1, result.getTotalElements());
-        assertEquals(tenant1, result.getContent().get(0));
+        assertEquals(tenant1.getTenantId(), result.getContent().get(0).tenantId());
     }
 
     @Test
-    @DisplayName("Test findBySpecification - Not Found")
-    void testFindBySpecification_NotFound() {
+    @DisplayName("Test findSearchRows - Not Found")
+    void testFindSearchRows_NotFound() {
         // Arrange
         Specification<Tenant> spec = TenantSpecifications.withOptionalFilters(null, null, null, "non-existent");
         PageRequest pageable = PageRequest.of(0, 10);
 
         // Act
-        Page<Tenant> result = tenantProcessor.findBySpecification(spec, pageable);
+        Page<TenantSearchRow> result = tenantProcessor.findSearchRows(spec, pageable);
 
         // Assert
         assertTrue(result.isEmpty());
@@ -127,8 +127,8 @@ public class TenantServiceIntegrationTest extends MySqlTestContainer {
     @DisplayName("Integration Test: searchTenants - Success")
     void testSearchTenants_Success() {
         // Arrange & Act
-        var responseEntity =
-                tenantService.searchTenants(null, null, 0, 10, "createdAt,asc", TenantStatus.ACTIVE, "active-tenant");
+        var responseEntity = tenantService.searchTenants(
+                null, null, 0, 10, true, "createdAt,asc", TenantStatus.ACTIVE, "active-tenant");
 
         // Assert
         assertNotNull(responseEntity);
@@ -150,7 +150,7 @@ public class TenantServiceIntegrationTest extends MySqlTestContainer {
         assertThrowsExactly(
                 TenantException.class,
                 () -> tenantService.searchTenants(
-                        invalidFromDate, invalidFromDate, 0, 10, "createdAt,asc", null, null));
+                        invalidFromDate, invalidFromDate, 0, 10, true, "createdAt,asc", null, null));
     }
 
     @Test
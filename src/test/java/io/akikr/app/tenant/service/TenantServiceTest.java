@@ -16,6 +16,7 @@ import io.akikr.app.tenant.model.request.TenantCreateRequest;
 import io.akikr.app.tenant.model.request.TenantPatchRequest;
 import io.akikr.app.tenant.model.request.TenantUpdateRequest;
 import io.akikr.app.tenant.processor.TenantProcessor;
+import io.akikr.app.tenant.repository.TenantSearchRow;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
@@ -99,12 +100,19 @@ class TenantServiceTest {
     @DisplayName("Test searchTenants - Success")
     void testSearchTenants_Success() {
         // Arrange
-        Page<Tenant> tenantPage = new PageImpl<>(Collections.singletonList(tenant));
-        when(tenantProcessor.findBySpecification(any(Specification.class), any(PageRequest.class)))
+        Page<TenantSearchRow> tenantPage = new PageImpl<>(Collections.singletonList(new TenantSearchRow(
+                tenantId,
+                externalId,
+                tenant.getTenantName(),
+                tenant.getStatus(),
+                tenant.getCreatedAt(),
+                tenant.getUpdatedAt())));
+        when(tenantProcessor.findSearchRows(any(Specification.class), any(PageRequest.class)))
                 .thenReturn(tenantPage);
 
         // Act
-        ResponseEntity<?> responseEntity = tenantService.searchTenants(null, null, 0, 10, "updatedAt,desc", null, null);
+        ResponseEntity<?> responseEntity =
+                tenantService.searchTenants(null, null, 0, 10, true, "updatedAt,desc", null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
@@ -115,13 +123,13 @@ class TenantServiceTest {
     @DisplayName("Test searchTenants - Failure")
     void testSearchTenants_Failure() {
         // Arrange
-        when(tenantProcessor.findBySpecification(any(Specification.class), any(PageRequest.class)))
+        when(tenantProcessor.findSearchRows(any(Specification.class), any(PageRequest.class)))
                 .thenThrow(new IllegalArgumentException("DB errorDetails"));
 
         // Act & Assert
         assertThrowsExactly(
                 TenantException.class,
-                () -> tenantService.searchTenants(null, null, 0, 10, "updatedAt,desc", null, null));
+                () -> tenantService.searchTenants(null, null, 0, 10, true, "updatedAt,desc", null, null));
     }
 
     // Get Tenant By ID Tests
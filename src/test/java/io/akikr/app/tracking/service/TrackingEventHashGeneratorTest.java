@@ -0,0 +1,66 @@
+package io.akikr.app.tracking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.entity.TrackingEvent;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TrackingEventHashGeneratorTest {
+
+    private final TrackingEventHashGenerator trackingEventHashGenerator = new TrackingEventHashGenerator();
+
+    @Test
+    @DisplayName("Should hash a payload as the SHA-256 hex of its UTF-8 bytes")
+    void testHash_Payload() throws Exception {
+        var payload = "{\"status\":\"IN_TRANSIT\",\"city\":\"Zürich €\",\"note\":\"📦\"}";
+        var expected = HexFormat.of()
+                .formatHex(MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(expected, trackingEventHashGenerator.hash(payload));
+        assertEquals(
+                "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                trackingEventHashGenerator.hash("abc"));
+    }
+
+    @Test
+    @DisplayName("Should hash events by their canonical fields only, without ambiguity between fields")
+    void testHash_Event() {
+        var trackingId = UUID.randomUUID();
+        var eventTime = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+        var event = event(trackingId, eventTime, "Austin", null);
+        var reworded = event(trackingId, eventTime, "Austin", null);
+        reworded.setEventDescription("Reworded description");
+        var shiftedField = event(trackingId, eventTime, null, "Austin");
+
+        assertEquals(64, trackingEventHashGenerator.hash(event).length());
+        assertEquals(trackingEventHashGenerator.hash(event), trackingEventHashGenerator.hash(reworded));
+        assertNotEquals(trackingEventHashGenerator.hash(event), trackingEventHashGenerator.hash(shiftedField));
+        assertNotEquals(
+                trackingEventHashGenerator.hash(event),
+                trackingEventHashGenerator.hash(event(trackingId, eventTime.plusSeconds(1), "Austin", null)));
+    }
+
+    private static TrackingEvent event(UUID trackingId, LocalDateTime eventTime, String city, String state) {
+        var tracking = new Tracking();
+        tracking.setTrackingId(trackingId);
+        return TrackingEvent.builder()
+                .tracking(tracking)
+                .eventTime(eventTime)
+                .eventCode("IN_TRANSIT")
+                .eventDescription("In transit")
+                .eventCity(city)
+                .eventState(state)
+                .eventCountry("US")
+                .source(TrackingEvent.Source.CARRIER)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package io.akikr.app.tracking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.tracking.entity.TrackingEvent;
+import io.akikr.app.tracking.exceptions.TrackingException;
+import io.akikr.app.tracking.model.TrackingEventSource;
+import io.akikr.app.tracking.model.request.TrackingEventBatchRequest;
+import io.akikr.app.tracking.model.request.TrackingEventRequest;
+import io.akikr.app.tracking.processor.TrackingProcessor;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import jakarta.validation.Validation;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+class TrackingEventServiceTest {
+
+    private static final String TRACKING_NUMBER = "1Z999AA10123456784";
+    private static final LocalDateTime EVENT_TIME = LocalDateTime.of(2025, 3, 1, 10, 15);
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID trackingId = UUID.randomUUID();
+    private TrackingProcessor trackingProcessor;
+    private TrackingEventServiceImpl trackingEventService;
+
+    @BeforeEach
+    void setUp() {
+        trackingProcessor = mock(TrackingProcessor.class);
+        var appIngestProperties = new AppIngestProperties(
+                5000,
+                500,
+                null,
+                5,
+                2,
+                new AppIngestProperties.TrackingEventDedup(10, 100, Duration.ofHours(1)),
+                null,
+                1000,
+                100,
+                DataSize.ofMegabytes(1));
+        trackingEventService = new TrackingEventServiceImpl(
+                new TrackingEventHashGenerator(),
+                new TrackingEventDeduplicator(appIngestProperties),
+                mock(TrackingStatusRollupEngine.class),
+                trackingProcessor,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                appIngestProperties);
+        when(trackingProcessor.findTrackingIdsByNumber(eq(tenantId), any()))
+                .thenReturn(Map.of(TRACKING_NUMBER, trackingId));
+    }
+
+    @Test
+    @DisplayName("Should drop in-batch and previously stored duplicates before inserting")
+    void testIngestEvents_FiltersDuplicatesInMemory() {
+        when(trackingProcessor.insertEvents(eq(tenantId), anyList()))
+                .thenAnswer(invocation ->
+                        invocation.<List<TrackingEventRow>>getArgument(1).size() - 1);
+        var request = new TrackingEventBatchRequest(
+                tenantId.toString(),
+                List.of(
+                        event(TRACKING_NUMBER, "PICKED_UP", "old description"),
+                        event(TRACKING_NUMBER, "PICKED_UP", "reworded description"),
+                        event(TRACKING_NUMBER, "IN_TRANSIT", null),
+                        event("UNKNOWN", "IN_TRANSIT", null),
+                        event(TRACKING_NUMBER, " ", null)));
+
+        var first = trackingEventService.ingestEvents(request).getBody();
+        var second = trackingEventService.ingestEvents(request).getBody();
+
+        assertEquals(5, first.total());
+        assertEquals(1, first.inserted());
+        assertEquals(2, first.duplicates());
+        assertEquals(1, first.filteredInMemory());
+        assertEquals(2, first.rejected());
+        assertEquals(3, first.rejections().get(0).index());
+        assertEquals(0, second.inserted());
+        assertEquals(3, second.duplicates());
+        assertEquals(3, second.filteredInMemory());
+        verify(trackingProcessor, times(1)).insertEvents(eq(tenantId), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject the events of a failed chunk without remembering them")
+    void testIngestEvents_FailedChunkIsRetried() {
+        when(trackingProcessor.insertEvents(eq(tenantId), anyList()))
+                .thenThrow(new IllegalStateException("Lock wait timeout exceeded"))
+                .thenReturn(1);
+        var request =
+                new TrackingEventBatchRequest(tenantId.toString(), List.of(event(TRACKING_NUMBER, "DELIVERED", null)));
+
+        var failed = trackingEventService.ingestEvents(request).getBody();
+        var retried = trackingEventService.ingestEvents(request).getBody();
+
+        assertEquals(1, failed.rejected());
+        assertEquals("Lock wait timeout exceeded", failed.rejections().get(0).error());
+        assertEquals(1, retried.inserted());
+        assertEquals(0, retried.filteredInMemory());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch over the maximum batch size")
+    void testIngestEvents_MaxBatchSize() {
+        var event = event(TRACKING_NUMBER, "DELIVERED", null);
+        var request =
+                new TrackingEventBatchRequest(tenantId.toString(), List.of(event, event, event, event, event, event));
+
+        var exception = assertThrows(TrackingException.class, () -> trackingEventService.ingestEvents(request));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should map the request source to the stored one, OTHER when not given")
+    void testToTrackingEventRow_MapsSource() {
+        var carrierEvent = event(TRACKING_NUMBER, "IN_TRANSIT", "In transit");
+        var noSourceEvent = new TrackingEventRequest(
+                TRACKING_NUMBER, EVENT_TIME, "IN_TRANSIT", "In transit", "Louisville", "KY", "US", "40209", null);
+
+        var carrierRow = trackingEventService.toTrackingEventRow(trackingId, carrierEvent);
+        var noSourceRow = trackingEventService.toTrackingEventRow(trackingId, noSourceEvent);
+
+        assertEquals(TrackingEvent.Source.CARRIER, carrierRow.source());
+        assertEquals(TrackingEvent.Source.OTHER, noSourceRow.source());
+    }
+
+    private static TrackingEventRequest event(String trackingNumber, String eventCode, String eventDescription) {
+        return new TrackingEventRequest(
+                trackingNumber,
+                EVENT_TIME,
+                eventCode,
+                eventDescription,
+                "Louisville",
+                "KY",
+                "US",
+                "40209",
+                TrackingEventSource.CARRIER);
+    }
+}
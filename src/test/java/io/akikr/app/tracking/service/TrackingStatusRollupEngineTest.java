@@ -0,0 +1,146 @@
+package io.akikr.app.tracking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.processor.FulfillmentProcessor;
+import io.akikr.app.order.processor.OrderProcessor;
+import io.akikr.app.shared.AppIngestProperties;
+import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.entity.Tracking.TrackingStatus;
+import io.akikr.app.tracking.entity.TrackingEvent;
+import io.akikr.app.tracking.processor.TrackingProcessor;
+import io.akikr.app.tracking.repository.TrackingEventRow;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.util.unit.DataSize;
+
+class TrackingStatusRollupEngineTest {
+
+    private static final LocalDateTime EVENT_TIME = LocalDateTime.of(2025, 3, 1, 10, 15);
+
+    private final UUID tenantId = UUID.randomUUID();
+    private final UUID trackingId = UUID.randomUUID();
+    private final UUID fulfillmentId = UUID.randomUUID();
+    private TrackingProcessor trackingProcessor;
+    private FulfillmentProcessor fulfillmentProcessor;
+    private TrackingStatusRollupEngine trackingStatusRollupEngine;
+
+    @BeforeEach
+    void setUp() {
+        trackingProcessor = mock(TrackingProcessor.class);
+        fulfillmentProcessor = mock(FulfillmentProcessor.class);
+        var appIngestProperties = new AppIngestProperties(
+                5000,
+                500,
+                null,
+                5000,
+                500,
+                null,
+                new AppIngestProperties.TrackingRollup(true, Duration.ofSeconds(1), 500, 10000, 2),
+                1000,
+                100,
+                DataSize.ofMegabytes(1));
+        trackingStatusRollupEngine = new TrackingStatusRollupEngine(
+                appIngestProperties, trackingProcessor, fulfillmentProcessor, mock(OrderProcessor.class));
+    }
+
+    @Test
+    @DisplayName("Should put a failed roll-up back and cascade it on the next flush even if the tracking is unchanged")
+    void testFlush_RetriesFailedRollUp() {
+        var tracking = tracking(TrackingStatus.IN_TRANSIT);
+        when(trackingProcessor.rollUpTrackings(eq(tenantId), anyCollection(), any()))
+                .thenThrow(new QueryTimeoutException("timed out"))
+                .thenAnswer(invocation -> {
+                    // The failed attempt had already saved the tracking
+                    invocation.<Predicate<Tracking>>getArgument(2).test(tracking);
+                    return List.of();
+                });
+        trackingStatusRollupEngine.record(tenantId, List.of(event("IN_TRANSIT")));
+
+        trackingStatusRollupEngine.flush();
+        trackingStatusRollupEngine.flush();
+
+        verify(trackingProcessor, times(2)).rollUpTrackings(eq(tenantId), eq(List.of(trackingId)), any());
+        verify(fulfillmentProcessor).rollUpFulfillments(eq(tenantId), eq(Set.of(fulfillmentId)), any());
+        assertEquals(TrackingStatus.IN_TRANSIT, tracking.getTrackingStatus());
+    }
+
+    @Test
+    @DisplayName("Should roll up a tracking again on the next flush when it changed concurrently since it was read")
+    void testFlush_RetriesConcurrentlyChangedTracking() {
+        when(trackingProcessor.rollUpTrackings(eq(tenantId), anyCollection(), any()))
+                .thenAnswer(invocation -> {
+                    // The conditional update found the tracking changed, so nothing was updated
+                    invocation.<Predicate<Tracking>>getArgument(2).test(tracking(TrackingStatus.LABEL_CREATED));
+                    return List.of();
+                })
+                .thenAnswer(invocation -> {
+                    var tracking = tracking(TrackingStatus.EXCEPTION);
+                    invocation.<Predicate<Tracking>>getArgument(2).test(tracking);
+                    return List.of(tracking);
+                });
+        trackingStatusRollupEngine.record(tenantId, List.of(event("OUT_FOR_DELIVERY")));
+
+        trackingStatusRollupEngine.flush();
+        trackingStatusRollupEngine.flush();
+        trackingStatusRollupEngine.flush();
+
+        verify(trackingProcessor, times(2)).rollUpTrackings(eq(tenantId), eq(List.of(trackingId)), any());
+    }
+
+    @Test
+    @DisplayName("Should drop a roll-up after the maximum number of failed flush attempts")
+    void testFlush_DropsRollUpAfterMaxAttempts() {
+        when(trackingProcessor.rollUpTrackings(eq(tenantId), anyCollection(), any()))
+                .thenThrow(new QueryTimeoutException("timed out"));
+        trackingStatusRollupEngine.record(tenantId, List.of(event("IN_TRANSIT")));
+
+        trackingStatusRollupEngine.flush();
+        trackingStatusRollupEngine.flush();
+        trackingStatusRollupEngine.flush();
+
+        verify(trackingProcessor, times(2)).rollUpTrackings(eq(tenantId), anyCollection(), any());
+        verify(fulfillmentProcessor, never()).rollUpFulfillments(any(), anyCollection(), any());
+    }
+
+    private Tracking tracking(TrackingStatus trackingStatus) {
+        return Tracking.builder()
+                .trackingId(trackingId)
+                .fulfillment(Fulfillment.builder().fulfillmentId(fulfillmentId).build())
+                .trackingStatus(trackingStatus)
+                .lastEventAt(EVENT_TIME)
+                .build();
+    }
+
+    private TrackingEventRow event(String eventCode) {
+        return new TrackingEventRow(
+                UUID.randomUUID(),
+                trackingId,
+                EVENT_TIME,
+                eventCode,
+                null,
+                null,
+                null,
+                null,
+                null,
+                TrackingEvent.Source.CARRIER,
+                "hash");
+    }
+}
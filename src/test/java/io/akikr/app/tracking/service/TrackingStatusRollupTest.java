@@ -0,0 +1,118 @@
+package io.akikr.app.tracking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.akikr.app.fulfillment.entity.Fulfillment;
+import io.akikr.app.fulfillment.entity.Fulfillment.FulfillmentStatus;
+import io.akikr.app.order.entity.Order;
+import io.akikr.app.tracking.entity.Tracking;
+import io.akikr.app.tracking.entity.Tracking.TrackingStatus;
+import io.akikr.app.tracking.service.TrackingStatusRollup.PendingTracking;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TrackingStatusRollupTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    @Test
+    @DisplayName("Should map carrier event codes to statuses regardless of case and separators")
+    void testStatusOf() {
+        assertEquals(TrackingStatus.OUT_FOR_DELIVERY, TrackingStatusRollup.statusOf("Out for delivery"));
+        assertEquals(TrackingStatus.IN_TRANSIT, TrackingStatusRollup.statusOf("picked-up"));
+        assertEquals(TrackingStatus.UNKNOWN, TrackingStatusRollup.statusOf("CUSTOMS_NOTE"));
+        assertEquals(TrackingStatus.UNKNOWN, TrackingStatusRollup.statusOf(null));
+    }
+
+    @Test
+    @DisplayName("Should only move a tracking forward, whatever the order of its events")
+    void testRollUpTracking_Monotonic() {
+        var tracking = tracking(TrackingStatus.LABEL_CREATED, null);
+
+        assertTrue(TrackingStatusRollup.rollUpTracking(
+                tracking, pending(TrackingStatus.DELIVERED, T0.plusHours(5), TrackingStatus.IN_TRANSIT, T0)));
+        assertEquals(TrackingStatus.DELIVERED, tracking.getTrackingStatus());
+        assertEquals(T0.plusHours(5), tracking.getLastEventAt());
+
+        assertTrue(TrackingStatusRollup.rollUpTracking(
+                tracking, pending(TrackingStatus.EXCEPTION, T0.plusHours(6), TrackingStatus.UNKNOWN, T0.plusHours(7))));
+        assertEquals(TrackingStatus.DELIVERED, tracking.getTrackingStatus());
+        assertEquals(T0.plusHours(7), tracking.getLastEventAt());
+
+        assertFalse(TrackingStatusRollup.rollUpTracking(
+                tracking, pending(TrackingStatus.IN_TRANSIT, T0.plusHours(1), TrackingStatus.UNKNOWN, T0)));
+    }
+
+    @Test
+    @DisplayName("Should only leave an exception for a later event")
+    void testRollUpTracking_Exception() {
+        var tracking = tracking(TrackingStatus.IN_TRANSIT, T0.plusHours(1));
+
+        TrackingStatusRollup.rollUpTracking(
+                tracking, pending(TrackingStatus.EXCEPTION, T0.plusHours(2), TrackingStatus.UNKNOWN, T0));
+        assertEquals(TrackingStatus.EXCEPTION, tracking.getTrackingStatus());
+
+        TrackingStatusRollup.rollUpTracking(
+                tracking, pending(TrackingStatus.OUT_FOR_DELIVERY, T0.plusHours(1), TrackingStatus.UNKNOWN, T0));
+        assertEquals(TrackingStatus.EXCEPTION, tracking.getTrackingStatus());
+
+        TrackingStatusRollup.rollUpTracking(
+                tracking, pending(TrackingStatus.IN_TRANSIT, T0.plusHours(3), TrackingStatus.UNKNOWN, T0));
+        assertEquals(TrackingStatus.IN_TRANSIT, tracking.getTrackingStatus());
+    }
+
+    @Test
+    @DisplayName("Should cascade delivered trackings to the fulfillment and the order")
+    void testRollUpFulfillmentAndOrder() {
+        var fulfillment = Fulfillment.builder()
+                .fulfillmentStatus(FulfillmentStatus.CREATED)
+                .tracking(List.of(
+                        tracking(TrackingStatus.DELIVERED, T0.plusHours(5)),
+                        tracking(TrackingStatus.IN_TRANSIT, T0.plusHours(1))))
+                .build();
+        var cancelled = Fulfillment.builder()
+                .fulfillmentStatus(FulfillmentStatus.CANCELLED)
+                .build();
+        var order = Order.builder()
+                .fulfillmentStatus(Order.FulfillmentStatus.UNFULFILLED)
+                .fulfillments(List.of(fulfillment, cancelled))
+                .build();
+
+        assertTrue(TrackingStatusRollup.rollUpFulfillment(fulfillment));
+        assertEquals(FulfillmentStatus.SHIPPED, fulfillment.getFulfillmentStatus());
+        assertEquals(T0.plusHours(1), fulfillment.getShippedAt());
+        assertTrue(TrackingStatusRollup.rollUpOrder(order));
+        assertEquals(Order.FulfillmentStatus.FULFILLED, order.getFulfillmentStatus());
+
+        fulfillment.getTracking().get(1).setTrackingStatus(TrackingStatus.DELIVERED);
+        assertTrue(TrackingStatusRollup.rollUpFulfillment(fulfillment));
+        assertEquals(FulfillmentStatus.DELIVERED, fulfillment.getFulfillmentStatus());
+        assertEquals(T0.plusHours(5), fulfillment.getDeliveredAt());
+        assertFalse(TrackingStatusRollup.rollUpFulfillment(fulfillment));
+        assertFalse(TrackingStatusRollup.rollUpOrder(order));
+    }
+
+    private static Tracking tracking(TrackingStatus status, LocalDateTime lastEventAt) {
+        return Tracking.builder()
+                .trackingId(UUID.randomUUID())
+                .trackingStatus(status)
+                .lastEventAt(lastEventAt)
+                .build();
+    }
+
+    private static PendingTracking pending(
+            TrackingStatus firstStatus,
+            LocalDateTime firstEventTime,
+            TrackingStatus secondStatus,
+            LocalDateTime secondEventTime) {
+        var pendingTracking = new PendingTracking(UUID.randomUUID());
+        pendingTracking.add(firstStatus, firstEventTime);
+        pendingTracking.add(secondStatus, secondEventTime);
+        return pendingTracking;
+    }
+}